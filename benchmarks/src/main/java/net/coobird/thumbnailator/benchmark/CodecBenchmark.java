@@ -0,0 +1,109 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import net.coobird.thumbnailator.tasks.io.InputStreamImageSource;
+import net.coobird.thumbnailator.tasks.io.OutputStreamImageSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding through {@link InputStreamImageSource#read()} and
+ * encoding through {@link OutputStreamImageSink#write(BufferedImage)}.
+ * <p>
+ * Both operate on in-memory streams, so the results reflect the cost of the
+ * codecs and Thumbnailator's handling around them rather than disk access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+	@Param({"jpg", "png", "bmp"})
+	public String format;
+
+	@Param({"200x150", "1920x1080", "4000x3000"})
+	public String size;
+
+	@Param({"INT_RGB", "INT_ARGB", "3BYTE_BGR"})
+	public String imageType;
+
+	private BufferedImage image;
+
+	private byte[] encoded;
+
+	private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+	@Setup
+	public void setup() throws IOException {
+		int[] dimensions = SyntheticImages.parseSize(size);
+		image = SyntheticImages.create(
+				dimensions[0], dimensions[1], SyntheticImages.parseType(imageType)
+		);
+
+		// Encode from an opaque copy, as not all writers accept alpha.
+		BufferedImage opaque = SyntheticImages.create(
+				dimensions[0], dimensions[1], BufferedImage.TYPE_INT_RGB
+		);
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		if (!ImageIO.write(opaque, format, baos)) {
+			throw new IllegalStateException("No writer for " + format);
+		}
+		encoded = baos.toByteArray();
+	}
+
+	@Benchmark
+	public BufferedImage read() throws IOException {
+		return new InputStreamImageSource(new ByteArrayInputStream(encoded)).read();
+	}
+
+	@Benchmark
+	public int write() throws IOException {
+		output.reset();
+		OutputStreamImageSink sink = new OutputStreamImageSink(output);
+		sink.setOutputFormatName(format);
+		sink.write(image);
+		return output.size();
+	}
+}
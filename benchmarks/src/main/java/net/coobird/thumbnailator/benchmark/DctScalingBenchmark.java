@@ -0,0 +1,116 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.tasks.io.ByteBufferImageSource;
+import net.coobird.thumbnailator.tasks.io.DecodeSubsampling;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a JPEG subsampled by the image reader with decoding it
+ * at a reduced size in the DCT domain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DctScalingBenchmark {
+
+	@Param({"1920x1080", "4000x3000"})
+	public String size;
+
+	@Param({"2", "4", "8"})
+	public int factor;
+
+	@Param({"false", "true"})
+	public boolean progressive;
+
+	private byte[] encoded;
+
+	@Setup
+	public void setup() throws IOException {
+		int[] dimensions = SyntheticImages.parseSize(size);
+		BufferedImage image = SyntheticImages.create(dimensions[0], dimensions[1], BufferedImage.TYPE_INT_RGB);
+
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		if (progressive) {
+			param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+		}
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageOutputStream ios = ImageIO.createImageOutputStream(baos);
+		writer.setOutput(ios);
+		writer.write(null, new IIOImage(image, null, null), param);
+		ios.close();
+		writer.dispose();
+		encoded = baos.toByteArray();
+	}
+
+	private BufferedImage read(boolean useDctScaling) throws IOException {
+		ByteBufferImageSource source = new ByteBufferImageSource(encoded);
+		source.setThumbnailParameter(
+				new ThumbnailParameterBuilder()
+						.scale(1.0 / factor)
+						.decodeSubsampling(DecodeSubsampling.factor(factor))
+						.useDctScaling(useDctScaling)
+						.build()
+		);
+		return source.read();
+	}
+
+	@Benchmark
+	public BufferedImage readerSubsampling() throws IOException {
+		return read(false);
+	}
+
+	@Benchmark
+	public BufferedImage dctScaling() throws IOException {
+		return read(true);
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import net.coobird.thumbnailator.tasks.io.InputStreamImageSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of reading a JPEG through {@link InputStreamImageSource}
+ * with and without the Exif workaround, which captures the Exif segment while
+ * the stream is being read.
+ * <p>
+ * The source image carries an APP1 segment close to the maximum segment size,
+ * and is handed to the reader in chunks of {@code readSize} bytes, so that the
+ * capture has to collect the segment over many reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExifCaptureBenchmark {
+
+	private static final String DISABLE_EXIF_WORKAROUND =
+			"thumbnailator.disableExifWorkaround";
+
+	/**
+	 * Size of the Exif payload, including padding after IFD0.
+	 */
+	private static final int EXIF_PAYLOAD_SIZE = 60000;
+
+	@Param({"false", "true"})
+	public String disableExifWorkaround;
+
+	@Param({"64", "8192"})
+	public int readSize;
+
+	private byte[] jpeg;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		System.setProperty(DISABLE_EXIF_WORKAROUND, disableExifWorkaround);
+		jpeg = insertExif(encodeJpeg(640, 480), EXIF_PAYLOAD_SIZE);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		System.clearProperty(DISABLE_EXIF_WORKAROUND);
+	}
+
+	@Benchmark
+	public BufferedImage read() throws IOException {
+		InputStream is = new ChunkedInputStream(
+				new ByteArrayInputStream(jpeg), readSize
+		);
+		return new InputStreamImageSource(is).read();
+	}
+
+	private static byte[] encodeJpeg(int width, int height) throws IOException {
+		BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				img.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+			}
+		}
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(img, "jpg", baos);
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Inserts an APP1 segment containing Exif data with an Orientation tag
+	 * directly after the SOI marker of the given JPEG.
+	 */
+	private static byte[] insertExif(byte[] jpeg, int payloadSize) {
+		byte[] payload = new byte[payloadSize];
+		byte[] header = new byte[] {
+				'E', 'x', 'i', 'f', 0, 0,
+				// TIFF header, big endian, IFD0 at offset 8.
+				'M', 'M', 0, 0x2A, 0, 0, 0, 8,
+				// IFD0 with a single entry: Orientation (SHORT) = 6.
+				0, 1,
+				0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0,
+				// No next IFD.
+				0, 0, 0, 0
+		};
+		System.arraycopy(header, 0, payload, 0, header.length);
+
+		int length = payloadSize + 2;
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		baos.write(jpeg, 0, 2);
+		baos.write(0xFF);
+		baos.write(0xE1);
+		baos.write((length >> 8) & 0xFF);
+		baos.write(length & 0xFF);
+		baos.write(payload, 0, payload.length);
+		baos.write(jpeg, 2, jpeg.length - 2);
+		return baos.toByteArray();
+	}
+
+	/**
+	 * An {@link InputStream} which returns at most {@code chunkSize} bytes
+	 * for each call to {@link #read(byte[], int, int)}.
+	 */
+	private static class ChunkedInputStream extends FilterInputStream {
+		private final int chunkSize;
+
+		private ChunkedInputStream(InputStream in, int chunkSize) {
+			super(in);
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return super.read(b, off, Math.min(len, chunkSize));
+		}
+	}
+}
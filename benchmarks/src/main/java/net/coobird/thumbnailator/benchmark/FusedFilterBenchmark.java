@@ -0,0 +1,111 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import net.coobird.thumbnailator.filters.Caption;
+import net.coobird.thumbnailator.filters.Colorize;
+import net.coobird.thumbnailator.filters.FusedFilters;
+import net.coobird.thumbnailator.filters.ImageFilter;
+import net.coobird.thumbnailator.filters.Transparency;
+import net.coobird.thumbnailator.filters.Watermark;
+import net.coobird.thumbnailator.geometry.Positions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares applying a watermark, caption, colorize and transparency filter
+ * one by one with applying them through {@link FusedFilters}.
+ * <p>
+ * Run with {@code -prof gc} to compare the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FusedFilterBenchmark {
+
+	@Param({"200x150", "1920x1080"})
+	public String size;
+
+	@Param({"INT_RGB", "INT_ARGB"})
+	public String imageType;
+
+	private BufferedImage image;
+
+	private List<ImageFilter> filters;
+
+	@Setup
+	public void setup() {
+		int[] dimensions = SyntheticImages.parseSize(size);
+		image = SyntheticImages.create(
+				dimensions[0], dimensions[1], SyntheticImages.parseType(imageType)
+		);
+
+		BufferedImage watermark = SyntheticImages.create(
+				dimensions[0] / 4, dimensions[1] / 4, BufferedImage.TYPE_INT_ARGB
+		);
+		filters = Arrays.<ImageFilter>asList(
+				new Watermark(Positions.BOTTOM_RIGHT, watermark, 0.5f, 5),
+				new Caption(
+						"Thumbnailator", new Font(Font.SANS_SERIF, Font.BOLD, 16),
+						Color.WHITE, Positions.BOTTOM_RIGHT, 5
+				),
+				new Colorize(Color.BLUE, 0.3f),
+				new Transparency(0.5f)
+		);
+	}
+
+	@Benchmark
+	public BufferedImage sequential() {
+		BufferedImage result = image;
+		for (ImageFilter filter : filters) {
+			result = filter.apply(result);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public BufferedImage fused() {
+		return FusedFilters.apply(image, filters, false);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import net.coobird.thumbnailator.Rendition;
+import net.coobird.thumbnailator.Thumbnails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating several sizes of a JPEG with one builder per size
+ * against creating them as renditions from a single decode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenditionsBenchmark {
+
+	private static final int[] SIZES = {1600, 800, 400, 200, 64};
+
+	@Param({"4000x3000"})
+	public String size;
+
+	private byte[] encoded;
+
+	@Setup
+	public void setup() throws IOException {
+		int[] dimensions = SyntheticImages.parseSize(size);
+		BufferedImage image = SyntheticImages.create(dimensions[0], dimensions[1], BufferedImage.TYPE_INT_RGB);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", baos);
+		encoded = baos.toByteArray();
+	}
+
+	@Benchmark
+	public int separateBuilders() throws IOException {
+		int length = 0;
+		for (int s : SIZES) {
+			length += Thumbnails.of(encoded).size(s, s).asByteArray().length;
+		}
+		return length;
+	}
+
+	@Benchmark
+	public int renditions() throws IOException {
+		ByteArrayOutputStream[] outputs = new ByteArrayOutputStream[SIZES.length];
+		Rendition[] renditions = new Rendition[SIZES.length];
+		for (int i = 0; i < SIZES.length; i++) {
+			outputs[i] = new ByteArrayOutputStream();
+			renditions[i] = Rendition.size(SIZES[i], SIZES[i]).destination(outputs[i]);
+		}
+
+		Thumbnails.of(encoded).toRenditions(renditions);
+
+		int length = 0;
+		for (ByteArrayOutputStream os : outputs) {
+			length += os.size();
+		}
+		return length;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import net.coobird.thumbnailator.resizers.Resizers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link Resizers} when reducing a synthetic image to a
+ * 200 pixel wide thumbnail, keeping the aspect ratio.
+ * <p>
+ * The destination image is allocated once, so only the resize itself is
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResizerBenchmark {
+
+	private static final int THUMBNAIL_WIDTH = 200;
+
+	@Param({"BILINEAR", "BICUBIC", "PROGRESSIVE", "PROGRESSIVE_POOLED", "LANCZOS3", "MITCHELL", "BOX"})
+	public Resizers resizer;
+
+	@Param({"640x480", "1920x1080", "4000x3000"})
+	public String size;
+
+	@Param({"INT_RGB", "INT_ARGB", "3BYTE_BGR"})
+	public String imageType;
+
+	private BufferedImage source;
+
+	private BufferedImage destination;
+
+	@Setup
+	public void setup() {
+		int[] dimensions = SyntheticImages.parseSize(size);
+		int type = SyntheticImages.parseType(imageType);
+		source = SyntheticImages.create(dimensions[0], dimensions[1], type);
+
+		int height = THUMBNAIL_WIDTH * dimensions[1] / dimensions[0];
+		destination = new BufferedImage(THUMBNAIL_WIDTH, height, type);
+	}
+
+	@Benchmark
+	public BufferedImage resize() {
+		resizer.resize(source, destination);
+		return destination;
+	}
+}
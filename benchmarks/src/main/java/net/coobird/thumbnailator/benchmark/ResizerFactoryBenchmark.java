@@ -0,0 +1,84 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import net.coobird.thumbnailator.resizers.DefaultResizerFactory;
+import net.coobird.thumbnailator.resizers.Resizer;
+import net.coobird.thumbnailator.resizers.ResizerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Dimension;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the selection of a {@link Resizer} by the
+ * {@link DefaultResizerFactory}, which happens once for every thumbnail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResizerFactoryBenchmark {
+
+	/**
+	 * Pairs of original and thumbnail sizes, covering each branch of the
+	 * selection: no resize, enlargement, a small reduction and a large
+	 * reduction.
+	 */
+	@Param({"640x480:640x480", "640x480:1280x960", "640x480:400x300", "4000x3000:200x150"})
+	public String sizes;
+
+	private final ResizerFactory factory = DefaultResizerFactory.getInstance();
+
+	private Dimension originalSize;
+
+	private Dimension thumbnailSize;
+
+	@Setup
+	public void setup() {
+		String[] parts = sizes.split(":");
+		int[] original = SyntheticImages.parseSize(parts[0]);
+		int[] thumbnail = SyntheticImages.parseSize(parts[1]);
+		originalSize = new Dimension(original[0], original[1]);
+		thumbnailSize = new Dimension(thumbnail[0], thumbnail[1]);
+	}
+
+	@Benchmark
+	public Resizer getResizer() {
+		return factory.getResizer(originalSize, thumbnailSize);
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.tasks.io.InputStreamImageSource;
+import net.coobird.thumbnailator.tasks.io.OutputStreamImageSink;
+import net.coobird.thumbnailator.tasks.io.StreamCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading and writing a JPEG through streams with each
+ * {@link StreamCache}, and with the default of {@link ImageIO#getUseCache()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamCacheBenchmark {
+
+	@Param({"DEFAULT", "MEMORY", "DISK"})
+	public String streamCache;
+
+	@Param({"200x150", "1920x1080"})
+	public String size;
+
+	private BufferedImage image;
+
+	private byte[] encoded;
+
+	private ThumbnailParameter param;
+
+	private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+	@Setup
+	public void setup() throws IOException {
+		int[] dimensions = SyntheticImages.parseSize(size);
+		image = SyntheticImages.create(dimensions[0], dimensions[1], BufferedImage.TYPE_INT_RGB);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", baos);
+		encoded = baos.toByteArray();
+
+		ThumbnailParameterBuilder builder = new ThumbnailParameterBuilder().scale(1.0);
+		if (!"DEFAULT".equals(streamCache)) {
+			builder.streamCache(StreamCache.valueOf(streamCache));
+		}
+		param = builder.build();
+	}
+
+	@Benchmark
+	public BufferedImage read() throws IOException {
+		InputStreamImageSource source = new InputStreamImageSource(new ByteArrayInputStream(encoded));
+		source.setThumbnailParameter(param);
+		return source.read();
+	}
+
+	@Benchmark
+	public int write() throws IOException {
+		output.reset();
+		OutputStreamImageSink sink = new OutputStreamImageSink(output);
+		sink.setThumbnailParameter(param);
+		sink.setOutputFormatName("jpg");
+		sink.write(image);
+		return output.size();
+	}
+}
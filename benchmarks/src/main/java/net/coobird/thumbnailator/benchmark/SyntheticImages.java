@@ -0,0 +1,109 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Generates deterministic synthetic images used as benchmark inputs.
+ * <p>
+ * The images are a mix of smooth gradients, hard edges and noise, so that
+ * both the resizers and the codecs have some detail to work on.
+ */
+final class SyntheticImages {
+
+	private SyntheticImages() {}
+
+	/**
+	 * Creates an image of the given size and type.
+	 *
+	 * @param width		Width of the image.
+	 * @param height	Height of the image.
+	 * @param type		Image type, as a {@link BufferedImage} constant.
+	 * @return			The generated image.
+	 */
+	static BufferedImage create(int width, int height, int type) {
+		BufferedImage img = new BufferedImage(width, height, type);
+		Random random = new Random(42);
+
+		boolean hasAlpha = img.getColorModel().hasAlpha();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int r = x * 255 / width;
+				int g = y * 255 / height;
+				int b = random.nextInt(64) + ((x / 32 + y / 32) % 2 == 0 ? 0 : 128);
+				int a = hasAlpha ? 128 + (x + y) * 127 / (width + height) : 255;
+				img.setRGB(x, y, a << 24 | r << 16 | g << 8 | b);
+			}
+		}
+
+		Graphics2D g = img.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setColor(Color.BLACK);
+		for (int i = 0; i < 16; i++) {
+			g.drawLine(0, i * height / 16, width, height - i * height / 16);
+		}
+		g.dispose();
+
+		return img;
+	}
+
+	/**
+	 * Parses an image size in the form of {@code WIDTHxHEIGHT}.
+	 *
+	 * @param size		The size as a string, such as {@code 640x480}.
+	 * @return			An array of {@code {width, height}}.
+	 */
+	static int[] parseSize(String size) {
+		String[] parts = size.split("x");
+		return new int[] {Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+	}
+
+	/**
+	 * Returns the {@link BufferedImage} type constant for the given name.
+	 *
+	 * @param name		Name of the type without the {@code TYPE_} prefix,
+	 * 					such as {@code INT_RGB}.
+	 * @return			The image type.
+	 */
+	static int parseType(String name) {
+		if ("INT_RGB".equals(name)) {
+			return BufferedImage.TYPE_INT_RGB;
+		} else if ("INT_ARGB".equals(name)) {
+			return BufferedImage.TYPE_INT_ARGB;
+		} else if ("3BYTE_BGR".equals(name)) {
+			return BufferedImage.TYPE_3BYTE_BGR;
+		} else if ("4BYTE_ABGR".equals(name)) {
+			return BufferedImage.TYPE_4BYTE_ABGR;
+		} else if ("BYTE_GRAY".equals(name)) {
+			return BufferedImage.TYPE_BYTE_GRAY;
+		}
+		throw new IllegalArgumentException("Unknown image type: " + name);
+	}
+}
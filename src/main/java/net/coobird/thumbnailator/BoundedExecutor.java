@@ -0,0 +1,134 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs tasks on at most a fixed number of threads. Tasks which are
+ * submitted while all the threads are busy wait in a queue.
+ * <p>
+ * An instance is shared by all the tasks which are submitted with the same
+ * number of threads, so that thumbnails created asynchronously after
+ * {@link Thumbnails.Builder#parallel(int)} was called do not use more
+ * threads than specified, however many builders submit them.
+ * <p>
+ * Threads are started as tasks are submitted, and stop once the queue is
+ * empty, so that no threads are left running while no thumbnails are being
+ * created.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+final class BoundedExecutor {
+	/**
+	 * The instances which have been created, keyed by their number of
+	 * threads.
+	 */
+	private static final Map<Integer, BoundedExecutor> INSTANCES = new HashMap<Integer, BoundedExecutor>();
+
+	/**
+	 * The largest number of threads which run the tasks.
+	 */
+	private final int maxThreads;
+
+	/**
+	 * The tasks which are waiting to be run.
+	 */
+	private final LinkedList<Runnable> queue = new LinkedList<Runnable>();
+
+	/**
+	 * The number of threads which are running. Guarded by {@link #queue}.
+	 */
+	private int threads = 0;
+
+	private BoundedExecutor(int maxThreads) {
+		this.maxThreads = maxThreads;
+	}
+
+	/**
+	 * Returns the instance which runs tasks on at most the specified number
+	 * of threads.
+	 *
+	 * @param maxThreads	The largest number of threads to use.
+	 * @return				The instance for the number of threads.
+	 */
+	static BoundedExecutor getInstance(int maxThreads) {
+		synchronized (INSTANCES) {
+			BoundedExecutor instance = INSTANCES.get(maxThreads);
+			if (instance == null) {
+				instance = new BoundedExecutor(maxThreads);
+				INSTANCES.put(maxThreads, instance);
+			}
+			return instance;
+		}
+	}
+
+	/**
+	 * Submits the specified task to be run once a thread is available.
+	 *
+	 * @param <V>			The type of the result of the task.
+	 * @param callable		The task to run.
+	 * @return				A {@link Future} representing the result of
+	 * 						the task.
+	 */
+	<V> Future<V> submit(Callable<V> callable) {
+		FutureTask<V> task = new FutureTask<V>(callable);
+
+		synchronized (queue) {
+			queue.add(task);
+			if (threads < maxThreads) {
+				new Thread(new Worker(), "thumbnailator-async").start();
+				threads++;
+			}
+		}
+
+		return task;
+	}
+
+	/**
+	 * Runs the tasks in the queue until it is empty.
+	 */
+	private final class Worker implements Runnable {
+		public void run() {
+			while (true) {
+				Runnable task;
+				synchronized (queue) {
+					if (queue.isEmpty()) {
+						threads--;
+						return;
+					}
+					task = queue.removeFirst();
+				}
+				task.run();
+			}
+		}
+	}
+}
@@ -0,0 +1,415 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.coobird.thumbnailator.filters.ImageFilter;
+import net.coobird.thumbnailator.tasks.io.FileImageSink;
+import net.coobird.thumbnailator.tasks.io.ImageSink;
+import net.coobird.thumbnailator.tasks.io.OutputStreamImageSink;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
+
+/**
+ * Specifies one of several thumbnails of different sizes, or renditions,
+ * which are created from a source image by
+ * {@link Thumbnails.Builder#toRenditions(Rendition...)}.
+ * <p>
+ * Each rendition has its own size, image filters, output format, output
+ * quality and destination. Other settings, such as the resizing and the
+ * reading of the source image, are taken from the {@link Thumbnails.Builder}.
+ * <p>
+ * An example of creating three renditions of an image:
+<pre>
+Thumbnails.of(new File("upload.jpg"))
+    .outputFormat("jpg")
+    .toRenditions(
+        Rendition.size(1600, 1600).destination(new File("large.jpg")),
+        Rendition.size(400, 400).destination(new File("medium.jpg")),
+        Rendition.size(64, 64).outputQuality(0.6).destination(new File("small.jpg"))
+    );
+</pre>
+ * 
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public final class Rendition {
+	/**
+	 * The width of the rendition.
+	 */
+	private final int width;
+	
+	/**
+	 * The height of the rendition.
+	 */
+	private final int height;
+	
+	/**
+	 * The image filters to apply to the rendition.
+	 */
+	private final List<ImageFilter> filters = new ArrayList<ImageFilter>();
+	
+	/**
+	 * The output format, or {@code null} if the output format of the
+	 * builder is to be used.
+	 */
+	private String outputFormat = null;
+	
+	/**
+	 * The output quality, or {@link Float#NaN} if the output quality of the
+	 * builder is to be used.
+	 */
+	private float outputQuality = Float.NaN;
+	
+	/**
+	 * The file to write the rendition to.
+	 */
+	private File destinationFile = null;
+	
+	/**
+	 * The sink to write the rendition to, if not written to a file.
+	 */
+	private ImageSink<?> destinationSink = null;
+	
+	private Rendition(int width, int height) {
+		if (width <= 0) {
+			throw new IllegalArgumentException(
+					"Width must be greater than zero."
+			);
+		}
+		if (height <= 0) {
+			throw new IllegalArgumentException(
+					"Height must be greater than zero."
+			);
+		}
+		
+		this.width = width;
+		this.height = height;
+	}
+	
+	/**
+	 * Returns a {@link Rendition} which fits within the specified size.
+	 * <p>
+	 * The aspect ratio of the source image is kept, unless
+	 * {@link Thumbnails.Builder#keepAspectRatio(boolean)} is called with
+	 * {@code false}.
+	 * 
+	 * @param width			The width of the rendition.
+	 * @param height		The height of the rendition.
+	 * @return				A {@link Rendition} of the specified size.
+	 * @throws IllegalArgumentException	If the width or height is less than
+	 * 									or equal to zero.
+	 */
+	public static Rendition size(int width, int height) {
+		return new Rendition(width, height);
+	}
+	
+	/**
+	 * Returns a {@link Rendition} with the specified width, whose height
+	 * is determined by the aspect ratio of the source image.
+	 * 
+	 * @param width			The width of the rendition.
+	 * @return				A {@link Rendition} of the specified width.
+	 * @throws IllegalArgumentException	If the width is less than or equal
+	 * 									to zero.
+	 */
+	public static Rendition width(int width) {
+		return new Rendition(width, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Returns a {@link Rendition} with the specified height, whose width
+	 * is determined by the aspect ratio of the source image.
+	 * 
+	 * @param height		The height of the rendition.
+	 * @return				A {@link Rendition} of the specified height.
+	 * @throws IllegalArgumentException	If the height is less than or equal
+	 * 									to zero.
+	 */
+	public static Rendition height(int height) {
+		return new Rendition(Integer.MAX_VALUE, height);
+	}
+	
+	/**
+	 * Adds an {@link ImageFilter} to apply to this rendition.
+	 * <p>
+	 * The filters are applied after the image filters of the builder, in the
+	 * order in which they are added.
+	 * 
+	 * @param filter		An image filter to apply to this rendition.
+	 * @return				Reference to this object.
+	 * @throws NullPointerException		If the filter is {@code null}.
+	 */
+	public Rendition addFilter(ImageFilter filter) {
+		if (filter == null) {
+			throw new NullPointerException("Filter is null.");
+		}
+		
+		filters.add(filter);
+		return this;
+	}
+	
+	/**
+	 * Adds multiple {@link ImageFilter}s to apply to this rendition.
+	 * 
+	 * @param filters		A list of filters to apply to this rendition.
+	 * @return				Reference to this object.
+	 * @throws NullPointerException		If the list is {@code null}.
+	 */
+	public Rendition addFilters(List<ImageFilter> filters) {
+		if (filters == null) {
+			throw new NullPointerException("Filters is null.");
+		}
+		
+		this.filters.addAll(filters);
+		return this;
+	}
+	
+	/**
+	 * Sets the output format of this rendition.
+	 * <p>
+	 * If this method is not called, the output format set on the builder is
+	 * used.
+	 * 
+	 * @param format		The output format.
+	 * @return				Reference to this object.
+	 * @throws IllegalArgumentException	If an unsupported format is
+	 * 									specified.
+	 */
+	public Rendition outputFormat(String format) {
+		if (!ThumbnailatorUtils.isSupportedOutputFormat(format)) {
+			throw new IllegalArgumentException(
+					"Specified format is not supported: " + format
+			);
+		}
+		
+		this.outputFormat = format;
+		return this;
+	}
+	
+	/**
+	 * Sets the output quality of this rendition.
+	 * <p>
+	 * If this method is not called, the output quality set on the builder is
+	 * used.
+	 * 
+	 * @param quality		The compression quality, between {@code 0.0f}
+	 * 						and {@code 1.0f}.
+	 * @return				Reference to this object.
+	 * @throws IllegalArgumentException	If the argument is less than
+	 * 									{@code 0.0f} or is greater than
+	 * 									{@code 1.0f}.
+	 */
+	public Rendition outputQuality(float quality) {
+		if (quality < 0.0f || quality > 1.0f) {
+			throw new IllegalArgumentException(
+					"The quality setting must be in the range 0.0f and " +
+					"1.0f, inclusive."
+			);
+		}
+		
+		this.outputQuality = quality;
+		return this;
+	}
+	
+	/**
+	 * Sets the output quality of this rendition.
+	 * <p>
+	 * This method is a convenience method for {@link #outputQuality(float)}
+	 * where the {@code double} argument type is accepted instead of a
+	 * {@code float}.
+	 * 
+	 * @param quality		The compression quality, between {@code 0.0d}
+	 * 						and {@code 1.0d}.
+	 * @return				Reference to this object.
+	 * @throws IllegalArgumentException	If the argument is less than
+	 * 									{@code 0.0d} or is greater than
+	 * 									{@code 1.0d}.
+	 */
+	public Rendition outputQuality(double quality) {
+		if (quality < 0.0d || quality > 1.0d) {
+			throw new IllegalArgumentException(
+					"The quality setting must be in the range 0.0d and " +
+					"1.0d, inclusive."
+			);
+		}
+		
+		return outputQuality((float)Math.min(Math.max(quality, 0.0d), 1.0d));
+	}
+	
+	/**
+	 * Sets the file to which this rendition is written.
+	 * <p>
+	 * Whether an existing file is overwritten is decided by
+	 * {@link Thumbnails.Builder#allowOverwrite(boolean)}.
+	 * 
+	 * @param file			The destination file.
+	 * @return				Reference to this object.
+	 * @throws NullPointerException		If the file is {@code null}.
+	 * @throws IllegalStateException	If the destination has already been
+	 * 									set.
+	 */
+	public Rendition destination(File file) {
+		if (file == null) {
+			throw new NullPointerException("File cannot be null.");
+		}
+		
+		checkDestinationNotSet();
+		this.destinationFile = file;
+		return this;
+	}
+	
+	/**
+	 * Sets the file to which this rendition is written.
+	 * 
+	 * @param filePath		The path of the destination file.
+	 * @return				Reference to this object.
+	 * @throws NullPointerException		If the path is {@code null}.
+	 * @throws IllegalStateException	If the destination has already been
+	 * 									set.
+	 */
+	public Rendition destination(String filePath) {
+		if (filePath == null) {
+			throw new NullPointerException("File cannot be null.");
+		}
+		
+		return destination(new File(filePath));
+	}
+	
+	/**
+	 * Sets the {@link OutputStream} to which this rendition is written.
+	 * <p>
+	 * The stream is not closed once the rendition has been written.
+	 * 
+	 * @param os			The destination stream.
+	 * @return				Reference to this object.
+	 * @throws NullPointerException		If the stream is {@code null}.
+	 * @throws IllegalStateException	If the destination has already been
+	 * 									set.
+	 */
+	public Rendition destination(OutputStream os) {
+		return destination(new OutputStreamImageSink(os));
+	}
+	
+	/**
+	 * Sets the {@link ImageSink} to which this rendition is written.
+	 * 
+	 * @param sink			The destination sink.
+	 * @return				Reference to this object.
+	 * @throws NullPointerException		If the sink is {@code null}.
+	 * @throws IllegalStateException	If the destination has already been
+	 * 									set.
+	 */
+	public Rendition destination(ImageSink<?> sink) {
+		if (sink == null) {
+			throw new NullPointerException("ImageSink cannot be null.");
+		}
+		
+		checkDestinationNotSet();
+		this.destinationSink = sink;
+		return this;
+	}
+	
+	private void checkDestinationNotSet() {
+		if (destinationFile != null || destinationSink != null) {
+			throw new IllegalStateException("The destination is already set.");
+		}
+	}
+	
+	/**
+	 * Returns the width of this rendition.
+	 * 
+	 * @return		The width, or {@link Integer#MAX_VALUE} if determined by
+	 * 				the height.
+	 */
+	int getWidth() {
+		return width;
+	}
+	
+	/**
+	 * Returns the height of this rendition.
+	 * 
+	 * @return		The height, or {@link Integer#MAX_VALUE} if determined
+	 * 				by the width.
+	 */
+	int getHeight() {
+		return height;
+	}
+	
+	/**
+	 * Returns the image filters of this rendition.
+	 * 
+	 * @return		The image filters.
+	 */
+	List<ImageFilter> getFilters() {
+		return Collections.unmodifiableList(filters);
+	}
+	
+	/**
+	 * Returns the output format of this rendition.
+	 * 
+	 * @return		The output format, or {@code null} if not set.
+	 */
+	String getOutputFormat() {
+		return outputFormat;
+	}
+	
+	/**
+	 * Returns the output quality of this rendition.
+	 * 
+	 * @return		The output quality, or {@link Float#NaN} if not set.
+	 */
+	float getOutputQuality() {
+		return outputQuality;
+	}
+	
+	/**
+	 * Returns whether the destination of this rendition has been set.
+	 * 
+	 * @return		{@code true} if the destination has been set.
+	 */
+	boolean hasDestination() {
+		return destinationFile != null || destinationSink != null;
+	}
+	
+	/**
+	 * Returns the {@link ImageSink} to write this rendition to.
+	 * 
+	 * @param allowOverwrite	Whether an existing destination file may be
+	 * 							overwritten.
+	 * @return					The sink.
+	 */
+	ImageSink<?> createDestination(boolean allowOverwrite) {
+		if (destinationFile != null) {
+			return new FileImageSink(destinationFile, allowOverwrite);
+		}
+		return destinationSink;
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import net.coobird.thumbnailator.tasks.io.FileImageSink;
+
+/**
+ * Records which source image and parameters each thumbnail file was created
+ * from, so that thumbnails which are up to date can be skipped when a batch
+ * of thumbnails is created again.
+ * <p>
+ * The records are kept in a manifest file named {@value #FILE_NAME} in each
+ * directory thumbnails are written to. Each record maps the name of a
+ * thumbnail file to a fingerprint of the path, size and last modified time
+ * of its source file, and of the parameters which affect the thumbnail.
+ * <p>
+ * The parameters are described by {@link ThumbnailParameter#toCanonicalString()}.
+ * Thumbnails whose parameters cannot be described have no fingerprint, and
+ * are always written.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+final class ThumbnailManifest {
+	/**
+	 * The name of the manifest file in each directory.
+	 */
+	static final String FILE_NAME = ".thumbnailator.manifest";
+
+	/**
+	 * The records of each directory which has been read, keyed by the
+	 * directory.
+	 */
+	private final Map<File, Properties> records = new HashMap<File, Properties>();
+
+	/**
+	 * The directories whose records have been updated.
+	 */
+	private final Set<File> modified = new HashSet<File>();
+
+	/**
+	 * The thumbnails which are about to be written, keyed by their
+	 * destination.
+	 */
+	private final Map<FileImageSink, Tracked> pending = new HashMap<FileImageSink, Tracked>();
+
+	/**
+	 * A thumbnail which is about to be written.
+	 */
+	private static final class Tracked {
+		/**
+		 * The file the thumbnail was requested to be written to. The file
+		 * which is written can have an extension appended.
+		 */
+		final File requested;
+		final String fingerprint;
+
+		Tracked(File requested, String fingerprint) {
+			this.requested = requested;
+			this.fingerprint = fingerprint;
+		}
+	}
+
+	/**
+	 * Returns the fingerprint of a thumbnail which is created from the
+	 * specified file with the specified parameters.
+	 *
+	 * @param source	The source image file.
+	 * @param param		The parameters of the thumbnail.
+	 * @return			The fingerprint, or {@code null} if the parameters
+	 * 					cannot be described.
+	 */
+	static String fingerprint(File source, ThumbnailParameter param) {
+		String canonicalParam = param.toCanonicalString();
+		if (canonicalParam == null) {
+			return null;
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(source.getAbsolutePath()).append('\n');
+		sb.append(source.length()).append('\n');
+		sb.append(source.lastModified()).append('\n');
+
+		sb.append(canonicalParam);
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			byte[] hash = digest.digest(sb.toString().getBytes("UTF-8"));
+
+			StringBuilder hex = new StringBuilder();
+			for (byte b : hash) {
+				hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+				hex.append(Character.forDigit(b & 0xf, 16));
+			}
+			return hex.toString();
+
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-1.
+			throw new IllegalStateException(e.getMessage());
+		} catch (UnsupportedEncodingException e) {
+			// Every Java platform is required to support UTF-8.
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns whether the specified thumbnail file was created with the
+	 * specified fingerprint, and the file which was written still exists.
+	 *
+	 * @param destination	The thumbnail file.
+	 * @param fingerprint	The fingerprint of the thumbnail to create.
+	 * @return				{@code true} if the thumbnail is up to date.
+	 * @throws IOException	If the manifest could not be read.
+	 */
+	boolean isUpToDate(File destination, String fingerprint) throws IOException {
+		String record = getRecords(destination).getProperty(destination.getName());
+		if (record == null) {
+			return false;
+		}
+
+		int separator = record.indexOf(' ');
+		if (separator == -1 || !fingerprint.equals(record.substring(0, separator))) {
+			return false;
+		}
+		return new File(directoryOf(destination), record.substring(separator + 1)).isFile();
+	}
+
+	/**
+	 * Tracks a thumbnail which is about to be written, so that it can be
+	 * recorded by {@link #markWritten(FileImageSink)} once it is written.
+	 *
+	 * @param destination	The destination of the thumbnail.
+	 * @param fingerprint	The fingerprint of the thumbnail, or {@code null}
+	 * 						if it has none, in which case the record of the
+	 * 						thumbnail is removed once it is written.
+	 */
+	void track(FileImageSink destination, String fingerprint) {
+		pending.put(destination, new Tracked(destination.getSink(), fingerprint));
+	}
+
+	/**
+	 * Records that the thumbnail of the specified destination has been
+	 * written, if it is tracked. The record is written by {@link #save()}.
+	 *
+	 * @param destination	The destination of the thumbnail.
+	 * @throws IOException	If the manifest could not be read.
+	 */
+	void markWritten(FileImageSink destination) throws IOException {
+		Tracked tracked = pending.remove(destination);
+		if (tracked == null) {
+			return;
+		}
+
+		File requested = tracked.requested;
+		Properties properties = getRecords(requested);
+		if (tracked.fingerprint == null) {
+			// The thumbnail no longer matches what was recorded for it.
+			if (properties.remove(requested.getName()) != null) {
+				modified.add(directoryOf(requested));
+			}
+			return;
+		}
+
+		File written = destination.getSink();
+		properties.setProperty(requested.getName(), tracked.fingerprint + " " + written.getName());
+		modified.add(directoryOf(requested));
+	}
+
+	/**
+	 * Writes the manifests of the directories whose records have been
+	 * updated.
+	 * <p>
+	 * Each manifest is written to a temporary file which replaces the
+	 * manifest, so that an interrupted write does not leave a partial
+	 * manifest behind.
+	 *
+	 * @throws IOException	If a manifest could not be written.
+	 */
+	void save() throws IOException {
+		for (File dir : modified) {
+			File manifest = new File(dir, FILE_NAME);
+			File temp = File.createTempFile(FILE_NAME + ".", ".tmp", dir);
+
+			boolean written = false;
+			try {
+				OutputStream os = new BufferedOutputStream(new FileOutputStream(temp));
+				try {
+					records.get(dir).store(os, "Thumbnailator manifest");
+				} finally {
+					os.close();
+				}
+
+				if (!temp.renameTo(manifest)) {
+					// Some platforms can't rename over an existing file.
+					if (!manifest.delete() || !temp.renameTo(manifest)) {
+						throw new IOException("Could not write the manifest: " + manifest);
+					}
+				}
+				written = true;
+
+			} finally {
+				if (!written) {
+					temp.delete();
+				}
+			}
+		}
+		modified.clear();
+	}
+
+	private Properties getRecords(File destination) throws IOException {
+		File dir = directoryOf(destination);
+		Properties properties = records.get(dir);
+		if (properties != null) {
+			return properties;
+		}
+
+		properties = new Properties();
+		File manifest = new File(dir, FILE_NAME);
+		if (manifest.isFile()) {
+			InputStream is = new BufferedInputStream(new FileInputStream(manifest));
+			try {
+				properties.load(is);
+			} finally {
+				is.close();
+			}
+		}
+		records.put(dir, properties);
+		return properties;
+	}
+
+	private static File directoryOf(File destination) {
+		return destination.getAbsoluteFile().getParentFile();
+	}
+}
@@ -29,11 +29,22 @@ import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 
+import net.coobird.thumbnailator.filters.FusedFilters;
 import net.coobird.thumbnailator.filters.ImageFilter;
+import net.coobird.thumbnailator.filters.InPlaceImageFilter;
 import net.coobird.thumbnailator.resizers.FixedResizerFactory;
+import net.coobird.thumbnailator.geometry.Position;
 import net.coobird.thumbnailator.geometry.Region;
 import net.coobird.thumbnailator.resizers.Resizer;
 import net.coobird.thumbnailator.resizers.ResizerFactory;
+import net.coobird.thumbnailator.tasks.io.DecodeSubsampling;
+import net.coobird.thumbnailator.tasks.io.FileWritePolicy;
+import net.coobird.thumbnailator.tasks.io.ImageCodecPool;
+import net.coobird.thumbnailator.tasks.io.ImageSelection;
+import net.coobird.thumbnailator.tasks.io.StreamCache;
+import net.coobird.thumbnailator.tasks.io.ThumbnailCache;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 /**
  * This class is used to specify the parameters to use when creating a thumbnail.
@@ -193,6 +204,89 @@ public class ThumbnailParameter {
 	 * thumbnails.
 	 */
 	private final boolean useExifOrientation;
+
+	/**
+	 * The pool to acquire image readers and writers from, or {@code null}
+	 * if a new reader or writer should be created for each image.
+	 */
+	private ImageCodecPool codecPool = null;
+
+	/**
+	 * Whether and how much the source image should be subsampled while it is
+	 * decoded, or {@code null} if it has not been specified.
+	 */
+	private DecodeSubsampling decodeSubsampling = null;
+
+	/**
+	 * The number of rows of the source image to decode at a time, or
+	 * {@code 0} if the source image should be decoded at once.
+	 */
+	private int decodeBandHeight = 0;
+
+	/**
+	 * Whether consecutive image filters which can draw onto an existing image
+	 * should share a single working image.
+	 */
+	private boolean fuseFilters = false;
+
+	/**
+	 * Where the streams used to read and write images cache their data, or
+	 * {@code null} if it has not been specified.
+	 */
+	private StreamCache streamCache = null;
+
+	/**
+	 * Whether a thumbnail embedded in the source image may be read instead
+	 * of the source image.
+	 */
+	private boolean useEmbeddedThumbnail = false;
+
+	/**
+	 * Whether JPEG images may be decoded at a reduced size by scaling in the
+	 * DCT domain, when subsampling is performed while decoding.
+	 */
+	private boolean useDctScaling = false;
+
+	/**
+	 * Which image is read from a source image which contains more than one
+	 * image.
+	 */
+	private ImageSelection imageSelection = ImageSelection.FIRST;
+
+	/**
+	 * The position at which the thumbnail is cropped, or {@code null} if
+	 * the thumbnail is not cropped.
+	 */
+	private Position cropPosition = null;
+
+	/**
+	 * How thumbnails are written to files.
+	 */
+	private FileWritePolicy fileWritePolicy = FileWritePolicy.DIRECT;
+
+	/**
+	 * The largest number of bytes the thumbnail should be encoded in, or
+	 * {@code 0} if there is no target file size.
+	 */
+	private long targetFileSize = 0;
+
+	/**
+	 * The structural similarity (SSIM) index the thumbnail should have with
+	 * its encode, or {@link Double#NaN} if there is no target SSIM index.
+	 */
+	private double targetSsim = Double.NaN;
+
+	/**
+	 * The cache of thumbnails which have been created before, or
+	 * {@code null} if thumbnails are not cached.
+	 */
+	private ThumbnailCache thumbnailCache = null;
+
+	/**
+	 * Whether the image type was chosen by the user, rather than being the
+	 * {@link #DEFAULT_IMAGE_TYPE} because it was left unspecified.
+	 */
+	private boolean imageTypeSpecified = true;
 	
 	/**
 	 * Private constructor which sets all the required fields, and performs
@@ -993,4 +1087,441 @@ public class ThumbnailParameter {
 	public boolean useExifOrientation() {
 		return useExifOrientation;
 	}
+
+	/**
+	 * Returns the pool to acquire image readers and writers from.
+	 *
+	 * @return		The codec pool, or {@code null} if a new reader or writer
+	 * 				should be created for each image.
+	 * @since	0.4.22
+	 */
+	public ImageCodecPool getCodecPool() {
+		return codecPool;
+	}
+
+	/**
+	 * Sets the pool to acquire image readers and writers from.
+	 *
+	 * @param codecPool	The codec pool, or {@code null} if a new reader or
+	 * 					writer should be created for each image.
+	 * @since	0.4.22
+	 */
+	public void setCodecPool(ImageCodecPool codecPool) {
+		this.codecPool = codecPool;
+	}
+
+	/**
+	 * Returns whether and how much the source image should be subsampled
+	 * while it is decoded.
+	 *
+	 * @return		The subsampling setting, or {@code null} if it has not
+	 * 				been specified. When {@code null}, the source image is
+	 * 				only subsampled by the
+	 * 				{@code thumbnailator.conserveMemoryWorkaround} workaround.
+	 * @since	0.4.22
+	 */
+	public DecodeSubsampling getDecodeSubsampling() {
+		return decodeSubsampling;
+	}
+
+	/**
+	 * Sets whether and how much the source image should be subsampled while
+	 * it is decoded.
+	 *
+	 * @param decodeSubsampling	The subsampling setting, or {@code null} to
+	 * 							leave it unspecified.
+	 * @since	0.4.22
+	 */
+	public void setDecodeSubsampling(DecodeSubsampling decodeSubsampling) {
+		this.decodeSubsampling = decodeSubsampling;
+	}
+
+	/**
+	 * Returns the number of rows of the source image to decode at a time.
+	 * <p>
+	 * When the source image is decoded in bands, each band is reduced
+	 * by averaging blocks of pixels as soon as it is decoded, rather than
+	 * being subsampled. The amount of reduction is decided by
+	 * {@link #getDecodeSubsampling()}, where {@link DecodeSubsampling#AUTO}
+	 * is used if it has not been specified. If the image is not reduced,
+	 * it is decoded at once regardless of this setting.
+	 *
+	 * @return		The number of rows to decode at a time, or {@code 0} if
+	 * 				the source image should be decoded at once.
+	 * @since	0.4.22
+	 */
+	public int getDecodeBandHeight() {
+		return decodeBandHeight;
+	}
+
+	/**
+	 * Sets the number of rows of the source image to decode at a time.
+	 *
+	 * @param decodeBandHeight	The number of rows to decode at a time, or
+	 * 							{@code 0} if the source image should be
+	 * 							decoded at once.
+	 * @throws IllegalArgumentException	If the number of rows is negative.
+	 * @since	0.4.22
+	 */
+	public void setDecodeBandHeight(int decodeBandHeight) {
+		if (decodeBandHeight < 0) {
+			throw new IllegalArgumentException("Band height must not be negative.");
+		}
+		this.decodeBandHeight = decodeBandHeight;
+	}
+
+	/**
+	 * Returns whether consecutive {@link InPlaceImageFilter}s should be
+	 * applied to a single working image.
+	 * <p>
+	 * See {@link FusedFilters} for details.
+	 *
+	 * @return		{@code true} if the image filters should be fused,
+	 * 				{@code false} if each filter should be applied on its own.
+	 * @since	0.4.22
+	 */
+	public boolean isFuseFilters() {
+		return fuseFilters;
+	}
+
+	/**
+	 * Sets whether consecutive {@link InPlaceImageFilter}s should be
+	 * applied to a single working image.
+	 *
+	 * @param fuseFilters	{@code true} if the image filters should be
+	 * 						fused, {@code false} otherwise.
+	 * @since	0.4.22
+	 */
+	public void setFuseFilters(boolean fuseFilters) {
+		this.fuseFilters = fuseFilters;
+	}
+
+	/**
+	 * Returns where the streams used to read images from
+	 * {@link java.io.InputStream}s and write images to
+	 * {@link java.io.OutputStream}s cache their data.
+	 *
+	 * @return		The cache setting, or {@code null} if the setting of
+	 * 				{@link javax.imageio.ImageIO#getUseCache()} should be
+	 * 				used.
+	 * @since	0.4.22
+	 */
+	public StreamCache getStreamCache() {
+		return streamCache;
+	}
+
+	/**
+	 * Sets where the streams used to read and write images cache their data.
+	 *
+	 * @param streamCache	The cache setting, or {@code null} to use the
+	 * 						setting of
+	 * 						{@link javax.imageio.ImageIO#getUseCache()}.
+	 * @since	0.4.22
+	 */
+	public void setStreamCache(StreamCache streamCache) {
+		this.streamCache = streamCache;
+	}
+
+	/**
+	 * Returns whether a thumbnail embedded in the source image, such as an
+	 * Exif or JFIF thumbnail, may be read instead of the source image when
+	 * it is at least as large as the thumbnail to create.
+	 *
+	 * @return		{@code true} if an embedded thumbnail may be used,
+	 * 				{@code false} if the source image is always read.
+	 * @since	0.4.22
+	 */
+	public boolean useEmbeddedThumbnail() {
+		return useEmbeddedThumbnail;
+	}
+
+	/**
+	 * Sets whether a thumbnail embedded in the source image may be read
+	 * instead of the source image.
+	 *
+	 * @param useEmbeddedThumbnail	{@code true} if an embedded thumbnail
+	 * 								may be used, {@code false} otherwise.
+	 * @since	0.4.22
+	 */
+	public void setUseEmbeddedThumbnail(boolean useEmbeddedThumbnail) {
+		this.useEmbeddedThumbnail = useEmbeddedThumbnail;
+	}
+
+	/**
+	 * Returns whether JPEG images may be decoded at 1/2, 1/4 or 1/8 of their
+	 * size by performing a reduced inverse DCT, rather than by subsampling
+	 * the pixels of the image, when subsampling is performed while decoding.
+	 *
+	 * @return		{@code true} if JPEG images may be decoded at a reduced
+	 * 				size in the DCT domain, {@code false} otherwise.
+	 * @since	0.4.22
+	 */
+	public boolean useDctScaling() {
+		return useDctScaling;
+	}
+
+	/**
+	 * Sets whether JPEG images may be decoded at a reduced size by scaling
+	 * in the DCT domain, when subsampling is performed while decoding.
+	 *
+	 * @param useDctScaling	{@code true} if JPEG images may be decoded at
+	 * 						a reduced size in the DCT domain,
+	 * 						{@code false} otherwise.
+	 * @since	0.4.22
+	 */
+	public void setUseDctScaling(boolean useDctScaling) {
+		this.useDctScaling = useDctScaling;
+	}
+
+	/**
+	 * Returns which image is read from a source image which contains more
+	 * than one image, such as a pyramidal TIFF.
+	 *
+	 * @return		The image selection setting.
+	 * @since	0.4.22
+	 */
+	public ImageSelection getImageSelection() {
+		return imageSelection;
+	}
+
+	/**
+	 * Sets which image is read from a source image which contains more than
+	 * one image.
+	 *
+	 * @param imageSelection	The image selection setting.
+	 * @throws NullPointerException		If the setting is {@code null}.
+	 * @since	0.4.22
+	 */
+	public void setImageSelection(ImageSelection imageSelection) {
+		if (imageSelection == null) {
+			throw new NullPointerException("Image selection is null.");
+		}
+		this.imageSelection = imageSelection;
+	}
+
+	/**
+	 * Returns the position at which the thumbnail is cropped to the
+	 * thumbnail size, or {@code null} if the thumbnail is not cropped.
+	 * <p>
+	 * The crop itself is performed by a {@link net.coobird.thumbnailator.filters.Canvas}
+	 * among the image filters. Image sources which can read a region of the
+	 * source image use the crop position to read only the region which
+	 * remains after the crop. The filter is not applied when the thumbnail
+	 * already has the thumbnail size, as it would only copy the thumbnail.
+	 *
+	 * @return		The crop position, or {@code null} if the thumbnail is
+	 * 				not cropped.
+	 * @since	0.4.22
+	 */
+	public Position getCropPosition() {
+		return cropPosition;
+	}
+
+	/**
+	 * Sets the position at which the thumbnail is cropped to the thumbnail
+	 * size.
+	 *
+	 * @param cropPosition	The crop position, or {@code null} if the
+	 * 						thumbnail is not cropped.
+	 * @since	0.4.22
+	 */
+	public void setCropPosition(Position cropPosition) {
+		this.cropPosition = cropPosition;
+	}
+
+	/**
+	 * Returns how thumbnails are written to files.
+	 *
+	 * @return		The file write policy.
+	 * @since	0.4.22
+	 */
+	public FileWritePolicy getFileWritePolicy() {
+		return fileWritePolicy;
+	}
+
+	/**
+	 * Sets how thumbnails are written to files.
+	 *
+	 * @param fileWritePolicy	The file write policy.
+	 * @throws NullPointerException		If the policy is {@code null}.
+	 * @since	0.4.22
+	 */
+	public void setFileWritePolicy(FileWritePolicy fileWritePolicy) {
+		if (fileWritePolicy == null) {
+			throw new NullPointerException("File write policy is null.");
+		}
+		this.fileWritePolicy = fileWritePolicy;
+	}
+
+	/**
+	 * Returns the largest number of bytes the thumbnail should be encoded in.
+	 *
+	 * @return		The target file size in bytes, or {@code 0} if there is
+	 * 				no target file size.
+	 * @since	0.4.22
+	 */
+	public long getTargetFileSize() {
+		return targetFileSize;
+	}
+
+	/**
+	 * Sets the largest number of bytes the thumbnail should be encoded in.
+	 * <p>
+	 * The compression quality is lowered until the encoded thumbnail fits
+	 * within the target file size. Output formats which are not compressed
+	 * with a lossy compression ignore this setting.
+	 *
+	 * @param targetFileSize	The target file size in bytes, or {@code 0}
+	 * 							if there is no target file size.
+	 * @throws IllegalArgumentException	If the size is negative.
+	 * @since	0.4.22
+	 */
+	public void setTargetFileSize(long targetFileSize) {
+		if (targetFileSize < 0) {
+			throw new IllegalArgumentException("Target file size must not be negative.");
+		}
+		this.targetFileSize = targetFileSize;
+	}
+
+	/**
+	 * Returns the structural similarity (SSIM) index the encoded thumbnail
+	 * should have with the thumbnail.
+	 *
+	 * @return		The target SSIM index, or {@link Double#NaN} if there is
+	 * 				no target SSIM index.
+	 * @since	0.4.22
+	 */
+	public double getTargetSsim() {
+		return targetSsim;
+	}
+
+	/**
+	 * Sets the structural similarity (SSIM) index the encoded thumbnail
+	 * should have with the thumbnail.
+	 * <p>
+	 * The lowest compression quality which meets the target SSIM index is
+	 * used. Output formats which are not compressed with a lossy compression
+	 * ignore this setting.
+	 *
+	 * @param targetSsim	The target SSIM index, or {@link Double#NaN} if
+	 * 						there is no target SSIM index.
+	 * @throws IllegalArgumentException	If the index is not greater than
+	 * 									{@code 0.0} and at most
+	 * 									{@code 1.0}.
+	 * @since	0.4.22
+	 */
+	public void setTargetSsim(double targetSsim) {
+		if (!Double.isNaN(targetSsim) && !(targetSsim > 0.0 && targetSsim <= 1.0)) {
+			throw new IllegalArgumentException("Target SSIM index must be greater than 0.0 and at most 1.0.");
+		}
+		this.targetSsim = targetSsim;
+	}
+
+	/**
+	 * Returns the cache of thumbnails which have been created before.
+	 *
+	 * @return		The thumbnail cache, or {@code null} if thumbnails are
+	 * 				not cached.
+	 * @since	0.4.22
+	 */
+	public ThumbnailCache getThumbnailCache() {
+		return thumbnailCache;
+	}
+
+	/**
+	 * Sets the cache of thumbnails which have been created before.
+	 *
+	 * @param thumbnailCache	The thumbnail cache, or {@code null} if
+	 * 							thumbnails should not be cached.
+	 * @since	0.4.22
+	 */
+	public void setThumbnailCache(ThumbnailCache thumbnailCache) {
+		this.thumbnailCache = thumbnailCache;
+	}
+
+	/**
+	 * Returns whether the image type was chosen by the user.
+	 * <p>
+	 * When the image type was left unspecified, the thumbnail may be created
+	 * with an image type without an alpha channel instead of the
+	 * {@link #DEFAULT_IMAGE_TYPE}, if it will be written in a format which
+	 * cannot store an alpha channel.
+	 *
+	 * @return		{@code true} if the image type was chosen by the user,
+	 * 				{@code false} if the {@link #DEFAULT_IMAGE_TYPE} is used
+	 * 				because it was unspecified.
+	 * @since	0.4.22
+	 */
+	public boolean isImageTypeSpecified() {
+		return imageTypeSpecified;
+	}
+
+	/**
+	 * Sets whether the image type was chosen by the user.
+	 *
+	 * @param imageTypeSpecified	{@code true} if the image type was chosen
+	 * 								by the user, {@code false} if it was
+	 * 								unspecified.
+	 * @since	0.4.22
+	 */
+	public void setImageTypeSpecified(boolean imageTypeSpecified) {
+		this.imageTypeSpecified = imageTypeSpecified;
+	}
+
+	/**
+	 * Returns a description of the parameters which affect the resulting
+	 * thumbnail.
+	 * <p>
+	 * The description is the same for parameters which result in the same
+	 * thumbnail, also across runs of an application, so it can be used to
+	 * identify thumbnails which have been created before.
+	 * Settings which only affect how the thumbnail is created, such as the
+	 * {@link ImageCodecPool}, are not included.
+	 * <p>
+	 * Image filters, resizer factories and positions are described by
+	 * {@link ThumbnailatorUtils#describe(Object)}. The ones provided by
+	 * Thumbnailator describe all of their settings. If any of them cannot
+	 * be described, such as an image filter which does not implement
+	 * {@link CanonicallyDescribable}, then there is no description.
+	 *
+	 * @return		A description of the parameters, or {@code null} if the
+	 * 				parameters cannot be described.
+	 * @since	0.4.22
+	 */
+	public String toCanonicalString() {
+		List<Object> describedObjects = new ArrayList<Object>();
+		describedObjects.add(sourceRegion);
+		describedObjects.add(cropPosition);
+		describedObjects.add(resizerFactory);
+		describedObjects.addAll(filters);
+		
+		StringBuilder sb = new StringBuilder();
+		sb.append(thumbnailSize).append('\n');
+		sb.append(widthScalingFactor).append('\n');
+		sb.append(heightScalingFactor).append('\n');
+		sb.append(keepAspectRatio).append('\n');
+		sb.append(fitWithinDimensions).append('\n');
+		sb.append(imageType).append('\n');
+		sb.append(imageTypeSpecified).append('\n');
+		sb.append(outputFormat).append('\n');
+		sb.append(outputFormatType).append('\n');
+		sb.append(outputQuality).append('\n');
+		sb.append(targetFileSize).append('\n');
+		sb.append(targetSsim).append('\n');
+		sb.append(useExifOrientation).append('\n');
+		sb.append(decodeSubsampling).append('\n');
+		sb.append(decodeBandHeight).append('\n');
+		sb.append(fuseFilters).append('\n');
+		sb.append(useEmbeddedThumbnail).append('\n');
+		sb.append(useDctScaling).append('\n');
+		sb.append(imageSelection).append('\n');
+		for (Object o : describedObjects) {
+			String description = ThumbnailatorUtils.describe(o);
+			if (description == null) {
+				return null;
+			}
+			sb.append(description).append('\n');
+		}
+		return sb.toString();
+	}
 }
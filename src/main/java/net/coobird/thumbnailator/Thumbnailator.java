@@ -39,6 +39,8 @@ import java.util.List;
 
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
 import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.filters.Canvas;
+import net.coobird.thumbnailator.filters.FusedFilters;
 import net.coobird.thumbnailator.filters.ImageFilter;
 import net.coobird.thumbnailator.filters.Pipeline;
 import net.coobird.thumbnailator.filters.SwapDimensions;
@@ -48,6 +50,7 @@ import net.coobird.thumbnailator.name.Rename;
 import net.coobird.thumbnailator.resizers.DefaultResizerFactory;
 import net.coobird.thumbnailator.resizers.Resizer;
 import net.coobird.thumbnailator.tasks.ThumbnailTask;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 /**
  * This class provides static utility methods which perform generation of
@@ -74,11 +77,17 @@ public final class Thumbnailator {
 	public static void createThumbnail(ThumbnailTask<?, ?> task) throws IOException {
 		ThumbnailParameter param = task.getParam();
 		
+		// Skip creating the thumbnail if it has been created before.
+		if (task.writeFromCache()) {
+			return;
+		}
+		
 		// Obtain the original image.
 		BufferedImage sourceImage = task.read();
 
 		// Decide the image type of the destination image.
 		int imageType = param.getType();
+		boolean isDefaultImageType = !param.isImageTypeSpecified();
 		/*
 		 * If the imageType indicates that the image type of the original image
 		 * should be used in the thumbnail, then obtain the image type of the
@@ -92,10 +101,16 @@ public final class Thumbnailator {
 			
 			if (imageTypeToUse == BufferedImage.TYPE_CUSTOM) {
 				imageType = ThumbnailParameter.DEFAULT_IMAGE_TYPE;
+				isDefaultImageType = true;
 			} else {
 				imageType = sourceImage.getType();
+				isDefaultImageType = false;
 			}
 		}
+		
+		imageType = imageTypeForOutputFormat(
+				imageType, isDefaultImageType, sourceImage, task.getOutputFormatName()
+		);
 
 		// Check for presence of marker indicating to swap the width and height.
 		boolean isSwapDimensions = hasSwapDimensionsFilter(param.getImageFilters());
@@ -125,6 +140,10 @@ public final class Thumbnailator {
 			double heightScalingFactor = !isSwapDimensions ?
 					param.getHeightScalingFactor() : param.getWidthScalingFactor();
 
+			// The source image may have been read at a reduced size.
+			widthScalingFactor *= task.getWidthReduction();
+			heightScalingFactor *= task.getHeightReduction();
+
 			destinationImage =
 				new ScaledThumbnailMaker()
 					.scale(widthScalingFactor, heightScalingFactor)
@@ -138,8 +157,18 @@ public final class Thumbnailator {
 		}
 		
 		// Perform the image filters
-		for (ImageFilter filter : param.getImageFilters()) {
-			destinationImage = filter.apply(destinationImage);
+		List<ImageFilter> filters = param.getImageFilters();
+		if (isCropped(param, destinationImage, isSwapDimensions)) {
+			filters = withoutCropFilter(filters);
+		}
+		
+		if (param.isFuseFilters()) {
+			// The thumbnail was made above, so it can be drawn on directly.
+			destinationImage = FusedFilters.apply(destinationImage, filters, true);
+		} else {
+			for (ImageFilter filter : filters) {
+				destinationImage = filter.apply(destinationImage);
+			}
 		}
 		
 		// Write the thumbnail image to the destination.
@@ -149,6 +178,69 @@ public final class Thumbnailator {
 		destinationImage.flush();
 	}
 
+	/**
+	 * Returns whether the thumbnail is to be cropped, but already has the
+	 * size it would be cropped to. This is the case when the image source
+	 * has read only the region of the source image which remains after the
+	 * crop.
+	 */
+	private static boolean isCropped(ThumbnailParameter param, BufferedImage thumbnail, boolean isSwapDimensions) {
+		Dimension size = param.getSize();
+		if (param.getCropPosition() == null || size == null) {
+			return false;
+		}
+		
+		int width = !isSwapDimensions ? thumbnail.getWidth() : thumbnail.getHeight();
+		int height = !isSwapDimensions ? thumbnail.getHeight() : thumbnail.getWidth();
+		return width == size.width && height == size.height;
+	}
+	
+	/**
+	 * Returns the filters without the {@link Canvas} which crops the
+	 * thumbnail. It is the first {@link Canvas}, as it is added before the
+	 * filters which were specified, and only filters which correct the
+	 * orientation are added before it.
+	 */
+	private static List<ImageFilter> withoutCropFilter(List<ImageFilter> filters) {
+		List<ImageFilter> filtersToUse = new ArrayList<ImageFilter>(filters);
+		for (int i = 0; i < filtersToUse.size(); i++) {
+			if (filtersToUse.get(i) instanceof Canvas) {
+				filtersToUse.remove(i);
+				break;
+			}
+		}
+		return filtersToUse;
+	}
+
+	/**
+	 * Returns the image type to make a thumbnail with, given the format it
+	 * will be written in.
+	 * <p>
+	 * If the default image type is to be used because no other image type
+	 * was chosen, but the thumbnail will be written in a format which cannot
+	 * store an alpha channel, then an image type without an alpha channel is
+	 * used. This saves memory while making the thumbnail, and the thumbnail
+	 * does not have to be copied to an opaque image before being written.
+	 * <p>
+	 * This is only done for opaque source images. Translucent images are
+	 * made with an alpha channel, which is flattened when they are written,
+	 * so that the result does not depend on the type of the source image.
+	 */
+	static int imageTypeForOutputFormat(
+			int imageType,
+			boolean isDefaultImageType,
+			BufferedImage sourceImage,
+			String formatName
+	) {
+		if (isDefaultImageType
+				&& imageType == ThumbnailParameter.DEFAULT_IMAGE_TYPE
+				&& !sourceImage.getColorModel().hasAlpha()
+				&& ThumbnailatorUtils.isOpaqueOutputFormat(formatName)) {
+			return BufferedImage.TYPE_INT_RGB;
+		}
+		return imageType;
+	}
+
 	private static boolean hasSwapDimensionsFilter(List<ImageFilter> imageFilters) {
 		boolean hasSwapDimenionsFilter = false;
 		for (ImageFilter imageFilter : imageFilters) {
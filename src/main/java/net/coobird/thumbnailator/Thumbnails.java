@@ -31,18 +31,30 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.imageio.ImageIO;
 
 import net.coobird.thumbnailator.filters.Canvas;
+import net.coobird.thumbnailator.filters.FusedFilters;
 import net.coobird.thumbnailator.filters.ImageFilter;
 import net.coobird.thumbnailator.filters.Pipeline;
 import net.coobird.thumbnailator.filters.Rotation;
@@ -53,6 +65,7 @@ import net.coobird.thumbnailator.geometry.Position;
 import net.coobird.thumbnailator.geometry.Positions;
 import net.coobird.thumbnailator.geometry.Region;
 import net.coobird.thumbnailator.geometry.Size;
+import net.coobird.thumbnailator.makers.FixedSizeThumbnailMaker;
 import net.coobird.thumbnailator.name.Rename;
 import net.coobird.thumbnailator.resizers.BicubicResizer;
 import net.coobird.thumbnailator.resizers.BilinearResizer;
@@ -61,20 +74,34 @@ import net.coobird.thumbnailator.resizers.FixedResizerFactory;
 import net.coobird.thumbnailator.resizers.ProgressiveBilinearResizer;
 import net.coobird.thumbnailator.resizers.Resizer;
 import net.coobird.thumbnailator.resizers.ResizerFactory;
+import net.coobird.thumbnailator.resizers.Resizers;
 import net.coobird.thumbnailator.resizers.configurations.AlphaInterpolation;
 import net.coobird.thumbnailator.resizers.configurations.Antialiasing;
 import net.coobird.thumbnailator.resizers.configurations.Dithering;
 import net.coobird.thumbnailator.resizers.configurations.Rendering;
 import net.coobird.thumbnailator.resizers.configurations.ScalingMode;
+import net.coobird.thumbnailator.tasks.BatchThumbnailException;
 import net.coobird.thumbnailator.tasks.SourceSinkThumbnailTask;
+import net.coobird.thumbnailator.tasks.ThumbnailTask;
 import net.coobird.thumbnailator.tasks.io.BufferedImageSink;
+import net.coobird.thumbnailator.tasks.io.ByteBufferImageSink;
+import net.coobird.thumbnailator.tasks.io.ByteBufferImageSource;
 import net.coobird.thumbnailator.tasks.io.BufferedImageSource;
+import net.coobird.thumbnailator.tasks.io.DecodeSubsampling;
 import net.coobird.thumbnailator.tasks.io.FileImageSink;
 import net.coobird.thumbnailator.tasks.io.FileImageSource;
+import net.coobird.thumbnailator.tasks.io.FileWritePolicy;
+import net.coobird.thumbnailator.tasks.io.ImageCodecPool;
+import net.coobird.thumbnailator.tasks.io.ImageInfo;
+import net.coobird.thumbnailator.tasks.io.ImageSelection;
+import net.coobird.thumbnailator.tasks.io.ImageSink;
 import net.coobird.thumbnailator.tasks.io.ImageSource;
 import net.coobird.thumbnailator.tasks.io.InputStreamImageSource;
 import net.coobird.thumbnailator.tasks.io.OutputStreamImageSink;
+import net.coobird.thumbnailator.tasks.io.StreamCache;
+import net.coobird.thumbnailator.tasks.io.ThumbnailCache;
 import net.coobird.thumbnailator.tasks.io.URLImageSource;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
 import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 /**
@@ -278,6 +305,53 @@ public final class Thumbnails {
 		return Builder.ofBufferedImages(Arrays.asList(images));
 	}
 	
+	/**
+	 * Indicate to make thumbnails from the image data held in the specified
+	 * byte arrays.
+	 * <p>
+	 * The image data is read directly from the arrays, without being copied.
+	 * 
+	 * @param data		Arrays holding the image data for which thumbnails
+	 * 					are to be produced for.
+	 * @return			Reference to a builder object which is used to
+	 * 					specify the parameters for creating the thumbnail.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IllegalArgumentException	If the argument is an empty array.
+	 * @since	0.4.22
+	 */
+	public static Builder<ByteBuffer> of(byte[]... data) {
+		checkForNull(data, "Cannot specify null for byte arrays.");
+		checkForEmpty(data, "Cannot specify an empty array for byte arrays.");
+		
+		List<ByteBuffer> buffers = new ArrayList<ByteBuffer>(data.length);
+		for (byte[] d : data) {
+			checkForNull(d, "Cannot specify null for a byte array.");
+			buffers.add(ByteBuffer.wrap(d));
+		}
+		return Builder.ofByteBuffers(buffers);
+	}
+	
+	/**
+	 * Indicate to make thumbnails from the image data held in the specified
+	 * {@link ByteBuffer}s.
+	 * <p>
+	 * The data from the position to the limit of each buffer is used.
+	 * The image data is read directly from the buffers, without being copied.
+	 * 
+	 * @param buffers	{@link ByteBuffer}s holding the image data for which
+	 * 					thumbnails are to be produced for.
+	 * @return			Reference to a builder object which is used to
+	 * 					specify the parameters for creating the thumbnail.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IllegalArgumentException	If the argument is an empty array.
+	 * @since	0.4.22
+	 */
+	public static Builder<ByteBuffer> of(ByteBuffer... buffers) {
+		checkForNull(buffers, "Cannot specify null for ByteBuffers.");
+		checkForEmpty(buffers, "Cannot specify an empty array for ByteBuffers.");
+		return Builder.ofByteBuffers(Arrays.asList(buffers));
+	}
+	
 	/**
 	 * Indicate to make thumbnails for images with the specified filenames.
 	 * 
@@ -366,6 +440,137 @@ public final class Thumbnails {
 		checkForEmpty(images, "Cannot specify an empty collection for images.");
 		return Builder.ofBufferedImages(images);
 	}
+	
+	/**
+	 * Indicate to make thumbnails from the image data held in the specified
+	 * {@link ByteBuffer}s.
+	 * <p>
+	 * The data from the position to the limit of each buffer is used.
+	 * The image data is read directly from the buffers, without being copied.
+	 * 
+	 * @param buffers	{@link ByteBuffer}s holding the image data for which
+	 * 					thumbnails are to be produced for.
+	 * @return			Reference to a builder object which is used to
+	 * 					specify the parameters for creating the thumbnail.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IllegalArgumentException	If the argument is an empty collection.
+	 * @since	0.4.22
+	 */
+	public static Builder<ByteBuffer> fromByteBuffers(Iterable<ByteBuffer> buffers) {
+		checkForNull(buffers, "Cannot specify null for ByteBuffers.");
+		checkForEmpty(buffers, "Cannot specify an empty collection for ByteBuffers.");
+		return Builder.ofByteBuffers(buffers);
+	}
+	
+	/**
+	 * Returns information about the image in the specified file, obtained
+	 * from the header of the image without decoding it.
+	 * 
+	 * @param file		The image file.
+	 * @return			Information about the image.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IOException				If a problem occurs while reading
+	 * 									the image header.
+	 * @since	0.4.22
+	 */
+	public static ImageInfo probe(File file) throws IOException {
+		checkForNull(file, "Cannot specify null for input file.");
+		return new FileImageSource(file).probe();
+	}
+	
+	/**
+	 * Returns information about the image at the specified {@link URL},
+	 * obtained from the header of the image without decoding it.
+	 * 
+	 * @param url		The {@link URL} of the image.
+	 * @return			Information about the image.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IOException				If a problem occurs while reading
+	 * 									the image header.
+	 * @since	0.4.22
+	 */
+	public static ImageInfo probe(URL url) throws IOException {
+		checkForNull(url, "Cannot specify null for input URL.");
+		return new URLImageSource(url).probe();
+	}
+	
+	/**
+	 * Returns information about the image provided by the specified
+	 * {@link InputStream}, obtained from the header of the image without
+	 * decoding it.
+	 * <p>
+	 * Note that the {@link InputStream#close()} method will not be called
+	 * upon reading the header. As the header is read from the stream, the
+	 * stream cannot be used to read the image afterwards.
+	 * 
+	 * @param is		The {@link InputStream} which provides the image.
+	 * @return			Information about the image.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IOException				If a problem occurs while reading
+	 * 									the image header.
+	 * @since	0.4.22
+	 */
+	public static ImageInfo probe(InputStream is) throws IOException {
+		checkForNull(is, "Cannot specify null for InputStream.");
+		return new InputStreamImageSource(is).probe();
+	}
+	
+	/**
+	 * Returns information about the image held in the specified
+	 * {@link ByteBuffer}, obtained from the header of the image without
+	 * decoding it.
+	 * <p>
+	 * The data from the position to the limit of the buffer is used.
+	 * 
+	 * @param buffer	The {@link ByteBuffer} holding the image data.
+	 * @return			Information about the image.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IOException				If a problem occurs while reading
+	 * 									the image header.
+	 * @since	0.4.22
+	 */
+	public static ImageInfo probe(ByteBuffer buffer) throws IOException {
+		checkForNull(buffer, "Cannot specify null for ByteBuffer.");
+		return new ByteBufferImageSource(buffer).probe();
+	}
+	
+	/**
+	 * Returns information about the image held in the specified byte array,
+	 * obtained from the header of the image without decoding it.
+	 * 
+	 * @param data		The array holding the image data.
+	 * @return			Information about the image.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IOException				If a problem occurs while reading
+	 * 									the image header.
+	 * @since	0.4.22
+	 */
+	public static ImageInfo probe(byte[] data) throws IOException {
+		checkForNull(data, "Cannot specify null for byte array.");
+		return new ByteBufferImageSource(data).probe();
+	}
+	
+	/**
+	 * Returns information about the images in the specified files,
+	 * obtained from the headers of the images without decoding them.
+	 * 
+	 * @param files		The image files.
+	 * @return			A {@link List} of information about the images, in
+	 * 					the order of the given files.
+	 * @throws NullPointerException		If the argument is {@code null}.
+	 * @throws IOException				If a problem occurs while reading
+	 * 									an image header.
+	 * @since	0.4.22
+	 */
+	public static List<ImageInfo> probeFiles(Iterable<File> files) throws IOException {
+		checkForNull(files, "Cannot specify null for input files.");
+		
+		List<ImageInfo> infos = new ArrayList<ImageInfo>();
+		for (File file : files) {
+			infos.add(probe(file));
+		}
+		return infos;
+	}
 
 	/**
 	 * The builder interface for Thumbnailator to set up the thumbnail
@@ -422,11 +627,14 @@ instance.asFiles("path/to/thumbnail");
 	 * <li>{@link Thumbnails#of(String...)}</li>
 	 * <li>{@link Thumbnails#of(InputStream...)}</li>
 	 * <li>{@link Thumbnails#of(URL...)}</li>
+	 * <li>{@link Thumbnails#of(byte[]...)}</li>
+	 * <li>{@link Thumbnails#of(ByteBuffer...)}</li>
 	 * <li>{@link Thumbnails#fromImages(Iterable)}</li>
 	 * <li>{@link Thumbnails#fromFiles(Iterable)}</li>
 	 * <li>{@link Thumbnails#fromFilenames(Iterable)}</li>
 	 * <li>{@link Thumbnails#fromInputStreams(Iterable)}</li>
 	 * <li>{@link Thumbnails#fromURLs(Iterable)}</li>
+	 * <li>{@link Thumbnails#fromByteBuffers(Iterable)}</li>
 	 * </ul>
  	 * 
 	 * @author coobird
@@ -552,6 +760,34 @@ instance.asFiles("path/to/thumbnail");
 			}
 		}
 		
+		private static final class ByteBufferImageSourceIterator implements
+				Iterable<ImageSource<ByteBuffer>> {
+
+			private final Iterable<ByteBuffer> buffers;
+			
+			private ByteBufferImageSourceIterator(Iterable<ByteBuffer> buffers) {
+				this.buffers = buffers;
+			}
+			
+			public Iterator<ImageSource<ByteBuffer>> iterator() {
+				return new Iterator<ImageSource<ByteBuffer>>() {
+					Iterator<ByteBuffer> iter = buffers.iterator();
+					
+					public boolean hasNext() {
+						return iter.hasNext();
+					}
+
+					public ImageSource<ByteBuffer> next() {
+						return new ByteBufferImageSource(iter.next());
+					}
+					
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		}
+		
 		private static final class BufferedImageImageSourceIterator implements
 			Iterable<ImageSource<BufferedImage>> {
 
@@ -600,6 +836,11 @@ instance.asFiles("path/to/thumbnail");
 			return new Builder<InputStream>(iter);
 		}
 		
+		private static Builder<ByteBuffer> ofByteBuffers(Iterable<ByteBuffer> buffers) {
+			Iterable<ImageSource<ByteBuffer>> iter = new ByteBufferImageSourceIterator(buffers);
+			return new Builder<ByteBuffer>(iter);
+		}
+		
 		private static Builder<BufferedImage> ofBufferedImages(Iterable<BufferedImage> images) {
 			Iterable<ImageSource<BufferedImage>> iter = new BufferedImageImageSourceIterator(images);
 			return new Builder<BufferedImage>(iter);
@@ -691,6 +932,20 @@ instance.asFiles("path/to/thumbnail");
 			ALLOW_OVERWRITE("allowOverwrite"),
 			CROP("crop"),
 			USE_EXIF_ORIENTATION("useExifOrientation"),
+			PARALLEL("parallel"),
+			CODEC_POOL("codecPool"),
+			DECODE_SUBSAMPLING("decodeSubsampling"),
+			DECODE_IN_BANDS("decodeInBands"),
+			FUSE_FILTERS("fuseFilters"),
+			STREAM_CACHE("streamCache"),
+			USE_EMBEDDED_THUMBNAIL("useEmbeddedThumbnail"),
+			USE_DCT_SCALING("useDctScaling"),
+			IMAGE_SELECTION("imageSelection"),
+			FILE_WRITE_POLICY("fileWritePolicy"),
+			TARGET_FILE_SIZE("targetFileSize"),
+			TARGET_SSIM("targetSsim"),
+			INCREMENTAL("incremental"),
+			CACHE("cache"),
 			;
 			
 			private final String name;
@@ -733,6 +988,20 @@ instance.asFiles("path/to/thumbnail");
 			statusMap.put(Properties.ALLOW_OVERWRITE, Status.OPTIONAL);
 			statusMap.put(Properties.CROP, Status.OPTIONAL);
 			statusMap.put(Properties.USE_EXIF_ORIENTATION, Status.OPTIONAL);
+			statusMap.put(Properties.PARALLEL, Status.OPTIONAL);
+			statusMap.put(Properties.CODEC_POOL, Status.OPTIONAL);
+			statusMap.put(Properties.DECODE_SUBSAMPLING, Status.OPTIONAL);
+			statusMap.put(Properties.DECODE_IN_BANDS, Status.OPTIONAL);
+			statusMap.put(Properties.FUSE_FILTERS, Status.OPTIONAL);
+			statusMap.put(Properties.STREAM_CACHE, Status.OPTIONAL);
+			statusMap.put(Properties.USE_EMBEDDED_THUMBNAIL, Status.OPTIONAL);
+			statusMap.put(Properties.USE_DCT_SCALING, Status.OPTIONAL);
+			statusMap.put(Properties.IMAGE_SELECTION, Status.OPTIONAL);
+			statusMap.put(Properties.FILE_WRITE_POLICY, Status.OPTIONAL);
+			statusMap.put(Properties.TARGET_FILE_SIZE, Status.OPTIONAL);
+			statusMap.put(Properties.TARGET_SSIM, Status.OPTIONAL);
+			statusMap.put(Properties.INCREMENTAL, Status.OPTIONAL);
+			statusMap.put(Properties.CACHE, Status.OPTIONAL);
 		}
 
 		/**
@@ -814,6 +1083,98 @@ instance.asFiles("path/to/thumbnail");
 		 */
 		private Pipeline filterPipeline = new Pipeline();
 		
+		/**
+		 * The number of threads to use when creating thumbnails in parallel.
+		 * A value of {@code 0} indicates that a thread pool should not be
+		 * created by this builder.
+		 */
+		private int parallelism = 0;
+		
+		/**
+		 * The {@link ExecutorService} provided by the caller which is used
+		 * when creating thumbnails in parallel. If {@code null}, then the
+		 * {@link #parallelism} field decides whether thumbnails are created
+		 * in parallel.
+		 */
+		private ExecutorService executor = null;
+		
+		/**
+		 * The pool to acquire image readers and writers from. If
+		 * {@code null}, a new reader and writer is created for each image.
+		 */
+		private ImageCodecPool codecPool = null;
+		
+		/**
+		 * Whether and how much the source images should be subsampled while
+		 * they are decoded. If {@code null}, it is left unspecified.
+		 */
+		private DecodeSubsampling decodeSubsampling = null;
+		
+		/**
+		 * The number of rows of the source images to decode at a time.
+		 * A value of {@code 0} indicates that the source images are decoded
+		 * at once.
+		 */
+		private int decodeBandHeight = 0;
+		
+		/**
+		 * Whether consecutive image filters which can draw onto an existing
+		 * image share a single working image.
+		 */
+		private boolean fuseFilters = false;
+		
+		/**
+		 * Where the streams used to read and write images cache their data.
+		 * If {@code null}, {@link ImageIO#getUseCache()} decides.
+		 */
+		private StreamCache streamCache = null;
+		
+		/**
+		 * Whether a thumbnail embedded in the source image may be read
+		 * instead of the source image.
+		 */
+		private boolean useEmbeddedThumbnail = false;
+		
+		/**
+		 * Whether JPEG images may be decoded at a reduced size in the DCT
+		 * domain.
+		 */
+		private boolean useDctScaling = false;
+		
+		/**
+		 * Which image is read from a source image which contains more than
+		 * one image.
+		 */
+		private ImageSelection imageSelection = ImageSelection.FIRST;
+		
+		/**
+		 * How thumbnails are written to files.
+		 */
+		private FileWritePolicy fileWritePolicy = FileWritePolicy.DIRECT;
+		
+		/**
+		 * The largest number of bytes each thumbnail should be encoded in,
+		 * or {@code 0} if there is no target file size.
+		 */
+		private long targetFileSize = 0;
+		
+		/**
+		 * The SSIM index each encoded thumbnail should have with the
+		 * thumbnail, or {@link Double#NaN} if there is no target.
+		 */
+		private double targetSsim = Double.NaN;
+		
+		/**
+		 * Whether thumbnails which are up to date are skipped when writing
+		 * thumbnails to files.
+		 */
+		private boolean incremental = false;
+		
+		/**
+		 * The cache of thumbnails which have been created before.
+		 */
+		private ThumbnailCache thumbnailCache = null;
+		
 		/**
 		 * Sets the size of the thumbnail.
 		 * <p>
@@ -1704,139 +2065,703 @@ Thumbnails.of(image)
 		}
 		
 		/**
-		 * Indicates that the output format should be determined from the
-		 * available information when writing the thumbnail image.
-		 * <p>
-		 * For example, calling this method will cause the output format to be
-		 * determined from the file extension if thumbnails are written to
-		 * files.
+		 * Creates the thumbnails in parallel, using the specified number of
+		 * threads.
 		 * <p>
-		 * Calling this method multiple times will result in an
+		 * This method will change the behavior of the following methods:
+		 * <ul>
+		 * <li>{@link #asBufferedImages()}</li>
+		 * <li>{@link #asFiles(Iterable)}</li>
+		 * <li>{@link #asFiles(Rename)}</li>
+		 * <li>{@link #asFiles(File, Rename)}</li>
+		 * <li>{@link #toFiles(Iterable)}</li>
+		 * <li>{@link #toFiles(Rename)}</li>
+		 * <li>{@link #toFiles(File, Rename)}</li>
+		 * </ul>
+		 * The thumbnails returned by the above methods will be in the same
+		 * order as the source images.
+		 * <p>
+		 * When thumbnails are created in parallel, a problem with one source
+		 * image will not stop the thumbnails of the other source images from
+		 * being created. Once all source images have been processed, a
+		 * {@link BatchThumbnailException} is thrown if any of the thumbnails
+		 * could not be created. The exception holds the thumbnails which
+		 * were successfully created, and the cause of each failure keyed by
+		 * the index of its source image. For {@link #asBufferedImages()},
+		 * the thumbnail of a source image which failed is {@code null}, so
+		 * that each thumbnail has the index of its source image.
+		 * <p>
+		 * The threads are started when the thumbnails are created, and are
+		 * stopped once all thumbnails have been processed.
+		 * <p>
+		 * The methods which create thumbnails asynchronously, such as
+		 * {@link #asBufferedImageAsync()}, use threads which are shared by
+		 * all builders which specified the same number of threads. At most
+		 * that many thumbnails are created asynchronously at once, and the
+		 * others wait until a thread is available. These threads are
+		 * stopped once no thumbnails are waiting to be created.
+		 * <p>
+		 * Calling this method multiple times, or in conjunction with the
+		 * {@link #executor(ExecutorService)} method, will result in an
 		 * {@link IllegalStateException} to be thrown.
-		 * 
+		 *
+		 * @param threads		The number of threads to use.
 		 * @return				Reference to this object.
-		 * @since	0.4.0
+		 * @throws IllegalArgumentException	If the number of threads is less
+		 * 									than 1.
+		 * @since	0.4.22
 		 */
-		public Builder<T> determineOutputFormat() {
-			updateStatus(Properties.OUTPUT_FORMAT, Status.ALREADY_SET);
-			outputFormat = ThumbnailParameter.DETERMINE_FORMAT;
+		public Builder<T> parallel(int threads) {
+			if (threads < 1) {
+				throw new IllegalArgumentException(
+						"The number of threads must be greater than 0."
+				);
+			}
+			
+			updateStatus(Properties.PARALLEL, Status.ALREADY_SET);
+			this.parallelism = threads;
 			return this;
 		}
 		
-		private boolean isOutputFormatNotSet() {
-			return outputFormat == null || ThumbnailParameter.DETERMINE_FORMAT.equals(outputFormat);
-		}
-		
 		/**
-		 * Sets the compression format type of the thumbnail to write.
+		 * Creates the thumbnails in parallel, using the specified
+		 * {@link ExecutorService}.
 		 * <p>
-		 * If the default type for the compression codec should be used, a
-		 * value of {@link ThumbnailParameter#DEFAULT_FORMAT_TYPE} should be
-		 * used.
+		 * The behavior is the same as the {@link #parallel(int)} method,
+		 * except that the thumbnails are created by the specified
+		 * {@code ExecutorService}. The {@code ExecutorService} will not be
+		 * shut down by Thumbnailator.
 		 * <p>
-		 * Calling this method to set this parameter is optional.
+		 * The {@code ExecutorService} is also used by the methods which
+		 * create thumbnails asynchronously, such as
+		 * {@link #asBufferedImageAsync()}.
 		 * <p>
-		 * Calling this method multiple times will result in an
+		 * Calling this method multiple times, or in conjunction with the
+		 * {@link #parallel(int)} method, will result in an
 		 * {@link IllegalStateException} to be thrown.
-		 * <p>
-		 * Furthermore, if this method is called, then calling the
-		 * {@link #outputFormat} method is disabled, in order to prevent
-		 * cases where the output format type does not exist in the format
-		 * specified for the {@code outputFormat} method.
-		 * <p>
-		 * <em>
-		 * Implementation note:
-		 * Compression format type settings are ignored when the underlying
-		 * image writer does not support compression. This behavior is subject
-		 * to change in the future.
-		 * </em>
 		 *
-		 * @param formatType	The compression format type
+		 * @param executor		The {@link ExecutorService} to use to
+		 * 						create the thumbnails.
 		 * @return				Reference to this object.
-		 * @throws IllegalArgumentException	If an unsupported format type is
-		 * 									specified for the current output
-		 * 									format type. Or, if the output
-		 * 									format has not been specified before
-		 * 									this method was called.
+		 * @throws NullPointerException		If the {@code ExecutorService} is
+		 * 									{@code null}.
+		 * @since	0.4.22
 		 */
-		public Builder<T> outputFormatType(String formatType) {
-			/*
-			 * If the output format is the original format, and the format type
-			 * is being specified, it's going to be likely that the specified
-			 * type will not be present in all the formats, so we'll disallow
-			 * it. (e.g. setting type to "JPEG", and if the original formats
-			 * were JPEG and PNG, then we'd have a problem.
-			 */
-			if (formatType != ThumbnailParameter.DEFAULT_FORMAT_TYPE
-					&& isOutputFormatNotSet()) {
-				throw new IllegalArgumentException(
-						"Cannot set the format type if a specific output " +
-						"format has not been specified."
-				);
-			}
-			
-			if (!ThumbnailatorUtils.isSupportedOutputFormatType(outputFormat, formatType)) {
-				throw new IllegalArgumentException(
-						"Specified format type (" + formatType + ") is not " +
-						" supported for the format: " + outputFormat
-				);
-			}
-			
-			/*
-			 * If the output format type is set, then we'd better make the
-			 * output format unchangeable, or else we'd risk having a type
-			 * that is not part of the output format.
-			 */
-			updateStatus(Properties.OUTPUT_FORMAT_TYPE, Status.ALREADY_SET);
+		public Builder<T> executor(ExecutorService executor) {
+			checkForNull(executor, "ExecutorService is null.");
 			
-			if (!statusMap.containsKey(Properties.OUTPUT_FORMAT)) {
-				updateStatus(Properties.OUTPUT_FORMAT, Status.CANNOT_SET);
-			}
-			outputFormatType = formatType;
+			updateStatus(Properties.PARALLEL, Status.ALREADY_SET);
+			this.executor = executor;
 			return this;
 		}
 		
 		/**
-		 * Sets the watermark to apply on the thumbnail.
-		 * <p>
-		 * This method can be called multiple times to apply multiple
-		 * watermarks.
+		 * Reuses the image readers and writers held by the specified
+		 * {@link ImageCodecPool} to read the source images and write the
+		 * thumbnails, rather than creating new ones for each image.
 		 * <p>
-		 * If multiple watermarks are to be applied, the watermarks will be
-		 * applied in the order that this method is called.
+		 * The same pool can be shared among multiple builders and threads,
+		 * which reduces the per-image overhead when many thumbnails are
+		 * created. The pool is not disposed by Thumbnailator.
 		 * <p>
-		 * Calling this method to set this parameter is optional.
-		 * 
-		 * @param w				The watermark to apply to the thumbnail.
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param pool			The pool of image readers and writers.
 		 * @return				Reference to this object.
+		 * @throws NullPointerException		If the pool is {@code null}.
+		 * @since	0.4.22
 		 */
-		public Builder<T> watermark(Watermark w) {
-			if (w == null) {
-				throw new NullPointerException("Watermark is null.");
-			}
-			
-			filterPipeline.add(w);
+		public Builder<T> codecPool(ImageCodecPool pool) {
+			checkForNull(pool, "ImageCodecPool is null.");
 			
+			updateStatus(Properties.CODEC_POOL, Status.ALREADY_SET);
+			this.codecPool = pool;
 			return this;
 		}
 		
 		/**
-		 * <p>
-		 * Sets the image of the watermark to apply on the thumbnail.
-		 * </p>
-		 * <p>
-		 * This method is a convenience method for the
-		 * {@link #watermark(Position, BufferedImage, float)} method, where
-		 * the opacity is 50%, and the position is set to center of the
-		 * thumbnail:
-		 * </p>
+		 * Sets whether and how much the source images should be subsampled
+		 * while they are decoded.
+		 * <p>
+		 * Subsampling while decoding avoids reading the source image at full
+		 * resolution, which reduces the memory usage and time needed to
+		 * create a small thumbnail from a large image. For example, the
+		 * following will create a 200 pixel wide thumbnail without ever
+		 * holding the full resolution image in memory:
 		 * <pre>
-watermark(Positions.CENTER, image, 0.5f);
+Thumbnails.of(new File("large.jpg"))
+    .width(200)
+    .decodeSubsampling(DecodeSubsampling.AUTO)
+    .toFile(new File("thumbnail.jpg"));
 		 * </pre>
+		 * The size of the thumbnails will be the same regardless of the
+		 * subsampling. See {@link DecodeSubsampling} for the available
+		 * settings.
 		 * <p>
-		 * This method can be called multiple times to apply multiple
-		 * watermarks.
-		 * </p>
+		 * This setting has no effect on sources which are already decoded,
+		 * such as {@link BufferedImage}s.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param subsampling	The subsampling setting.
+		 * @return				Reference to this object.
+		 * @throws NullPointerException		If the setting is {@code null}.
+		 * @since	0.4.22
+		 */
+		public Builder<T> decodeSubsampling(DecodeSubsampling subsampling) {
+			checkForNull(subsampling, "DecodeSubsampling is null.");
+			
+			updateStatus(Properties.DECODE_SUBSAMPLING, Status.ALREADY_SET);
+			this.decodeSubsampling = subsampling;
+			return this;
+		}
+		
+		/**
+		 * Decodes the source images in horizontal bands of the specified
+		 * number of rows, so that very large images can be made into
+		 * thumbnails without holding the entire image in memory.
+		 * <p>
+		 * Each band is reduced by averaging blocks of pixels as soon as it
+		 * has been decoded, and only the reduced image is kept. The peak
+		 * memory usage is therefore bounded by the size of a band rather than
+		 * the size of the source image. The reduced image is then resized to
+		 * the thumbnail as usual, and the thumbnail will be the same size
+		 * as it would be without this setting.
+		 * <p>
+		 * The amount of reduction is decided by the
+		 * {@link #decodeSubsampling(DecodeSubsampling)} setting. If it is not
+		 * set, {@link DecodeSubsampling#AUTO} is used.
+		 * <p>
+		 * If the image is not reduced, because subsampling is
+		 * {@link DecodeSubsampling#OFF} or the thumbnail is too close in size
+		 * to the source image, the image is decoded in one pass as usual.
+		 * Decoding in bands would not bound the memory usage in that case,
+		 * as the decoded image is as large as the source image.
+		 * <p>
+		 * This is most effective for formats whose readers can decode a part
+		 * of an image on its own, such as tiled or striped TIFF images.
+		 * Readers for formats such as JPEG and PNG decode the image from the
+		 * beginning for each band, which bounds the memory usage at the cost
+		 * of additional decoding time.
+		 * <p>
+		 * This setting has no effect on sources which are already decoded,
+		 * such as {@link BufferedImage}s.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param bandHeight	The maximum number of rows of the source image
+		 * 						to decode at a time.
+		 * @return				Reference to this object.
+		 * @throws IllegalArgumentException	If the number of rows is less
+		 * 									than 1.
+		 * @since	0.4.22
+		 */
+		public Builder<T> decodeInBands(int bandHeight) {
+			if (bandHeight < 1) {
+				throw new IllegalArgumentException(
+						"The band height must be greater than 0."
+				);
+			}
+			
+			updateStatus(Properties.DECODE_IN_BANDS, Status.ALREADY_SET);
+			this.decodeBandHeight = bandHeight;
+			return this;
+		}
+		
+		/**
+		 * Sets whether consecutive image filters which only draw on top of
+		 * the thumbnail, such as watermarks, captions, colorizing and
+		 * transparency, should be applied to a single working image.
+		 * <p>
+		 * By default, each image filter makes a new image of the size of the
+		 * thumbnail. When this is enabled, such filters draw directly onto
+		 * the thumbnail instead, which reduces the number of images which
+		 * are allocated. Other filters, such as those added by
+		 * {@link #crop(Position)} or {@link #rotate(double)}, are applied as
+		 * usual. The result can differ slightly from applying the filters on
+		 * their own due to rounding.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param fuseFilters	{@code true} if the image filters should be
+		 * 						fused, {@code false} otherwise.
+		 * @return				Reference to this object.
+		 * @see FusedFilters
+		 * @since	0.4.22
+		 */
+		public Builder<T> fuseFilters(boolean fuseFilters) {
+			updateStatus(Properties.FUSE_FILTERS, Status.ALREADY_SET);
+			this.fuseFilters = fuseFilters;
+			return this;
+		}
+		
+		/**
+		 * Sets where the data of source images read from
+		 * {@link InputStream}s, and of thumbnails written to
+		 * {@link OutputStream}s and files, is cached while the images are
+		 * read and written.
+		 * <p>
+		 * By default, this is decided by {@link ImageIO#getUseCache()},
+		 * which applies to the whole JVM. When it is enabled, which is the
+		 * default, a temporary file is written for each image. This setting
+		 * chooses the cache for the thumbnails made by this builder only.
+		 * See {@link StreamCache} for the available settings.
+		 * <p>
+		 * Source images read from files do not need to be cached.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param streamCache	The cache setting.
+		 * @return				Reference to this object.
+		 * @throws NullPointerException		If the setting is {@code null}.
+		 * @since	0.4.22
+		 */
+		public Builder<T> streamCache(StreamCache streamCache) {
+			checkForNull(streamCache, "StreamCache is null.");
+			
+			updateStatus(Properties.STREAM_CACHE, Status.ALREADY_SET);
+			this.streamCache = streamCache;
+			return this;
+		}
+		
+		/**
+		 * Sets whether a thumbnail embedded in the source image, such as the
+		 * Exif thumbnail stored by most cameras, may be read instead of the
+		 * source image.
+		 * <p>
+		 * When this is enabled, and an embedded thumbnail with the same
+		 * aspect ratio as the source image is at least as large as the
+		 * thumbnail to create, the embedded thumbnail is resized instead of
+		 * the source image. This avoids decoding the source image entirely,
+		 * but the quality of the thumbnail depends on the quality of the
+		 * embedded thumbnail, which may not match the source image if the
+		 * source image has been edited. Embedded thumbnails are not used
+		 * when a region of the source image has been specified by
+		 * {@link #sourceRegion(Region)}.
+		 * <p>
+		 * By default, embedded thumbnails are not used.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param useEmbeddedThumbnail	{@code true} if an embedded thumbnail
+		 * 								may be used, {@code false} otherwise.
+		 * @return				Reference to this object.
+		 * @since	0.4.22
+		 */
+		public Builder<T> useEmbeddedThumbnail(boolean useEmbeddedThumbnail) {
+			updateStatus(Properties.USE_EMBEDDED_THUMBNAIL, Status.ALREADY_SET);
+			this.useEmbeddedThumbnail = useEmbeddedThumbnail;
+			return this;
+		}
+		
+		/**
+		 * Sets whether JPEG images may be decoded at 1/2, 1/4 or 1/8 of
+		 * their size by performing a reduced inverse DCT, when the source
+		 * image is subsampled while it is decoded.
+		 * <p>
+		 * When subsampling is performed, such as when it has been requested
+		 * by {@link #decodeSubsampling(DecodeSubsampling)}, the image reader
+		 * normally decodes every pixel of the image, and discards all but
+		 * one pixel out of every <em>n</em> by <em>n</em> pixels. When this
+		 * is enabled, JPEG images are instead decoded from only the
+		 * low-frequency coefficients of each 8 by 8 block, using the largest
+		 * reduction of 2, 4 or 8 which does not exceed the subsampling
+		 * factor. Each pixel of the reduced image represents the area it
+		 * covers, so the thumbnail does not suffer from the aliasing caused
+		 * by discarding pixels, and the decoding is faster as the full
+		 * inverse DCT is not performed.
+		 * <p>
+		 * Baseline, extended and progressive JPEG images with Huffman
+		 * coding, in grayscale, YCbCr or RGB, are supported. Other images,
+		 * including those with an embedded ICC profile, are subsampled by
+		 * the image reader as usual. This setting has no effect when a
+		 * source region has been specified, or when decoding in bands by
+		 * {@link #decodeInBands(int)}.
+		 * <p>
+		 * By default, JPEG images are subsampled by the image reader.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param useDctScaling	{@code true} if JPEG images may be decoded
+		 * 						at a reduced size in the DCT domain,
+		 * 						{@code false} otherwise.
+		 * @return				Reference to this object.
+		 * @since	0.4.22
+		 */
+		public Builder<T> useDctScaling(boolean useDctScaling) {
+			updateStatus(Properties.USE_DCT_SCALING, Status.ALREADY_SET);
+			this.useDctScaling = useDctScaling;
+			return this;
+		}
+		
+		/**
+		 * Sets which image is read from source images which contain more
+		 * than one image, such as pyramidal TIFFs, which store an image at
+		 * several resolutions, and ICO files.
+		 * <p>
+		 * By default, the first image is read, which is usually the largest.
+		 * With {@link ImageSelection#SMALLEST_SUFFICIENT}, the smallest
+		 * image which is at least as large as the thumbnail is read instead,
+		 * so that a large thumbnail is not made from a much smaller image,
+		 * and a small thumbnail does not require the largest image to be
+		 * decoded. The size of the thumbnail, and the region specified by
+		 * {@link #sourceRegion(Region)}, are relative to the first image
+		 * regardless of the image which is read.
+		 * <p>
+		 * This setting has no effect on sources which are already decoded,
+		 * such as {@link BufferedImage}s.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param imageSelection	The image selection setting.
+		 * @return				Reference to this object.
+		 * @throws NullPointerException		If the setting is {@code null}.
+		 * @since	0.4.22
+		 */
+		public Builder<T> imageSelection(ImageSelection imageSelection) {
+			checkForNull(imageSelection, "ImageSelection is null.");
+			
+			updateStatus(Properties.IMAGE_SELECTION, Status.ALREADY_SET);
+			this.imageSelection = imageSelection;
+			return this;
+		}
+		
+		/**
+		 * Sets how thumbnails are written to files.
+		 * <p>
+		 * By default, thumbnails are written directly to the destination
+		 * files, so a process reading a destination file while it is being
+		 * written can see a partially written thumbnail. With
+		 * {@link FileWritePolicy#ATOMIC}, each thumbnail is written to a
+		 * temporary file in the same directory, which is renamed to the
+		 * destination file once it is complete.
+		 * {@link FileWritePolicy#ATOMIC_SYNC} also forces the temporary file
+		 * to the storage device before it is renamed.
+		 * <p>
+		 * This setting has no effect on thumbnails which are not written to
+		 * files.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param fileWritePolicy	The file write policy.
+		 * @return				Reference to this object.
+		 * @throws NullPointerException		If the policy is {@code null}.
+		 * @since	0.4.22
+		 */
+		public Builder<T> fileWritePolicy(FileWritePolicy fileWritePolicy) {
+			checkForNull(fileWritePolicy, "FileWritePolicy is null.");
+			
+			updateStatus(Properties.FILE_WRITE_POLICY, Status.ALREADY_SET);
+			this.fileWritePolicy = fileWritePolicy;
+			return this;
+		}
+		
+		/**
+		 * Sets the largest number of bytes each thumbnail should be encoded
+		 * in.
+		 * <p>
+		 * The compression quality of the thumbnail is searched for, so that
+		 * the thumbnail is written with the highest quality at which it fits
+		 * within the specified number of bytes. The quality will not be higher
+		 * than the quality set by {@link #outputQuality(float)}, or the
+		 * default quality of the output format if it has not been set.
+		 * <p>
+		 * If the thumbnail does not fit within the specified number of bytes
+		 * even at the lowest quality, it is written at the lowest quality.
+		 * <p>
+		 * This setting has no effect on output formats which are not
+		 * compressed with a lossy compression, such as PNG.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param bytes			The target file size in bytes.
+		 * @return				Reference to this object.
+		 * @throws IllegalArgumentException	If the size is less than 1.
+		 * @since	0.4.22
+		 */
+		public Builder<T> targetFileSize(long bytes) {
+			if (bytes < 1) {
+				throw new IllegalArgumentException(
+						"The target file size must be greater than 0."
+				);
+			}
+			
+			updateStatus(Properties.TARGET_FILE_SIZE, Status.ALREADY_SET);
+			this.targetFileSize = bytes;
+			return this;
+		}
+		
+		/**
+		 * Sets the structural similarity (SSIM) index each encoded thumbnail
+		 * should have with the thumbnail, so that the compression quality is
+		 * chosen for each image.
+		 * <p>
+		 * The thumbnail is encoded with several qualities, and each encode is
+		 * decoded and compared with the thumbnail, using the SSIM index of
+		 * their luma. The lowest quality which meets the specified index is
+		 * used. Images with fine detail or noise, such as photographs, tend to
+		 * meet the index with a lower quality than images with flat areas and
+		 * sharp edges, such as graphics.
+		 * <p>
+		 * The quality will not be higher than the quality set by
+		 * {@link #outputQuality(float)}. If the output quality has not been
+		 * set, the quality can be up to {@code 1.0}. If
+		 * {@link #targetFileSize(long)} is also set, the quality is lowered
+		 * further when the thumbnail does not fit the target file size.
+		 * <p>
+		 * Values around {@code 0.95} to {@code 0.98} give thumbnails which
+		 * are hard to tell apart from the uncompressed thumbnail.
+		 * <p>
+		 * This setting has no effect on output formats which are not
+		 * compressed with a lossy compression, such as PNG.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param ssim			The target SSIM index.
+		 * @return				Reference to this object.
+		 * @throws IllegalArgumentException	If the index is not greater than
+		 * 									{@code 0.0} and at most
+		 * 									{@code 1.0}.
+		 * @since	0.4.22
+		 */
+		public Builder<T> targetSsim(double ssim) {
+			if (!(ssim > 0.0 && ssim <= 1.0)) {
+				throw new IllegalArgumentException(
+						"The target SSIM index must be greater than 0.0 " +
+						"and at most 1.0."
+				);
+			}
+			
+			updateStatus(Properties.TARGET_SSIM, Status.ALREADY_SET);
+			this.targetSsim = ssim;
+			return this;
+		}
+		
+		/**
+		 * Skips the thumbnails which are up to date, when writing thumbnails
+		 * to files by the {@link #asFiles(Iterable)},
+		 * {@link #asFiles(File, Rename)} methods and their variants.
+		 * <p>
+		 * A thumbnail is up to date if its file exists, and it was written
+		 * by a previous call in the incremental mode from the same source file,
+		 * with the same size and last modified time, and the same parameters.
+		 * Thumbnails which are skipped are not included in the {@link List}
+		 * of written files.
+		 * <p>
+		 * The source files and parameters of the thumbnails are recorded in a
+		 * manifest file named {@code .thumbnailator.manifest} in each
+		 * directory thumbnails are written to. When thumbnails are written to
+		 * files, a manifest file among the source files is skipped, so that
+		 * the files of such a directory can be listed to create thumbnails
+		 * from. Other methods, such as {@link #asBufferedImages()}, do not
+		 * skip the manifest file.
+		 * <p>
+		 * The image filters and resizers of Thumbnailator are compared by
+		 * all of their settings. Other image filters, resizers and positions
+		 * are compared by their description if they implement
+		 * {@link CanonicallyDescribable}. Thumbnails made with ones which do
+		 * not are always written.
+		 * <p>
+		 * Thumbnails created from sources which are not files are always
+		 * written.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @return				Reference to this object.
+		 * @since	0.4.22
+		 */
+		public Builder<T> incremental() {
+			updateStatus(Properties.INCREMENTAL, Status.ALREADY_SET);
+			this.incremental = true;
+			return this;
+		}
+		
+		/**
+		 * Uses the specified {@link ThumbnailCache} to skip creating
+		 * thumbnails which have been created before.
+		 * <p>
+		 * Before a thumbnail is created, the bytes of the source image are
+		 * hashed, and the cache is looked up with the hash, the parameters of
+		 * the thumbnail and the output format. If the thumbnail is found, it
+		 * is written to the destination as is, without decoding the source
+		 * image or encoding the thumbnail. Otherwise, the thumbnail is created
+		 * and stored in the cache after it has been written to the destination.
+		 * A thumbnail which cannot be stored in the cache is still written.
+		 * <p>
+		 * Thumbnails are cached when they are created from files,
+		 * {@link InputStream}s or {@link ByteBuffer}s, and written to files,
+		 * {@link OutputStream}s or {@link ByteBuffer}s. An {@link InputStream}
+		 * is read into memory to be hashed. Other thumbnails are always
+		 * created.
+		 * <p>
+		 * The image filters and resizers of Thumbnailator are identified by
+		 * all of their settings. Other image filters, resizers and positions
+		 * are identified by their description if they implement
+		 * {@link CanonicallyDescribable}. Thumbnails made with ones which do
+		 * not are not cached.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 *
+		 * @param cache			The thumbnail cache.
+		 * @return				Reference to this object.
+		 * @throws NullPointerException		If the cache is {@code null}.
+		 * @since	0.4.22
+		 */
+		public Builder<T> cache(ThumbnailCache cache) {
+			checkForNull(cache, "ThumbnailCache is null.");
+			
+			updateStatus(Properties.CACHE, Status.ALREADY_SET);
+			this.thumbnailCache = cache;
+			return this;
+		}
+		
+		/**
+		 * Indicates that the output format should be determined from the
+		 * available information when writing the thumbnail image.
+		 * <p>
+		 * For example, calling this method will cause the output format to be
+		 * determined from the file extension if thumbnails are written to
+		 * files.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 * 
+		 * @return				Reference to this object.
+		 * @since	0.4.0
+		 */
+		public Builder<T> determineOutputFormat() {
+			updateStatus(Properties.OUTPUT_FORMAT, Status.ALREADY_SET);
+			outputFormat = ThumbnailParameter.DETERMINE_FORMAT;
+			return this;
+		}
+		
+		private boolean isOutputFormatNotSet() {
+			return outputFormat == null || ThumbnailParameter.DETERMINE_FORMAT.equals(outputFormat);
+		}
+		
+		/**
+		 * Sets the compression format type of the thumbnail to write.
+		 * <p>
+		 * If the default type for the compression codec should be used, a
+		 * value of {@link ThumbnailParameter#DEFAULT_FORMAT_TYPE} should be
+		 * used.
+		 * <p>
+		 * Calling this method to set this parameter is optional.
+		 * <p>
+		 * Calling this method multiple times will result in an
+		 * {@link IllegalStateException} to be thrown.
+		 * <p>
+		 * Furthermore, if this method is called, then calling the
+		 * {@link #outputFormat} method is disabled, in order to prevent
+		 * cases where the output format type does not exist in the format
+		 * specified for the {@code outputFormat} method.
+		 * <p>
+		 * <em>
+		 * Implementation note:
+		 * Compression format type settings are ignored when the underlying
+		 * image writer does not support compression. This behavior is subject
+		 * to change in the future.
+		 * </em>
+		 *
+		 * @param formatType	The compression format type
+		 * @return				Reference to this object.
+		 * @throws IllegalArgumentException	If an unsupported format type is
+		 * 									specified for the current output
+		 * 									format type. Or, if the output
+		 * 									format has not been specified before
+		 * 									this method was called.
+		 */
+		public Builder<T> outputFormatType(String formatType) {
+			/*
+			 * If the output format is the original format, and the format type
+			 * is being specified, it's going to be likely that the specified
+			 * type will not be present in all the formats, so we'll disallow
+			 * it. (e.g. setting type to "JPEG", and if the original formats
+			 * were JPEG and PNG, then we'd have a problem.
+			 */
+			if (formatType != ThumbnailParameter.DEFAULT_FORMAT_TYPE
+					&& isOutputFormatNotSet()) {
+				throw new IllegalArgumentException(
+						"Cannot set the format type if a specific output " +
+						"format has not been specified."
+				);
+			}
+			
+			if (!ThumbnailatorUtils.isSupportedOutputFormatType(outputFormat, formatType)) {
+				throw new IllegalArgumentException(
+						"Specified format type (" + formatType + ") is not " +
+						" supported for the format: " + outputFormat
+				);
+			}
+			
+			/*
+			 * If the output format type is set, then we'd better make the
+			 * output format unchangeable, or else we'd risk having a type
+			 * that is not part of the output format.
+			 */
+			updateStatus(Properties.OUTPUT_FORMAT_TYPE, Status.ALREADY_SET);
+			
+			if (!statusMap.containsKey(Properties.OUTPUT_FORMAT)) {
+				updateStatus(Properties.OUTPUT_FORMAT, Status.CANNOT_SET);
+			}
+			outputFormatType = formatType;
+			return this;
+		}
+		
+		/**
+		 * Sets the watermark to apply on the thumbnail.
+		 * <p>
+		 * This method can be called multiple times to apply multiple
+		 * watermarks.
+		 * <p>
+		 * If multiple watermarks are to be applied, the watermarks will be
+		 * applied in the order that this method is called.
+		 * <p>
+		 * Calling this method to set this parameter is optional.
+		 * 
+		 * @param w				The watermark to apply to the thumbnail.
+		 * @return				Reference to this object.
+		 */
+		public Builder<T> watermark(Watermark w) {
+			if (w == null) {
+				throw new NullPointerException("Watermark is null.");
+			}
+			
+			filterPipeline.add(w);
+			
+			return this;
+		}
+		
+		/**
+		 * <p>
+		 * Sets the image of the watermark to apply on the thumbnail.
+		 * </p>
+		 * <p>
+		 * This method is a convenience method for the
+		 * {@link #watermark(Position, BufferedImage, float)} method, where
+		 * the opacity is 50%, and the position is set to center of the
+		 * thumbnail:
+		 * </p>
+		 * <pre>
+watermark(Positions.CENTER, image, 0.5f);
+		 * </pre>
+		 * <p>
+		 * This method can be called multiple times to apply multiple
+		 * watermarks.
+		 * </p>
 		 * <p>
 		 * If multiple watermarks are to be applied, the watermarks will be
 		 * applied in the order that this method is called.
@@ -2062,6 +2987,12 @@ watermark(Positions.CENTER, image, opacity);
 				return new BicubicResizer(hints);
 			} else if (mode == ScalingMode.PROGRESSIVE_BILINEAR) {
 				return new ProgressiveBilinearResizer(hints);
+			} else if (mode == ScalingMode.LANCZOS3) {
+				return Resizers.LANCZOS3;
+			} else if (mode == ScalingMode.MITCHELL) {
+				return Resizers.MITCHELL;
+			} else if (mode == ScalingMode.BOX) {
+				return Resizers.BOX;
 			} else {
 				return new ProgressiveBilinearResizer(hints);
 			}
@@ -2094,11 +3025,17 @@ watermark(Positions.CENTER, image, opacity);
 			/*
 			 * croppingPosition being non-null means that a crop should
 			 * take place.
+			 *
+			 * The filterPipeline is shared by every thumbnail made by this
+			 * builder, so the crop is added to a copy of its filters.
 			 */
+			List<ImageFilter> filters = filterPipeline.getFilters();
 			if (croppingPosition != null) {
-				filterPipeline.addFirst(new Canvas(width, height, croppingPosition));
+				filters = new ArrayList<ImageFilter>(filters);
+				filters.add(0, new Canvas(width, height, croppingPosition));
 			}
 			
+			ThumbnailParameter param;
 			if (Double.isNaN(scaleWidth)) {
 				// If the dimensions were specified, do the following.
 				
@@ -2123,7 +3060,7 @@ watermark(Positions.CENTER, image, opacity);
 					height = Integer.MAX_VALUE;
 				}
 				
-				return new ThumbnailParameter(
+				param = new ThumbnailParameter(
 						new Dimension(width, height),
 						sourceRegion,
 						keepAspectRatio,
@@ -2131,7 +3068,7 @@ watermark(Positions.CENTER, image, opacity);
 						outputFormatType,
 						outputQuality,
 						imageTypeToUse,
-						filterPipeline.getFilters(),
+						filters,
 						resizerFactory,
 						fitWithinDimenions,
 						useExifOrientation
@@ -2139,7 +3076,7 @@ watermark(Positions.CENTER, image, opacity);
 
 			} else {
 				// If the scaling factor was specified
-				return new ThumbnailParameter(
+				param = new ThumbnailParameter(
 						scaleWidth,
 						scaleHeight,
 						sourceRegion,
@@ -2148,14 +3085,256 @@ watermark(Positions.CENTER, image, opacity);
 						outputFormatType,
 						outputQuality,
 						imageTypeToUse,
-						filterPipeline.getFilters(),
+						filters,
 						resizerFactory,
 						fitWithinDimenions,
 						useExifOrientation
 				);
 			}
+
+			setOptionalParameters(param);
+			param.setCropPosition(croppingPosition);
+			return param;
+		}
+
+		/**
+		 * Returns a {@link ThumbnailParameter} for a thumbnail which fits
+		 * within the specified size, used when creating renditions.
+		 * 
+		 * @param width			The width of the thumbnail.
+		 * @param height		The height of the thumbnail.
+		 * @param filters		The image filters to apply.
+		 * @param format		The output format.
+		 * @param formatType	The output format type.
+		 * @param quality		The output quality.
+		 * @return				A {@link ThumbnailParameter} from the
+		 * 						current builder state and the specified
+		 * 						settings.
+		 */
+		private ThumbnailParameter makeRenditionParam(int width, int height, List<ImageFilter> filters, String format, String formatType, float quality) {
+			int imageTypeToUse = imageType;
+			if (imageType == IMAGE_TYPE_UNSPECIFIED) {
+				imageTypeToUse = ThumbnailParameter.ORIGINAL_IMAGE_TYPE;
+			}
+			
+			ThumbnailParameter param = new ThumbnailParameter(
+					new Dimension(width, height),
+					sourceRegion,
+					keepAspectRatio,
+					format,
+					formatType,
+					quality,
+					imageTypeToUse,
+					filters,
+					resizerFactory,
+					true,
+					useExifOrientation
+			);
+			
+			setOptionalParameters(param);
+			return param;
 		}
 
+		/**
+		 * Sets the optional settings of the current builder state to the
+		 * specified {@link ThumbnailParameter}.
+		 * 
+		 * @param param			The parameter to set the settings to.
+		 */
+		private void setOptionalParameters(ThumbnailParameter param) {
+			param.setCodecPool(codecPool);
+			param.setDecodeSubsampling(decodeSubsampling);
+			param.setDecodeBandHeight(decodeBandHeight);
+			param.setFuseFilters(fuseFilters);
+			param.setStreamCache(streamCache);
+			param.setUseEmbeddedThumbnail(useEmbeddedThumbnail);
+			param.setUseDctScaling(useDctScaling);
+			param.setImageSelection(imageSelection);
+			param.setFileWritePolicy(fileWritePolicy);
+			param.setTargetFileSize(targetFileSize);
+			param.setTargetSsim(targetSsim);
+			param.setThumbnailCache(thumbnailCache);
+		}
+
+		/**
+		 * Returns whether the thumbnails are to be created in parallel.
+		 *
+		 * @return			{@code true} if the thumbnails are to be created
+		 * 					in parallel, {@code false} otherwise.
+		 */
+		private boolean isParallel() {
+			return executor != null || parallelism > 0;
+		}
+		
+		/**
+		 * Returns a {@link Callable} which creates the thumbnail of the
+		 * specified {@link ThumbnailTask}.
+		 *
+		 * @param task			The task to create the thumbnail of.
+		 * @return				The callable which creates the thumbnail.
+		 */
+		private static Callable<Void> thumbnailCallable(final ThumbnailTask<?, ?> task) {
+			return new Callable<Void>() {
+				public Void call() throws IOException {
+					Thumbnailator.createThumbnail(task);
+					return null;
+				}
+			};
+		}
+		
+		/**
+		 * Creates the thumbnails by calling the specified {@link Callable}s,
+		 * in parallel if {@link #parallel(int)} or
+		 * {@link #executor(ExecutorService)} was called, or otherwise one
+		 * after another on the current thread.
+		 * <p>
+		 * When the thumbnails are created in parallel, exceptions thrown by
+		 * the callables are returned once all the callables have completed.
+		 * Otherwise, an exception is thrown as soon as it occurs, and the
+		 * remaining callables are not called.
+		 *
+		 * @param callables		The callables which create the thumbnails,
+		 * 						keyed by the zero-based index of their source
+		 * 						image, in the order they are to be called.
+		 * @return				The exceptions thrown by the callables, keyed
+		 * 						by the index of their source image.
+		 * @throws IOException	If a thumbnail could not be created one after
+		 * 						another, or if the current thread was
+		 * 						interrupted while waiting for the thumbnails
+		 * 						to be created in parallel.
+		 */
+		private Map<Integer, Throwable> createThumbnails(Map<Integer, ? extends Callable<Void>> callables) throws IOException {
+			if (isParallel()) {
+				return executeCallablesInParallel(callables);
+			}
+			
+			for (Callable<Void> callable : callables.values()) {
+				try {
+					callable.call();
+					
+				} catch (IOException e) {
+					throw e;
+				} catch (RuntimeException e) {
+					throw e;
+				} catch (Exception e) {
+					// The callables only throw IOExceptions.
+					IOException ioe = new IOException(e.getMessage());
+					ioe.initCause(e);
+					throw ioe;
+				}
+			}
+			
+			return new TreeMap<Integer, Throwable>();
+		}
+		
+		/**
+		 * Executes the specified {@link Callable}s in parallel, and waits
+		 * for all of them to finish.
+		 * <p>
+		 * Exceptions thrown by the callables are not rethrown, but are
+		 * returned so that they can be reported once all the callables have
+		 * completed.
+		 *
+		 * @param callables		The callables to execute, in the order they
+		 * 						are to be submitted.
+		 * @return				The exceptions thrown by the callables, keyed
+		 * 						by the key of the callable.
+		 * @throws IOException	If the current thread was interrupted while
+		 * 						waiting for the callables to finish.
+		 */
+		private Map<Integer, Throwable> executeCallablesInParallel(Map<Integer, ? extends Callable<Void>> callables) throws IOException {
+			ExecutorService executorToUse = executor;
+			if (executorToUse == null) {
+				executorToUse = Executors.newFixedThreadPool(parallelism);
+			}
+			
+			Map<Integer, Future<Void>> futures = new LinkedHashMap<Integer, Future<Void>>();
+			Map<Integer, Throwable> failures = new TreeMap<Integer, Throwable>();
+			
+			try {
+				for (Map.Entry<Integer, ? extends Callable<Void>> callable : callables.entrySet()) {
+					futures.put(callable.getKey(), executorToUse.submit(callable.getValue()));
+				}
+				
+				for (Map.Entry<Integer, Future<Void>> future : futures.entrySet()) {
+					try {
+						future.getValue().get();
+						
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						if (cause instanceof Error) {
+							throw (Error)cause;
+						}
+						failures.put(future.getKey(), cause);
+					}
+				}
+				
+			} catch (InterruptedException e) {
+				for (Future<Void> future : futures.values()) {
+					future.cancel(true);
+				}
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(
+						"Interrupted while waiting for thumbnails to be created."
+				);
+				
+			} finally {
+				if (executor == null) {
+					executorToUse.shutdown();
+				}
+			}
+			
+			return failures;
+		}
+		
+		/**
+		 * Submits the specified {@link Callable} to the {@link ExecutorService}
+		 * specified by {@link #executor(ExecutorService)}, or to the threads
+		 * shared by the builders which called {@link #parallel(int)} with the
+		 * same number of threads.
+		 *
+		 * @param <V>			The type of the result of the task.
+		 * @param callable		The task to submit.
+		 * @return				A {@link Future} representing the result of
+		 * 						the task.
+		 * @throws IllegalStateException	If neither an
+		 * 									{@code ExecutorService} nor the
+		 * 									number of threads were specified.
+		 */
+		private <V> Future<V> submitAsync(Callable<V> callable) {
+			if (executor != null) {
+				return executor.submit(callable);
+			}
+			
+			if (parallelism == 0) {
+				throw new IllegalStateException(
+						"An ExecutorService or the number of threads must be " +
+						"specified to create thumbnails asynchronously."
+				);
+			}
+			
+			return BoundedExecutor.getInstance(parallelism).submit(callable);
+		}
+		
+		/**
+		 * Returns the only {@link ImageSource} of this builder.
+		 *
+		 * @param message		The message of the exception thrown when
+		 * 						there are multiple sources.
+		 * @return				The only source.
+		 * @throws IllegalArgumentException		If there are multiple sources.
+		 */
+		private ImageSource<T> getSingleSource(String message) {
+			Iterator<ImageSource<T>> iter = sources.iterator();
+			ImageSource<T> source = iter.next();
+			
+			if (iter.hasNext()) {
+				throw new IllegalArgumentException(message);
+			}
+			
+			return source;
+		}
+		
 		/**
 		 * <p>
 		 * Create the thumbnails and return as a {@link Iterable} of
@@ -2277,17 +3456,27 @@ watermark(Positions.CENTER, image, opacity);
 		public List<BufferedImage> asBufferedImages() throws IOException {
 			checkReadiness();
 			
-			List<BufferedImage> thumbnails = new ArrayList<BufferedImage>();
+			List<BufferedImageSink> destinations = new ArrayList<BufferedImageSink>();
+			Map<Integer, Callable<Void>> tasks = new LinkedHashMap<Integer, Callable<Void>>();
 			
-			// Create thumbnails
 			for (ImageSource<T> source : sources) {
 				BufferedImageSink destination = new BufferedImageSink();
-				
-				Thumbnailator.createThumbnail(
-					new SourceSinkThumbnailTask<T, BufferedImage>(makeParam(), source, destination)
-				);
-				
-				thumbnails.add(destination.getSink());
+				tasks.put(destinations.size(), thumbnailCallable(
+						new SourceSinkThumbnailTask<T, BufferedImage>(makeParam(), source, destination)
+				));
+				destinations.add(destination);
+			}
+			
+			Map<Integer, Throwable> failures = createThumbnails(tasks);
+			
+			List<BufferedImage> thumbnails = new ArrayList<BufferedImage>();
+			for (int i = 0; i < destinations.size(); i++) {
+				// A failed source keeps its place, so indices match the failures.
+				thumbnails.add(failures.containsKey(i) ? null : destinations.get(i).getSink());
+			}
+			
+			if (!failures.isEmpty()) {
+				throw new BatchThumbnailException(thumbnails, failures);
 			}
 			
 			return thumbnails;
@@ -2389,10 +3578,11 @@ watermark(Positions.CENTER, image, opacity);
 				throw new NullPointerException("File name iterable is null.");
 			}
 			
-			List<File> destinationFiles = new ArrayList<File>();
-			
 			Iterator<File> filenameIter = iterable.iterator();
+			ThumbnailManifest manifest = incremental ? new ThumbnailManifest() : null;
+			Map<Integer, FileThumbnailWriter> writers = new LinkedHashMap<Integer, FileThumbnailWriter>();
 			
+			int index = 0;
 			for (ImageSource<T> source : sources) {
 				if (!filenameIter.hasNext()) {
 					throw new IndexOutOfBoundsException(
@@ -2400,27 +3590,172 @@ watermark(Positions.CENTER, image, opacity);
 					);
 				}
 				
-				ThumbnailParameter param = makeParam();
-				
-				FileImageSink destination = new FileImageSink(filenameIter.next(), allowOverwrite);
-				
+				addFileWriter(writers, index++, source, makeParam(), filenameIter.next(), manifest);
+			}
+			
+			return writeFiles(writers, manifest);
+		}
+		
+		/**
+		 * Returns the fingerprint of the thumbnail of the specified source,
+		 * which is used to skip thumbnails which are up to date in the
+		 * incremental mode.
+		 *
+		 * @param manifest			The manifest of the thumbnails, or
+		 * 							{@code null} if not in the incremental
+		 * 							mode.
+		 * @param source			The source of the thumbnail.
+		 * @param param				The parameters of the thumbnail.
+		 * @return					The fingerprint, or {@code null} if not
+		 * 							in the incremental mode, if the source
+		 * 							is not a file, or if the parameters
+		 * 							cannot be described.
+		 */
+		private String fingerprint(ThumbnailManifest manifest, ImageSource<T> source, ThumbnailParameter param) {
+			if (manifest == null || !(source instanceof FileImageSource)) {
+				return null;
+			}
+			
+			File sourceFile = ((FileImageSource)source).getSource();
+			return ThumbnailManifest.fingerprint(sourceFile, param);
+		}
+		
+		/**
+		 * Returns whether the specified source is a manifest file written in
+		 * the incremental mode, which is not an image.
+		 *
+		 * @param source			The source of the thumbnail.
+		 * @return					{@code true} if the source is a manifest
+		 * 							file.
+		 */
+		private boolean isManifest(ImageSource<T> source) {
+			return source instanceof FileImageSource
+					&& ThumbnailManifest.FILE_NAME.equals(((FileImageSource)source).getSource().getName());
+		}
+		
+		private void save(ThumbnailManifest manifest) throws IOException {
+			if (manifest != null) {
+				manifest.save();
+			}
+		}
+		
+		/**
+		 * Adds a {@link FileThumbnailWriter} which writes the thumbnail of
+		 * the specified source to the specified file, unless the source is
+		 * the manifest file, or its thumbnail is up to date in the
+		 * incremental mode.
+		 *
+		 * @param writers			The writers to add to, keyed by the
+		 * 							zero-based index of their source image.
+		 * @param index				The index of the source image.
+		 * @param source			The source of the thumbnail.
+		 * @param param				The parameters of the thumbnail.
+		 * @param destinationFile	The file to write the thumbnail to.
+		 * @param manifest			The manifest of the thumbnails, or
+		 * 							{@code null} if not in the incremental
+		 * 							mode.
+		 * @throws IOException		If the manifest could not be read.
+		 */
+		private void addFileWriter(Map<Integer, FileThumbnailWriter> writers, int index, ImageSource<T> source, ThumbnailParameter param, File destinationFile, ThumbnailManifest manifest) throws IOException {
+			if (manifest != null && isManifest(source)) {
+				return;
+			}
+			
+			String fingerprint = fingerprint(manifest, source, param);
+			if (fingerprint != null && manifest.isUpToDate(destinationFile, fingerprint)) {
+				return;
+			}
+			
+			FileImageSink destination = new FileImageSink(destinationFile, allowOverwrite);
+			if (manifest != null) {
+				manifest.track(destination, fingerprint);
+			}
+			
+			writers.put(index, new FileThumbnailWriter(
+					new SourceSinkThumbnailTask<T, File>(param, source, destination),
+					destination,
+					manifest
+			));
+		}
+		
+		/**
+		 * Writes the thumbnails to files by calling the specified
+		 * {@link FileThumbnailWriter}s, and returns the files which were
+		 * written.
+		 * 
+		 * @param writers			The writers which write the thumbnails,
+		 * 							keyed by the zero-based index of their
+		 * 							source image.
+		 * @param manifest			The manifest to record the written
+		 * 							thumbnails to, or {@code null}.
+		 * @return					A list of {@link File}s of the thumbnails
+		 * 							which were created.
+		 * @throws IOException		If a problem occurs while reading the
+		 * 							original images or writing the thumbnails
+		 * 							to files.
+		 * @throws BatchThumbnailException	If any of the thumbnails could
+		 * 									not be created in parallel.
+		 */
+		private List<File> writeFiles(Map<Integer, FileThumbnailWriter> writers, ThumbnailManifest manifest) throws IOException {
+			Map<Integer, Throwable> failures;
+			try {
+				failures = createThumbnails(writers);
+			} finally {
+				save(manifest);
+			}
+			
+			List<File> destinationFiles = new ArrayList<File>();
+			for (FileThumbnailWriter writer : writers.values()) {
+				if (writer.written) {
+					destinationFiles.add(writer.destination.getSink());
+				}
+			}
+			
+			if (!failures.isEmpty()) {
+				throw new BatchThumbnailException(destinationFiles, failures);
+			}
+			
+			return destinationFiles;
+		}
+		
+		/**
+		 * Creates a thumbnail and writes it to a file, and records it in
+		 * the manifest once it has been written.
+		 */
+		private static final class FileThumbnailWriter implements Callable<Void> {
+			private final ThumbnailTask<?, File> task;
+			private final FileImageSink destination;
+			private final ThumbnailManifest manifest;
+			private boolean written = false;
+			
+			private FileThumbnailWriter(ThumbnailTask<?, File> task, FileImageSink destination, ThumbnailManifest manifest) {
+				this.task = task;
+				this.destination = destination;
+				this.manifest = manifest;
+			}
+			
+			public Void call() throws IOException {
 				try {
-					Thumbnailator.createThumbnail(
-							new SourceSinkThumbnailTask<T, File>(param, source, destination)
-					);
+					Thumbnailator.createThumbnail(task);
 					
-					destinationFiles.add(destination.getSink());
-
 				} catch (IllegalArgumentException e) {
 					/*
 					 * Handle the IllegalArgumentException which is thrown when
 					 * the destination file already exists by not adding the
-					 * current file to the destinationFiles list.
+					 * current file to the written files.
 					 */
+					return null;
+				}
+				
+				written = true;
+				if (manifest != null) {
+					// The manifest is shared by the thumbnails written in parallel.
+					synchronized (manifest) {
+						manifest.markWritten(destination);
+					}
 				}
+				return null;
 			}
-			
-			return destinationFiles;
 		}
 		
 		/**
@@ -2526,9 +3861,11 @@ watermark(Positions.CENTER, image, opacity);
 			if (destinationDir != null && !destinationDir.isDirectory()) {
 				throw new IllegalArgumentException("Given destination is not a directory.");
 			}
-
-			List<File> destinationFiles = new ArrayList<File>();
 			
+			ThumbnailManifest manifest = incremental ? new ThumbnailManifest() : null;
+			Map<Integer, FileThumbnailWriter> writers = new LinkedHashMap<Integer, FileThumbnailWriter>();
+			
+			int index = 0;
 			for (ImageSource<T> source : sources) {
 				if (!(source instanceof FileImageSource)) {
 					throw new IllegalStateException("Cannot create thumbnails to files if original images are not from files.");
@@ -2541,27 +3878,12 @@ watermark(Positions.CENTER, image, opacity);
 				File actualDestDir = destinationDir == null ? f.getParentFile() : destinationDir;
 				File destinationFile = new File(actualDestDir, rename.apply(f.getName(), param));
 				
-				FileImageSink destination = new FileImageSink(destinationFile, allowOverwrite);
-				
-				try {
-					Thumbnailator.createThumbnail(
-							new SourceSinkThumbnailTask<T, File>(param, source, destination)
-					);
-					
-					destinationFiles.add(destination.getSink());
-
-				} catch (IllegalArgumentException e) {
-					/*
-					 * Handle the IllegalArgumentException which is thrown when
-					 * the destination file already exists by not adding the
-					 * current file to the destinationFiles list.
-					 */
-				}
+				addFileWriter(writers, index++, source, param, destinationFile, manifest);
 			}
 			
-			return destinationFiles;
+			return writeFiles(writers, manifest);
 		}
-
+		
 		/**
 		 * Creates thumbnails and stores them to files using the
 		 * {@link Rename} function to determine the filenames.
@@ -2755,6 +4077,97 @@ watermark(Positions.CENTER, image, opacity);
 			);
 		}
 		
+		/**
+		 * Creates a thumbnail and returns it as a {@link ByteBuffer} holding
+		 * the encoded image.
+		 * <p>
+		 * To call this method, the thumbnail must have been created from a
+		 * single source.
+		 * <p>
+		 * The image is encoded directly into memory, rather than through an
+		 * {@link OutputStream} and the stream cache of Image I/O. The returned
+		 * buffer is backed by an array and ranges from position {@code 0} to
+		 * the end of the encoded image.
+		 * 
+		 * @return		The encoded thumbnail.
+		 * @throws IOException		If a problem occurs while reading the
+		 * 							original image or writing the thumbnail.
+		 * @throws IllegalArgumentException		If multiple original images
+		 * 										are	specified.
+		 * @throws IllegalStateException		If the output format has not
+		 * 										been specified through the
+		 * 										{@link #outputFormat(String)}
+		 * 										method.
+		 * @since	0.4.22
+		 */
+		public ByteBuffer asByteBuffer() throws IOException {
+			checkReadiness();
+			
+			Iterator<ImageSource<T>> iter = sources.iterator();
+			ImageSource<T> source = iter.next();
+			
+			if (iter.hasNext()) {
+				throw new IllegalArgumentException("Cannot create one thumbnail from multiple original images.");
+			}
+			
+			/*
+			 * if the image is from a BufferedImage, then we require that the
+			 * output format be set. (or else, we can't tell what format to
+			 * output as!)
+			 */
+			if (source instanceof BufferedImageSource) {
+				if (isOutputFormatNotSet()) {
+					throw new IllegalStateException(
+							"Output format not specified."
+					);
+				}
+			}
+			
+			ByteBufferImageSink destination = new ByteBufferImageSink();
+			
+			Thumbnailator.createThumbnail(
+					new SourceSinkThumbnailTask<T, ByteBuffer>(makeParam(), source, destination)
+			);
+			
+			return destination.getSink();
+		}
+		
+		/**
+		 * Creates a thumbnail and returns it as a byte array holding the
+		 * encoded image.
+		 * <p>
+		 * To call this method, the thumbnail must have been created from a
+		 * single source.
+		 * <p>
+		 * This method behaves the same as {@link #asByteBuffer()}, except
+		 * that the encoded image is returned as an array of the exact length.
+		 * The encoded data is copied at most once.
+		 * 
+		 * @return		The encoded thumbnail.
+		 * @throws IOException		If a problem occurs while reading the
+		 * 							original image or writing the thumbnail.
+		 * @throws IllegalArgumentException		If multiple original images
+		 * 										are	specified.
+		 * @throws IllegalStateException		If the output format has not
+		 * 										been specified through the
+		 * 										{@link #outputFormat(String)}
+		 * 										method.
+		 * @since	0.4.22
+		 */
+		public byte[] asByteArray() throws IOException {
+			ByteBuffer buffer = asByteBuffer();
+			
+			if (buffer.hasArray() && buffer.arrayOffset() == 0
+					&& buffer.position() == 0
+					&& buffer.remaining() == buffer.array().length) {
+				return buffer.array();
+			}
+			
+			byte[] data = new byte[buffer.remaining()];
+			buffer.get(data);
+			return data;
+		}
+		
 		/**
 		 * Creates the thumbnails and writes them to {@link OutputStream}s
 		 * provided by the {@link Iterable}.
@@ -2810,5 +4223,563 @@ watermark(Positions.CENTER, image, opacity);
 				);
 			}
 		}
+		
+		/**
+		 * Creates thumbnails of several sizes, or renditions, from the
+		 * source image, and writes each of them to its destination.
+		 * <p>
+		 * The source image is read only once, at a resolution sufficient
+		 * for the largest rendition. Each rendition is then resized from the
+		 * smallest rendition which is larger than it, rather than from the
+		 * source image, so the renditions other than the largest are cheap to
+		 * make. When {@link #parallel(int)} or
+		 * {@link #executor(ExecutorService)} is used, the largest rendition is
+		 * made first, and the other renditions are resized from it and
+		 * written concurrently.
+		 * <p>
+		 * The size, output format, output quality, additional image filters
+		 * and destination of each thumbnail are specified by its
+		 * {@link Rendition}. The other settings of this builder, including
+		 * its image filters, which are applied before those of the
+		 * renditions, apply to all the renditions. The size of the
+		 * thumbnails must not be set on this builder, and
+		 * {@link #crop(Position)}, {@link #cache(ThumbnailCache)} and
+		 * {@link #incremental()} cannot be used.
+		 * <p>
+		 * When the image type is not specified, the renditions have the
+		 * image type of the source image, as with other methods. Renditions
+		 * which are written in a format which cannot store an alpha channel,
+		 * such as JPEG, are made with an opaque image type instead of the
+		 * default type.
+		 * <p>
+		 * To call this method, the thumbnails must be created from a single
+		 * source.
+		 * 
+		 * @param renditions		The renditions to create.
+		 * @throws IOException		If a problem occurs while reading the
+		 * 							original image or writing the renditions.
+		 * @throws BatchThumbnailException	If the renditions are written in
+		 * 									parallel, and any of them could
+		 * 									not be written. The failures are
+		 * 									keyed by the index of the
+		 * 									rendition.
+		 * @throws NullPointerException		If the renditions are
+		 * 									{@code null}.
+		 * @throws IllegalArgumentException		If no renditions are specified,
+		 * 										if the destination of a
+		 * 										rendition is not set, or if
+		 * 										multiple original images are
+		 * 										specified.
+		 * @throws IllegalStateException		If the size, scale, cropping,
+		 * 										cache or incremental mode is
+		 * 										set on this builder.
+		 * @since	0.4.22
+		 */
+		public void toRenditions(Rendition... renditions) throws IOException {
+			checkForNull(renditions, "Renditions is null.");
+			
+			toRenditions(Arrays.asList(renditions));
+		}
+		
+		/**
+		 * Creates thumbnails of several sizes, or renditions, from the
+		 * source image, and writes each of them to its destination.
+		 * <p>
+		 * See {@link #toRenditions(Rendition...)} for details.
+		 * 
+		 * @param renditions		The renditions to create.
+		 * @throws IOException		If a problem occurs while reading the
+		 * 							original image or writing the renditions.
+		 * @throws BatchThumbnailException	If the renditions are written in
+		 * 									parallel, and any of them could
+		 * 									not be written. The failures are
+		 * 									keyed by the index of the
+		 * 									rendition.
+		 * @throws NullPointerException		If the renditions are
+		 * 									{@code null}.
+		 * @throws IllegalArgumentException		If no renditions are specified,
+		 * 										if the destination of a
+		 * 										rendition is not set, or if
+		 * 										multiple original images are
+		 * 										specified.
+		 * @throws IllegalStateException		If the size, scale, cropping,
+		 * 										cache or incremental mode is
+		 * 										set on this builder.
+		 * @since	0.4.22
+		 */
+		public void toRenditions(Iterable<Rendition> renditions) throws IOException {
+			checkForNull(renditions, "Renditions is null.");
+			
+			List<Rendition> renditionList = new ArrayList<Rendition>();
+			for (Rendition rendition : renditions) {
+				checkForNull(rendition, "Rendition is null.");
+				if (!rendition.hasDestination()) {
+					throw new IllegalArgumentException(
+							"The destination of a rendition is not set."
+					);
+				}
+				renditionList.add(rendition);
+			}
+			
+			if (renditionList.isEmpty()) {
+				throw new IllegalArgumentException("No renditions are specified.");
+			}
+			
+			if (statusMap.get(Properties.SIZE) != Status.NOT_READY
+					|| statusMap.get(Properties.SCALE) != Status.NOT_READY) {
+				throw new IllegalStateException(
+						"The size of renditions is specified by each Rendition."
+				);
+			}
+			if (thumbnailCache != null) {
+				throw new IllegalStateException(
+						"Renditions cannot be created with a thumbnail cache."
+				);
+			}
+			if (incremental) {
+				throw new IllegalStateException(
+						"Renditions cannot be created in the incremental mode."
+				);
+			}
+			
+			ImageSource<T> source = getSingleSource("Cannot create renditions from multiple original images.");
+			prepareResizerFactory();
+			
+			// Read the source image at a size sufficient for all renditions.
+			int largestWidth = 0;
+			int largestHeight = 0;
+			for (Rendition rendition : renditionList) {
+				largestWidth = Math.max(largestWidth, rendition.getWidth());
+				largestHeight = Math.max(largestHeight, rendition.getHeight());
+			}
+			
+			ThumbnailParameter sourceParam = makeRenditionParam(
+					largestWidth,
+					largestHeight,
+					new ArrayList<ImageFilter>(),
+					outputFormat,
+					outputFormatType,
+					outputQuality
+			);
+			source.setThumbnailParameter(sourceParam);
+			
+			BufferedImage sourceImage = source.read();
+			String inputFormatName = source.getInputFormatName();
+			
+			/*
+			 * The image type is decided as by Thumbnailator.createThumbnail,
+			 * where the default type is used for custom types.
+			 */
+			int imageTypeToUse = imageType;
+			boolean isDefaultImageType = false;
+			if (imageType == IMAGE_TYPE_UNSPECIFIED) {
+				imageTypeToUse = sourceImage.getType();
+				if (imageTypeToUse == BufferedImage.TYPE_CUSTOM) {
+					imageTypeToUse = ThumbnailParameter.DEFAULT_IMAGE_TYPE;
+					isDefaultImageType = true;
+				}
+			}
+			
+			/*
+			 * The source adds the filter which corrects the Exif orientation
+			 * to the parameter. It is applied before resizing, so that the
+			 * renditions can be resized from each other.
+			 */
+			for (ImageFilter filter : sourceParam.getImageFilters()) {
+				sourceImage = filter.apply(sourceImage);
+			}
+			
+			/*
+			 * Decide the size of each rendition, and the order in which they
+			 * are made, from largest to smallest.
+			 */
+			int count = renditionList.size();
+			final Dimension[] sizes = new Dimension[count];
+			for (int i = 0; i < count; i++) {
+				Rendition rendition = renditionList.get(i);
+				sizes[i] = calculateRenditionSize(
+						sourceImage.getWidth(),
+						sourceImage.getHeight(),
+						rendition.getWidth(),
+						rendition.getHeight()
+				);
+			}
+			
+			List<Integer> order = new ArrayList<Integer>();
+			for (int i = 0; i < count; i++) {
+				order.add(i);
+			}
+			Collections.sort(order, new Comparator<Integer>() {
+				public int compare(Integer a, Integer b) {
+					long areaA = (long)sizes[a].width * sizes[a].height;
+					long areaB = (long)sizes[b].width * sizes[b].height;
+					return areaA < areaB ? 1 : (areaA > areaB ? -1 : 0);
+				}
+			});
+			
+			/*
+			 * Decide the parameters, output format and image type of each
+			 * rendition.
+			 */
+			ThumbnailParameter[] params = new ThumbnailParameter[count];
+			String[] formatNames = new String[count];
+			int[] imageTypes = new int[count];
+			List<ImageSink<?>> destinations = new ArrayList<ImageSink<?>>();
+			for (int i = 0; i < count; i++) {
+				Rendition rendition = renditionList.get(i);
+				
+				String format = outputFormat;
+				String formatType = outputFormatType;
+				if (rendition.getOutputFormat() != null) {
+					format = rendition.getOutputFormat();
+					formatType = ThumbnailParameter.DEFAULT_FORMAT_TYPE;
+				}
+				float quality = outputQuality;
+				if (!Float.isNaN(rendition.getOutputQuality())) {
+					quality = rendition.getOutputQuality();
+				}
+				
+				List<ImageFilter> filters = new ArrayList<ImageFilter>(filterPipeline.getFilters());
+				filters.addAll(rendition.getFilters());
+				
+				params[i] = makeRenditionParam(
+						sizes[i].width, sizes[i].height, filters,
+						format, formatType, quality
+				);
+				ImageSink<?> destination = rendition.createDestination(allowOverwrite);
+				destinations.add(destination);
+				
+				String formatName = format;
+				if (ThumbnailParameter.DETERMINE_FORMAT.equals(formatName)) {
+					formatName = destination.preferredOutputFormatName();
+				}
+				if (formatName == ThumbnailParameter.ORIGINAL_FORMAT) {
+					formatName = inputFormatName;
+				}
+				formatNames[i] = formatName;
+				
+				imageTypes[i] = Thumbnailator.imageTypeForOutputFormat(
+						imageTypeToUse, isDefaultImageType, sourceImage, formatName
+				);
+			}
+			
+			/*
+			 * Decide the image from which each rendition is resized. This is
+			 * the smallest rendition made before it which is at least as
+			 * large and has the same image type, or the largest rendition
+			 * when run in parallel. The source image is used if there is no
+			 * such rendition.
+			 */
+			boolean parallel = isParallel();
+			int[] inputs = new int[count];
+			boolean[] reused = new boolean[count];
+			for (int k = 0; k < count; k++) {
+				int i = order.get(k);
+				inputs[i] = -1;
+				
+				int candidates = parallel ? Math.min(k, 1) : k;
+				for (int m = candidates - 1; m >= 0; m--) {
+					int j = order.get(m);
+					if (sizes[j].width >= sizes[i].width && sizes[j].height >= sizes[i].height
+							&& imageTypes[j] == imageTypes[i]) {
+						inputs[i] = j;
+						reused[j] = true;
+						break;
+					}
+				}
+			}
+			
+			// Make and write the renditions.
+			final BufferedImage[] images = new BufferedImage[count];
+			List<RenditionWriter> writers = new ArrayList<RenditionWriter>();
+			for (int i = 0; i < count; i++) {
+				writers.add(new RenditionWriter(
+						images, sizes, inputs, i, sourceImage, imageTypes[i],
+						!reused[i], params[i], destinations.get(i), formatNames[i]
+				));
+			}
+			
+			if (!parallel) {
+				for (int i : order) {
+					writers.get(i).write();
+				}
+				return;
+			}
+			
+			// The largest rendition is made first, as the others use it.
+			int largest = order.get(0);
+			writers.get(largest).resize();
+			
+			Map<Integer, Callable<Void>> orderedWriters = new LinkedHashMap<Integer, Callable<Void>>();
+			for (int i : order) {
+				orderedWriters.put(i, writers.get(i));
+			}
+			Map<Integer, Throwable> failures = executeCallablesInParallel(orderedWriters);
+			
+			if (!failures.isEmpty()) {
+				List<Object> results = new ArrayList<Object>();
+				for (int i = 0; i < count; i++) {
+					if (!failures.containsKey(i)) {
+						results.add(destinations.get(i).getSink());
+					}
+				}
+				throw new BatchThumbnailException(results, failures);
+			}
+		}
+		
+		/**
+		 * Returns the size of a rendition which fits within the specified
+		 * size, in the same way as {@link FixedSizeThumbnailMaker}.
+		 * 
+		 * @param sourceWidth	The width of the source image.
+		 * @param sourceHeight	The height of the source image.
+		 * @param width			The width of the rendition.
+		 * @param height		The height of the rendition.
+		 * @return				The size of the rendition.
+		 */
+		private Dimension calculateRenditionSize(int sourceWidth, int sourceHeight, int width, int height) {
+			int targetWidth = width;
+			int targetHeight = height;
+			
+			if (keepAspectRatio) {
+				double sourceRatio = (double)sourceWidth / (double)sourceHeight;
+				double targetRatio = (double)targetWidth / (double)targetHeight;
+				
+				if (Double.compare(sourceRatio, targetRatio) != 0) {
+					if (sourceRatio > targetRatio) {
+						targetHeight = (int)Math.round(targetWidth / sourceRatio);
+					} else {
+						targetWidth = (int)Math.round(targetHeight * sourceRatio);
+					}
+				}
+			}
+			
+			targetWidth = (targetWidth == 0) ? 1 : targetWidth;
+			targetHeight = (targetHeight == 0) ? 1 : targetHeight;
+			
+			return new Dimension(targetWidth, targetHeight);
+		}
+		
+		/**
+		 * Resizes, applies the image filters to, and writes one rendition
+		 * created by {@link #toRenditions(Iterable)}.
+		 */
+		private final class RenditionWriter implements Callable<Void> {
+			private final BufferedImage[] images;
+			private final Dimension[] sizes;
+			private final int[] inputs;
+			private final int index;
+			private final BufferedImage sourceImage;
+			private final int imageType;
+			private final boolean modifiable;
+			private final ThumbnailParameter param;
+			private final ImageSink<?> destination;
+			private final String formatName;
+			
+			private RenditionWriter(
+					BufferedImage[] images, Dimension[] sizes, int[] inputs,
+					int index, BufferedImage sourceImage, int imageType,
+					boolean modifiable, ThumbnailParameter param,
+					ImageSink<?> destination, String formatName
+			) {
+				this.images = images;
+				this.sizes = sizes;
+				this.inputs = inputs;
+				this.index = index;
+				this.sourceImage = sourceImage;
+				this.imageType = imageType;
+				this.modifiable = modifiable;
+				this.param = param;
+				this.destination = destination;
+				this.formatName = formatName;
+			}
+			
+			/**
+			 * Resizes the rendition from its input image, unless it has
+			 * already been resized.
+			 */
+			private void resize() {
+				if (images[index] != null) {
+					return;
+				}
+				
+				BufferedImage input = inputs[index] == -1 ? sourceImage : images[inputs[index]];
+				images[index] = new FixedSizeThumbnailMaker()
+						.size(sizes[index].width, sizes[index].height)
+						.keepAspectRatio(false)
+						.fitWithinDimensions(true)
+						.imageType(imageType)
+						.resizerFactory(param.getResizerFactory())
+						.make(input);
+			}
+			
+			public Void call() throws IOException {
+				write();
+				return null;
+			}
+			
+			/**
+			 * Resizes the rendition if necessary, then applies the image
+			 * filters, and writes it to the destination.
+			 * 
+			 * @throws IOException	If the rendition could not be written.
+			 */
+			private void write() throws IOException {
+				resize();
+				
+				BufferedImage img = images[index];
+				if (param.isFuseFilters()) {
+					img = FusedFilters.apply(img, param.getImageFilters(), modifiable);
+				} else {
+					for (ImageFilter filter : param.getImageFilters()) {
+						img = filter.apply(img);
+					}
+				}
+				
+				destination.setThumbnailParameter(param);
+				destination.setOutputFormatName(formatName);
+				destination.write(img);
+			}
+		}
+		
+		/**
+		 * Creates a thumbnail asynchronously, and returns a {@link Future}
+		 * which provides the thumbnail as a {@link BufferedImage}.
+		 * <p>
+		 * The thumbnail is created by the {@link ExecutorService} specified
+		 * by the {@link #executor(ExecutorService)} method, or by one of the
+		 * threads specified by the {@link #parallel(int)} method.
+		 * The parameters of the thumbnail are taken from this builder when
+		 * this method is called, so changes made to this builder afterwards
+		 * will not affect the thumbnail.
+		 * <p>
+		 * If a problem occurs while creating the thumbnail, calling the
+		 * {@link Future#get()} method will throw an
+		 * {@link java.util.concurrent.ExecutionException} whose cause is the
+		 * exception which occurred.
+		 * <p>
+		 * To call this method, the thumbnail must have been created from a
+		 * single source.
+		 * <p>
+		 * See {@link #asBufferedImage()} for notes on image types.
+		 *
+		 * @return		A {@link Future} which provides the thumbnail.
+		 * @throws IllegalArgumentException		If multiple original images are
+		 * 										specified.
+		 * @throws IllegalStateException		If neither an
+		 * 										{@code ExecutorService} nor the
+		 * 										number of threads were specified.
+		 * @since	0.4.22
+		 */
+		public Future<BufferedImage> asBufferedImageAsync() {
+			checkReadiness();
+			
+			ImageSource<T> source = getSingleSource("Cannot create one thumbnail from multiple original images.");
+			
+			final BufferedImageSink destination = new BufferedImageSink();
+			final ThumbnailTask<T, BufferedImage> task =
+					new SourceSinkThumbnailTask<T, BufferedImage>(makeParam(), source, destination);
+			
+			return submitAsync(new Callable<BufferedImage>() {
+				public BufferedImage call() throws IOException {
+					Thumbnailator.createThumbnail(task);
+					return destination.getSink();
+				}
+			});
+		}
+		
+		/**
+		 * Creates a thumbnail asynchronously, and writes it to a {@link File}.
+		 * <p>
+		 * The returned {@link Future} provides the file which the thumbnail
+		 * was written to. The file can be different from the specified file
+		 * if a file extension was appended to match the output format.
+		 * <p>
+		 * When the destination file exists, and overwriting files has been
+		 * disabled by calling the {@link #allowOverwrite(boolean)} method
+		 * with {@code false}, then the {@link Future#get()} method will throw
+		 * an {@link java.util.concurrent.ExecutionException} whose cause is
+		 * an {@link IllegalArgumentException}.
+		 * <p>
+		 * See {@link #asBufferedImageAsync()} for details on how the thumbnail
+		 * is created asynchronously.
+		 *
+		 * @param outFile			The file to which the thumbnail is to be
+		 * 							written to.
+		 * @return					A {@link Future} which provides the file
+		 * 							the thumbnail was written to.
+		 * @throws IllegalArgumentException		If multiple original image files
+		 * 										are	specified.
+		 * @throws IllegalStateException		If neither an
+		 * 										{@code ExecutorService} nor the
+		 * 										number of threads were specified.
+		 * @since	0.4.22
+		 */
+		public Future<File> toFileAsync(File outFile) {
+			checkReadiness();
+			
+			ImageSource<T> source = getSingleSource("Cannot output multiple thumbnails to one file.");
+			
+			final FileImageSink destination = new FileImageSink(outFile, allowOverwrite);
+			final ThumbnailTask<T, File> task =
+					new SourceSinkThumbnailTask<T, File>(makeParam(), source, destination);
+			
+			return submitAsync(new Callable<File>() {
+				public File call() throws IOException {
+					Thumbnailator.createThumbnail(task);
+					return destination.getSink();
+				}
+			});
+		}
+		
+		/**
+		 * Creates a thumbnail asynchronously, and writes it to a
+		 * {@link OutputStream}.
+		 * <p>
+		 * Note that the {@link OutputStream#close()} method will not be
+		 * called upon the completion of the thumbnail being written to the
+		 * {@link OutputStream}.
+		 * <p>
+		 * See {@link #asBufferedImageAsync()} for details on how the thumbnail
+		 * is created asynchronously.
+		 *
+		 * @param os				The output stream to which the thumbnail
+		 * 							is to be written to.
+		 * @return					A {@link Future} which completes when the
+		 * 							thumbnail has been written.
+		 * @throws IllegalArgumentException		If multiple original image files
+		 * 										are	specified.
+		 * @throws IllegalStateException		If the output format has not
+		 * 										been specified through the
+		 * 										{@link #outputFormat(String)}
+		 * 										method, or if neither an
+		 * 										{@code ExecutorService} nor the
+		 * 										number of threads were specified.
+		 * @since	0.4.22
+		 */
+		public Future<Void> toOutputStreamAsync(OutputStream os) {
+			checkReadiness();
+			
+			ImageSource<T> source = getSingleSource("Cannot output multiple thumbnails to a single OutputStream.");
+			
+			if (source instanceof BufferedImageSource) {
+				if (isOutputFormatNotSet()) {
+					throw new IllegalStateException(
+							"Output format not specified."
+					);
+				}
+			}
+			
+			OutputStreamImageSink destination = new OutputStreamImageSink(os);
+			final ThumbnailTask<T, OutputStream> task =
+					new SourceSinkThumbnailTask<T, OutputStream>(makeParam(), source, destination);
+			
+			return submitAsync(new Callable<Void>() {
+				public Void call() throws IOException {
+					Thumbnailator.createThumbnail(task);
+					return null;
+				}
+			});
+		}
 	}
 }
@@ -36,6 +36,12 @@ import net.coobird.thumbnailator.resizers.FixedResizerFactory;
 import net.coobird.thumbnailator.geometry.Region;
 import net.coobird.thumbnailator.resizers.Resizer;
 import net.coobird.thumbnailator.resizers.ResizerFactory;
+import net.coobird.thumbnailator.tasks.io.DecodeSubsampling;
+import net.coobird.thumbnailator.tasks.io.FileWritePolicy;
+import net.coobird.thumbnailator.tasks.io.ImageCodecPool;
+import net.coobird.thumbnailator.tasks.io.ImageSelection;
+import net.coobird.thumbnailator.tasks.io.StreamCache;
+import net.coobird.thumbnailator.tasks.io.ThumbnailCache;
 
 /**
  * <p>
@@ -76,6 +82,30 @@ import net.coobird.thumbnailator.resizers.ResizerFactory;
  * <dd>The default {@link Resizer} returned by the {@link ResizerFactory}.</dd>
  * <dt>use of Exif metadata for orientation</dt>
  * <dd>Use the Exif metadata to determine the orientation of the thumbnail.</dd>
+ * <dt>codec pool</dt>
+ * <dd>None. A new reader and writer is created for each image.</dd>
+ * <dt>decode subsampling</dt>
+ * <dd>Unspecified. See {@link ThumbnailParameter#getDecodeSubsampling()}.</dd>
+ * <dt>decode band height</dt>
+ * <dd>The source image is decoded at once.</dd>
+ * <dt>fuse filters</dt>
+ * <dd>Each image filter is applied on its own.</dd>
+ * <dt>stream cache</dt>
+ * <dd>Unspecified. Decided by {@link javax.imageio.ImageIO#getUseCache()}.</dd>
+ * <dt>use of embedded thumbnails</dt>
+ * <dd>The source image is always read.</dd>
+ * <dt>use of DCT scaling</dt>
+ * <dd>JPEG images are subsampled by the image reader.</dd>
+ * <dt>image selection</dt>
+ * <dd>{@link ImageSelection#FIRST}</dd>
+ * <dt>file write policy</dt>
+ * <dd>{@link FileWritePolicy#DIRECT}</dd>
+ * <dt>target file size</dt>
+ * <dd>None. The output quality is used as is.</dd>
+ * <dt>target SSIM index</dt>
+ * <dd>None. The output quality is used as is.</dd>
+ * <dt>thumbnail cache</dt>
+ * <dd>None. Thumbnails are always created.</dd>
  * </dl>
  * 
  * @author coobird
@@ -89,6 +119,7 @@ public final class ThumbnailParameterBuilder {
 	private double widthScalingFactor = Double.NaN;
 	private double heightScalingFactor = Double.NaN;
 	private int imageType = ThumbnailParameter.DEFAULT_IMAGE_TYPE;
+	private boolean imageTypeSpecified = false;
 	private boolean keepAspectRatio = true;
 	private float thumbnailQuality = ThumbnailParameter.DEFAULT_QUALITY;
 	private String thumbnailFormat = ThumbnailParameter.ORIGINAL_FORMAT;
@@ -98,6 +129,18 @@ public final class ThumbnailParameterBuilder {
 	private Region sourceRegion = null;
 	private boolean fitWithinDimensions = true;
 	private boolean useExifOrientation = true;
+	private ImageCodecPool codecPool = null;
+	private DecodeSubsampling decodeSubsampling = null;
+	private int decodeBandHeight = 0;
+	private boolean fuseFilters = false;
+	private StreamCache streamCache = null;
+	private boolean useEmbeddedThumbnail = false;
+	private boolean useDctScaling = false;
+	private ImageSelection imageSelection = ImageSelection.FIRST;
+	private FileWritePolicy fileWritePolicy = FileWritePolicy.DIRECT;
+	private long targetFileSize = 0;
+	private double targetSsim = Double.NaN;
+	private ThumbnailCache thumbnailCache = null;
 	
 	/**
 	 * Creates an instance of a {@link ThumbnailParameterBuilder}.
@@ -112,6 +155,7 @@ public final class ThumbnailParameterBuilder {
 	 */
 	public ThumbnailParameterBuilder imageType(int type) {
 		imageType = type;
+		imageTypeSpecified = true;
 		return this;
 	}
 	
@@ -347,6 +391,191 @@ public final class ThumbnailParameterBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets the pool to acquire image readers and writers from.
+	 *
+	 * @param pool		The codec pool, or {@code null} if a new reader and
+	 * 					writer should be created for each image.
+	 * @return			A reference to this object.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder codecPool(ImageCodecPool pool) {
+		this.codecPool = pool;
+		return this;
+	}
+
+	/**
+	 * Sets whether and how much the source image should be subsampled while
+	 * it is decoded.
+	 *
+	 * @param subsampling	The subsampling setting, or {@code null} to leave
+	 * 						it unspecified.
+	 * @return				A reference to this object.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder decodeSubsampling(DecodeSubsampling subsampling) {
+		this.decodeSubsampling = subsampling;
+		return this;
+	}
+
+	/**
+	 * Sets the number of rows of the source image to decode at a time.
+	 *
+	 * @param bandHeight	The number of rows to decode at a time, or
+	 * 						{@code 0} if the source image should be decoded
+	 * 						at once.
+	 * @return				A reference to this object.
+	 * @throws IllegalArgumentException	If the number of rows is negative.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder decodeBandHeight(int bandHeight) {
+		if (bandHeight < 0) {
+			throw new IllegalArgumentException("Band height must not be negative.");
+		}
+		this.decodeBandHeight = bandHeight;
+		return this;
+	}
+
+	/**
+	 * Sets whether consecutive image filters which can draw onto an existing
+	 * image should be applied to a single working image.
+	 *
+	 * @param fuseFilters	{@code true} if the image filters should be
+	 * 						fused, {@code false} otherwise.
+	 * @return				A reference to this object.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder fuseFilters(boolean fuseFilters) {
+		this.fuseFilters = fuseFilters;
+		return this;
+	}
+
+	/**
+	 * Sets where the streams used to read and write images cache their data.
+	 *
+	 * @param streamCache	The cache setting, or {@code null} to use the
+	 * 						setting of
+	 * 						{@link javax.imageio.ImageIO#getUseCache()}.
+	 * @return				A reference to this object.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder streamCache(StreamCache streamCache) {
+		this.streamCache = streamCache;
+		return this;
+	}
+
+	/**
+	 * Sets whether a thumbnail embedded in the source image may be read
+	 * instead of the source image, when it is at least as large as the
+	 * thumbnail to create.
+	 *
+	 * @param useEmbeddedThumbnail	{@code true} if an embedded thumbnail
+	 * 								may be used, {@code false} otherwise.
+	 * @return				A reference to this object.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder useEmbeddedThumbnail(boolean useEmbeddedThumbnail) {
+		this.useEmbeddedThumbnail = useEmbeddedThumbnail;
+		return this;
+	}
+
+	/**
+	 * Sets whether JPEG images may be decoded at 1/2, 1/4 or 1/8 of their
+	 * size by performing a reduced inverse DCT, when subsampling is
+	 * performed while decoding.
+	 *
+	 * @param useDctScaling	{@code true} if JPEG images may be decoded at
+	 * 						a reduced size in the DCT domain,
+	 * 						{@code false} otherwise.
+	 * @return				A reference to this object.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder useDctScaling(boolean useDctScaling) {
+		this.useDctScaling = useDctScaling;
+		return this;
+	}
+
+	/**
+	 * Sets which image is read from a source image which contains more than
+	 * one image, such as a pyramidal TIFF.
+	 *
+	 * @param imageSelection	The image selection setting.
+	 * @return				A reference to this object.
+	 * @throws NullPointerException		If the setting is {@code null}.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder imageSelection(ImageSelection imageSelection) {
+		if (imageSelection == null) {
+			throw new NullPointerException("Image selection is null.");
+		}
+		this.imageSelection = imageSelection;
+		return this;
+	}
+
+	/**
+	 * Sets how thumbnails are written to files.
+	 *
+	 * @param fileWritePolicy	The file write policy.
+	 * @return				A reference to this object.
+	 * @throws NullPointerException		If the policy is {@code null}.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder fileWritePolicy(FileWritePolicy fileWritePolicy) {
+		if (fileWritePolicy == null) {
+			throw new NullPointerException("File write policy is null.");
+		}
+		this.fileWritePolicy = fileWritePolicy;
+		return this;
+	}
+
+	/**
+	 * Sets the largest number of bytes the thumbnail should be encoded in.
+	 *
+	 * @param bytes			The target file size in bytes.
+	 * @return				A reference to this object.
+	 * @throws IllegalArgumentException	If the size is less than 1.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder targetFileSize(long bytes) {
+		if (bytes < 1) {
+			throw new IllegalArgumentException("Target file size must be greater than 0.");
+		}
+		this.targetFileSize = bytes;
+		return this;
+	}
+
+	/**
+	 * Sets the structural similarity (SSIM) index the encoded thumbnail
+	 * should have with the thumbnail.
+	 *
+	 * @param ssim			The target SSIM index.
+	 * @return				A reference to this object.
+	 * @throws IllegalArgumentException	If the index is not greater than
+	 * 									{@code 0.0} and at most
+	 * 									{@code 1.0}.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder targetSsim(double ssim) {
+		if (!(ssim > 0.0 && ssim <= 1.0)) {
+			throw new IllegalArgumentException("Target SSIM index must be greater than 0.0 and at most 1.0.");
+		}
+		this.targetSsim = ssim;
+		return this;
+	}
+
+	/**
+	 * Sets the cache of thumbnails which have been created before.
+	 *
+	 * @param cache		The thumbnail cache, or {@code null} if thumbnails
+	 * 					should not be cached.
+	 * @return			A reference to this object.
+	 * @since	0.4.22
+	 */
+	public ThumbnailParameterBuilder thumbnailCache(ThumbnailCache cache) {
+		this.thumbnailCache = cache;
+		return this;
+	}
+
 	/**
 	 * Returns a {@link ThumbnailParameter} from the parameters which are
 	 * currently set.
@@ -360,9 +589,10 @@ public final class ThumbnailParameterBuilder {
 	 * 									factor has been set.
 	 */
 	public ThumbnailParameter build() {
+		ThumbnailParameter param;
 		if (!Double.isNaN(widthScalingFactor)) {
 			// If scaling factor has been set.
-			return new ThumbnailParameter(
+			param = new ThumbnailParameter(
 					widthScalingFactor,
 					heightScalingFactor,
 					sourceRegion,
@@ -378,7 +608,7 @@ public final class ThumbnailParameterBuilder {
 			);
 
 		} else if (width != UNINITIALIZED && height != UNINITIALIZED) {
-			return new ThumbnailParameter(
+			param = new ThumbnailParameter(
 					new Dimension(width, height),
 					sourceRegion,
 					keepAspectRatio,
@@ -396,5 +626,20 @@ public final class ThumbnailParameterBuilder {
 					"The size nor the scaling factor has been set."
 			);
 		}
+
+		param.setCodecPool(codecPool);
+		param.setDecodeSubsampling(decodeSubsampling);
+		param.setDecodeBandHeight(decodeBandHeight);
+		param.setFuseFilters(fuseFilters);
+		param.setStreamCache(streamCache);
+		param.setUseEmbeddedThumbnail(useEmbeddedThumbnail);
+		param.setUseDctScaling(useDctScaling);
+		param.setImageSelection(imageSelection);
+		param.setFileWritePolicy(fileWritePolicy);
+		param.setTargetFileSize(targetFileSize);
+		param.setTargetSsim(targetSsim);
+		param.setThumbnailCache(thumbnailCache);
+		param.setImageTypeSpecified(imageTypeSpecified);
+		return param;
 	}
 }
@@ -31,6 +31,8 @@ import java.awt.image.BufferedImage;
 
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
 import net.coobird.thumbnailator.geometry.Position;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 /**
  * An {@link ImageFilter} which will enclose an image into a specified
@@ -48,7 +50,7 @@ import net.coobird.thumbnailator.geometry.Position;
  * @since 0.3.2
  *
  */
-public class Canvas implements ImageFilter {
+public class Canvas implements ImageFilter, CanonicallyDescribable {
 	/**
 	 * The width of the enclosing image.
 	 */
@@ -198,4 +200,27 @@ public class Canvas implements ImageFilter {
 		
 		return finalImage;
 	}
+
+	/**
+	 * Returns a description of the size, position, cropping and fill color
+	 * of this filter.
+	 *
+	 * @return		The description, or {@code null} for subclasses, or if
+	 * 				the position cannot be described.
+	 */
+	public String toCanonicalString() {
+		if (getClass() != Canvas.class) {
+			return null;
+		}
+
+		String positionDescription = ThumbnailatorUtils.describe(position);
+		if (positionDescription == null) {
+			return null;
+		}
+		return "Canvas [width=" + width
+				+ ", height=" + height
+				+ ", position=" + positionDescription
+				+ ", crop=" + crop
+				+ ", fillColor=" + ThumbnailatorUtils.describe(fillColor) + "]";
+	}
 }
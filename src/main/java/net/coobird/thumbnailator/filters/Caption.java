@@ -33,6 +33,8 @@ import java.awt.image.BufferedImage;
 
 import net.coobird.thumbnailator.geometry.Position;
 import net.coobird.thumbnailator.util.BufferedImages;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 /**
  * An {@link ImageFilter} which will overlay a text caption to an image.
@@ -40,7 +42,7 @@ import net.coobird.thumbnailator.util.BufferedImages;
  * @author coobird
  *
  */
-public class Caption implements ImageFilter {
+public class Caption implements InPlaceImageFilter, CanonicallyDescribable {
 	/**
 	 * The text of the caption.
 	 */
@@ -137,6 +139,31 @@ public class Caption implements ImageFilter {
 		BufferedImage newImage = BufferedImages.copy(img);
 		
 		Graphics2D g = newImage.createGraphics();
+		applyInPlace(newImage, g);
+		g.dispose();
+		
+		return newImage;
+	}
+
+	/**
+	 * Returns {@code true}, as a caption can be drawn onto any image.
+	 *
+	 * @param img		The image to apply the filter to.
+	 * @return			{@code true}.
+	 * @since	0.4.22
+	 */
+	public boolean canApplyInPlace(BufferedImage img) {
+		return true;
+	}
+
+	/**
+	 * Draws the caption onto the specified image.
+	 *
+	 * @param img		The image to apply the caption to.
+	 * @param g			The graphics context of the image.
+	 * @since	0.4.22
+	 */
+	public void applyInPlace(BufferedImage img, Graphics2D g) {
 		g.setFont(font);
 		g.setColor(c);
 		g.setComposite(
@@ -158,9 +185,29 @@ public class Caption implements ImageFilter {
 		int yOffset = (int)((1.0 - yRatio) * captionHeight);
 		
 		g.drawString(caption, p.x, p.y + yOffset);
-		
-		g.dispose();
-		
-		return newImage;
+	}
+
+	/**
+	 * Returns a description of the text, font, color, opacity and position
+	 * of the caption.
+	 *
+	 * @return		The description, or {@code null} for subclasses, or if
+	 * 				the position cannot be described.
+	 */
+	public String toCanonicalString() {
+		if (getClass() != Caption.class) {
+			return null;
+		}
+
+		String positionDescription = ThumbnailatorUtils.describe(position);
+		if (positionDescription == null) {
+			return null;
+		}
+		return "Caption [caption=" + caption.length() + ":" + caption
+				+ ", font=" + ThumbnailatorUtils.describe(font)
+				+ ", color=" + ThumbnailatorUtils.describe(c)
+				+ ", alpha=" + alpha
+				+ ", position=" + positionDescription
+				+ ", insets=" + insets + "]";
 	}
 }
@@ -27,9 +27,12 @@ package net.coobird.thumbnailator.filters;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
 
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
 import net.coobird.thumbnailator.util.BufferedImages;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 /**
  * An image filter which will add a color tint to an image.
@@ -37,7 +40,7 @@ import net.coobird.thumbnailator.util.BufferedImages;
  * @author coobird
  *
  */
-public final class Colorize implements ImageFilter {
+public final class Colorize implements InPlaceImageFilter, CanonicallyDescribable {
 	/**
 	 * The color to tint a target image with.
 	 */
@@ -112,4 +115,38 @@ public final class Colorize implements ImageFilter {
 
 		return newImage;
 	}
+
+	/**
+	 * Returns {@code true} unless the image uses an
+	 * {@link IndexColorModel}, as the color is then better applied on a
+	 * copy of the image with a full color range.
+	 *
+	 * @param img		The image to apply the filter to.
+	 * @return			Whether the color can be applied in place.
+	 * @since	0.4.22
+	 */
+	public boolean canApplyInPlace(BufferedImage img) {
+		return !(img.getColorModel() instanceof IndexColorModel);
+	}
+
+	/**
+	 * Fills the specified image with the color of this filter.
+	 *
+	 * @param img		The image to colorize.
+	 * @param g			The graphics context of the image.
+	 * @since	0.4.22
+	 */
+	public void applyInPlace(BufferedImage img, Graphics2D g) {
+		g.setColor(c);
+		g.fillRect(0, 0, img.getWidth(), img.getHeight());
+	}
+
+	/**
+	 * Returns a description of the color of the tint.
+	 *
+	 * @return		The description.
+	 */
+	public String toCanonicalString() {
+		return "Colorize [color=" + ThumbnailatorUtils.describe(c) + "]";
+	}
 }
@@ -28,6 +28,7 @@ import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
 
 /**
  * A class containing flip transformation filters.
@@ -37,10 +38,25 @@ import net.coobird.thumbnailator.builders.BufferedImageBuilder;
  */
 public class Flip {
 	
+	/**
+	 * An image filter which flips an image in the specified direction.
+	 */
+	private abstract static class FlipFilter implements ImageFilter, CanonicallyDescribable {
+		private final String direction;
+		
+		private FlipFilter(String direction) {
+			this.direction = direction;
+		}
+		
+		public String toCanonicalString() {
+			return "Flip [" + direction + "]";
+		}
+	}
+	
 	/**
 	 * An image filter which performs a horizontal flip of the image.
 	 */
-	public static final ImageFilter HORIZONTAL = new ImageFilter() {
+	public static final ImageFilter HORIZONTAL = new FlipFilter("HORIZONTAL") {
 		public BufferedImage apply(BufferedImage img) {
 			int width = img.getWidth();
 			int height = img.getHeight();
@@ -59,7 +75,7 @@ public class Flip {
 	/**
 	 * An image filter which performs a vertical flip of the image.
 	 */
-	public static final ImageFilter VERTICAL = new ImageFilter() {
+	public static final ImageFilter VERTICAL = new FlipFilter("VERTICAL") {
 		public BufferedImage apply(BufferedImage img) {
 			int width = img.getWidth();
 			int height = img.getHeight();
@@ -0,0 +1,141 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.filters;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.coobird.thumbnailator.util.BufferedImages;
+
+/**
+ * Applies a list of {@link ImageFilter}s, drawing runs of consecutive
+ * {@link InPlaceImageFilter}s onto a single working image.
+ * <p>
+ * When filters are applied one by one, each filter makes a new image of the
+ * full size. Filters such as {@link Watermark}, {@link Caption},
+ * {@link Colorize} and {@link Transparency} only draw on top of the image,
+ * so this class applies them to one working image through one graphics
+ * context instead.
+ * <p>
+ * The results may differ from applying the filters one by one by rounding
+ * errors, as the intermediate images of some filters are of a different
+ * type than the image being filtered.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public final class FusedFilters {
+	/**
+	 * This class is not intended to be instantiated.
+	 */
+	private FusedFilters() {}
+
+	/**
+	 * Applies the specified filters to an image.
+	 * <p>
+	 * {@link Pipeline}s in the list are expanded into the filters they
+	 * contain.
+	 *
+	 * @param img			The image to apply the filters to.
+	 * @param filters		The filters to apply, in order.
+	 * @param modifiable	Whether the given image may be drawn on. When
+	 * 						{@code false}, the image is left unchanged and
+	 * 						a copy is made for the filters which are applied
+	 * 						in place.
+	 * @return				The image after applying the filters.
+	 * @throws NullPointerException	If the image or list of filters is
+	 * 								{@code null}.
+	 */
+	public static BufferedImage apply(BufferedImage img, List<ImageFilter> filters, boolean modifiable) {
+		if (img == null) {
+			throw new NullPointerException("Image is null.");
+		}
+		if (filters == null) {
+			throw new NullPointerException("Filters are null.");
+		}
+
+		BufferedImage image = img;
+		boolean owned = modifiable;
+		Graphics2D g = null;
+
+		for (ImageFilter filter : flatten(filters, new ArrayList<ImageFilter>())) {
+			if (filter instanceof InPlaceImageFilter
+					&& ((InPlaceImageFilter)filter).canApplyInPlace(image)) {
+				if (!owned) {
+					image = BufferedImages.copy(image);
+					owned = true;
+				}
+				if (g == null) {
+					g = image.createGraphics();
+				}
+
+				// Each filter starts out with the initial state of the context.
+				Graphics2D filterGraphics = (Graphics2D)g.create();
+				try {
+					((InPlaceImageFilter)filter).applyInPlace(image, filterGraphics);
+				} finally {
+					filterGraphics.dispose();
+				}
+
+			} else {
+				if (g != null) {
+					g.dispose();
+					g = null;
+				}
+
+				BufferedImage filteredImage = filter.apply(image);
+
+				/*
+				 * Filters are expected to return a copy, but may return the
+				 * given image itself when there is nothing to do.
+				 */
+				if (filteredImage != image) {
+					image = filteredImage;
+					owned = true;
+				}
+			}
+		}
+
+		if (g != null) {
+			g.dispose();
+		}
+
+		return image;
+	}
+
+	private static List<ImageFilter> flatten(List<ImageFilter> filters, List<ImageFilter> result) {
+		for (ImageFilter filter : filters) {
+			if (filter instanceof Pipeline) {
+				flatten(((Pipeline)filter).getFilters(), result);
+			} else {
+				result.add(filter);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.filters;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * An {@link ImageFilter} which can also be applied by drawing directly onto
+ * an existing image, rather than onto a copy of it.
+ * <p>
+ * Consecutive filters implementing this interface can be applied to a
+ * single working image with {@link FusedFilters}, avoiding an intermediate
+ * image for each filter.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public interface InPlaceImageFilter extends ImageFilter {
+	/**
+	 * Returns whether this filter can be applied in place to the specified
+	 * image.
+	 *
+	 * @param img		The image to apply the filter to.
+	 * @return			{@code true} if
+	 * 					{@link #applyInPlace(BufferedImage, Graphics2D)}
+	 * 					can be used for the image, {@code false} otherwise.
+	 */
+	public boolean canApplyInPlace(BufferedImage img);
+
+	/**
+	 * Applies this filter by drawing onto the specified image.
+	 * <p>
+	 * The filter may change the state of the given {@link Graphics2D}, and
+	 * is not responsible for disposing it.
+	 *
+	 * @param img		The image to apply the filter to.
+	 * @param g			The graphics context of the image to draw with.
+	 */
+	public void applyInPlace(BufferedImage img, Graphics2D g);
+}
@@ -31,6 +31,8 @@ import java.util.Collections;
 import java.util.List;
 
 import net.coobird.thumbnailator.util.BufferedImages;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 /**
  * An {@link ImageFilter} which will apply multiple {@link ImageFilter}s in a
@@ -39,7 +41,7 @@ import net.coobird.thumbnailator.util.BufferedImages;
  * @author coobird
  *
  */
-public final class Pipeline implements ImageFilter {
+public final class Pipeline implements ImageFilter, CanonicallyDescribable {
 	/**
 	 * A list of image filters to apply.
 	 */
@@ -154,4 +156,22 @@ public final class Pipeline implements ImageFilter {
 		
 		return image;
 	}
+
+	/**
+	 * Returns a description of the filters to apply, in order.
+	 *
+	 * @return		The description, or {@code null} if any of the filters
+	 * 				cannot be described.
+	 */
+	public String toCanonicalString() {
+		StringBuilder sb = new StringBuilder("Pipeline [");
+		for (int i = 0; i < filtersToApply.size(); i++) {
+			String description = ThumbnailatorUtils.describe(filtersToApply.get(i));
+			if (description == null) {
+				return null;
+			}
+			sb.append(i == 0 ? "" : ", ").append(description);
+		}
+		return sb.append("]").toString();
+	}
 }
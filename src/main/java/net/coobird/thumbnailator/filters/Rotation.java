@@ -30,6 +30,7 @@ import java.awt.image.BufferedImage;
 
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
 import net.coobird.thumbnailator.util.BufferedImages;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
 
 /**
  * A class containing rotation filters.
@@ -56,7 +57,7 @@ public class Rotation {
 	 * @author coobird
 	 *
 	 */
-	public abstract static class Rotator implements ImageFilter {
+	public abstract static class Rotator implements ImageFilter, CanonicallyDescribable {
 		/**
 		 * This class is not intended to be instantiated.
 		 */
@@ -152,6 +153,10 @@ public class Rotation {
 
 				return newImage;
 			}
+			
+			public String toCanonicalString() {
+				return "Rotation [angle=" + angle + "]";
+			}
 		};
 		
 		return r;
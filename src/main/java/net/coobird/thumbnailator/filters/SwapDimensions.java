@@ -26,6 +26,8 @@ package net.coobird.thumbnailator.filters;
 
 import java.awt.image.BufferedImage;
 
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+
 /**
  * This is a no-op filter that acts as a "flag" to enable proper handling of
  * dimensions for images that will be oriented by using Exif metadata.
@@ -33,7 +35,7 @@ import java.awt.image.BufferedImage;
  * This is an internal filter that should not be used by consumers of
  * Thumbnailator.
  */
-public class SwapDimensions implements ImageFilter {
+public class SwapDimensions implements ImageFilter, CanonicallyDescribable {
 	private static final SwapDimensions INSTANCE = new SwapDimensions();
 	private SwapDimensions() {}
 
@@ -44,4 +46,17 @@ public class SwapDimensions implements ImageFilter {
 	public BufferedImage apply(BufferedImage img) {
 		return img;
 	}
+
+	/**
+	 * Returns a description of this filter, which has no settings.
+	 *
+	 * @return		The description, or {@code null} for subclasses.
+	 */
+	public String toCanonicalString() {
+		if (getClass() != SwapDimensions.class) {
+			return null;
+		}
+		
+		return "SwapDimensions";
+	}
 }
@@ -26,10 +26,14 @@ package net.coobird.thumbnailator.filters;
 
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
 import net.coobird.thumbnailator.util.BufferedImages;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
 
 import java.awt.AlphaComposite;
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.IndexColorModel;
 
 /**
  * An image filter which will make an image transparent.
@@ -40,7 +44,7 @@ import java.awt.image.BufferedImage;
  * @author coobird
  *
  */
-public class Transparency implements ImageFilter {
+public class Transparency implements InPlaceImageFilter, CanonicallyDescribable {
 	/**
 	 * The alpha composite to use when drawing the transparent image.
 	 */
@@ -104,6 +108,35 @@ public class Transparency implements ImageFilter {
 		return finalImage;
 	}
 	
+	/**
+	 * Returns {@code true} if the image has an alpha channel which the
+	 * transparency can be applied to.
+	 *
+	 * @param img		The image to apply the filter to.
+	 * @return			Whether the transparency can be applied in place.
+	 * @since	0.4.22
+	 */
+	public boolean canApplyInPlace(BufferedImage img) {
+		ColorModel colorModel = img.getColorModel();
+		return colorModel.hasAlpha() && !(colorModel instanceof IndexColorModel);
+	}
+
+	/**
+	 * Multiplies the alpha channel of the specified image by the alpha of
+	 * this filter.
+	 *
+	 * @param img		The image to apply the transparency to.
+	 * @param g			The graphics context of the image.
+	 * @since	0.4.22
+	 */
+	public void applyInPlace(BufferedImage img, Graphics2D g) {
+		g.setComposite(
+				AlphaComposite.getInstance(AlphaComposite.DST_IN, composite.getAlpha())
+		);
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, img.getWidth(), img.getHeight());
+	}
+	
 	/**
 	 * Returns the opacity of this filter.
 	 * 
@@ -113,4 +146,17 @@ public class Transparency implements ImageFilter {
 	public float getAlpha() {
 		return composite.getAlpha();
 	}
+
+	/**
+	 * Returns a description of the opacity of this filter.
+	 *
+	 * @return		The description, or {@code null} for subclasses.
+	 */
+	public String toCanonicalString() {
+		if (getClass() != Transparency.class) {
+			return null;
+		}
+
+		return "Transparency [alpha=" + composite.getAlpha() + "]";
+	}
 }
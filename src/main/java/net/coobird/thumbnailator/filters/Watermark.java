@@ -31,6 +31,8 @@ import java.awt.image.BufferedImage;
 
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
 import net.coobird.thumbnailator.geometry.Position;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 /**
  * This class applies a watermark to an image.
@@ -38,7 +40,7 @@ import net.coobird.thumbnailator.geometry.Position;
  * @author coobird
  *
  */
-public class Watermark implements ImageFilter {
+public class Watermark implements InPlaceImageFilter, CanonicallyDescribable {
 	/**
 	 * The position of the watermark.
 	 */
@@ -118,28 +120,75 @@ public class Watermark implements ImageFilter {
 		BufferedImage imgWithWatermark =
 			new BufferedImageBuilder(width, height, type).build();
 		
+		Graphics2D g = imgWithWatermark.createGraphics();
+		
+		// Draw the actual image.
+		g.drawImage(img, 0, 0, null);
+		
+		// Draw the watermark on top.
+		applyInPlace(imgWithWatermark, g);
+		
+		g.dispose();
+
+		return imgWithWatermark;
+	}
+
+	/**
+	 * Returns {@code true}, as a watermark can be drawn onto any image.
+	 *
+	 * @param img		The image to apply the filter to.
+	 * @return			{@code true}.
+	 * @since	0.4.22
+	 */
+	public boolean canApplyInPlace(BufferedImage img) {
+		return true;
+	}
+
+	/**
+	 * Draws the watermark onto the specified image.
+	 *
+	 * @param img		The image to apply the watermark to.
+	 * @param g			The graphics context of the image.
+	 * @since	0.4.22
+	 */
+	public void applyInPlace(BufferedImage img, Graphics2D g) {
 		int watermarkWidth = watermarkImg.getWidth();
 		int watermarkHeight = watermarkImg.getHeight();
 
 		Point p = position.calculate(
-				width, height, watermarkWidth, watermarkHeight,
+				img.getWidth(), img.getHeight(), watermarkWidth, watermarkHeight,
 				insets, insets, insets, insets
 		);
 
-		Graphics2D g = imgWithWatermark.createGraphics();
-		
-		// Draw the actual image.
-		g.drawImage(img, 0, 0, null);
-		
-		// Draw the watermark on top.
 		g.setComposite(
 				AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity)
 		);
 		
 		g.drawImage(watermarkImg, p.x, p.y, null);
-		
-		g.dispose();
+	}
 
-		return imgWithWatermark;
+	/**
+	 * Returns a description of the position, image, opacity and insets of
+	 * the watermark.
+	 * <p>
+	 * The image is described by a hash of its pixels, which is computed
+	 * each time this method is called.
+	 *
+	 * @return		The description, or {@code null} for subclasses, or if
+	 * 				the position cannot be described.
+	 */
+	public String toCanonicalString() {
+		if (getClass() != Watermark.class) {
+			return null;
+		}
+
+		String positionDescription = ThumbnailatorUtils.describe(position);
+		if (positionDescription == null) {
+			return null;
+		}
+		return "Watermark [position=" + positionDescription
+				+ ", image=" + ThumbnailatorUtils.describe(watermarkImg)
+				+ ", opacity=" + opacity
+				+ ", insets=" + insets + "]";
 	}
 }
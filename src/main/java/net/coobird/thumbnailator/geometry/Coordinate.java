@@ -67,4 +67,14 @@ public final class Coordinate implements Position {
 		
 		return new Point(x, y);
 	}
+
+	/**
+	 * Returns a {@code String} representation of this object.
+	 * 
+	 * @return		{@code String} representation of this object.
+	 */
+	@Override
+	public String toString() {
+		return "Coordinate [x=" + x + ", y=" + y + "]";
+	}
 }
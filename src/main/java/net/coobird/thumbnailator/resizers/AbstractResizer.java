@@ -30,6 +30,9 @@ import java.awt.image.BufferedImage;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
 
 /**
  * A class which performs a resize operation on a source image and outputs the
@@ -38,7 +41,7 @@ import java.util.Map;
  * @author coobird
  *
  */
-public abstract class AbstractResizer implements Resizer {
+public abstract class AbstractResizer implements Resizer, CanonicallyDescribable {
 	/**
 	 * Rendering hints to use when resizing an image.
 	 */
@@ -146,4 +149,32 @@ public abstract class AbstractResizer implements Resizer {
 	public Map<RenderingHints.Key, Object> getRenderingHints() {
 		return UNMODIFIABLE_RENDERING_HINTS;
 	}
+	
+	/**
+	 * Returns a description of the class and the rendering hints of this
+	 * resizer.
+	 * <p>
+	 * Subclasses which are not part of Thumbnailator are not described, as
+	 * they may have settings which are not described by the rendering hints.
+	 *
+	 * @return		The description, or {@code null} for subclasses which are
+	 * 				not part of Thumbnailator.
+	 */
+	public String toCanonicalString() {
+		Class<?> c = getClass();
+		if (c != BilinearResizer.class
+				&& c != BicubicResizer.class
+				&& c != ProgressiveBilinearResizer.class
+				&& c != PooledProgressiveBilinearResizer.class
+				&& c != NullResizer.class) {
+			return null;
+		}
+		
+		// Sorted by key, as the order of a HashMap may differ between runs.
+		Map<String, String> hints = new TreeMap<String, String>();
+		for (Map.Entry<RenderingHints.Key, Object> hint : RENDERING_HINTS.entrySet()) {
+			hints.put(String.valueOf(hint.getKey()), String.valueOf(hint.getValue()));
+		}
+		return c.getSimpleName() + " [hints=" + hints + "]";
+	}
 }
@@ -0,0 +1,125 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.resizers;
+
+/**
+ * Kernels which can be used by the {@link ConvolutionResizer} to resample
+ * images.
+ * <p>
+ * Each kernel is a function centered on the pixel being sampled, which is
+ * zero outside of its support.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+public enum ConvolutionKernel {
+	/**
+	 * A box filter, which averages the pixels which are covered by each
+	 * pixel of the resized image.
+	 * <p>
+	 * This kernel is the fastest, and is equivalent to area averaging when
+	 * reducing the size of images.
+	 */
+	BOX(0.5) {
+		double weight(double x) {
+			return (x >= -0.5 && x < 0.5) ? 1.0 : 0.0;
+		}
+	},
+
+	/**
+	 * The Mitchell-Netravali cubic filter with {@code B = C = 1/3}.
+	 * <p>
+	 * This kernel gives a good balance between sharpness and ringing.
+	 */
+	MITCHELL(2.0) {
+		private static final double B = 1.0 / 3.0;
+		private static final double C = 1.0 / 3.0;
+
+		double weight(double x) {
+			x = Math.abs(x);
+			if (x < 1.0) {
+				return ((12 - 9 * B - 6 * C) * x * x * x
+						+ (-18 + 12 * B + 6 * C) * x * x
+						+ (6 - 2 * B)) / 6.0;
+			} else if (x < 2.0) {
+				return ((-B - 6 * C) * x * x * x
+						+ (6 * B + 30 * C) * x * x
+						+ (-12 * B - 48 * C) * x
+						+ (8 * B + 24 * C)) / 6.0;
+			}
+			return 0.0;
+		}
+	},
+
+	/**
+	 * The Lanczos filter with three lobes.
+	 * <p>
+	 * This kernel gives the sharpest results, with a little ringing around
+	 * hard edges.
+	 */
+	LANCZOS3(3.0) {
+		double weight(double x) {
+			x = Math.abs(x);
+			if (x < 3.0) {
+				return sinc(x) * sinc(x / 3.0);
+			}
+			return 0.0;
+		}
+	},
+	;
+
+	private final double support;
+
+	private ConvolutionKernel(double support) {
+		this.support = support;
+	}
+
+	/**
+	 * Returns the radius around the center outside of which the kernel is
+	 * zero.
+	 *
+	 * @return		The support of the kernel.
+	 */
+	public double getSupport() {
+		return support;
+	}
+
+	/**
+	 * Returns the value of the kernel at the specified distance from the
+	 * center.
+	 *
+	 * @param x		Distance from the center, in pixels.
+	 * @return		The value of the kernel.
+	 */
+	abstract double weight(double x);
+
+	private static double sinc(double x) {
+		if (x == 0.0) {
+			return 1.0;
+		}
+		x *= Math.PI;
+		return Math.sin(x) / x;
+	}
+}
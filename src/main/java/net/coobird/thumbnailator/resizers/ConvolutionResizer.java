@@ -0,0 +1,514 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.resizers;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+
+/**
+ * A {@link Resizer} which resamples images by separable convolution with a
+ * {@link ConvolutionKernel}, such as Lanczos or Mitchell-Netravali.
+ * <p>
+ * Unlike the other {@link Resizer}s, this resizer does not use
+ * {@link java.awt.Graphics2D}. The pixels are read from and written to the
+ * underlying data buffers of the images where possible, one row at a time,
+ * and the weights of the kernel are calculated once for each row and column
+ * of the resized image. The image is first resized horizontally, then vertically, and each
+ * of the passes is split among multiple threads.
+ * <p>
+ * When reducing the size of an image, the kernel is widened so that every
+ * pixel of the source image contributes to the resized image. This gives
+ * high quality results in a single step, even for large reductions.
+ * <p>
+ * Images with an alpha channel are resampled with premultiplied alpha to
+ * prevent the colors of transparent pixels from bleeding into their
+ * neighbors.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+public class ConvolutionResizer implements Resizer, CanonicallyDescribable {
+	/**
+	 * The minimum amount of work, in multiply-adds, before a pass is split
+	 * among multiple threads.
+	 */
+	private static final long PARALLEL_THRESHOLD = 1L << 18;
+
+	private final ConvolutionKernel kernel;
+
+	private final int parallelism;
+
+	/**
+	 * Instantiates a {@link ConvolutionResizer} which uses the specified
+	 * kernel, and as many threads as there are available processors.
+	 *
+	 * @param kernel		The kernel to resample images with.
+	 * @throws NullPointerException		If the kernel is {@code null}.
+	 */
+	public ConvolutionResizer(ConvolutionKernel kernel) {
+		this(kernel, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Instantiates a {@link ConvolutionResizer} which uses the specified
+	 * kernel and up to the specified number of threads.
+	 *
+	 * @param kernel		The kernel to resample images with.
+	 * @param parallelism	The maximum number of threads to use for each
+	 * 						resize, including the calling thread.
+	 * @throws NullPointerException		If the kernel is {@code null}.
+	 * @throws IllegalArgumentException	If the number of threads is less
+	 * 									than 1.
+	 */
+	public ConvolutionResizer(ConvolutionKernel kernel, int parallelism) {
+		if (kernel == null) {
+			throw new NullPointerException("Kernel is null.");
+		}
+		if (parallelism < 1) {
+			throw new IllegalArgumentException(
+					"The number of threads must be greater than 0."
+			);
+		}
+		this.kernel = kernel;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Returns the kernel used by this resizer.
+	 *
+	 * @return		The kernel used by this resizer.
+	 */
+	public ConvolutionKernel getKernel() {
+		return kernel;
+	}
+
+	/**
+	 * Resizes an image.
+	 * <p>
+	 * The source image is resized to fill the entire destination image.
+	 *
+	 * @param srcImage		The source image.
+	 * @param destImage		The destination image.
+	 *
+	 * @throws NullPointerException		When the source and/or the destination
+	 * 									image is {@code null}.
+	 */
+	public void resize(BufferedImage srcImage, BufferedImage destImage) {
+		if (srcImage == null || destImage == null) {
+			throw new NullPointerException(
+					"The source and/or destination image is null."
+			);
+		}
+
+		final int srcWidth = srcImage.getWidth();
+		final int srcHeight = srcImage.getHeight();
+		final int destWidth = destImage.getWidth();
+		final int destHeight = destImage.getHeight();
+		final boolean hasAlpha = srcImage.getColorModel().hasAlpha();
+
+		final SourceRows src = SourceRows.of(srcImage);
+		final Weights horizontal = new Weights(kernel, srcWidth, destWidth);
+		final Weights vertical = new Weights(kernel, srcHeight, destHeight);
+
+		// Premultiplied A, R, G, B for each pixel, after the horizontal pass.
+		final float[] intermediate = new float[destWidth * srcHeight * 4];
+
+		forEachRow(srcHeight, (long)destWidth * horizontal.maxCount, new RowTask() {
+			public void run(int from, int to) {
+				resizeRows(src, srcWidth, hasAlpha, horizontal, intermediate, destWidth, from, to);
+			}
+		});
+
+		final int[] dest = new int[destWidth * destHeight];
+
+		forEachRow(destHeight, (long)destWidth * vertical.maxCount, new RowTask() {
+			public void run(int from, int to) {
+				resizeColumns(intermediate, destWidth, vertical, hasAlpha, dest, from, to);
+			}
+		});
+
+		writeArgb(destImage, dest);
+	}
+
+	/**
+	 * Resizes rows {@code from} to {@code to} of the source image
+	 * horizontally.
+	 */
+	private static void resizeRows(
+			SourceRows src, int srcWidth, boolean hasAlpha,
+			Weights weights, float[] out, int destWidth, int from, int to
+	) {
+		int[] row = new int[srcWidth];
+
+		for (int y = from; y < to; y++) {
+			src.read(y, row);
+			int outOffset = y * destWidth * 4;
+
+			for (int x = 0; x < destWidth; x++) {
+				int start = weights.start[x];
+				int count = weights.count[x];
+				int weightOffset = x * weights.maxCount;
+
+				float a = 0, r = 0, g = 0, b = 0;
+				for (int i = 0; i < count; i++) {
+					int pixel = row[start + i];
+					float w = weights.weights[weightOffset + i];
+
+					int pa = hasAlpha ? pixel >>> 24 : 0xff;
+					float wa = w * pa / 255f;
+					a += w * pa;
+					r += wa * ((pixel >> 16) & 0xff);
+					g += wa * ((pixel >> 8) & 0xff);
+					b += wa * (pixel & 0xff);
+				}
+
+				int i = outOffset + x * 4;
+				out[i] = a;
+				out[i + 1] = r;
+				out[i + 2] = g;
+				out[i + 3] = b;
+			}
+		}
+	}
+
+	/**
+	 * Resizes rows {@code from} to {@code to} of the destination image
+	 * vertically from the intermediate image.
+	 */
+	private static void resizeColumns(
+			float[] in, int width, Weights weights, boolean hasAlpha,
+			int[] dest, int from, int to
+	) {
+		int rowLength = width * 4;
+		float[] row = new float[rowLength];
+
+		for (int y = from; y < to; y++) {
+			int start = weights.start[y];
+			int count = weights.count[y];
+			int weightOffset = y * weights.maxCount;
+
+			for (int i = 0; i < rowLength; i++) {
+				row[i] = 0;
+			}
+
+			for (int i = 0; i < count; i++) {
+				float w = weights.weights[weightOffset + i];
+				int inOffset = (start + i) * rowLength;
+				for (int j = 0; j < rowLength; j++) {
+					row[j] += w * in[inOffset + j];
+				}
+			}
+
+			int destOffset = y * width;
+			for (int x = 0; x < width; x++) {
+				int i = x * 4;
+				int a = clamp(row[i]);
+				float unpremultiply = a == 0 ? 0f : 255f / row[i];
+				int r = clamp(row[i + 1] * unpremultiply);
+				int g = clamp(row[i + 2] * unpremultiply);
+				int b = clamp(row[i + 3] * unpremultiply);
+				dest[destOffset + x] = (hasAlpha ? a : 0xff) << 24 | r << 16 | g << 8 | b;
+			}
+		}
+	}
+
+	private static int clamp(float value) {
+		int i = (int)(value + 0.5f);
+		return i < 0 ? 0 : (i > 255 ? 255 : i);
+	}
+
+	/**
+	 * Reads the rows of an image in the form of {@code int}s in the ARGB
+	 * format. For opaque images, the alpha component is not defined.
+	 * <p>
+	 * Each row is read into a buffer supplied by the caller, so that the
+	 * pixels of the whole image are never copied at once. Rows may be read
+	 * by multiple threads at the same time.
+	 */
+	private static abstract class SourceRows {
+		abstract void read(int y, int[] row);
+
+		static SourceRows of(final BufferedImage img) {
+			final int width = img.getWidth();
+			int type = img.getType();
+			WritableRaster raster = img.getRaster();
+			DataBuffer buffer = raster.getDataBuffer();
+
+			if (isUnshared(raster)) {
+				if (type == BufferedImage.TYPE_INT_ARGB || type == BufferedImage.TYPE_INT_RGB) {
+					final int stride = ((SinglePixelPackedSampleModel)raster.getSampleModel()).getScanlineStride();
+					final int[] data = ((DataBufferInt)buffer).getData();
+
+					return new SourceRows() {
+						void read(int y, int[] row) {
+							System.arraycopy(data, y * stride, row, 0, width);
+						}
+					};
+
+				} else if (type == BufferedImage.TYPE_3BYTE_BGR || type == BufferedImage.TYPE_4BYTE_ABGR) {
+					ComponentSampleModel sm = (ComponentSampleModel)raster.getSampleModel();
+					final int stride = sm.getScanlineStride();
+					final int pixelStride = sm.getPixelStride();
+					final boolean hasAlpha = type == BufferedImage.TYPE_4BYTE_ABGR;
+					final byte[] data = ((DataBufferByte)buffer).getData();
+
+					return new SourceRows() {
+						void read(int y, int[] row) {
+							int offset = y * stride;
+							for (int x = 0; x < width; x++, offset += pixelStride) {
+								int a = hasAlpha ? data[offset] & 0xff : 0xff;
+								int p = hasAlpha ? offset + 1 : offset;
+								row[x] = a << 24
+										| (data[p + 2] & 0xff) << 16
+										| (data[p + 1] & 0xff) << 8
+										| (data[p] & 0xff);
+							}
+						}
+					};
+				}
+			}
+
+			return new SourceRows() {
+				void read(int y, int[] row) {
+					// getRGB is not documented to be thread-safe, so read one row at a time.
+					synchronized (img) {
+						img.getRGB(0, y, width, 1, row, 0, width);
+					}
+				}
+			};
+		}
+	}
+
+	/**
+	 * Writes pixels in the ARGB format to the image.
+	 */
+	private static void writeArgb(BufferedImage img, int[] argb) {
+		int width = img.getWidth();
+		int height = img.getHeight();
+		int type = img.getType();
+		WritableRaster raster = img.getRaster();
+
+		if (isUnshared(raster) &&
+				(type == BufferedImage.TYPE_INT_ARGB || type == BufferedImage.TYPE_INT_RGB)) {
+			int stride = ((SinglePixelPackedSampleModel)raster.getSampleModel()).getScanlineStride();
+			int[] data = ((DataBufferInt)raster.getDataBuffer()).getData();
+			for (int y = 0; y < height; y++) {
+				System.arraycopy(argb, y * width, data, y * stride, width);
+			}
+			return;
+		}
+
+		img.setRGB(0, 0, width, height, argb, 0, width);
+	}
+
+	/**
+	 * Returns whether the raster starts at the beginning of its data buffer,
+	 * which is not the case for images obtained by
+	 * {@link BufferedImage#getSubimage(int, int, int, int)}.
+	 */
+	private static boolean isUnshared(WritableRaster raster) {
+		return raster.getParent() == null
+				&& raster.getSampleModelTranslateX() == 0
+				&& raster.getSampleModelTranslateY() == 0
+				&& raster.getDataBuffer().getNumBanks() == 1
+				&& raster.getDataBuffer().getOffset() == 0;
+	}
+
+	/**
+	 * Processes a range of rows.
+	 */
+	private interface RowTask {
+		void run(int from, int to);
+	}
+
+	/**
+	 * Runs the task for all rows, splitting the rows among threads if there
+	 * is enough work.
+	 */
+	private void forEachRow(int rows, long workPerRow, final RowTask task) {
+		int chunks = Math.min(parallelism, rows);
+		if (chunks <= 1 || rows * workPerRow < PARALLEL_THRESHOLD) {
+			task.run(0, rows);
+			return;
+		}
+
+		List<Future<?>> futures = new ArrayList<Future<?>>(chunks - 1);
+		int rowsPerChunk = (rows + chunks - 1) / chunks;
+
+		for (int from = rowsPerChunk; from < rows; from += rowsPerChunk) {
+			final int start = from;
+			final int end = Math.min(from + rowsPerChunk, rows);
+			futures.add(WorkerPool.INSTANCE.submit(new Runnable() {
+				public void run() {
+					task.run(start, end);
+				}
+			}));
+		}
+
+		// The calling thread processes the first chunk itself.
+		task.run(0, Math.min(rowsPerChunk, rows));
+
+		boolean isInterrupted = false;
+		for (Future<?> future : futures) {
+			while (true) {
+				try {
+					future.get();
+					break;
+				} catch (InterruptedException e) {
+					// The other threads are still writing to the results.
+					isInterrupted = true;
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException)cause;
+					} else if (cause instanceof Error) {
+						throw (Error)cause;
+					}
+					throw new IllegalStateException(cause);
+				}
+			}
+		}
+
+		if (isInterrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Holds the threads which are shared among all instances of
+	 * {@link ConvolutionResizer}. The threads are daemon threads, so they
+	 * will not prevent the JVM from exiting.
+	 */
+	private static final class WorkerPool {
+		static final ExecutorService INSTANCE = Executors.newFixedThreadPool(
+				Runtime.getRuntime().availableProcessors(),
+				new ThreadFactory() {
+					private int count = 0;
+
+					public synchronized Thread newThread(Runnable r) {
+						Thread t = new Thread(r, "thumbnailator-resizer-" + count++);
+						t.setDaemon(true);
+						return t;
+					}
+				}
+		);
+	}
+
+	/**
+	 * The weights of the kernel for each pixel along one axis of the resized
+	 * image.
+	 */
+	private static final class Weights {
+		/**
+		 * The index of the first source pixel for each resized pixel.
+		 */
+		final int[] start;
+
+		/**
+		 * The number of source pixels for each resized pixel.
+		 */
+		final int[] count;
+
+		/**
+		 * The weights, {@link #maxCount} for each resized pixel.
+		 */
+		final float[] weights;
+
+		final int maxCount;
+
+		Weights(ConvolutionKernel kernel, int srcLength, int destLength) {
+			double scale = (double)destLength / srcLength;
+
+			// Widen the kernel when reducing, so every source pixel is used.
+			double filterScale = Math.min(1.0, scale);
+			double support = kernel.getSupport() / filterScale;
+
+			maxCount = Math.min(srcLength, (int)Math.ceil(support * 2) + 1);
+			start = new int[destLength];
+			count = new int[destLength];
+			weights = new float[destLength * maxCount];
+
+			double[] values = new double[maxCount];
+			for (int i = 0; i < destLength; i++) {
+				double center = (i + 0.5) / scale;
+				int first = Math.max(0, (int)Math.floor(center - support));
+				int last = Math.min(srcLength, (int)Math.ceil(center + support));
+				last = Math.min(last, first + maxCount);
+
+				double sum = 0;
+				int n = 0;
+				for (int j = first; j < last; j++) {
+					values[n] = kernel.weight((j + 0.5 - center) * filterScale);
+					sum += values[n];
+					n++;
+				}
+
+				if (sum == 0) {
+					// The kernel fell between pixels, so use the nearest one.
+					first = Math.min(srcLength - 1, Math.max(0, (int)center));
+					values[0] = 1;
+					sum = 1;
+					n = 1;
+				}
+
+				start[i] = first;
+				count[i] = n;
+				for (int j = 0; j < n; j++) {
+					weights[i * maxCount + j] = (float)(values[j] / sum);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a description of the kernel of this resizer.
+	 * <p>
+	 * The number of threads is not included, as it does not affect the
+	 * resized image.
+	 *
+	 * @return		The description, or {@code null} for subclasses.
+	 */
+	public String toCanonicalString() {
+		if (getClass() != ConvolutionResizer.class) {
+			return null;
+		}
+
+		return "ConvolutionResizer [kernel=" + kernel + "]";
+	}
+}
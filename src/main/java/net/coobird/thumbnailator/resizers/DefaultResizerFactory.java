@@ -26,6 +26,9 @@ package net.coobird.thumbnailator.resizers;
 
 import java.awt.Dimension;
 
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+import net.coobird.thumbnailator.util.Configurations;
+
 
 /**
  * This class provides factory methods which provides suitable {@link Resizer}s
@@ -66,6 +69,23 @@ import java.awt.Dimension;
  * </li>
  * </ul>
  * </dd>
+ * <dt>When the {@code thumbnailator.useConvolutionResizers} property is
+ * {@code true}:</dt>
+ * <dd>
+ * <ul>
+ * <li>Default via {@link #getResizer()}, and when the destination image is
+ * smaller than the source image in either dimension
+ * 	<ul><li>{@link Resizers#LANCZOS3}</li></ul>
+ * </li>
+ * <li>Both the width and height of the destination image is larger than the
+ * source image
+ * 	<ul><li>{@link Resizers#MITCHELL}</li></ul>
+ * </li>
+ * <li>Destination image has the same dimensions as the source image
+ * 	<ul><li>{@link NullResizer}</li></ul>
+ * </li>
+ * </ul>
+ * </dd>
  * </dl>
  * 
  * <DL>
@@ -102,7 +122,7 @@ resizer.resize(sourceImage, destImage);
  * @since	0.4.0
  *
  */
-public class DefaultResizerFactory implements ResizerFactory {
+public class DefaultResizerFactory implements ResizerFactory, CanonicallyDescribable {
 	private static final DefaultResizerFactory INSTANCE = new DefaultResizerFactory();
 
 	/**
@@ -120,6 +140,9 @@ public class DefaultResizerFactory implements ResizerFactory {
 	}
 	
 	public Resizer getResizer() {
+		if (Configurations.USE_CONVOLUTION_RESIZERS.getBoolean()) {
+			return Resizers.LANCZOS3;
+		}
 		return Resizers.PROGRESSIVE;
 	}
 	
@@ -129,6 +152,16 @@ public class DefaultResizerFactory implements ResizerFactory {
 		int thumbWidth = thumbnailSize.width;
 		int thumbHeight = thumbnailSize.height;
 		
+		if (Configurations.USE_CONVOLUTION_RESIZERS.getBoolean()) {
+			if (thumbWidth == origWidth && thumbHeight == origHeight) {
+				return Resizers.NULL;
+			} else if (thumbWidth > origWidth && thumbHeight > origHeight) {
+				return Resizers.MITCHELL;
+			} else {
+				return Resizers.LANCZOS3;
+			}
+		}
+		
 		if (thumbWidth < origWidth && thumbHeight < origHeight) {
 			if (thumbWidth < (origWidth / 2) && thumbHeight < (origHeight / 2)) {
 				return Resizers.PROGRESSIVE;
@@ -144,4 +177,17 @@ public class DefaultResizerFactory implements ResizerFactory {
 			return getResizer();
 		}
 	}
+	
+	/**
+	 * Returns a description of this factory, which has no settings.
+	 *
+	 * @return		The description, or {@code null} for subclasses.
+	 */
+	public String toCanonicalString() {
+		if (getClass() != DefaultResizerFactory.class) {
+			return null;
+		}
+		
+		return "DefaultResizerFactory";
+	}
 }
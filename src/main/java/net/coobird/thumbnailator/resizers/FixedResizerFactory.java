@@ -26,6 +26,9 @@ package net.coobird.thumbnailator.resizers;
 
 import java.awt.Dimension;
 
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+import net.coobird.thumbnailator.util.ThumbnailatorUtils;
+
 /**
  * A {@link ResizerFactory} that returns a specific {@link Resizer}
  * unconditionally.
@@ -33,7 +36,7 @@ import java.awt.Dimension;
  * @author coobird
  * @since	0.4.0
  */
-public class FixedResizerFactory implements ResizerFactory {
+public class FixedResizerFactory implements ResizerFactory, CanonicallyDescribable {
 	/**
 	 * The resizer which is to be returned unconditionally by this class.
 	 */
@@ -57,4 +60,22 @@ public class FixedResizerFactory implements ResizerFactory {
 	public Resizer getResizer(Dimension originalSize, Dimension thumbnailSize) {
 		return resizer;
 	}
+
+	/**
+	 * Returns a description of the {@link Resizer} this factory returns.
+	 *
+	 * @return		The description, or {@code null} for subclasses, or if
+	 * 				the resizer cannot be described.
+	 */
+	public String toCanonicalString() {
+		if (getClass() != FixedResizerFactory.class) {
+			return null;
+		}
+
+		String resizerDescription = ThumbnailatorUtils.describe(resizer);
+		if (resizerDescription == null) {
+			return null;
+		}
+		return "FixedResizerFactory [resizer=" + resizerDescription + "]";
+	}
 }
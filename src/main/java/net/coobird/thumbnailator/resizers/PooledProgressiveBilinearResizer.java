@@ -0,0 +1,112 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.resizers;
+
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A {@link ProgressiveBilinearResizer} which reuses the temporary image used
+ * for the intermediate resizing steps across resizing operations.
+ * <p>
+ * {@link ProgressiveBilinearResizer} allocates a temporary image for each
+ * resize, which can amount to tens of megabytes of garbage per image when
+ * making thumbnails of large images. This resizer keeps the temporary image
+ * of the last resize for each thread, and reuses it when the next resize
+ * on that thread needs a temporary image of the same size and type, which
+ * is the common case when processing a batch of similar images.
+ * <p>
+ * The resulting images are identical to those produced by
+ * {@link ProgressiveBilinearResizer}.
+ * <p>
+ * The kept image is held through a {@link SoftReference}, so it will be
+ * reclaimed by the garbage collector when memory is low.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public class PooledProgressiveBilinearResizer extends ProgressiveBilinearResizer {
+	/**
+	 * The temporary image kept for each thread.
+	 */
+	private final ThreadLocal<SoftReference<BufferedImage>> scratchImage =
+			new ThreadLocal<SoftReference<BufferedImage>>();
+
+	/**
+	 * Instantiates a {@link PooledProgressiveBilinearResizer} with default
+	 * rendering hints.
+	 */
+	public PooledProgressiveBilinearResizer() {
+		this(Collections.<RenderingHints.Key, Object>emptyMap());
+	}
+
+	/**
+	 * Instantiates a {@link PooledProgressiveBilinearResizer} with the
+	 * specified rendering hints.
+	 *
+	 * @param hints		Additional rendering hints to apply.
+	 */
+	public PooledProgressiveBilinearResizer(Map<RenderingHints.Key, Object> hints) {
+		super(hints);
+	}
+
+	@Override
+	protected BufferedImage createTemporaryImage(int width, int height, int imageType) {
+		SoftReference<BufferedImage> ref = scratchImage.get();
+		BufferedImage image = ref == null ? null : ref.get();
+
+		if (image == null
+				|| image.getWidth() != width
+				|| image.getHeight() != height
+				|| image.getType() != imageType) {
+			return super.createTemporaryImage(width, height, imageType);
+		}
+
+		// The image is in use until released.
+		scratchImage.remove();
+
+		/*
+		 * The first resizing step doesn't draw anything when a dimension had
+		 * to be raised to 1, so clear such images to match a new image.
+		 * These images are small, so this is cheap.
+		 */
+		if (width == 1 || height == 1) {
+			WritableRaster raster = image.getRaster();
+			raster.setPixels(0, 0, width, height, new int[width * height * raster.getNumBands()]);
+		}
+
+		return image;
+	}
+
+	@Override
+	protected void releaseTemporaryImage(BufferedImage image) {
+		scratchImage.set(new SoftReference<BufferedImage>(image));
+	}
+}
@@ -132,11 +132,11 @@ public class ProgressiveBilinearResizer extends AbstractResizer {
 		 * This can happen when the target dimension is `1`.
 		 * This is caused by integer truncation in the previous lines.
 		 */
-		BufferedImage tempImage = new BufferedImageBuilder(
+		BufferedImage tempImage = createTemporaryImage(
 				Math.max(1, currentWidth),
 				Math.max(1, currentHeight),
 				destImage.getType()
-		).build();
+		);
 
 		Graphics2D g = createGraphics(tempImage);
 		g.setComposite(AlphaComposite.Src);
@@ -171,5 +171,40 @@ public class ProgressiveBilinearResizer extends AbstractResizer {
 		Graphics2D destg = createGraphics(destImage);
 		destg.drawImage(tempImage, 0, 0, targetWidth, targetHeight, 0, 0, currentWidth, currentHeight, null);
 		destg.dispose();
+
+		releaseTemporaryImage(tempImage);
+	}
+
+	/**
+	 * Returns the temporary image used for the intermediate steps of the
+	 * progressive bilinear scaling.
+	 * <p>
+	 * The returned image must have the specified dimensions and type.
+	 * The first resizing step overwrites the entire image, except when
+	 * either dimension had to be raised to {@code 1}, in which case the
+	 * image is expected to be cleared as a newly created image would be.
+	 *
+	 * @param width			The width of the temporary image.
+	 * @param height		The height of the temporary image.
+	 * @param imageType		The type of the temporary image.
+	 * @return				The temporary image.
+	 * @since	0.4.22
+	 */
+	protected BufferedImage createTemporaryImage(int width, int height, int imageType) {
+		return new BufferedImageBuilder(width, height, imageType).build();
+	}
+
+	/**
+	 * Called when the temporary image obtained from
+	 * {@link #createTemporaryImage(int, int, int)} is no longer used by the
+	 * current resizing operation.
+	 * <p>
+	 * This implementation does nothing.
+	 *
+	 * @param image			The temporary image.
+	 * @since	0.4.22
+	 */
+	protected void releaseTemporaryImage(BufferedImage image) {
+		// Nothing to do; the image will be garbage collected.
 	}
 }
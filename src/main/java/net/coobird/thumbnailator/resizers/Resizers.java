@@ -85,7 +85,48 @@ public enum Resizers implements Resizer {
 	 * For details on this technique, refer to the documentation of the
 	 * {@link ProgressiveBilinearResizer} class.
 	 */
-	PROGRESSIVE(new ProgressiveBilinearResizer())
+	PROGRESSIVE(new ProgressiveBilinearResizer()),
+	
+	/**
+	 * A {@link Resizer} which performs resizing operations using
+	 * progressive bilinear scaling, reusing its temporary image across
+	 * resizing operations.
+	 * <p>
+	 * For details, refer to the documentation of the
+	 * {@link PooledProgressiveBilinearResizer} class.
+	 * 
+	 * @since	0.4.22
+	 */
+	PROGRESSIVE_POOLED(new PooledProgressiveBilinearResizer()),
+	
+	/**
+	 * A {@link Resizer} which performs resizing operations using
+	 * separable convolution with the {@link ConvolutionKernel#LANCZOS3}
+	 * kernel.
+	 * 
+	 * @see ConvolutionResizer
+	 * @since	0.4.22
+	 */
+	LANCZOS3(new ConvolutionResizer(ConvolutionKernel.LANCZOS3)),
+	
+	/**
+	 * A {@link Resizer} which performs resizing operations using
+	 * separable convolution with the {@link ConvolutionKernel#MITCHELL}
+	 * kernel.
+	 * 
+	 * @see ConvolutionResizer
+	 * @since	0.4.22
+	 */
+	MITCHELL(new ConvolutionResizer(ConvolutionKernel.MITCHELL)),
+	
+	/**
+	 * A {@link Resizer} which performs resizing operations using
+	 * separable convolution with the {@link ConvolutionKernel#BOX} kernel.
+	 * 
+	 * @see ConvolutionResizer
+	 * @since	0.4.22
+	 */
+	BOX(new ConvolutionResizer(ConvolutionKernel.BOX))
 	;
 	
 	private final Resizer resizer;
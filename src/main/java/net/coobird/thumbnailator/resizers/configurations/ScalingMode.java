@@ -27,6 +27,8 @@
  */
 package net.coobird.thumbnailator.resizers.configurations;
 
+import net.coobird.thumbnailator.resizers.ConvolutionKernel;
+import net.coobird.thumbnailator.resizers.ConvolutionResizer;
 import net.coobird.thumbnailator.resizers.ProgressiveBilinearResizer;
 
 /**
@@ -54,5 +56,29 @@ public enum ScalingMode {
 	 * {@link ProgressiveBilinearResizer} class.
 	 */
 	PROGRESSIVE_BILINEAR,
+	
+	/**
+	 * A hint to use a {@link ConvolutionResizer} with the
+	 * {@link ConvolutionKernel#LANCZOS3} kernel when resizing images.
+	 *
+	 * @since	0.4.22
+	 */
+	LANCZOS3,
+	
+	/**
+	 * A hint to use a {@link ConvolutionResizer} with the
+	 * {@link ConvolutionKernel#MITCHELL} kernel when resizing images.
+	 *
+	 * @since	0.4.22
+	 */
+	MITCHELL,
+	
+	/**
+	 * A hint to use a {@link ConvolutionResizer} with the
+	 * {@link ConvolutionKernel#BOX} kernel when resizing images.
+	 *
+	 * @since	0.4.22
+	 */
+	BOX,
 	;
 }
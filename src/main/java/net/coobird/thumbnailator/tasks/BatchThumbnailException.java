@@ -0,0 +1,113 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An exception used to indicate that one or more thumbnails could not be
+ * created while processing a batch of images.
+ * <p>
+ * Unlike other exceptions thrown when creating thumbnails, this exception
+ * is thrown only after all the thumbnails in a batch have been processed.
+ * The thumbnails which were successfully created can be obtained from
+ * {@link #getResults()}, and the causes of the failures from
+ * {@link #getFailures()}.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+public class BatchThumbnailException extends IOException {
+	/**
+	 * An ID used for serialization.
+	 */
+	private static final long serialVersionUID = -3417269855236415012L;
+
+	/**
+	 * The results of the thumbnails which were successfully created.
+	 */
+	private final List<?> results;
+
+	/**
+	 * The causes of the failures, keyed by the index of the source image.
+	 */
+	private final Map<Integer, Throwable> failures;
+
+	/**
+	 * Instantiates a {@link BatchThumbnailException} with the results of the
+	 * thumbnails which were created and the failures which occurred.
+	 *
+	 * @param results		The results of the thumbnails which were
+	 * 						successfully created, in the order of the source
+	 * 						images. Failed source images can be represented
+	 * 						by {@code null} elements.
+	 * @param failures		The causes of the failures, keyed by the
+	 * 						zero-based index of the source image.
+	 */
+	public BatchThumbnailException(List<?> results, Map<Integer, Throwable> failures) {
+		super(failures.size() + " thumbnail(s) could not be created.");
+
+		this.results = Collections.unmodifiableList(results);
+		this.failures = Collections.unmodifiableMap(failures);
+
+		// IOException in Java 5 does not have a constructor with a cause.
+		if (!failures.isEmpty()) {
+			initCause(failures.values().iterator().next());
+		}
+	}
+
+	/**
+	 * Returns the results of the thumbnails which were successfully created,
+	 * in the order of the source images.
+	 * <p>
+	 * The type of the elements depends on the method which was used to
+	 * create the thumbnails. For example, {@link java.io.File}s are returned for
+	 * {@code asFiles} methods.
+	 * <p>
+	 * When a result is returned for each source image, such as by the
+	 * {@code asBufferedImages} method, the element of a source image which
+	 * could not be processed is {@code null}, so that the index of each
+	 * element matches the keys of {@link #getFailures()}. Otherwise, only the
+	 * thumbnails which were written are returned.
+	 *
+	 * @return			The results of the successful thumbnails.
+	 */
+	public List<?> getResults() {
+		return results;
+	}
+
+	/**
+	 * Returns the causes of the failures, keyed by the zero-based index of
+	 * the source image which could not be processed.
+	 *
+	 * @return			The causes of the failures.
+	 */
+	public Map<Integer, Throwable> getFailures() {
+		return failures;
+	}
+}
@@ -77,6 +77,21 @@ public class FileThumbnailTask extends ThumbnailTask<File, File> {
 		task.write(img);
 	}
 
+	@Override
+	public String getOutputFormatName() {
+		return task.getOutputFormatName();
+	}
+
+	@Override
+	public double getWidthReduction() {
+		return task.getWidthReduction();
+	}
+
+	@Override
+	public double getHeightReduction() {
+		return task.getHeightReduction();
+	}
+
 	@Override
 	public ThumbnailParameter getParam() {
 		return task.getParam();
@@ -25,11 +25,25 @@
 package net.coobird.thumbnailator.tasks;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 
 import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.tasks.io.BufferedImageSink;
+import net.coobird.thumbnailator.tasks.io.ByteBufferImageSink;
+import net.coobird.thumbnailator.tasks.io.ByteBufferImageSource;
+import net.coobird.thumbnailator.tasks.io.EncodedImageSink;
+import net.coobird.thumbnailator.tasks.io.FileImageSource;
 import net.coobird.thumbnailator.tasks.io.ImageSink;
 import net.coobird.thumbnailator.tasks.io.ImageSource;
+import net.coobird.thumbnailator.tasks.io.InputStreamImageSource;
+import net.coobird.thumbnailator.tasks.io.ReducibleImageSource;
+import net.coobird.thumbnailator.tasks.io.ThumbnailCache;
 
 /**
  * A {@link ThumbnailTask} which holds an {@link ImageSource} from which the
@@ -59,6 +73,36 @@ public class SourceSinkThumbnailTask<S, D> extends ThumbnailTask<S, D> {
 	 */
 	private final ImageSink<D> destination;
 
+	/**
+	 * The name of the format in which the thumbnail will be written, once
+	 * it has been determined for the image which was last read.
+	 */
+	private String outputFormatName;
+
+	/**
+	 * Whether the {@link #outputFormatName} has been determined.
+	 */
+	private boolean outputFormatDetermined = false;
+
+	/**
+	 * The key of the thumbnail in the {@link ThumbnailCache} of the
+	 * parameters, or {@code null} if the thumbnail is not to be cached.
+	 */
+	private String cacheKey;
+
+	/**
+	 * The source to read the image from instead of {@link #source}, if the
+	 * source image has been read into memory to be hashed.
+	 */
+	private ImageSource<?> bufferedSource;
+
+	/**
+	 * The reductions of the image which was last read, if the source read
+	 * it at a reduced size.
+	 */
+	private double widthReduction = 1.0;
+	private double heightReduction = 1.0;
+
 	/**
 	 * Creates a {@link ThumbnailTask} in which an image is retrived from the
 	 * specified {@link ImageSource} and written to the specified
@@ -92,29 +136,208 @@ public class SourceSinkThumbnailTask<S, D> extends ThumbnailTask<S, D> {
 
 	@Override
 	public BufferedImage read() throws IOException {
-		BufferedImage img = source.read();
-		inputFormatName = source.getInputFormatName();
+		ImageSource<?> imageSource = bufferedSource != null ? bufferedSource : source;
+		BufferedImage img = imageSource.read();
+		inputFormatName = imageSource.getInputFormatName();
+		outputFormatDetermined = false;
+		
+		if (imageSource instanceof ReducibleImageSource) {
+			ReducibleImageSource<?> reducibleSource = (ReducibleImageSource<?>)imageSource;
+			widthReduction = reducibleSource.getWidthReduction();
+			heightReduction = reducibleSource.getHeightReduction();
+		} else {
+			widthReduction = 1.0;
+			heightReduction = 1.0;
+		}
 		
 		return img;
 	}
 
+	@Override
+	public double getWidthReduction() {
+		return widthReduction;
+	}
+
+	@Override
+	public double getHeightReduction() {
+		return heightReduction;
+	}
+
 	@Override
 	public void write(BufferedImage img) throws IOException {
+		String formatName = determineOutputFormatName();
+		destination.setOutputFormatName(formatName);
+		
+		if (cacheKey == null || formatName == null) {
+			destination.write(img);
+			return;
+		}
+		
+		// Encodes the thumbnail once, both for the cache and the destination.
+		ByteBufferImageSink encoder = new ByteBufferImageSink();
+		encoder.setThumbnailParameter(param);
+		encoder.setOutputFormatName(formatName);
+		encoder.write(img);
+		
+		ByteBuffer buffer = encoder.getSink();
+		byte[] data = new byte[buffer.remaining()];
+		buffer.get(data);
+		
+		((EncodedImageSink<D>)destination).writeEncoded(data, formatName);
+		
+		try {
+			param.getThumbnailCache().put(cacheKey, formatName, data);
+		} catch (IOException e) {
+			/*
+			 * The thumbnail has been written, so a cache which cannot be
+			 * written to, such as on a full disk, does not fail the thumbnail.
+			 */
+		}
+	}
+
+	/**
+	 * Writes the thumbnail from the {@link ThumbnailCache} of the parameters,
+	 * if it has been created before.
+	 * <p>
+	 * The thumbnail is looked up when the source is a file, an
+	 * {@link InputStream} or a {@link ByteBuffer}, the destination is an
+	 * {@link EncodedImageSink}, and the parameters can be described by
+	 * {@link ThumbnailParameter#toCanonicalString()}. An {@link InputStream}
+	 * is read into memory to be hashed, and the image is read from memory if
+	 * the thumbnail is not found.
+	 *
+	 * @return				{@code true} if the thumbnail has been written,
+	 * 						{@code false} otherwise.
+	 * @throws IOException	When a problem occurs while reading the source,
+	 * 						or writing the thumbnail.
+	 * @since 0.4.22
+	 */
+	@Override
+	public boolean writeFromCache() throws IOException {
+		cacheKey = null;
+		
+		ThumbnailCache cache = param.getThumbnailCache();
+		if (cache == null || !(destination instanceof EncodedImageSink)) {
+			return false;
+		}
+		
+		// Thumbnails whose parameters cannot be described are not cached.
+		if (param.toCanonicalString() == null) {
+			return false;
+		}
+		
+		byte[] sourceDigest = digestSource();
+		if (sourceDigest == null) {
+			return false;
+		}
+		
+		String outputFormat = param.getOutputFormat();
+		if (ThumbnailParameter.DETERMINE_FORMAT.equals(outputFormat)) {
+			outputFormat = destination.preferredOutputFormatName();
+		}
+		
+		String key = ThumbnailCache.createKey(sourceDigest, param, outputFormat);
+		ThumbnailCache.CachedThumbnail thumbnail = cache.get(key);
+		if (thumbnail == null) {
+			cacheKey = key;
+			return false;
+		}
+		
+		destination.setOutputFormatName(thumbnail.getFormatName());
+		((EncodedImageSink<D>)destination).writeEncoded(thumbnail.getData(), thumbnail.getFormatName());
+		return true;
+	}
+
+	/**
+	 * Returns the hash of the bytes of the source image.
+	 *
+	 * @return				The hash, or {@code null} if the bytes of the
+	 * 						source cannot be obtained.
+	 * @throws IOException	If the source could not be read.
+	 */
+	private byte[] digestSource() throws IOException {
+		MessageDigest digest = ThumbnailCache.createDigest();
+		
+		if (source instanceof FileImageSource) {
+			File sourceFile = ((FileImageSource)source).getSource();
+			if (!sourceFile.isFile()) {
+				// Leaves the error to be reported when reading the image.
+				return null;
+			}
+			
+			InputStream is = new FileInputStream(sourceFile);
+			try {
+				byte[] buffer = new byte[8192];
+				int bytesRead;
+				while ((bytesRead = is.read(buffer)) != -1) {
+					digest.update(buffer, 0, bytesRead);
+				}
+			} finally {
+				is.close();
+			}
+			
+		} else if (source instanceof ByteBufferImageSource) {
+			digest.update(((ByteBufferImageSource)source).getSource().duplicate());
+			
+		} else if (source instanceof InputStreamImageSource) {
+			InputStream is = ((InputStreamImageSource)source).getSource();
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int bytesRead;
+			while ((bytesRead = is.read(buffer)) != -1) {
+				baos.write(buffer, 0, bytesRead);
+			}
+			
+			byte[] data = baos.toByteArray();
+			digest.update(data);
+			
+			bufferedSource = new ByteBufferImageSource(data);
+			bufferedSource.setThumbnailParameter(param);
+			
+		} else {
+			return null;
+		}
+		
+		return digest.digest();
+	}
+
+	/**
+	 * Returns the name of the format in which the thumbnail will be written.
+	 * <p>
+	 * Returns {@code null} if the destination is a {@link BufferedImageSink},
+	 * as the thumbnail is not encoded in any format.
+	 *
+	 * @return		The name of the output format, or {@code null}.
+	 * @since 0.4.22
+	 */
+	@Override
+	public String getOutputFormatName() {
+		if (destination instanceof BufferedImageSink) {
+			return null;
+		}
+		
+		return determineOutputFormatName();
+	}
+
+	private String determineOutputFormatName() {
+		if (outputFormatDetermined) {
+			return outputFormatName;
+		}
+		
 		String paramOutputFormat = param.getOutputFormat();
-		String formatName = null;
 		
 		if (ThumbnailParameter.DETERMINE_FORMAT.equals(paramOutputFormat)) {
 			paramOutputFormat = destination.preferredOutputFormatName();
 		}
 		
 		if (paramOutputFormat == ThumbnailParameter.ORIGINAL_FORMAT) {
-			formatName = inputFormatName;
+			outputFormatName = inputFormatName;
 		} else {
-			formatName = paramOutputFormat;
+			outputFormatName = paramOutputFormat;
 		}
-
-		destination.setOutputFormatName(formatName);
-		destination.write(img);
+		outputFormatDetermined = true;
+		
+		return outputFormatName;
 	}
 
 	@Override
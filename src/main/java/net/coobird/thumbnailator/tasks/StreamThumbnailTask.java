@@ -82,6 +82,21 @@ public class StreamThumbnailTask extends ThumbnailTask<InputStream, OutputStream
 		task.write(img);
 	}
 
+	@Override
+	public String getOutputFormatName() {
+		return task.getOutputFormatName();
+	}
+
+	@Override
+	public double getWidthReduction() {
+		return task.getWidthReduction();
+	}
+
+	@Override
+	public double getHeightReduction() {
+		return task.getHeightReduction();
+	}
+
 	@Override
 	public ThumbnailParameter getParam() {
 		return task.getParam();
@@ -101,6 +101,79 @@ public abstract class ThumbnailTask<S, D> {
 	 */
 	public abstract void write(BufferedImage img) throws IOException;
 	
+	/**
+	 * Returns the name of the format in which the thumbnail will be written
+	 * to the destination.
+	 * <p>
+	 * This method is called after the source image has been read by the
+	 * {@link #read()} method, so that the format of the source image can be
+	 * used when the output format is to be the same as the input format.
+	 * <p>
+	 * By default, this method returns {@code null}, which indicates that the
+	 * output format is not known.
+	 * 
+	 * @return				The name of the output format, or {@code null}
+	 * 						if the output format is not known.
+	 * @since 0.4.22
+	 */
+	public String getOutputFormatName() {
+		return null;
+	}
+	
+	/**
+	 * Writes a thumbnail which has been created before to the destination,
+	 * if one is available from the {@link ThumbnailParameter#getThumbnailCache()
+	 * ThumbnailCache} of the parameters.
+	 * <p>
+	 * This method is called before the source image is read, so that the
+	 * thumbnail does not have to be created again. If this method returns
+	 * {@code true}, the {@link #read()} and {@link #write(BufferedImage)}
+	 * methods are not called.
+	 * <p>
+	 * By default, this method returns {@code false}, which indicates that
+	 * the thumbnail is to be created.
+	 * 
+	 * @return				{@code true} if the thumbnail has been written,
+	 * 						{@code false} otherwise.
+	 * @throws IOException	When a problem occurs while reading the source,
+	 * 						or writing the thumbnail.
+	 * @since 0.4.22
+	 */
+	public boolean writeFromCache() throws IOException {
+		return false;
+	}
+
+	/**
+	 * Returns the ratio of the width of the source image to the width of
+	 * the image which was last returned by {@link #read()}.
+	 * <p>
+	 * When the source image was read at a reduced size, the scaling factors
+	 * are multiplied by this ratio, so that the thumbnail has the same size
+	 * as if it were made from the source image.
+	 * <p>
+	 * The default implementation returns {@code 1.0}.
+	 *
+	 * @return				The reduction of the width of the image read.
+	 * @since 0.4.22
+	 */
+	public double getWidthReduction() {
+		return 1.0;
+	}
+
+	/**
+	 * Returns the ratio of the height of the source image to the height of
+	 * the image which was last returned by {@link #read()}.
+	 * <p>
+	 * The default implementation returns {@code 1.0}.
+	 *
+	 * @return				The reduction of the height of the image read.
+	 * @see #getWidthReduction()
+	 * @since 0.4.22
+	 */
+	public double getHeightReduction() {
+		return 1.0;
+	}
+
 	/**
 	 * Returns the {@link ThumbnailParameter} for this {@link ThumbnailTask},
 	 * used when performing a thumbnail generation operation.
@@ -0,0 +1,207 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+
+import net.coobird.thumbnailator.util.BufferedImages;
+
+/**
+ * Decodes an image in horizontal bands, reducing each band by averaging
+ * blocks of pixels as soon as it has been decoded.
+ * <p>
+ * Only one band of the source image is held in memory at a time, so the
+ * peak memory usage is bounded by the size of a band and the reduced image,
+ * rather than by the size of the source image.
+ * <p>
+ * Each pixel of the reduced image is the average of a block of
+ * {@code factor} by {@code factor} pixels of the source image. As the height
+ * of each band is a multiple of {@code factor}, every block lies within a
+ * single band, so that the result is identical to averaging the whole image
+ * at once.
+ * <p>
+ * For images with an alpha channel which is not premultiplied, the color
+ * samples are weighted by their alpha, so that the colors of transparent
+ * pixels do not bleed into the reduced image.
+ * <p>
+ * Images which are not reduced are decoded in one pass instead, as the
+ * reduced image would be as large as the source image itself.
+ *
+ * @author coobird
+ */
+final class BandedDecoder {
+	/**
+	 * This class is not intended to be instantiated.
+	 */
+	private BandedDecoder() {}
+
+	/**
+	 * Decodes the specified region of an image, reduced by the specified
+	 * factor.
+	 *
+	 * @param reader		The reader to decode the image with. The input
+	 * 						must already be set.
+	 * @param imageIndex	The index of the image to decode.
+	 * @param param			The parameters to decode with. The source region
+	 * 						of this object is overwritten.
+	 * @param region		The region of the image to decode.
+	 * @param factor		The factor to reduce the image by.
+	 * @param bandHeight	The maximum number of rows of the source image to
+	 * 						decode at a time. Rounded down to a multiple of
+	 * 						{@code factor}, but will be at least
+	 * 						{@code factor}.
+	 * @return				The reduced image, which is
+	 * 						{@code ceil(region.width / factor)} by
+	 * 						{@code ceil(region.height / factor)} pixels.
+	 * @throws IOException	If the image could not be decoded.
+	 */
+	static BufferedImage read(
+			ImageReader reader,
+			int imageIndex,
+			ImageReadParam param,
+			Rectangle region,
+			int factor,
+			int bandHeight
+	) throws IOException {
+		int rowsPerBand = Math.max(factor, bandHeight / factor * factor);
+		int destWidth = (region.width + factor - 1) / factor;
+		int destHeight = (region.height + factor - 1) / factor;
+
+		BufferedImage destination = null;
+		WritableRaster destRaster = null;
+		int[] rowSamples = null;
+		long[] sums = null;
+		int[] averages = null;
+		int alphaBand = -1;
+
+		for (int y = 0; y < region.height; y += rowsPerBand) {
+			int height = Math.min(rowsPerBand, region.height - y);
+			param.setSourceRegion(
+					new Rectangle(region.x, region.y + y, region.width, height)
+			);
+
+			BufferedImage band = reader.read(imageIndex, param);
+			if (!canAverageSamples(band)) {
+				band = BufferedImages.copy(band, BufferedImage.TYPE_INT_ARGB);
+			}
+
+			Raster srcRaster = band.getRaster();
+			int numBands = srcRaster.getNumBands();
+
+			if (destination == null) {
+				ColorModel cm = band.getColorModel();
+				destRaster = cm.createCompatibleWritableRaster(destWidth, destHeight);
+				destination = new BufferedImage(cm, destRaster, cm.isAlphaPremultiplied(), null);
+
+				rowSamples = new int[region.width * numBands];
+				sums = new long[destWidth * numBands];
+				averages = new int[destWidth * numBands];
+
+				if (cm.hasAlpha() && !cm.isAlphaPremultiplied()) {
+					alphaBand = numBands - 1;
+				}
+			}
+
+			for (int blockY = 0; blockY < height; blockY += factor) {
+				int blockHeight = Math.min(factor, height - blockY);
+
+				for (int i = 0; i < sums.length; i++) {
+					sums[i] = 0;
+				}
+
+				for (int row = blockY; row < blockY + blockHeight; row++) {
+					srcRaster.getPixels(0, row, region.width, 1, rowSamples);
+					for (int x = 0; x < region.width; x++) {
+						int src = x * numBands;
+						int dest = (x / factor) * numBands;
+						if (alphaBand < 0) {
+							for (int b = 0; b < numBands; b++) {
+								sums[dest + b] += rowSamples[src + b];
+							}
+						} else {
+							long alpha = rowSamples[src + alphaBand];
+							for (int b = 0; b < alphaBand; b++) {
+								sums[dest + b] += rowSamples[src + b] * alpha;
+							}
+							sums[dest + alphaBand] += alpha;
+						}
+					}
+				}
+
+				for (int destX = 0; destX < destWidth; destX++) {
+					int blockWidth = Math.min(factor, region.width - destX * factor);
+					long count = (long)blockWidth * blockHeight;
+					for (int b = 0; b < numBands; b++) {
+						int i = destX * numBands + b;
+						long weight = count;
+						if (alphaBand >= 0 && b != alphaBand) {
+							// Colors are weighted by alpha, so divide by the sum of alpha.
+							weight = sums[destX * numBands + alphaBand];
+							if (weight == 0) {
+								averages[i] = 0;
+								continue;
+							}
+						}
+						averages[i] = (int)((sums[i] + weight / 2) / weight);
+					}
+				}
+
+				destRaster.setPixels(0, (y + blockY) / factor, destWidth, 1, averages);
+			}
+
+			band.flush();
+		}
+
+		return destination;
+	}
+
+	/**
+	 * Returns whether the samples of the image can be averaged directly.
+	 * <p>
+	 * Samples of images with an {@link IndexColorModel} are indices into a
+	 * palette, and samples which are not integers would be truncated, so
+	 * such images need to be converted first.
+	 */
+	private static boolean canAverageSamples(BufferedImage img) {
+		if (img.getColorModel() instanceof IndexColorModel) {
+			return false;
+		}
+
+		int dataType = img.getRaster().getDataBuffer().getDataType();
+		return dataType == DataBuffer.TYPE_BYTE
+				|| dataType == DataBuffer.TYPE_USHORT
+				|| dataType == DataBuffer.TYPE_INT;
+	}
+}
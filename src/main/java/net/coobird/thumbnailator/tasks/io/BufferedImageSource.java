@@ -37,7 +37,8 @@ import net.coobird.thumbnailator.geometry.Region;
  * @author coobird
  *
  */
-public class BufferedImageSource extends AbstractImageSource<BufferedImage> {
+public class BufferedImageSource extends AbstractImageSource<BufferedImage>
+		implements ProbeableImageSource<BufferedImage> {
 	/**
 	 * The image that should be used as the source for making a thumbnail.
 	 */
@@ -76,6 +77,18 @@ public class BufferedImageSource extends AbstractImageSource<BufferedImage> {
 		}
 	}
 
+	/**
+	 * Returns information about the source image.
+	 * <p>
+	 * As the image is held in memory, it has no format name or orientation.
+	 * 
+	 * @return		Information about the image.
+	 * @since	0.4.22
+	 */
+	public ImageInfo probe() {
+		return new ImageInfo(img.getWidth(), img.getHeight(), null, 1, null);
+	}
+
 	public BufferedImage getSource() {
 		return img;
 	}
@@ -0,0 +1,250 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.ImageOutputStreamImpl;
+
+/**
+ * A seekable {@link ImageOutputStream} which writes to a growing byte array
+ * in memory.
+ * <p>
+ * Unlike the {@link ImageOutputStream}s which write to an
+ * {@link java.io.OutputStream}, the data is not cached before it is
+ * written, and the written data can be obtained with
+ * {@link #toByteBuffer()} without copying it.
+ * <p>
+ * The stream can be cleared with {@link #clear()} to reuse its array, and
+ * can be limited to a number of bytes with {@link #setLimit(long)}, so that
+ * encoding an image which turns out to be too large can be stopped early.
+ * The written data can be read back after calling {@link #rewind()}.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+final class ByteArrayImageOutputStream extends ImageOutputStreamImpl {
+	/**
+	 * The initial size of the array.
+	 */
+	private static final int INITIAL_CAPACITY = 16 * 1024;
+
+	/**
+	 * The array holding the data. Only the first {@code length} bytes are
+	 * valid.
+	 */
+	private byte[] data;
+
+	/**
+	 * The number of bytes written.
+	 */
+	private int length = 0;
+
+	/**
+	 * The largest number of bytes which can be written.
+	 */
+	private long limit = Long.MAX_VALUE;
+
+	/**
+	 * Thrown when data is written beyond the limit set by
+	 * {@link ByteArrayImageOutputStream#setLimit(long)}.
+	 */
+	static final class LimitExceededException extends IOException {
+		/**
+		 * An ID used for serialization.
+		 */
+		private static final long serialVersionUID = 5193648720947316528L;
+
+		private LimitExceededException() {
+			super("The limit of the stream has been exceeded.");
+		}
+	}
+
+	/**
+	 * Instantiates a {@link ByteArrayImageOutputStream}.
+	 */
+	ByteArrayImageOutputStream() {
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Instantiates a {@link ByteArrayImageOutputStream} with the specified
+	 * initial capacity.
+	 *
+	 * @param initialCapacity	The initial size of the array.
+	 */
+	ByteArrayImageOutputStream(int initialCapacity) {
+		data = new byte[Math.max(1, initialCapacity)];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		checkClosed();
+		flushBits();
+
+		ensureCapacity(streamPos + 1);
+		data[(int)streamPos] = (byte)b;
+		streamPos++;
+		length = Math.max(length, (int)streamPos);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		checkClosed();
+
+		if (b == null) {
+			throw new NullPointerException("Array is null.");
+		}
+		if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		flushBits();
+
+		ensureCapacity(streamPos + len);
+		System.arraycopy(b, off, data, (int)streamPos, len);
+		streamPos += len;
+		length = Math.max(length, (int)streamPos);
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed();
+		bitOffset = 0;
+
+		if (streamPos >= length) {
+			return -1;
+		}
+
+		return data[(int)streamPos++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		checkClosed();
+
+		if (b == null) {
+			throw new NullPointerException("Array is null.");
+		}
+		if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		bitOffset = 0;
+
+		if (len == 0) {
+			return 0;
+		}
+		if (streamPos >= length) {
+			return -1;
+		}
+
+		int bytesRead = (int)Math.min(len, length - streamPos);
+		System.arraycopy(data, (int)streamPos, b, off, bytesRead);
+		streamPos += bytesRead;
+		return bytesRead;
+	}
+
+	@Override
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Returns the data written to this stream.
+	 * <p>
+	 * The returned buffer is backed by the array of this stream, and ranges
+	 * from position {@code 0} to the number of bytes written.
+	 *
+	 * @return		The written data.
+	 */
+	ByteBuffer toByteBuffer() {
+		return ByteBuffer.wrap(data, 0, length);
+	}
+
+	/**
+	 * Sets the largest number of bytes which can be written to this stream.
+	 * Writing beyond the limit causes a {@link LimitExceededException} to
+	 * be thrown.
+	 *
+	 * @param limit		The largest number of bytes which can be written.
+	 */
+	void setLimit(long limit) {
+		this.limit = limit;
+	}
+
+	/**
+	 * Discards the data written to this stream, so that it can be written
+	 * again from position {@code 0}. The array of this stream is kept.
+	 */
+	void clear() {
+		streamPos = 0;
+		flushedPos = 0;
+		bitOffset = 0;
+		length = 0;
+	}
+
+	/**
+	 * Moves this stream back to position {@code 0}, so that the data written
+	 * to it can be read. The data of this stream is kept.
+	 */
+	void rewind() {
+		streamPos = 0;
+		flushedPos = 0;
+		bitOffset = 0;
+	}
+
+	/**
+	 * Writes the data written to this stream to another stream.
+	 *
+	 * @param ios			The stream to write the data to.
+	 * @throws IOException	If the data could not be written.
+	 */
+	void writeTo(ImageOutputStream ios) throws IOException {
+		ios.write(data, 0, length);
+	}
+
+	private void ensureCapacity(long capacity) throws IOException {
+		if (capacity > limit) {
+			throw new LimitExceededException();
+		}
+		if (capacity > Integer.MAX_VALUE) {
+			throw new IOException("Image data is too large to be held in an array.");
+		}
+		if (capacity <= data.length) {
+			return;
+		}
+
+		long newCapacity = Math.max((long)data.length * 2, capacity);
+		newCapacity = Math.min(newCapacity, Integer.MAX_VALUE);
+
+		byte[] newData = new byte[(int)newCapacity];
+		System.arraycopy(data, 0, newData, 0, length);
+		data = newData;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+
+/**
+ * A seekable {@link ImageInputStream} which reads directly from a
+ * {@link ByteBuffer}, without copying or caching its contents.
+ * <p>
+ * The stream covers the remaining data of the buffer when the stream is
+ * created. The position and limit of the given buffer are not changed.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+final class ByteBufferImageInputStream extends ImageInputStreamImpl {
+	/**
+	 * The data to read, from position {@code 0} to the limit.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Instantiates a {@link ByteBufferImageInputStream}.
+	 *
+	 * @param buffer		The buffer to read from.
+	 * @throws NullPointerException		If the buffer is {@code null}.
+	 */
+	ByteBufferImageInputStream(ByteBuffer buffer) {
+		if (buffer == null) {
+			throw new NullPointerException("Buffer is null.");
+		}
+
+		this.buffer = buffer.slice();
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed();
+		bitOffset = 0;
+
+		if (streamPos >= buffer.limit()) {
+			return -1;
+		}
+
+		return buffer.get((int)streamPos++) & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		checkClosed();
+
+		if (b == null) {
+			throw new NullPointerException("Array is null.");
+		}
+		if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		bitOffset = 0;
+
+		if (len == 0) {
+			return 0;
+		}
+		if (streamPos >= buffer.limit()) {
+			return -1;
+		}
+
+		int bytesRead = (int)Math.min(len, buffer.limit() - streamPos);
+		buffer.position((int)streamPos);
+		buffer.get(b, off, bytesRead);
+		streamPos += bytesRead;
+		return bytesRead;
+	}
+
+	@Override
+	public long length() {
+		return buffer.limit();
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.imageio.ImageWriter;
+
+import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
+
+/**
+ * An {@link ImageSink} which writes the thumbnail image to a
+ * {@link ByteBuffer} held in memory.
+ * <p>
+ * The image is encoded directly into a growing array, rather than through
+ * a {@link java.io.ByteArrayOutputStream} and the stream cache of Image I/O,
+ * which would each hold a copy of the encoded data.
+ * 
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public class ByteBufferImageSink extends AbstractImageSink<ByteBuffer> implements EncodedImageSink<ByteBuffer> {
+	/**
+	 * The buffer holding the encoded image, or {@code null} if an image has
+	 * not been written yet.
+	 */
+	private ByteBuffer buffer;
+	
+	/**
+	 * Instantiates a {@link ByteBufferImageSink}.
+	 */
+	public ByteBufferImageSink() {
+		super();
+	}
+
+	/**
+	 * Writes the resulting image to a {@link ByteBuffer}.
+	 * 
+	 * @param img							The image to write.
+	 * @throws UnsupportedFormatException	When an unsupported format has been
+	 * 										specified by the
+	 * 										{@link #setOutputFormatName(String)}
+	 * 										method.
+	 * @throws IOException					When a problem occurs while writing
+	 * 										the image.
+	 * @throws NullPointerException		If the image is {@code null}.
+	 * @throws IllegalStateException	If the output format has not been set
+	 * 									by calling the
+	 * 									{@link #setOutputFormatName(String)}
+	 * 									method.
+	 */
+	public void write(BufferedImage img) throws IOException {
+		super.write(img);
+		
+		if (outputFormat == null) {
+			throw new IllegalStateException("Output format has not been set.");
+		}
+		
+		ImageWriter writer = OutputStreamImageSink.acquireWriter(outputFormat, param);
+		
+		ByteArrayImageOutputStream ios = new ByteArrayImageOutputStream();
+		OutputStreamImageSink.writeImage(writer, img, outputFormat, param, ios);
+		ios.close();
+		
+		buffer = ios.toByteBuffer();
+	}
+
+	/**
+	 * Stores an image which has already been encoded, as is.
+	 * 
+	 * @param data				The encoded image.
+	 * @param formatName		The name of the format the image is encoded in.
+	 * @throws NullPointerException		If the data or format name is
+	 * 									{@code null}.
+	 * @since 0.4.22
+	 */
+	public void writeEncoded(byte[] data, String formatName) {
+		if (data == null) {
+			throw new NullPointerException("Data is null.");
+		}
+		if (formatName == null) {
+			throw new NullPointerException("Format name is null.");
+		}
+		
+		buffer = ByteBuffer.wrap(data);
+	}
+
+	/**
+	 * Returns a {@link ByteBuffer} holding the encoded image.
+	 * <p>
+	 * The returned buffer ranges from position {@code 0} to the end of the
+	 * encoded data.
+	 * 
+	 * @return		The buffer holding the encoded image.
+	 * @throws IllegalStateException	If an image has not been written yet.
+	 */
+	public ByteBuffer getSink() {
+		if (buffer == null) {
+			throw new IllegalStateException("An image has not been written yet.");
+		}
+		
+		return buffer.duplicate();
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import javax.imageio.stream.ImageInputStream;
+
+import net.coobird.thumbnailator.ThumbnailParameter;
+
+/**
+ * An {@link ImageSource} which reads the source image from the data held in
+ * a {@link ByteBuffer}.
+ * <p>
+ * The image is decoded directly from the buffer, without the data being
+ * copied or cached by Image I/O. The data from the position to the limit of
+ * the buffer at the time of instantiation is used, and the position and
+ * limit of the given buffer are not changed.
+ * 
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public class ByteBufferImageSource implements ProbeableImageSource<ByteBuffer>, ReducibleImageSource<ByteBuffer> {
+	/**
+	 * The buffer from which the image should be obtained.
+	 */
+	private final ByteBuffer sourceBuffer;
+	
+	/**
+	 * An {@link ImageSource} which actually performs the image source
+	 * operations. This {@link ImageSource} is replaced when the
+	 * {@link #read()} method is called.
+	 */
+	private ImageSource<?> imageSource = new UninitializedImageSource();
+	
+	/**
+	 * A {@link ThumbnailParameter} object that is given by 
+	 * {@link #setThumbnailParameter(ThumbnailParameter)}. This copy is needed
+	 * when the {@link #imageSource} is being replacing during the lifecycle
+	 * of this class.
+	 */
+	private ThumbnailParameter param;
+	
+	/**
+	 * Temporary placeholder {@link ImageSource} which will be used before
+	 * the {@link #read()} method is used.
+	 */
+	private static class UninitializedImageSource extends AbstractImageSource<Void> {
+		public BufferedImage read() throws IOException {
+			throw new IllegalStateException("This should not happen.");
+		}
+
+		public Void getSource() {
+			throw new IllegalStateException("This should not happen.");
+		}
+	}
+	
+	/**
+	 * An {@link InputStreamImageSource} which reads the image through a
+	 * seekable {@link ByteBufferImageInputStream}.
+	 */
+	private static final class BufferImageSource extends SeekableInputStreamImageSource {
+		private final ByteBuffer buffer;
+
+		private BufferImageSource(ByteBuffer buffer) {
+			super(new ByteBufferInputStream(buffer.duplicate()));
+			this.buffer = buffer;
+		}
+
+		@Override
+		ImageInputStream createImageInputStream() throws IOException {
+			return new ByteBufferImageInputStream(buffer);
+		}
+	}
+	
+	/**
+	 * An {@link InputStream} which reads the remaining data of a
+	 * {@link ByteBuffer}. Used to capture the Exif data from the raw data.
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+		
+		private ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			return buffer.get() & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int bytesRead = Math.min(len, buffer.remaining());
+			buffer.get(b, off, bytesRead);
+			return bytesRead;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return buffer.remaining();
+		}
+	}
+	
+	/**
+	 * Instantiates a {@link ByteBufferImageSource} with the specified buffer
+	 * as the source image.
+	 * 
+	 * @param sourceBuffer		The buffer holding the source image data.
+	 * @throws NullPointerException	If the buffer is null.
+	 */
+	public ByteBufferImageSource(ByteBuffer sourceBuffer) {
+		super();
+		
+		if (sourceBuffer == null) {
+			throw new NullPointerException("ByteBuffer cannot be null.");
+		}
+		
+		this.sourceBuffer = sourceBuffer.slice();
+	}
+	
+	/**
+	 * Instantiates a {@link ByteBufferImageSource} with the specified array
+	 * as the source image.
+	 * <p>
+	 * The array is not copied, therefore it should not be modified until
+	 * the image has been read.
+	 * 
+	 * @param sourceData		The array holding the source image data.
+	 * @throws NullPointerException	If the array is null.
+	 */
+	public ByteBufferImageSource(byte[] sourceData) {
+		super();
+		
+		if (sourceData == null) {
+			throw new NullPointerException("Array cannot be null.");
+		}
+		
+		this.sourceBuffer = ByteBuffer.wrap(sourceData);
+	}
+
+	public BufferedImage read() throws IOException {
+		imageSource = new BufferImageSource(sourceBuffer);
+		imageSource.setThumbnailParameter(param);
+		return imageSource.read();
+	}
+
+	/**
+	 * Retrieves information about the image from the header in the buffer,
+	 * without decoding the image.
+	 * 
+	 * @return					Information about the image.
+	 * @throws IOException		When a problem occurs while reading the
+	 * 							image header.
+	 */
+	public ImageInfo probe() throws IOException {
+		BufferImageSource source = new BufferImageSource(sourceBuffer);
+		source.setThumbnailParameter(param);
+		return source.probe();
+	}
+
+	/**
+	 * Returns the buffer from which an image is read.
+	 * <p>
+	 * The returned buffer shares its contents with the buffer given at
+	 * instantiation, and ranges from position {@code 0} to the end of the
+	 * image data.
+	 * 
+	 * @return 		The buffer holding the source image data.
+	 */
+	public ByteBuffer getSource() {
+		return sourceBuffer.duplicate();
+	}
+
+	public String getInputFormatName() {
+		return imageSource.getInputFormatName();
+	}
+
+	public double getWidthReduction() {
+		if (imageSource instanceof ReducibleImageSource) {
+			return ((ReducibleImageSource<?>)imageSource).getWidthReduction();
+		}
+		return 1.0;
+	}
+
+	public double getHeightReduction() {
+		if (imageSource instanceof ReducibleImageSource) {
+			return ((ReducibleImageSource<?>)imageSource).getHeightReduction();
+		}
+		return 1.0;
+	}
+
+	public void setThumbnailParameter(ThumbnailParameter param) {
+		// We need to keep "param" when we replace "imageSource" in the
+		// "read" method.
+		this.param = param;
+		
+		imageSource.setThumbnailParameter(param);
+	}
+}
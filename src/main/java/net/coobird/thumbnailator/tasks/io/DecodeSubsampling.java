@@ -0,0 +1,139 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import javax.imageio.ImageReadParam;
+
+/**
+ * Specifies whether and how much a source image should be subsampled while
+ * it is being decoded.
+ * <p>
+ * Subsampling while decoding reads only every <em>n</em>-th pixel of every
+ * <em>n</em>-th row of the source image, by using
+ * {@link ImageReadParam#setSourceSubsampling(int, int, int, int)}.
+ * As a result, the full-resolution image is never held in memory, which
+ * greatly reduces the memory usage and decoding time when creating a small
+ * thumbnail from a large image.
+ * <p>
+ * The following settings are available:
+ * <dl>
+ * <dt>{@link #AUTO}</dt>
+ * <dd>The subsampling is calculated from the size of the source image and the
+ * size of the thumbnail. The image is decoded so that it remains at least
+ * twice as large as the thumbnail, so that the resizer still has enough
+ * pixels to produce a good quality thumbnail.</dd>
+ * <dt>{@link #OFF}</dt>
+ * <dd>The source image is decoded at full resolution.</dd>
+ * <dt>{@link #factor(int)}</dt>
+ * <dd>The source image is subsampled by the specified factor.</dd>
+ * </dl>
+ * <p>
+ * In all cases, the thumbnail will be the size it would have been without
+ * subsampling.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+public final class DecodeSubsampling {
+	/**
+	 * Calculates the largest subsampling which can be used without
+	 * degrading the quality of the thumbnail.
+	 */
+	public static final DecodeSubsampling AUTO = new DecodeSubsampling(0);
+
+	/**
+	 * Decodes the source image at full resolution.
+	 */
+	public static final DecodeSubsampling OFF = new DecodeSubsampling(1);
+
+	/**
+	 * The subsampling factor, or {@code 0} for automatic subsampling.
+	 */
+	private final int factor;
+
+	private DecodeSubsampling(int factor) {
+		this.factor = factor;
+	}
+
+	/**
+	 * Returns a setting which subsamples the source image by the specified
+	 * factor in both directions.
+	 * <p>
+	 * The factor is reduced if the subsampled image would otherwise be
+	 * smaller than one pixel.
+	 *
+	 * @param factor	The subsampling factor. A factor of {@code 1} is the
+	 * 					same as {@link #OFF}.
+	 * @return			The setting for the specified factor.
+	 * @throws IllegalArgumentException	If the factor is less than 1.
+	 */
+	public static DecodeSubsampling factor(int factor) {
+		if (factor < 1) {
+			throw new IllegalArgumentException(
+					"Subsampling factor must be greater than 0."
+			);
+		}
+		return factor == 1 ? OFF : new DecodeSubsampling(factor);
+	}
+
+	/**
+	 * Returns whether the subsampling is calculated automatically.
+	 *
+	 * @return		{@code true} if this is {@link #AUTO}, {@code false}
+	 * 				otherwise.
+	 */
+	public boolean isAuto() {
+		return factor == 0;
+	}
+
+	/**
+	 * Returns the subsampling factor.
+	 *
+	 * @return		The subsampling factor, or {@code 0} if the factor is
+	 * 				calculated automatically.
+	 */
+	public int getFactor() {
+		return factor;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof DecodeSubsampling
+				&& ((DecodeSubsampling)o).factor == factor;
+	}
+
+	@Override
+	public int hashCode() {
+		return factor;
+	}
+
+	@Override
+	public String toString() {
+		if (isAuto()) {
+			return "DecodeSubsampling[AUTO]";
+		}
+		return "DecodeSubsampling[factor=" + factor + "]";
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+
+/**
+ * An {@link ImageSink} which can also write images which have already been
+ * encoded, such as thumbnails stored in a {@link ThumbnailCache}.
+ * 
+ * @param <T> 		The destination class to which the thumbnail is stored
+ * 					or written.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+public interface EncodedImageSink<T> extends ImageSink<T> {
+	/**
+	 * Writes an image which has been encoded in the specified format to the
+	 * destination, as is.
+	 * 
+	 * @param data				The encoded image.
+	 * @param formatName		The name of the format the image is encoded in.
+	 * @throws IOException		When a problem occurs while writing the image.
+	 * @throws NullPointerException		If the data or format name is
+	 * 									{@code null}.
+	 */
+	public void writeEncoded(byte[] data, String formatName) throws IOException;
+}
@@ -0,0 +1,188 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+
+/**
+ * A seekable {@link ImageInputStream} which reads from a {@link FileChannel}.
+ * <p>
+ * Unlike an {@link ImageInputStream} created from an {@code InputStream},
+ * this stream does not cache the data it has read, and seeking to any
+ * position in the file, backwards or forwards, only reads the data at that
+ * position. This lets image readers skip to the metadata, tiles or strips
+ * they need.
+ * <p>
+ * The data is read with positional reads, so the position of the channel
+ * itself is not changed. Closing this stream does not close the channel.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+final class FileChannelImageInputStream extends ImageInputStreamImpl {
+	/**
+	 * The size of the buffer used for small reads.
+	 */
+	private static final int BUFFER_SIZE = 16 * 1024;
+
+	/**
+	 * The channel to read the data from.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Buffer holding the data starting at {@code bufferStart}. The data
+	 * held ranges from {@code 0} to the limit of the buffer.
+	 */
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+	/**
+	 * The position in the file of the first byte in the buffer.
+	 */
+	private long bufferStart = 0;
+
+	/**
+	 * Instantiates a {@link FileChannelImageInputStream}.
+	 *
+	 * @param channel		The channel to read from.
+	 * @throws NullPointerException		If the channel is {@code null}.
+	 */
+	FileChannelImageInputStream(FileChannel channel) {
+		if (channel == null) {
+			throw new NullPointerException("Channel is null.");
+		}
+
+		this.channel = channel;
+		buffer.limit(0);
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed();
+		bitOffset = 0;
+
+		if (!fillBuffer()) {
+			return -1;
+		}
+
+		int b = buffer.get((int)(streamPos - bufferStart)) & 0xff;
+		streamPos++;
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		checkClosed();
+
+		if (b == null) {
+			throw new NullPointerException("Array is null.");
+		}
+		if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		bitOffset = 0;
+
+		if (len == 0) {
+			return 0;
+		}
+
+		// Some readers do not retry short reads, so keep reading until the
+		// requested length has been read or the end of the file is reached.
+		int totalRead = 0;
+		while (totalRead < len) {
+			int remaining = len - totalRead;
+			int bytesRead;
+
+			if (remaining >= BUFFER_SIZE && !isBuffered(streamPos)) {
+				// Large reads go directly to the destination array.
+				bytesRead = channel.read(ByteBuffer.wrap(b, off + totalRead, remaining), streamPos);
+				if (bytesRead <= 0) {
+					break;
+				}
+
+			} else {
+				if (!fillBuffer()) {
+					break;
+				}
+
+				int offset = (int)(streamPos - bufferStart);
+				bytesRead = Math.min(remaining, buffer.limit() - offset);
+				System.arraycopy(buffer.array(), offset, b, off + totalRead, bytesRead);
+			}
+
+			streamPos += bytesRead;
+			totalRead += bytesRead;
+		}
+
+		return totalRead == 0 ? -1 : totalRead;
+	}
+
+	@Override
+	public long length() {
+		try {
+			return channel.size();
+		} catch (IOException e) {
+			return -1L;
+		}
+	}
+
+	/**
+	 * Returns whether the byte at the specified position is in the buffer.
+	 */
+	private boolean isBuffered(long position) {
+		return position >= bufferStart && position < bufferStart + buffer.limit();
+	}
+
+	/**
+	 * Ensures that the buffer holds the byte at the current position.
+	 *
+	 * @return		{@code false} if the current position is at or beyond
+	 * 				the end of the file.
+	 */
+	private boolean fillBuffer() throws IOException {
+		if (isBuffered(streamPos)) {
+			return true;
+		}
+
+		buffer.clear();
+		bufferStart = streamPos;
+
+		int bytesRead = channel.read(buffer, bufferStart);
+		if (bytesRead <= 0) {
+			buffer.limit(0);
+			return false;
+		}
+
+		buffer.flip();
+		return true;
+	}
+}
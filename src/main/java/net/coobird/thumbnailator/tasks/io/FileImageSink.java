@@ -25,6 +25,7 @@
 package net.coobird.thumbnailator.tasks.io;
 
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -50,11 +51,15 @@ import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
  * method. In this case, the file name will have a file extension corresponding
  * to the output format set in the above method to be appended to the file
  * name originally provided when instantiating the {@link FileImageSink} object.
+ * <p>
+ * Whether the thumbnail is written directly to the destination file, or to a
+ * temporary file which then replaces the destination file, is decided by the
+ * {@link FileWritePolicy} of the {@link ThumbnailParameter}.
  * 
  * @author coobird
  *
  */
-public class FileImageSink implements ImageSink<File> {
+public class FileImageSink implements EncodedImageSink<File> {
 	/**
 	 * The file to which the thumbnail is written to.
 	 * <p>
@@ -67,6 +72,11 @@ public class FileImageSink implements ImageSink<File> {
 	
 	private final boolean allowOverwrite;
 
+	/**
+	 * The size of the buffer used when writing to a temporary file.
+	 */
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
 	private String outputFormat;
 
 	private ThumbnailParameter param;
@@ -273,6 +283,57 @@ public class FileImageSink implements ImageSink<File> {
 	 * 										file already exists.
 	 */
 	public void write(BufferedImage img) throws IOException {
+		String formatName = prepareDestination(outputFormat);
+		writeFile(img, null, formatName);
+	}
+	
+	/**
+	 * Writes an image which has already been encoded to a file, as is.
+	 * <p>
+	 * The extension of the file is added in the same way as
+	 * {@link #write(BufferedImage)}, and the file is written according to
+	 * the {@link FileWritePolicy} of the parameters.
+	 * 
+	 * @param data							The encoded image.
+	 * @param formatName					The name of the format the image is
+	 * 										encoded in.
+	 * @throws IOException					When a problem occurs while writing
+	 * 										the image.
+	 * @throws NullPointerException			If the data or format name is
+	 * 										{@code null}.
+	 * @throws IllegalArgumentException		If this {@code FileImageSink} does
+	 * 										not permit overwriting the
+	 * 										destination file and the destination
+	 * 										file already exists.
+	 * @since 0.4.22
+	 */
+	public void writeEncoded(byte[] data, String formatName) throws IOException {
+		if (data == null) {
+			throw new NullPointerException("Data is null.");
+		}
+		if (formatName == null) {
+			throw new NullPointerException("Format name is null.");
+		}
+		
+		writeFile(null, data, prepareDestination(formatName));
+	}
+	
+	/**
+	 * Adds the extension of the output format to the destination file if
+	 * necessary, and returns the output format to write the file in.
+	 * 
+	 * @param formatName					The output format, or {@code null}
+	 * 										if it should be determined from the
+	 * 										file name.
+	 * @return								The output format.
+	 * @throws UnsupportedFormatException	If the output format is not set and
+	 * 										cannot be determined from the file
+	 * 										name.
+	 * @throws IllegalArgumentException		If the destination file already
+	 * 										exists, and overwriting is not
+	 * 										permitted.
+	 */
+	private String prepareDestination(String formatName) throws IOException {
 		/*
 		 * Add or replace the file extension of the output file.
 		 * 
@@ -283,7 +344,6 @@ public class FileImageSink implements ImageSink<File> {
 		 */
 		String fileExtension = getExtension(destinationFile);
 		
-		String formatName = outputFormat;
 		if (formatName != null && (fileExtension == null || !isMatchingFormat(formatName, fileExtension))) {
 			destinationFile = new File(destinationFile.getAbsolutePath() + "." + formatName);
 		}
@@ -310,17 +370,123 @@ public class FileImageSink implements ImageSink<File> {
 					"Could not determine output format."
 			);
 		}
-
-		OutputStream os = createOutputStream(destinationFile);
-		imageSink = new OutputStreamImageSink(os);
-		imageSink.setThumbnailParameter(param);
-		imageSink.setOutputFormatName(formatName);
+		
+		return formatName;
+	}
+	
+	/**
+	 * Writes either an image or an encoded image to the destination file,
+	 * according to the {@link FileWritePolicy} of the parameters.
+	 * 
+	 * @param img			The image to write, or {@code null} if the encoded
+	 * 						image is written.
+	 * @param data			The encoded image to write, or {@code null} if
+	 * 						the image is written.
+	 * @param formatName	The name of the output format.
+	 * @throws IOException	When a problem occurs while writing the image.
+	 */
+	private void writeFile(BufferedImage img, byte[] data, String formatName) throws IOException {
+		FileWritePolicy policy =
+				param != null ? param.getFileWritePolicy() : FileWritePolicy.DIRECT;
+		
+		if (policy == FileWritePolicy.DIRECT) {
+			OutputStream os = createOutputStream(destinationFile);
+			try {
+				writeTo(os, img, data, formatName);
+			} finally {
+				os.close();
+			}
+		} else {
+			writeAtomically(img, data, formatName, policy == FileWritePolicy.ATOMIC_SYNC);
+		}
+	}
+	
+	private void writeTo(OutputStream os, BufferedImage img, byte[] data, String formatName) throws IOException {
+		OutputStreamImageSink sink = new OutputStreamImageSink(os);
+		sink.setThumbnailParameter(param);
+		sink.setOutputFormatName(formatName);
+		imageSink = sink;
+		
+		if (data != null) {
+			sink.writeEncoded(data, formatName);
+		} else {
+			sink.write(img);
+		}
+	}
+	
+	/**
+	 * Writes the image to a temporary file in the directory of the
+	 * destination file, which is then renamed to the destination file.
+	 * <p>
+	 * The temporary file is written through a buffer, and is removed if
+	 * the image could not be written or the file could not be renamed.
+	 * 
+	 * @param img			The image to write, or {@code null} if the encoded
+	 * 						image is written.
+	 * @param data			The encoded image to write, or {@code null} if
+	 * 						the image is written.
+	 * @param formatName	The name of the output format.
+	 * @param sync			Whether the temporary file should be forced to
+	 * 						the storage device before it is renamed.
+	 * @throws IOException	When a problem occurs while writing the image,
+	 * 						or when the temporary file could not be renamed.
+	 */
+	private void writeAtomically(BufferedImage img, byte[] data, String formatName, boolean sync) throws IOException {
+		File directory = destinationFile.getAbsoluteFile().getParentFile();
+		File temporaryFile = File.createTempFile(
+				"." + destinationFile.getName() + ".", ".tmp", directory
+		);
+		
+		boolean written = false;
 		try {
-			imageSink.write(img);
+			OutputStream os = createOutputStream(temporaryFile);
+			try {
+				OutputStream bufferedOs = new BufferedOutputStream(os, WRITE_BUFFER_SIZE);
+				writeTo(bufferedOs, img, data, formatName);
+				bufferedOs.flush();
+				
+				if (sync && os instanceof FileOutputStream) {
+					((FileOutputStream)os).getFD().sync();
+				}
+			} finally {
+				os.close();
+			}
+			
+			rename(temporaryFile, destinationFile);
+			written = true;
+			
 		} finally {
-			os.close();
+			if (!written) {
+				temporaryFile.delete();
+			}
 		}
 	}
+	
+	/**
+	 * Renames the source file to the destination file, replacing the
+	 * destination file if it exists.
+	 * <p>
+	 * Some platforms do not allow a rename to replace an existing file, in
+	 * which case the destination file is deleted and the rename is tried
+	 * again.
+	 * 
+	 * @param source		The file to rename.
+	 * @param destination	The new name of the file.
+	 * @throws IOException	If the file could not be renamed.
+	 */
+	private static void rename(File source, File destination) throws IOException {
+		if (source.renameTo(destination)) {
+			return;
+		}
+		
+		if (destination.exists() && destination.delete() && source.renameTo(destination)) {
+			return;
+		}
+		
+		throw new IOException(
+				"Could not rename " + source + " to " + destination + "."
+		);
+	}
 
 	// Visible for testing only.
 	OutputStream createOutputStream(File destinationFile) throws IOException {
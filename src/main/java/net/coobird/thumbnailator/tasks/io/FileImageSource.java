@@ -29,6 +29,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+import javax.imageio.stream.ImageInputStream;
 
 import net.coobird.thumbnailator.ThumbnailParameter;
 import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
@@ -39,7 +42,7 @@ import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
  * @author coobird
  *
  */
-public class FileImageSource implements ImageSource<File> {
+public class FileImageSource implements ProbeableImageSource<File>, ReducibleImageSource<File> {
 	/**
 	 * The file from which the image should be obtained.
 	 */
@@ -76,6 +79,25 @@ public class FileImageSource implements ImageSource<File> {
 		}
 	}
 	
+	/**
+	 * An {@link InputStreamImageSource} which reads the image through a
+	 * seekable {@link FileChannelImageInputStream}, rather than through an
+	 * {@link ImageInputStream} which streams the whole file.
+	 */
+	private static final class FileChannelImageSource extends SeekableInputStreamImageSource {
+		private final FileChannel channel;
+
+		private FileChannelImageSource(FileInputStream fis) {
+			super(fis);
+			this.channel = fis.getChannel();
+		}
+
+		@Override
+		ImageInputStream createImageInputStream() throws IOException {
+			return new FileChannelImageInputStream(channel);
+		}
+	}
+	
 	/**
 	 * Instantiates a {@link FileImageSource} with the specified file as
 	 * the source image.
@@ -122,7 +144,7 @@ public class FileImageSource implements ImageSource<File> {
 		}
 
 		try {
-			imageSource = new InputStreamImageSource(fis);
+			imageSource = new FileChannelImageSource(fis);
 			imageSource.setThumbnailParameter(param);
 			return imageSource.read();
 
@@ -137,6 +159,44 @@ public class FileImageSource implements ImageSource<File> {
 		}
 	}
 
+	/**
+	 * Retrieves information about the image from the header of the file,
+	 * without decoding the image.
+	 * 
+	 * @return					Information about the image.
+	 * @throws UnsupportedFormatException	If the image format is not
+	 * 										supported.
+	 * @throws IOException		When a problem occurs while reading the
+	 * 							image header.
+	 * @since	0.4.22
+	 */
+	public ImageInfo probe() throws IOException {
+		FileInputStream fis;
+		try {
+			fis = new FileInputStream(sourceFile);
+
+		} catch (FileNotFoundException e) {
+			throw new FileNotFoundException(
+					"Could not find file: " + sourceFile.getAbsolutePath()
+			);
+		}
+
+		try {
+			FileChannelImageSource source = new FileChannelImageSource(fis);
+			source.setThumbnailParameter(param);
+			return source.probe();
+
+		} catch (UnsupportedFormatException e) {
+			String sourcePath = sourceFile.getAbsolutePath();
+			throw new UnsupportedFormatException(
+					UnsupportedFormatException.UNKNOWN,
+					"No suitable ImageReader found for " + sourcePath + "."
+			);
+		} finally {
+			fis.close();
+		}
+	}
+
 	/**
 	 * Returns the source file from which an image is read.
 	 * 
@@ -150,6 +210,20 @@ public class FileImageSource implements ImageSource<File> {
 		return imageSource.getInputFormatName();
 	}
 
+	public double getWidthReduction() {
+		if (imageSource instanceof ReducibleImageSource) {
+			return ((ReducibleImageSource<?>)imageSource).getWidthReduction();
+		}
+		return 1.0;
+	}
+
+	public double getHeightReduction() {
+		if (imageSource instanceof ReducibleImageSource) {
+			return ((ReducibleImageSource<?>)imageSource).getHeightReduction();
+		}
+		return 1.0;
+	}
+
 	public void setThumbnailParameter(ThumbnailParameter param) {
 		// We need to keep "param" when we replace "imageSource" in the
 		// "read" method.
@@ -0,0 +1,67 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.File;
+
+/**
+ * Specifies how thumbnails are written to files by a {@link FileImageSink}.
+ * <p>
+ * When a thumbnail is written directly to the destination file, other
+ * processes reading the file while it is being written can see a partially
+ * written image. The atomic policies write the thumbnail to a temporary file
+ * in the same directory as the destination file, and rename it to the
+ * destination file once it has been completely written, so that readers see
+ * either the previous file or the complete thumbnail.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public enum FileWritePolicy {
+	/**
+	 * Writes the thumbnail directly to the destination file.
+	 */
+	DIRECT,
+
+	/**
+	 * Writes the thumbnail to a temporary file, which is then renamed to
+	 * the destination file.
+	 * <p>
+	 * The rename is performed by {@link File#renameTo(File)}, which replaces
+	 * the destination file atomically on POSIX file systems. On platforms
+	 * where an existing file cannot be replaced by a rename, the destination
+	 * file is deleted before the temporary file is renamed, and the
+	 * replacement is not atomic.
+	 */
+	ATOMIC,
+
+	/**
+	 * Same as {@link #ATOMIC}, except that the contents of the temporary
+	 * file are forced to the storage device before it is renamed, so that
+	 * the destination file is complete even after a system crash.
+	 */
+	ATOMIC_SYNC
+}
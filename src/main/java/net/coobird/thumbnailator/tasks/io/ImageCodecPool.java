@@ -0,0 +1,274 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.IIORegistry;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.spi.ImageWriterSpi;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * A pool of {@link ImageReader}s and {@link ImageWriter}s which can be shared
+ * among thumbnail tasks, to avoid constructing a new codec for every image.
+ * <p>
+ * Codecs are kept per service provider. A codec which has been released back
+ * to the pool is {@link ImageReader#reset() reset} before it is handed out
+ * again. At most {@link #getMaxIdlePerCodec()} idle codecs are kept for each
+ * service provider; any codecs released beyond that are disposed.
+ * <p>
+ * This class is thread-safe, so a single instance can be shared among
+ * threads. Codecs acquired from the pool are only used by one thread at a
+ * time.
+ * <p>
+ * When the pool is no longer needed, call {@link #dispose()} to dispose the
+ * idle codecs.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+public final class ImageCodecPool {
+	/**
+	 * The default number of idle codecs to keep for each service provider.
+	 */
+	public static final int DEFAULT_MAX_IDLE_PER_CODEC = 4;
+
+	private final int maxIdlePerCodec;
+
+	private final Map<ImageReaderSpi, LinkedList<ImageReader>> readers =
+			new HashMap<ImageReaderSpi, LinkedList<ImageReader>>();
+
+	private final Map<ImageWriterSpi, LinkedList<ImageWriter>> writers =
+			new HashMap<ImageWriterSpi, LinkedList<ImageWriter>>();
+
+	/**
+	 * Service providers for writers, keyed by the format name which was
+	 * used to look them up.
+	 */
+	private final Map<String, ImageWriterSpi> writerProviders =
+			new HashMap<String, ImageWriterSpi>();
+
+	/**
+	 * Instantiates a pool which keeps up to
+	 * {@link #DEFAULT_MAX_IDLE_PER_CODEC} idle codecs for each service
+	 * provider.
+	 */
+	public ImageCodecPool() {
+		this(DEFAULT_MAX_IDLE_PER_CODEC);
+	}
+
+	/**
+	 * Instantiates a pool which keeps up to the specified number of idle
+	 * codecs for each service provider.
+	 *
+	 * @param maxIdlePerCodec	The maximum number of idle codecs to keep for
+	 * 							each service provider.
+	 * @throws IllegalArgumentException	If the number is negative.
+	 */
+	public ImageCodecPool(int maxIdlePerCodec) {
+		if (maxIdlePerCodec < 0) {
+			throw new IllegalArgumentException(
+					"Maximum number of idle codecs must not be negative."
+			);
+		}
+		this.maxIdlePerCodec = maxIdlePerCodec;
+	}
+
+	/**
+	 * Returns the maximum number of idle codecs kept for each service
+	 * provider.
+	 *
+	 * @return		The maximum number of idle codecs.
+	 */
+	public int getMaxIdlePerCodec() {
+		return maxIdlePerCodec;
+	}
+
+	/**
+	 * Returns an {@link ImageReader} which can decode the specified stream.
+	 * <p>
+	 * The service providers are queried in the same order as
+	 * {@link ImageIO#getImageReaders(Object)}, and the first one which can
+	 * decode the stream is used. The input of the returned reader is not set.
+	 *
+	 * @param iis		The stream to decode.
+	 * @return			A reader for the stream, or {@code null} if no reader
+	 * 					can decode the stream.
+	 * @throws IOException	If the stream could not be read.
+	 */
+	public ImageReader acquireReader(ImageInputStream iis) throws IOException {
+		Iterator<ImageReaderSpi> providers = IIORegistry.getDefaultInstance()
+				.getServiceProviders(ImageReaderSpi.class, true);
+
+		while (providers.hasNext()) {
+			ImageReaderSpi spi = providers.next();
+
+			boolean canDecode;
+			iis.mark();
+			try {
+				canDecode = spi.canDecodeInput(iis);
+			} catch (IOException e) {
+				// Same as ImageIO, treat as a reader which can't decode.
+				canDecode = false;
+			} finally {
+				iis.reset();
+			}
+
+			if (canDecode) {
+				ImageReader reader = poll(readers, spi);
+				return reader != null ? reader : spi.createReaderInstance();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns an {@link ImageReader} to the pool.
+	 * <p>
+	 * The reader is reset, and is disposed if the pool already holds enough
+	 * idle readers of the same kind.
+	 *
+	 * @param reader	The reader to return. Should have been acquired from
+	 * 					{@link #acquireReader(ImageInputStream)}.
+	 */
+	public void releaseReader(ImageReader reader) {
+		reader.reset();
+		if (!offer(readers, reader.getOriginatingProvider(), reader)) {
+			reader.dispose();
+		}
+	}
+
+	/**
+	 * Returns an {@link ImageWriter} for the specified format.
+	 * <p>
+	 * The writer is the same kind of writer which would be returned first by
+	 * {@link ImageIO#getImageWritersByFormatName(String)}.
+	 * The output of the returned writer is not set.
+	 *
+	 * @param formatName	The format name, such as {@code png}.
+	 * @return				A writer for the format, or {@code null} if no
+	 * 						writer is available for the format.
+	 * @throws IOException	If the writer could not be instantiated.
+	 */
+	public ImageWriter acquireWriter(String formatName) throws IOException {
+		ImageWriterSpi spi;
+		synchronized (writerProviders) {
+			spi = writerProviders.get(formatName);
+		}
+
+		if (spi == null) {
+			Iterator<ImageWriter> iter = ImageIO.getImageWritersByFormatName(formatName);
+			if (!iter.hasNext()) {
+				return null;
+			}
+
+			ImageWriter writer = iter.next();
+			if (writer.getOriginatingProvider() != null) {
+				synchronized (writerProviders) {
+					writerProviders.put(formatName, writer.getOriginatingProvider());
+				}
+			}
+			return writer;
+		}
+
+		ImageWriter writer = poll(writers, spi);
+		return writer != null ? writer : spi.createWriterInstance();
+	}
+
+	/**
+	 * Returns an {@link ImageWriter} to the pool.
+	 * <p>
+	 * The writer is reset, and is disposed if the pool already holds enough
+	 * idle writers of the same kind.
+	 *
+	 * @param writer	The writer to return. Should have been acquired from
+	 * 					{@link #acquireWriter(String)}.
+	 */
+	public void releaseWriter(ImageWriter writer) {
+		writer.reset();
+		if (!offer(writers, writer.getOriginatingProvider(), writer)) {
+			writer.dispose();
+		}
+	}
+
+	/**
+	 * Disposes all idle codecs held by this pool.
+	 * <p>
+	 * The pool can still be used afterwards, in which case new codecs will
+	 * be created as needed.
+	 */
+	public void dispose() {
+		synchronized (readers) {
+			for (LinkedList<ImageReader> idle : readers.values()) {
+				for (ImageReader reader : idle) {
+					reader.dispose();
+				}
+			}
+			readers.clear();
+		}
+		synchronized (writers) {
+			for (LinkedList<ImageWriter> idle : writers.values()) {
+				for (ImageWriter writer : idle) {
+					writer.dispose();
+				}
+			}
+			writers.clear();
+		}
+	}
+
+	private static <K, V> V poll(Map<K, LinkedList<V>> pool, K key) {
+		synchronized (pool) {
+			LinkedList<V> idle = pool.get(key);
+			return idle == null || idle.isEmpty() ? null : idle.removeFirst();
+		}
+	}
+
+	private <K, V> boolean offer(Map<K, LinkedList<V>> pool, K key, V codec) {
+		if (key == null) {
+			return false;
+		}
+		synchronized (pool) {
+			LinkedList<V> idle = pool.get(key);
+			if (idle == null) {
+				idle = new LinkedList<V>();
+				pool.put(key, idle);
+			}
+			if (idle.size() >= maxIdlePerCodec) {
+				return false;
+			}
+			idle.addFirst(codec);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import net.coobird.thumbnailator.util.exif.Orientation;
+
+/**
+ * Information about a source image, which is obtained from the header of
+ * the image without decoding its pixels.
+ * 
+ * @author coobird
+ * @since	0.4.22
+ * @see ProbeableImageSource#probe()
+ *
+ */
+public final class ImageInfo {
+	/**
+	 * Value returned by {@link #getNumberOfImages()} when the number of
+	 * images cannot be determined without reading the entire source.
+	 */
+	public static final int UNKNOWN_NUMBER_OF_IMAGES = -1;
+	
+	private final int width;
+	private final int height;
+	private final String formatName;
+	private final int numberOfImages;
+	private final Orientation orientation;
+	
+	/**
+	 * Instantiates an {@link ImageInfo}.
+	 * 
+	 * @param width				Width of the first image.
+	 * @param height			Height of the first image.
+	 * @param formatName		Name of the image format, or {@code null} if
+	 * 							not known.
+	 * @param numberOfImages	Number of images in the source, or
+	 * 							{@link #UNKNOWN_NUMBER_OF_IMAGES}.
+	 * @param orientation		Exif orientation of the image, or
+	 * 							{@code null} if not specified.
+	 */
+	public ImageInfo(int width, int height, String formatName, int numberOfImages, Orientation orientation) {
+		this.width = width;
+		this.height = height;
+		this.formatName = formatName;
+		this.numberOfImages = numberOfImages;
+		this.orientation = orientation;
+	}
+
+	/**
+	 * Returns the width of the first image in the source, as stored.
+	 * <p>
+	 * The width does not take the Exif orientation into account.
+	 * 
+	 * @return		The width of the image.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the first image in the source, as stored.
+	 * <p>
+	 * The height does not take the Exif orientation into account.
+	 * 
+	 * @return		The height of the image.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the name of the image format.
+	 * 
+	 * @return		The image format name, or {@code null} if there is no
+	 * 				image format information.
+	 */
+	public String getFormatName() {
+		return formatName;
+	}
+
+	/**
+	 * Returns the number of images, such as frames of an animated image, in
+	 * the source.
+	 * 
+	 * @return		The number of images, or
+	 * 				{@link #UNKNOWN_NUMBER_OF_IMAGES} if it cannot be
+	 * 				determined from the header.
+	 */
+	public int getNumberOfImages() {
+		return numberOfImages;
+	}
+
+	/**
+	 * Returns the orientation of the image specified by the Exif metadata.
+	 * 
+	 * @return		The orientation, or {@code null} if the image does not
+	 * 				specify an orientation.
+	 */
+	public Orientation getOrientation() {
+		return orientation;
+	}
+
+	/**
+	 * Returns a {@code String} representation of this object.
+	 * 
+	 * @return	{@code String} representation of this object.
+	 */
+	@Override
+	public String toString() {
+		return "ImageInfo[width=" + width + ", height=" + height
+				+ ", formatName=" + formatName
+				+ ", numberOfImages=" + numberOfImages
+				+ ", orientation=" + orientation + "]";
+	}
+}
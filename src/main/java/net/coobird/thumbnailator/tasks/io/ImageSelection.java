@@ -0,0 +1,54 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+/**
+ * Specifies which image is read from a source image which contains more
+ * than one image, such as a pyramidal TIFF which stores the same image at
+ * several resolutions, or an ICO file which stores an icon at several sizes.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public enum ImageSelection {
+	/**
+	 * Always reads the first image.
+	 */
+	FIRST,
+
+	/**
+	 * Reads the smallest image which has the aspect ratio of the first image,
+	 * and is at least as large as the thumbnail to create. The first image is
+	 * read if there is no such image.
+	 * <p>
+	 * The other images are assumed to be the first image at a different
+	 * resolution, so this setting is not suitable for sources whose images
+	 * have different content, such as the pages of a multi-page document.
+	 * Counting the images may require the reader to go through the whole
+	 * source.
+	 */
+	SMALLEST_SUFFICIENT
+}
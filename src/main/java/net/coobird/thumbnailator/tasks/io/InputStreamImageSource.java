@@ -24,11 +24,12 @@
 
 package net.coobird.thumbnailator.tasks.io;
 
+import java.awt.Dimension;
+import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -41,6 +42,10 @@ import javax.imageio.stream.ImageInputStream;
 
 import net.coobird.thumbnailator.ThumbnailParameter;
 import net.coobird.thumbnailator.filters.ImageFilter;
+import net.coobird.thumbnailator.geometry.AbsoluteSize;
+import net.coobird.thumbnailator.geometry.Coordinate;
+import net.coobird.thumbnailator.geometry.Position;
+import net.coobird.thumbnailator.geometry.Positions;
 import net.coobird.thumbnailator.geometry.Region;
 import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
 import net.coobird.thumbnailator.util.Configurations;
@@ -55,17 +60,38 @@ import net.coobird.thumbnailator.util.exif.Orientation;
  * @author coobird
  *
  */
-public class InputStreamImageSource extends AbstractImageSource<InputStream> {
+public class InputStreamImageSource extends AbstractImageSource<InputStream>
+		implements ProbeableImageSource<InputStream>, ReducibleImageSource<InputStream> {
 	/**
 	 * The index used to obtain the first image in an image file.
 	 */
 	private static final int FIRST_IMAGE_INDEX = 0;
 	
+	/**
+	 * How many times larger than the thumbnail the decoded image is kept
+	 * when {@link DecodeSubsampling#AUTO} is used. Keeping the decoded image
+	 * larger than the thumbnail lets the resizer smooth out the aliasing
+	 * caused by subsampling.
+	 */
+	private static final int AUTO_SUBSAMPLING_MARGIN = 2;
+	
 	/**
 	 * A {@link InputStream} from which the source image is to be read.
 	 */
 	private InputStream is;
 	
+	/**
+	 * The ratio of the width of the source image to the width of the image
+	 * which is being read or was last read.
+	 */
+	private double widthReduction = 1.0;
+	
+	/**
+	 * The ratio of the height of the source image to the height of the image
+	 * which is being read or was last read.
+	 */
+	private double heightReduction = 1.0;
+	
 	/**
 	 * Instantiates an {@link InputStreamImageSource} with the
 	 * {@link InputStream} which will be used to read the source image.
@@ -124,9 +150,17 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 		 */
 		private static final int INTERCEPT_THRESHOLD = 1024 * 1024;
 
+		/**
+		 * The initial capacity of the {@code buffer}.
+		 */
+		private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
 		/**
 		 * Buffer to collect the input data to read JPEG images for JFIF marker segments.
 		 * This will also be used to store the Exif data, if found.
+		 * <p>
+		 * While intercepting, the buffer can be larger than the data collected
+		 * so far. Only the first {@code totalRead} bytes are valid.
  		 */
 		private byte[] buffer = new byte[0];
 
@@ -202,6 +236,29 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 			buffer = null;
 		}
 
+		/**
+		 * Ensures that the {@code buffer} can hold the specified number of
+		 * bytes, retaining the data collected so far.
+		 * <p>
+		 * The capacity is grown geometrically, so that collecting the data
+		 * takes linear time regardless of how small each read is.
+		 *
+		 * @param capacity		The number of bytes the buffer must hold.
+		 */
+		private void ensureCapacity(int capacity) {
+			if (buffer.length >= capacity) {
+				return;
+			}
+
+			int newCapacity = Math.max(buffer.length * 2, INITIAL_BUFFER_SIZE);
+			newCapacity = Math.max(newCapacity, capacity);
+			newCapacity = Math.min(newCapacity, INTERCEPT_THRESHOLD);
+
+			byte[] newBuffer = new byte[newCapacity];
+			System.arraycopy(buffer, 0, newBuffer, 0, buffer.length);
+			buffer = newBuffer;
+		}
+
 		/**
 		 * Debug message.
 		 */
@@ -248,10 +305,8 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 			debugln("Total read: %s", totalRead);
 			debugln("Bytes read: %s", bytesRead);
 
-			byte[] tmpBuffer = new byte[totalRead];
-			System.arraycopy(buffer, 0, tmpBuffer, 0, Math.min(tmpBuffer.length, buffer.length));
-			System.arraycopy(b, off, tmpBuffer, totalRead - bytesRead, bytesRead);
-			buffer = tmpBuffer;
+			ensureCapacity(totalRead);
+			System.arraycopy(b, off, buffer, totalRead - bytesRead, bytesRead);
 
 			debugln("Source: %s", b);
 			debugln("Buffer: %s", buffer);
@@ -390,8 +445,8 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 					}
 				}
 
-				if (totalRead <= 6) {
-					// SOI (2 bytes) + marker+length (4 bytes) == 6 bytes
+				if (position + 4 > totalRead) {
+					// marker+length (4 bytes)
 					// If we didn't find a 2-byte (standalone) marker, then
 					// we'll need to wait around to get enough one for 4-byte.
 					debugln("Not enough data read. Attempt one additional read.");
@@ -411,6 +466,11 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 			return is.read();
 		}
 
+		@Override
+		public int available() throws IOException {
+			return is.available();
+		}
+
 		/**
 		 * Returns the payload length from the marker header.
 		 * @param a			First byte of payload length.
@@ -429,28 +489,176 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 		}
 	}
 
-	public BufferedImage read() throws IOException {
-		ImageInputStream iis = ImageIO.createImageInputStream(is);
-		
-		if (iis == null) {
-			throw new IOException("Could not open InputStream.");
+	/**
+	 * Returns the {@link ImageInputStream} to read the source image from.
+	 *
+	 * @return		The {@link ImageInputStream}, or {@code null} if one
+	 * 				could not be created.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	ImageInputStream createImageInputStream() throws IOException {
+		StreamCache streamCache = param != null ? param.getStreamCache() : null;
+		if (streamCache != null) {
+			return streamCache.createImageInputStream(is);
 		}
-		
-		Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
-		if (!readers.hasNext()) {
+		return ImageIO.createImageInputStream(is);
+	}
+
+	/**
+	 * Returns the Exif data captured from the raw data of the source image,
+	 * which is used when the {@link ImageReader} fails to read the Exif
+	 * metadata.
+	 *
+	 * @return		The Exif data, or {@code null} if it is not available.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	byte[] getCapturedExifData() throws IOException {
+		if (is instanceof ExifCaptureInputStream) {
+			return ((ExifCaptureInputStream)is).getExifData();
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the {@link InputStream} given to this image source until the
+	 * Exif data has been captured, or it is known not to be present.
+	 * <p>
+	 * This is for subclasses which read the image through an
+	 * {@link ImageInputStream} that does not consume the
+	 * {@link InputStream}, which leaves the Exif data uncaptured.
+	 *
+	 * @return		The Exif data, or {@code null} if it is not available.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	byte[] captureExifData() throws IOException {
+		if (!(is instanceof ExifCaptureInputStream)) {
+			return null;
+		}
+
+		ExifCaptureInputStream ecis = (ExifCaptureInputStream)is;
+		byte[] b = new byte[ExifCaptureInputStream.INITIAL_BUFFER_SIZE];
+		while (ecis.doIntercept && ecis.read(b, 0, b.length) != -1) {
+			// Reading through the stream captures the Exif data.
+		}
+
+		return ecis.getExifData();
+	}
+
+	/**
+	 * Returns an {@link ImageReader} which can read the given stream, from
+	 * the codec pool if one has been specified.
+	 *
+	 * @param iis		The stream to read.
+	 * @param pool		The codec pool, or {@code null}.
+	 * @return			An {@link ImageReader}.
+	 * @throws UnsupportedFormatException	If no reader could be found. The
+	 * 										stream is closed in this case.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	private static ImageReader acquireReader(ImageInputStream iis, ImageCodecPool pool) throws IOException {
+		ImageReader reader = null;
+		if (pool != null) {
+			reader = pool.acquireReader(iis);
+		} else {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+			if (readers.hasNext()) {
+				reader = readers.next();
+			}
+		}
+
+		if (reader == null) {
 			iis.close();
 			throw new UnsupportedFormatException(
 					UnsupportedFormatException.UNKNOWN,
 					"No suitable ImageReader found for source data."
 			);
 		}
+
+		return reader;
+	}
+
+	/**
+	 * Retrieves information about the image from its header, without
+	 * decoding the image.
+	 * <p>
+	 * As the {@link InputStream} is consumed, the image cannot be read from
+	 * this source after it has been probed.
+	 *
+	 * @return					Information about the image.
+	 * @throws UnsupportedFormatException	If the image format is not
+	 * 										supported.
+	 * @throws IOException		When a problem occurs while reading the
+	 * 							image header.
+	 * @since	0.4.22
+	 */
+	public ImageInfo probe() throws IOException {
+		ImageInputStream iis = createImageInputStream();
+		
+		if (iis == null) {
+			throw new IOException("Could not open InputStream.");
+		}
+		
+		ImageCodecPool pool = param != null ? param.getCodecPool() : null;
+		ImageReader reader = acquireReader(iis, pool);
+		reader.setInput(iis);
+
+		boolean isExceptionThrown = false;
+		try {
+			ImageInfo info = new ImageInfo(
+					reader.getWidth(FIRST_IMAGE_INDEX),
+					reader.getHeight(FIRST_IMAGE_INDEX),
+					reader.getFormatName(),
+					reader.getNumImages(false),
+					readOrientation(reader)
+			);
+
+			if (pool != null) {
+				pool.releaseReader(reader);
+				reader = null;
+			}
+
+			return info;
+
+		} catch (IOException e) {
+			isExceptionThrown = true;
+			throw e;
+
+		} finally {
+			if (reader != null) {
+				reader.dispose();
+			}
+
+			try {
+				iis.close();
+			} catch (IOException e) {
+				if (!isExceptionThrown) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	public BufferedImage read() throws IOException {
+		ImageInputStream iis = createImageInputStream();
+		
+		if (iis == null) {
+			throw new IOException("Could not open InputStream.");
+		}
 		
-		ImageReader reader = readers.next();
+		ImageCodecPool pool = param != null ? param.getCodecPool() : null;
+		ImageReader reader = acquireReader(iis, pool);
 		reader.setInput(iis);
 
 		boolean isExceptionThrown = false;
 		try {
 			BufferedImage img = readImage(reader);
+
+			// Only a reader which finished reading normally is reused.
+			if (pool != null) {
+				pool.releaseReader(reader);
+				reader = null;
+			}
+
 			return finishedReading(img);
 
 		} catch (IOException e) {
@@ -468,7 +676,9 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 			 * Issue:
 			 * https://github.com/coobird/thumbnailator/issues/42
 			 */
-			reader.dispose();
+			if (reader != null) {
+				reader.dispose();
+			}
 
 			try {
 				iis.close();
@@ -483,28 +693,80 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 		}
 	}
 
+	/**
+	 * Returns the Exif data of the first image.
+	 *
+	 * @param reader	The reader to obtain the Exif data from.
+	 * @return			The Exif data, or {@code null} if unavailable.
+	 */
+	private byte[] readExifData(ImageReader reader) {
+		// Attempt to use Exif reader of the ImageReader.
+		// If the ImageReader fails like seen in Issue #108, use the
+		// backup method of using the captured Exif data.
+		try {
+			return ExifUtils.getExifData(reader, FIRST_IMAGE_INDEX);
+		} catch (Exception e) {
+			// TODO Would be useful to capture why it didn't work.
+		}
+
+		try {
+			return getCapturedExifData();
+		} catch (Exception e) {
+			// Exif data is not available from the raw data either.
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the Exif orientation of the first image.
+	 *
+	 * @param reader	The reader to obtain the orientation from.
+	 * @return			The orientation, or {@code null} if unavailable.
+	 */
+	private Orientation readOrientation(ImageReader reader) {
+		byte[] exifData = readExifData(reader);
+		if (exifData == null) {
+			return null;
+		}
+
+		try {
+			return ExifUtils.getOrientationFromExif(exifData);
+		} catch (Exception e) {
+			// Malformed Exif data.
+			return null;
+		}
+	}
+
+	public double getWidthReduction() {
+		return widthReduction;
+	}
+
+	public double getHeightReduction() {
+		return heightReduction;
+	}
+
+	/**
+	 * Records that the image being read is reduced from the source image by
+	 * the specified ratios, in addition to any reduction recorded before.
+	 *
+	 * @param widthRatio	The ratio of the width before the reduction to
+	 * 						the width after it.
+	 * @param heightRatio	The ratio of the height before the reduction to
+	 * 						the height after it.
+	 */
+	private void reduce(double widthRatio, double heightRatio) {
+		widthReduction *= widthRatio;
+		heightReduction *= heightRatio;
+	}
+
 	private BufferedImage readImage(ImageReader reader) throws IOException {
+		widthReduction = 1.0;
+		heightReduction = 1.0;
+
 		Orientation orientation = null;
 		try {
 			if (param.useExifOrientation()) {
-
-				// Attempt to use Exif reader of the ImageReader.
-				// If the ImageReader fails like seen in Issue #108, use the
-				// backup method of using the captured Exif data.
-				boolean useExifFromRawData = false;
-				try {
-					orientation = ExifUtils.getExifOrientation(reader, FIRST_IMAGE_INDEX);
-				} catch (Exception e) {
-					// TODO Would be useful to capture why it didn't work.
-					useExifFromRawData = true;
-				}
-
-				if (useExifFromRawData && is instanceof ExifCaptureInputStream) {
-					byte[] exifData = ((ExifCaptureInputStream)is).getExifData();
-					if (exifData != null) {
-						orientation = ExifUtils.getOrientationFromExif(exifData);
-					}
-				}
+				orientation = readOrientation(reader);
 
 				// Skip this code block if there's no rotation needed.
 				if (orientation != null && orientation != Orientation.TOP_LEFT) {
@@ -528,69 +790,480 @@ public class InputStreamImageSource extends AbstractImageSource<InputStream> {
 		int width = reader.getWidth(FIRST_IMAGE_INDEX);
 		int height = reader.getHeight(FIRST_IMAGE_INDEX);
 
-		if (param != null && param.getSourceRegion() != null) {
-			Region region = param.getSourceRegion();
-			irParam.setSourceRegion(
-					calculateSourceRegion(width, height, orientation, region)
+		if (param != null && param.useEmbeddedThumbnail() && param.getSourceRegion() == null) {
+			BufferedImage thumbnail = readEmbeddedThumbnail(reader, width, height, orientation);
+			if (thumbnail != null) {
+				return thumbnail;
+			}
+		}
+
+		Region region = null;
+		if (param != null) {
+			region = param.getSourceRegion();
+			if (region == null) {
+				region = calculateCropRegion(width, height, orientation);
+			}
+		}
+
+		Rectangle sourceRegion = new Rectangle(0, 0, width, height);
+		if (region != null) {
+			sourceRegion = calculateSourceRegion(width, height, orientation, region);
+		}
+
+		int imageIndex = selectImage(reader, width, height, sourceRegion, orientation);
+		if (imageIndex != FIRST_IMAGE_INDEX) {
+			int imageWidth = reader.getWidth(imageIndex);
+			int imageHeight = reader.getHeight(imageIndex);
+			sourceRegion = scaleRegion(sourceRegion, width, height, imageWidth, imageHeight);
+
+			double widthRatio = (double)width / imageWidth;
+			double heightRatio = (double)height / imageHeight;
+			reduce(widthRatio, heightRatio);
+
+			width = imageWidth;
+			height = imageHeight;
+		}
+
+		if (region != null) {
+			irParam.setSourceRegion(sourceRegion);
+		}
+
+		int subsampling = calculateSubsampling(width, height, sourceRegion, orientation);
+		if (subsampling == 1) {
+			return reader.read(imageIndex, irParam);
+		}
+
+		if (param.useDctScaling() && imageIndex == FIRST_IMAGE_INDEX
+				&& region == null && param.getDecodeBandHeight() <= 0) {
+			BufferedImage img = readDctScaled(reader, width, height, subsampling, orientation);
+			if (img != null) {
+				return img;
+			}
+		}
+
+		// Record the subsampling, so that the thumbnail has the same size
+		// as it would have had without subsampling.
+		double widthRatio = (double)sourceRegion.width / subsampledLength(sourceRegion.width, subsampling);
+		double heightRatio = (double)sourceRegion.height / subsampledLength(sourceRegion.height, subsampling);
+		reduce(widthRatio, heightRatio);
+
+		if (param.getDecodeBandHeight() > 0) {
+			return BandedDecoder.read(
+					reader, imageIndex, irParam, sourceRegion,
+					subsampling, param.getDecodeBandHeight()
 			);
 		}
 
-		/*
-		 * FIXME Workaround to enable subsampling for large source images.
-		 *
-		 * Issue:
-		 * https://github.com/coobird/thumbnailator/issues/69
-		 */
-		if (param != null &&
-				Configurations.CONSERVE_MEMORY_WORKAROUND.getBoolean() &&
-				width > 1800 && height > 1800 &&
-				(width * height * 4L > Runtime.getRuntime().freeMemory() / 4)
-		) {
-			int subsampling = 1;
+		irParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+		return reader.read(imageIndex, irParam);
+	}
+
+	/**
+	 * Returns the region of the source image which remains after the
+	 * thumbnail is cropped at {@link ThumbnailParameter#getCropPosition()},
+	 * so that only that region is decoded.
+	 * <p>
+	 * The region is only calculated for the {@link Positions} constants,
+	 * which place the crop in the source image the same way as they do in
+	 * the thumbnail. Other positions are left to be cropped by the filter.
+	 *
+	 * @param width			Width of the source image.
+	 * @param height		Height of the source image.
+	 * @param orientation	Orientation of the source image, or {@code null}
+	 * 						if unknown.
+	 * @return				The region to decode, or {@code null} if the
+	 * 						whole source image is decoded.
+	 */
+	private Region calculateCropRegion(int width, int height, Orientation orientation) {
+		Position position = param.getCropPosition();
+		Dimension size = param.getSize();
+		if (!(position instanceof Positions) || size == null
+				|| size.width == Integer.MAX_VALUE || size.height == Integer.MAX_VALUE
+				|| !param.isKeepAspectRatio() || param.fitWithinDimenions()) {
+			return null;
+		}
+
+		// The crop position is relative to the oriented image.
+		boolean swapDimensions = isSwapDimensions(orientation);
+		int orientedWidth = !swapDimensions ? width : height;
+		int orientedHeight = !swapDimensions ? height : width;
 
-			// Calculate the maximum subsampling that can be used.
-			if (param.getSize() != null && (param.getSize().width * 2 < width && param.getSize().height * 2 < height)) {
-				int targetWidth = param.getSize().width;
-				int targetHeight = param.getSize().height;
+		double scale = Math.max((double)size.width / orientedWidth, (double)size.height / orientedHeight);
+		int cropWidth = Math.max(1, Math.min(orientedWidth, (int)Math.round(size.width / scale)));
+		int cropHeight = Math.max(1, Math.min(orientedHeight, (int)Math.round(size.height / scale)));
 
-				// Handle cases where .width() or .height() is called. (Issue 161)
-				targetWidth = targetWidth != Integer.MAX_VALUE ? targetWidth : targetHeight;
-				targetHeight = targetHeight != Integer.MAX_VALUE ? targetHeight : targetWidth;
+		Point point = position.calculate(orientedWidth, orientedHeight, cropWidth, cropHeight, 0, 0, 0, 0);
+		return new Region(new Coordinate(point.x, point.y), new AbsoluteSize(cropWidth, cropHeight));
+	}
 
-				double widthScaling = (double)width / (double)targetWidth;
-				double heightScaling = (double)height / (double)targetHeight;
+	/**
+	 * Returns the index of the image to read, as specified by
+	 * {@link ThumbnailParameter#getImageSelection()}.
+	 *
+	 * @param reader		The reader for the source image.
+	 * @param width			Width of the first image.
+	 * @param height		Height of the first image.
+	 * @param sourceRegion	Region of the first image which is decoded.
+	 * @param orientation	Orientation of the source image, or {@code null}
+	 * 						if unknown.
+	 * @return				The index of the image to read.
+	 */
+	private int selectImage(ImageReader reader, int width, int height, Rectangle sourceRegion, Orientation orientation) {
+		if (param == null || param.getImageSelection() != ImageSelection.SMALLEST_SUFFICIENT) {
+			return FIRST_IMAGE_INDEX;
+		}
 
-				subsampling = (int)Math.floor(Math.min(widthScaling, heightScaling));
+		double scale = calculateTargetScale(sourceRegion.width, sourceRegion.height, isSwapDimensions(orientation));
+		if (Double.isNaN(scale) || scale >= 1.0) {
+			return FIRST_IMAGE_INDEX;
+		}
 
-			} else if (param.getSize() == null) {
-				subsampling = (int)Math.max(1, Math.floor(1 / Math.max(param.getHeightScalingFactor(), param.getWidthScalingFactor())));
+		int selectedIndex = FIRST_IMAGE_INDEX;
+		long selectedPixels = (long)width * height;
+		try {
+			int numImages = reader.getNumImages(true);
+			for (int i = 1; i < numImages; i++) {
+				int w = reader.getWidth(i);
+				int h = reader.getHeight(i);
+				if ((long)w * h < selectedPixels && isUsableReducedImage(w, h, width, height, scale)) {
+					selectedIndex = i;
+					selectedPixels = (long)w * h;
+				}
 			}
+		} catch (Exception e) {
+			// Images which cannot be inspected are not selected.
+		}
+
+		return selectedIndex;
+	}
+
+	/**
+	 * Returns the region of an image of a different size which corresponds
+	 * to the specified region of the first image.
+	 *
+	 * @param region		Region of the first image.
+	 * @param width			Width of the first image.
+	 * @param height		Height of the first image.
+	 * @param imageWidth	Width of the image.
+	 * @param imageHeight	Height of the image.
+	 * @return				The region of the image.
+	 */
+	private static Rectangle scaleRegion(Rectangle region, int width, int height, int imageWidth, int imageHeight) {
+		int x = (int)((long)region.x * imageWidth / width);
+		int y = (int)((long)region.y * imageHeight / height);
+		int right = (int)(((long)(region.x + region.width) * imageWidth + width - 1) / width);
+		int bottom = (int)(((long)(region.y + region.height) * imageHeight + height - 1) / height);
+		return new Rectangle(x, y, Math.max(1, right - x), Math.max(1, bottom - y));
+	}
+
+	/**
+	 * Decodes a JPEG image at a reduced size by scaling in the DCT domain,
+	 * using the largest reduction which does not exceed the subsampling.
+	 *
+	 * @param reader		The reader for the source image.
+	 * @param width			Width of the source image.
+	 * @param height		Height of the source image.
+	 * @param subsampling	The subsampling factor.
+	 * @param orientation	Orientation of the source image, or {@code null}
+	 * 						if unknown.
+	 * @return				The reduced image, or {@code null} if the image
+	 * 						should be read by the reader instead.
+	 */
+	private BufferedImage readDctScaled(ImageReader reader, int width, int height, int subsampling, Orientation orientation) {
+		if (!"jpeg".equalsIgnoreCase(inputFormatName) || !(reader.getInput() instanceof ImageInputStream)) {
+			return null;
+		}
+
+		int scale = 8;
+		while (scale > subsampling) {
+			scale /= 2;
+		}
 
-			// Prevent excessive subsampling that can ruin image quality.
-			// This will ensure that at least a 600 x 600 image will be used as source.
-			for (; (width / subsampling) < 600 || (height / subsampling) < 600; subsampling--);
-
-			// If scaling factor based resize is used, need to change the scaling factor.
-			if (param.getSize() == null) {
-				try {
-					Class<?> c = param.getClass();
-					Field heightField = c.getDeclaredField("heightScalingFactor");
-					Field widthField = c.getDeclaredField("widthScalingFactor");
-					heightField.setAccessible(true);
-					widthField.setAccessible(true);
-					heightField.set(param, param.getHeightScalingFactor() * (double)subsampling);
-					widthField.set(param, param.getWidthScalingFactor() * (double)subsampling);
-
-				} catch (Exception e) {
-					// If we can't update the parameter, then disable subsampling.
-					subsampling = 1;
+		BufferedImage img;
+		try {
+			img = ScaledJpegDecoder.read((ImageInputStream)reader.getInput(), scale);
+		} catch (Exception e) {
+			// The reader reports the problem, if the image is malformed.
+			return null;
+		}
+		if (img == null) {
+			return null;
+		}
+
+		double widthRatio = (double)width / img.getWidth();
+		double heightRatio = (double)height / img.getHeight();
+		reduce(widthRatio, heightRatio);
+		return img;
+	}
+
+	/**
+	 * Returns the subsampling to use when decoding the source image.
+	 *
+	 * @param width			Width of the source image.
+	 * @param height		Height of the source image.
+	 * @param sourceRegion	Region of the source image which is decoded.
+	 * @param orientation	Orientation of the source image, or {@code null}
+	 * 						if unknown.
+	 * @return				The subsampling factor. {@code 1} indicates
+	 * 						that no subsampling should be performed.
+	 */
+	private int calculateSubsampling(int width, int height, Rectangle sourceRegion, Orientation orientation) {
+		if (param == null) {
+			return 1;
+		}
+
+		DecodeSubsampling decodeSubsampling = param.getDecodeSubsampling();
+		if (decodeSubsampling == null && param.getDecodeBandHeight() > 0) {
+			decodeSubsampling = DecodeSubsampling.AUTO;
+		}
+
+		int subsampling;
+		if (decodeSubsampling == null) {
+			subsampling = calculateConserveMemorySubsampling(width, height);
+		} else if (decodeSubsampling.isAuto()) {
+			subsampling = calculateAutoSubsampling(
+					sourceRegion.width, sourceRegion.height, isSwapDimensions(orientation)
+			);
+		} else {
+			subsampling = decodeSubsampling.getFactor();
+		}
+
+		// The subsampled image should be at least one pixel.
+		int maxSubsampling = Math.min(sourceRegion.width, sourceRegion.height);
+		return Math.max(1, Math.min(subsampling, maxSubsampling));
+	}
+
+	/**
+	 * Returns the largest subsampling which keeps the decoded image at least
+	 * {@link #AUTO_SUBSAMPLING_MARGIN} times as large as the thumbnail.
+	 *
+	 * @param width				Width of the region to decode.
+	 * @param height			Height of the region to decode.
+	 * @param swapDimensions	Whether the width and height of the thumbnail
+	 * 							are swapped relative to the source image.
+	 * @return					The subsampling factor.
+	 */
+	private int calculateAutoSubsampling(int width, int height, boolean swapDimensions) {
+		double scale = calculateTargetScale(width, height, swapDimensions) * AUTO_SUBSAMPLING_MARGIN;
+		if (Double.isNaN(scale) || scale >= 1.0) {
+			return 1;
+		}
+
+		return (int)Math.floor(1.0 / scale);
+	}
+
+	/**
+	 * Returns the factor by which the source image is scaled to make the
+	 * thumbnail. If the width and height are scaled by different factors,
+	 * the larger factor is returned.
+	 *
+	 * @param width				Width of the region to decode.
+	 * @param height			Height of the region to decode.
+	 * @param swapDimensions	Whether the width and height of the thumbnail
+	 * 							are swapped relative to the source image.
+	 * @return					The scaling factor.
+	 */
+	private double calculateTargetScale(int width, int height, boolean swapDimensions) {
+		double widthScale;
+		double heightScale;
+
+		if (param.getSize() != null) {
+			int targetWidth = param.getSize().width;
+			int targetHeight = param.getSize().height;
+			if (swapDimensions) {
+				targetWidth = param.getSize().height;
+				targetHeight = param.getSize().width;
+			}
+
+			// Handle cases where .width() or .height() is called.
+			widthScale = targetWidth != Integer.MAX_VALUE ? (double)targetWidth / width : Double.NaN;
+			heightScale = targetHeight != Integer.MAX_VALUE ? (double)targetHeight / height : Double.NaN;
+			widthScale = !Double.isNaN(widthScale) ? widthScale : heightScale;
+			heightScale = !Double.isNaN(heightScale) ? heightScale : widthScale;
+
+			if (param.isKeepAspectRatio()) {
+				double scale = param.fitWithinDimenions() ?
+						Math.min(widthScale, heightScale) : Math.max(widthScale, heightScale);
+				widthScale = scale;
+				heightScale = scale;
+			}
+
+		} else {
+			// The scaling factors apply to the source image, rather than to
+			// a reduced image which has been selected.
+			widthScale = (!swapDimensions ? param.getWidthScalingFactor() : param.getHeightScalingFactor()) * widthReduction;
+			heightScale = (!swapDimensions ? param.getHeightScalingFactor() : param.getWidthScalingFactor()) * heightReduction;
+		}
+
+		return Math.max(widthScale, heightScale);
+	}
+
+	/**
+	 * Reads the smallest thumbnail embedded in the source image which is
+	 * at least as large as the thumbnail to create.
+	 * <p>
+	 * Thumbnails provided by the {@link ImageReader}, such as JFIF
+	 * thumbnails, are looked for first, followed by the Exif thumbnail.
+	 * When a thumbnail is returned, its size relative to the source image
+	 * is recorded as the reduction of the image which was read.
+	 *
+	 * @param reader		The reader which is reading the source image.
+	 * @param width			Width of the source image.
+	 * @param height		Height of the source image.
+	 * @param orientation	Orientation of the source image, or {@code null}
+	 * 						if unknown.
+	 * @return				The embedded thumbnail, or {@code null} if there
+	 * 						is no suitable embedded thumbnail.
+	 */
+	private BufferedImage readEmbeddedThumbnail(ImageReader reader, int width, int height, Orientation orientation) {
+		double scale = calculateTargetScale(width, height, isSwapDimensions(orientation));
+		if (Double.isNaN(scale) || scale >= 1.0) {
+			return null;
+		}
+
+		BufferedImage thumbnail = null;
+		try {
+			int thumbnailIndex = -1;
+			int thumbnailWidth = Integer.MAX_VALUE;
+			if (reader.readerSupportsThumbnails()) {
+				int numThumbnails = reader.getNumThumbnails(FIRST_IMAGE_INDEX);
+				for (int i = 0; i < numThumbnails; i++) {
+					int w = reader.getThumbnailWidth(FIRST_IMAGE_INDEX, i);
+					int h = reader.getThumbnailHeight(FIRST_IMAGE_INDEX, i);
+					if (w < thumbnailWidth && isUsableReducedImage(w, h, width, height, scale)) {
+						thumbnailIndex = i;
+						thumbnailWidth = w;
+					}
+				}
+			}
+
+			if (thumbnailIndex != -1) {
+				thumbnail = reader.readThumbnail(FIRST_IMAGE_INDEX, thumbnailIndex);
+			} else {
+				byte[] exifData = readExifData(reader);
+				byte[] data = exifData != null ? ExifUtils.getThumbnailFromExif(exifData) : null;
+				if (data != null) {
+					BufferedImage img = ImageIO.read(new ByteBufferImageInputStream(ByteBuffer.wrap(data)));
+					if (img != null && isUsableReducedImage(img.getWidth(), img.getHeight(), width, height, scale)) {
+						thumbnail = img;
+					}
 				}
 			}
+		} catch (Exception e) {
+			// A broken embedded thumbnail should not prevent the source
+			// image from being read.
+			return null;
+		}
 
-			irParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+		if (thumbnail == null) {
+			return null;
 		}
 
-		return reader.read(FIRST_IMAGE_INDEX, irParam);
+		double widthRatio = (double)width / thumbnail.getWidth();
+		double heightRatio = (double)height / thumbnail.getHeight();
+		reduce(widthRatio, heightRatio);
+
+		return thumbnail;
+	}
+
+	/**
+	 * Returns whether a reduced version of the source image, such as an
+	 * embedded thumbnail or a lower resolution image, can be used in place
+	 * of the source image.
+	 * <p>
+	 * The reduced image must have the aspect ratio of the source image, as
+	 * embedded thumbnails with a different aspect ratio are padded with
+	 * borders, and other images with a different aspect ratio are not the
+	 * same image. It also must not be smaller than the thumbnail to create.
+	 *
+	 * @param reducedWidth		Width of the reduced image.
+	 * @param reducedHeight		Height of the reduced image.
+	 * @param width				Width of the source image.
+	 * @param height			Height of the source image.
+	 * @param scale				Factor by which the source image is scaled.
+	 * @return					{@code true} if the reduced image can be
+	 * 							used.
+	 */
+	private static boolean isUsableReducedImage(int reducedWidth, int reducedHeight, int width, int height, double scale) {
+		if (reducedWidth <= 0 || reducedHeight <= 0) {
+			return false;
+		}
+
+		// Allow for the rounding of the dimensions of the reduced image.
+		double expectedHeight = (double)reducedWidth * height / width;
+		double expectedWidth = (double)reducedHeight * width / height;
+		if (Math.abs(expectedHeight - reducedHeight) > 1.0 && Math.abs(expectedWidth - reducedWidth) > 1.0) {
+			return false;
+		}
+
+		return reducedWidth >= Math.round(width * scale)
+				&& reducedHeight >= Math.round(height * scale);
+	}
+
+	/**
+	 * Returns the subsampling used by the workaround which is enabled by the
+	 * {@code thumbnailator.conserveMemoryWorkaround} system property.
+	 *
+	 * Issue:
+	 * https://github.com/coobird/thumbnailator/issues/69
+	 *
+	 * @param width			Width of the source image.
+	 * @param height		Height of the source image.
+	 * @return				The subsampling factor.
+	 */
+	private int calculateConserveMemorySubsampling(int width, int height) {
+		if (!(Configurations.CONSERVE_MEMORY_WORKAROUND.getBoolean() &&
+				width > 1800 && height > 1800 &&
+				(width * height * 4L > Runtime.getRuntime().freeMemory() / 4))
+		) {
+			return 1;
+		}
+
+		int subsampling = 1;
+
+		// Calculate the maximum subsampling that can be used.
+		if (param.getSize() != null && (param.getSize().width * 2 < width && param.getSize().height * 2 < height)) {
+			int targetWidth = param.getSize().width;
+			int targetHeight = param.getSize().height;
+
+			// Handle cases where .width() or .height() is called. (Issue 161)
+			targetWidth = targetWidth != Integer.MAX_VALUE ? targetWidth : targetHeight;
+			targetHeight = targetHeight != Integer.MAX_VALUE ? targetHeight : targetWidth;
+
+			double widthScaling = (double)width / (double)targetWidth;
+			double heightScaling = (double)height / (double)targetHeight;
+
+			subsampling = (int)Math.floor(Math.min(widthScaling, heightScaling));
+
+		} else if (param.getSize() == null) {
+			double scale = Math.max(param.getHeightScalingFactor(), param.getWidthScalingFactor())
+					* Math.max(widthReduction, heightReduction);
+			subsampling = (int)Math.max(1, Math.floor(1 / scale));
+		}
+
+		// Prevent excessive subsampling that can ruin image quality.
+		// This will ensure that at least a 600 x 600 image will be used as source.
+		for (; (width / subsampling) < 600 || (height / subsampling) < 600; subsampling--);
+
+		return subsampling;
+	}
+
+	/**
+	 * Returns the number of pixels along one axis after subsampling.
+	 */
+	private static int subsampledLength(int length, int subsampling) {
+		return (length + subsampling - 1) / subsampling;
+	}
+
+	/**
+	 * Returns whether the orientation swaps the width and height of the
+	 * source image.
+	 */
+	private static boolean isSwapDimensions(Orientation orientation) {
+		return orientation == Orientation.LEFT_TOP
+				|| orientation == Orientation.RIGHT_TOP
+				|| orientation == Orientation.RIGHT_BOTTOM
+				|| orientation == Orientation.LEFT_BOTTOM;
 	}
 
 	private Rectangle calculateSourceRegion(int width, int height, Orientation orientation, Region region) {
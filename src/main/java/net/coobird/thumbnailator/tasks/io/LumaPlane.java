@@ -0,0 +1,157 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * The luma (brightness) of an image, averaged over blocks of pixels, and
+ * the structural similarity (SSIM) index between two such planes.
+ * <p>
+ * Images whose smaller side is larger than 256 pixels are downsampled, as
+ * suggested for the SSIM index, which also reduces the time taken to
+ * compare them. The arrays of a plane are reused by
+ * {@link #set(BufferedImage)}, so that many images of the same size can be
+ * compared without allocating.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+final class LumaPlane {
+	/**
+	 * The size of the side of the windows over which the SSIM index is
+	 * computed.
+	 */
+	private static final int WINDOW_SIZE = 8;
+
+	/**
+	 * The distance between the windows over which the SSIM index is
+	 * computed.
+	 */
+	private static final int WINDOW_STRIDE = 4;
+
+	/**
+	 * Constants which stabilize the SSIM index of windows with a low mean or
+	 * variance, for 8-bit samples.
+	 */
+	private static final double C1 = (0.01 * 255) * (0.01 * 255);
+	private static final double C2 = (0.03 * 255) * (0.03 * 255);
+
+	private final int factor;
+	private final int width;
+	private final int height;
+	private final float[] luma;
+	private final int[] row;
+
+	/**
+	 * Creates a plane for images of the specified size.
+	 *
+	 * @param imageWidth	The width of the images.
+	 * @param imageHeight	The height of the images.
+	 */
+	LumaPlane(int imageWidth, int imageHeight) {
+		factor = Math.max(1, Math.round(Math.min(imageWidth, imageHeight) / 256f));
+		width = Math.max(1, imageWidth / factor);
+		height = Math.max(1, imageHeight / factor);
+		luma = new float[width * height];
+		row = new int[imageWidth];
+	}
+
+	/**
+	 * Sets the luma of this plane from the specified image, which should be
+	 * of the size this plane was created for.
+	 *
+	 * @param img		The image.
+	 */
+	void set(BufferedImage img) {
+		int imageWidth = Math.min(img.getWidth(), width * factor);
+		int imageHeight = Math.min(img.getHeight(), height * factor);
+
+		Arrays.fill(luma, 0f);
+		for (int y = 0; y < imageHeight; y++) {
+			img.getRGB(0, y, imageWidth, 1, row, 0, imageWidth);
+			int offset = (y / factor) * width;
+			for (int x = 0; x < imageWidth; x++) {
+				int rgb = row[x];
+				int r = (rgb >> 16) & 0xff;
+				int g = (rgb >> 8) & 0xff;
+				int b = rgb & 0xff;
+				luma[offset + x / factor] += 0.299f * r + 0.587f * g + 0.114f * b;
+			}
+		}
+
+		float scale = 1f / (factor * factor);
+		for (int i = 0; i < luma.length; i++) {
+			luma[i] *= scale;
+		}
+	}
+
+	/**
+	 * Returns the mean SSIM index between this plane and another plane of
+	 * the same size.
+	 *
+	 * @param other		The other plane.
+	 * @return			The SSIM index, which is {@code 1.0} for identical
+	 * 					planes.
+	 */
+	double ssim(LumaPlane other) {
+		int windowWidth = Math.min(WINDOW_SIZE, width);
+		int windowHeight = Math.min(WINDOW_SIZE, height);
+		int n = windowWidth * windowHeight;
+
+		double total = 0;
+		int windows = 0;
+		for (int top = 0; top + windowHeight <= height; top += WINDOW_STRIDE) {
+			for (int left = 0; left + windowWidth <= width; left += WINDOW_STRIDE) {
+				double sumA = 0, sumB = 0, sumAA = 0, sumBB = 0, sumAB = 0;
+				for (int y = top; y < top + windowHeight; y++) {
+					int offset = y * width;
+					for (int x = left; x < left + windowWidth; x++) {
+						double a = luma[offset + x];
+						double b = other.luma[offset + x];
+						sumA += a;
+						sumB += b;
+						sumAA += a * a;
+						sumBB += b * b;
+						sumAB += a * b;
+					}
+				}
+
+				double meanA = sumA / n;
+				double meanB = sumB / n;
+				double varA = sumAA / n - meanA * meanA;
+				double varB = sumBB / n - meanB * meanB;
+				double cov = sumAB / n - meanA * meanB;
+
+				total += ((2 * meanA * meanB + C1) * (2 * cov + C2))
+						/ ((meanA * meanA + meanB * meanB + C1) * (varA + varB + C2));
+				windows++;
+			}
+		}
+
+		return total / windows;
+	}
+}
@@ -48,7 +48,7 @@ import net.coobird.thumbnailator.util.ThumbnailatorUtils;
  * @author coobird
  *
  */
-public class OutputStreamImageSink extends AbstractImageSink<OutputStream> {
+public class OutputStreamImageSink extends AbstractImageSink<OutputStream> implements EncodedImageSink<OutputStream> {
 	/**
 	 * The {@link OutputStream} to which the thumbnail image is to be
 	 * written to.
@@ -97,17 +97,140 @@ public class OutputStreamImageSink extends AbstractImageSink<OutputStream> {
 		}
 		
 		String formatName = outputFormat;
-			
-		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+		ImageWriter writer = acquireWriter(formatName, param);
+		
+		/*
+		 * The following line is not surrounded by a try-catch, as catching
+		 * the `IOException` and re-throwing would not give a good feedback as
+		 * to what is causing the original `IOException`.
+		 * 
+		 * It would have been informative to have the `IOException` which
+		 * caused this problem, but the `IOException` in Java 5 does not
+		 * have a "cause" parameter.
+		 * 
+		 * The "cause" parameter has been introduced in Java 6:
+		 * http://docs.oracle.com/javase/6/docs/api/java/io/IOException.html#IOException%28java.lang.String,%20java.lang.Throwable%29
+		 * 
+		 * TODO Include `cause` in exception when moving codebase to Java 6+
+		 *
+		 * TODO Whether to surround this portion of code in a try-catch
+		 *      is debatable, as it wouldn't really add more utility.
+		 *
+		 *      Furthermore, there are other calls in this method which will
+		 *      throw `IOException`s, but they are not surrounded by try-catch
+		 *      blocks. (A similar example existed in the `FileImageSink`
+		 *      where the `ImageIO.createImageOutputStream` was not surrounded
+		 *      in a try-catch.)
+		 *
+		 * Related issue:
+		 * https://github.com/coobird/thumbnailator/issues/37
+		 */
+		ImageOutputStream ios;
+		StreamCache streamCache = param != null ? param.getStreamCache() : null;
+		if (streamCache != null) {
+			ios = streamCache.createImageOutputStream(os);
+		} else {
+			ios = ImageIO.createImageOutputStream(os);
+		}
 		
-		if (!writers.hasNext()) {
+		if (ios == null) {
+			throw new IOException("Could not open OutputStream.");
+		}
+
+		writeImage(writer, img, formatName, param, ios);
+		
+		ios.close();
+	}
+
+	/**
+	 * Returns whether images of the specified type have opaque RGB pixels,
+	 * which the JPEG and BMP writers write as they are.
+	 */
+	private static boolean isOpaqueRgbType(int imageType) {
+		return imageType == BufferedImage.TYPE_INT_RGB
+				|| imageType == BufferedImage.TYPE_INT_BGR
+				|| imageType == BufferedImage.TYPE_3BYTE_BGR;
+	}
+
+	/**
+	 * Writes an image which has already been encoded to the
+	 * {@link OutputStream}, as is.
+	 * 
+	 * @param data				The encoded image.
+	 * @param formatName		The name of the format the image is encoded in.
+	 * @throws IOException		When a problem occurs while writing the image.
+	 * @throws NullPointerException		If the data or format name is
+	 * 									{@code null}.
+	 * @since 0.4.22
+	 */
+	public void writeEncoded(byte[] data, String formatName) throws IOException {
+		if (data == null) {
+			throw new NullPointerException("Data is null.");
+		}
+		if (formatName == null) {
+			throw new NullPointerException("Format name is null.");
+		}
+		
+		os.write(data);
+	}
+
+	/**
+	 * Returns an {@link ImageWriter} for the specified format.
+	 * <p>
+	 * The writer is taken from the {@link ImageCodecPool} of the parameter,
+	 * if one is set.
+	 *
+	 * @param formatName	The name of the output format.
+	 * @param param			The parameters of the thumbnail, or
+	 * 						{@code null}.
+	 * @return				An {@link ImageWriter} for the format.
+	 * @throws UnsupportedFormatException	If no writer is available for the
+	 * 										format.
+	 * @throws IOException					If the writer could not be
+	 * 										obtained from the pool.
+	 */
+	static ImageWriter acquireWriter(String formatName, ThumbnailParameter param) throws IOException {
+		ImageCodecPool pool = param != null ? param.getCodecPool() : null;
+
+		ImageWriter writer = null;
+		if (pool != null) {
+			writer = pool.acquireWriter(formatName);
+		} else {
+			Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+			if (writers.hasNext()) {
+				writer = writers.next();
+			}
+		}
+		
+		if (writer == null) {
 			throw new UnsupportedFormatException(
 					formatName,
 					"No suitable ImageWriter found for " + formatName + "."
 			);
 		}
 		
-		ImageWriter writer = writers.next();
+		return writer;
+	}
+
+	/**
+	 * Writes an image with the specified {@link ImageWriter}, using the
+	 * output quality and format type of the parameter.
+	 * <p>
+	 * Once the image has been written, the writer is returned to the
+	 * {@link ImageCodecPool} of the parameter, or disposed if there is none.
+	 * The {@link ImageOutputStream} is not closed.
+	 *
+	 * @param writer		The writer obtained from
+	 * 						{@link #acquireWriter(String, ThumbnailParameter)}.
+	 * @param img			The image to write.
+	 * @param formatName	The name of the output format.
+	 * @param param			The parameters of the thumbnail, or
+	 * 						{@code null}.
+	 * @param ios			The stream to write the image to.
+	 * @throws IOException	When a problem occurs while writing the image.
+	 */
+	static void writeImage(ImageWriter writer, BufferedImage img, String formatName, ThumbnailParameter param, ImageOutputStream ios) throws IOException {
+		ImageCodecPool pool = param != null ? param.getCodecPool() : null;
 		
 		ImageWriteParam writeParam = writer.getDefaultWriteParam();
 		if (writeParam.canWriteCompressed()) {
@@ -159,38 +282,6 @@ public class OutputStreamImageSink extends AbstractImageSink<OutputStream> {
 			}
 		}
 
-		/*
-		 * The following line is not surrounded by a try-catch, as catching
-		 * the `IOException` and re-throwing would not give a good feedback as
-		 * to what is causing the original `IOException`.
-		 * 
-		 * It would have been informative to have the `IOException` which
-		 * caused this problem, but the `IOException` in Java 5 does not
-		 * have a "cause" parameter.
-		 * 
-		 * The "cause" parameter has been introduced in Java 6:
-		 * http://docs.oracle.com/javase/6/docs/api/java/io/IOException.html#IOException%28java.lang.String,%20java.lang.Throwable%29
-		 * 
-		 * TODO Include `cause` in exception when moving codebase to Java 6+
-		 *
-		 * TODO Whether to surround this portion of code in a try-catch
-		 *      is debatable, as it wouldn't really add more utility.
-		 *
-		 *      Furthermore, there are other calls in this method which will
-		 *      throw `IOException`s, but they are not surrounded by try-catch
-		 *      blocks. (A similar example existed in the `FileImageSink`
-		 *      where the `ImageIO.createImageOutputStream` was not surrounded
-		 *      in a try-catch.)
-		 *
-		 * Related issue:
-		 * https://github.com/coobird/thumbnailator/issues/37
-		 */
-		ImageOutputStream ios = ImageIO.createImageOutputStream(os);
-		
-		if (ios == null) {
-			throw new IOException("Could not open OutputStream.");
-		}
-		
 		/*
 		 * Note:
 		 * The following code is a workaround for the JPEG writer which ships
@@ -209,26 +300,88 @@ public class OutputStreamImageSink extends AbstractImageSink<OutputStream> {
 		 * 
 		 * Also, the BMP writer appears not to support ARGB, so an RGB image
 		 * will be produced before saving.
+		 *
+		 * Thumbnails which are to be written in these formats are usually
+		 * made with an RGB image type by Thumbnailator.createThumbnail, and
+		 * images of other opaque RGB types are written as they are, in which
+		 * case the copy is not necessary.
 		 */
-		if (isJpegOrBmp(formatName)) {
+		if (ThumbnailatorUtils.isOpaqueOutputFormat(formatName)
+				&& !isOpaqueRgbType(img.getType())) {
 			img = BufferedImages.copy(img, BufferedImage.TYPE_INT_RGB);
 		}
 		
-		writer.setOutput(ios);
-		writer.write(null, new IIOImage(img, null, null), writeParam);
+		long targetFileSize = param != null ? param.getTargetFileSize() : 0;
+		double targetSsim = param != null ? param.getTargetSsim() : Double.NaN;
+		if ((targetFileSize > 0 || !Double.isNaN(targetSsim)) && isLossyCompression(writeParam)) {
+			/*
+			 * The quality is searched for by encoding the image into
+			 * in-memory buffers, and only the chosen encode is written.
+			 *
+			 * The quality is never higher than the specified output quality.
+			 * For the target SSIM index, the highest quality is used when the
+			 * output quality is not specified, as images with flat areas can
+			 * need more than the default quality to meet the target.
+			 * When both targets are specified, the quality chosen for the
+			 * SSIM index is lowered further if the target file size is not
+			 * met.
+			 */
+			float highest = writeParam.getCompressionQuality();
+			QualitySearch search = new QualitySearch(writer, writeParam, img, pool);
+			try {
+				if (!Double.isNaN(targetSsim)) {
+					if (Float.isNaN(param.getOutputQuality())) {
+						highest = 1.0f;
+					}
+					highest = search.searchForSsim(highest, targetSsim);
+				}
+				if (targetFileSize > 0) {
+					search.searchForFileSize(highest, targetFileSize);
+				}
+			} finally {
+				search.close();
+			}
+			search.writeTo(ios);
+		} else {
+			writer.setOutput(ios);
+			writer.write(null, new IIOImage(img, null, null), writeParam);
+		}
 		
-		/*
-		 * Dispose the writer to free resources.
-		 * 
-		 * This seems to be the main culprit of `OutOfMemoryError`s which
-		 * started to frequently appear with Java 7 Update 21.
-		 * 
-		 * Issue:
-		 * https://github.com/coobird/thumbnailator/issues/42
-		 */
-		writer.dispose();
+		if (pool != null) {
+			pool.releaseWriter(writer);
+		} else {
+			/*
+			 * Dispose the writer to free resources.
+			 * 
+			 * This seems to be the main culprit of `OutOfMemoryError`s which
+			 * started to frequently appear with Java 7 Update 21.
+			 * 
+			 * Issue:
+			 * https://github.com/coobird/thumbnailator/issues/42
+			 */
+			writer.dispose();
+		}
+	}
+
+	/**
+	 * Returns whether the compression quality of the writer can be set, and
+	 * affects the size of the encoded image.
+	 */
+	private static boolean isLossyCompression(ImageWriteParam writeParam) {
+		if (!writeParam.canWriteCompressed()) {
+			return false;
+		}
 		
-		ios.close();
+		try {
+			setCompressionModeExplicit(writeParam);
+			return !writeParam.isCompressionLossless();
+			
+		} catch (IllegalStateException e) {
+			// Thrown if a compression type is necessary, but is not set.
+			return false;
+		} catch (UnsupportedOperationException e) {
+			return false;
+		}
 	}
 
 	/**
@@ -238,28 +391,22 @@ public class OutputStreamImageSink extends AbstractImageSink<OutputStream> {
 	 *
 	 * @param writeParam	Current image writer parameters.
 	 */
-	private void setCompressionModeExplicit(ImageWriteParam writeParam) {
+	private static void setCompressionModeExplicit(ImageWriteParam writeParam) {
 		if (writeParam.getCompressionMode() != ImageWriteParam.MODE_EXPLICIT) {
 			writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
 		}
 	}
 
-	private boolean isJpegOrBmp(String formatName) {
-		return formatName.equalsIgnoreCase("jpg")
-				|| formatName.equalsIgnoreCase("jpeg")
-				|| formatName.equalsIgnoreCase("bmp");
-	}
-
-	private boolean isPng(String formatName) {
+	private static boolean isPng(String formatName) {
 		return formatName.equalsIgnoreCase("png");
 	}
 
-	private boolean isDefaultPngWriter(ImageWriter writer) {
+	private static boolean isDefaultPngWriter(ImageWriter writer) {
 		String writerClassName = writer.getClass().getName();
 		return "com.sun.imageio.plugins.png.PNGImageWriter".equals(writerClassName);
 	}
 
-	private boolean isJava9OrNewer() {
+	private static boolean isJava9OrNewer() {
 		String version = System.getProperty("java.specification.version");
 		// Up to Java 8, specification version was 1.x.
 		return version != null && !version.contains(".");
@@ -0,0 +1,52 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+
+/**
+ * An {@link ImageSource} which can obtain information about the source
+ * image from its header, without decoding the image.
+ * 
+ * @param <T> 		The source class from which the source image is retrieved
+ * 					or read.
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public interface ProbeableImageSource<T> extends ImageSource<T> {
+	/**
+	 * Retrieves information about the image from the source, without
+	 * decoding the image.
+	 * <p>
+	 * Sources which can only be read once, such as an
+	 * {@link java.io.InputStream}, cannot be read after being probed.
+	 * 
+	 * @return					Information about the image.
+	 * @throws IOException		When a problem occurs while reading or
+	 * 							obtaining the image header.
+	 */
+	public ImageInfo probe() throws IOException;
+}
@@ -0,0 +1,268 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Searches for the compression quality with which an image is written, by
+ * encoding the image into in-memory buffers with different qualities.
+ * <p>
+ * The same {@link ImageWriter}, {@link ImageReader} and buffers are used for
+ * all the trial encodes of an image. Once the quality has been chosen, the
+ * encode with that quality is written with {@link #writeTo(ImageOutputStream)}.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+final class QualitySearch {
+	/**
+	 * The number of steps in the binary search for the compression quality.
+	 */
+	private static final int SEARCH_STEPS = 6;
+
+	private final ImageWriter writer;
+	private final ImageWriteParam writeParam;
+	private final IIOImage image;
+	private final ImageCodecPool pool;
+
+	/**
+	 * The buffer the trial encodes are written to.
+	 */
+	private ByteArrayImageOutputStream trial = new ByteArrayImageOutputStream();
+
+	/**
+	 * The buffer holding the chosen encode, if {@link #hasBest} is
+	 * {@code true}.
+	 */
+	private ByteArrayImageOutputStream best = new ByteArrayImageOutputStream();
+	private boolean hasBest = false;
+	private float bestQuality;
+
+	/**
+	 * The reader used to decode trial encodes, and the image it last decoded,
+	 * which is reused as the destination of the next decode.
+	 */
+	private ImageReader reader;
+	private BufferedImage decoded;
+
+	/**
+	 * Creates a search for the compression quality of an image.
+	 *
+	 * @param writer		The writer to encode the image with.
+	 * @param writeParam	The parameters of the writer, with the
+	 * 						compression mode set to explicit.
+	 * @param img			The image to write.
+	 * @param pool			The pool to obtain a reader from, or
+	 * 						{@code null}.
+	 */
+	QualitySearch(ImageWriter writer, ImageWriteParam writeParam, BufferedImage img, ImageCodecPool pool) {
+		this.writer = writer;
+		this.writeParam = writeParam;
+		this.image = new IIOImage(img, null, null);
+		this.pool = pool;
+	}
+
+	/**
+	 * Chooses the lowest compression quality at which the decoded image has
+	 * a structural similarity (SSIM) index of at least the target with the
+	 * image.
+	 * <p>
+	 * If the target cannot be met, the highest quality is chosen.
+	 *
+	 * @param highest		The highest quality which can be chosen.
+	 * @param targetSsim	The target SSIM index.
+	 * @return				The chosen quality.
+	 * @throws IOException	When a problem occurs while encoding or decoding
+	 * 						the image.
+	 */
+	float searchForSsim(float highest, double targetSsim) throws IOException {
+		BufferedImage img = (BufferedImage)image.getRenderedImage();
+		LumaPlane reference = new LumaPlane(img.getWidth(), img.getHeight());
+		reference.set(img);
+		LumaPlane candidate = new LumaPlane(img.getWidth(), img.getHeight());
+
+		float lowest = 0.0f;
+		for (int i = 0; i < SEARCH_STEPS; i++) {
+			float quality = (lowest + highest) / 2;
+			encode(quality, Long.MAX_VALUE);
+
+			BufferedImage decodedImage = decodeTrial();
+			if (decodedImage == null) {
+				// Without a reader for the format, the quality can't be judged.
+				break;
+			}
+			candidate.set(decodedImage);
+
+			if (reference.ssim(candidate) >= targetSsim) {
+				keepTrial(quality);
+				highest = quality;
+			} else {
+				lowest = quality;
+			}
+		}
+
+		if (!hasBest || bestQuality != highest) {
+			encode(highest, Long.MAX_VALUE);
+			keepTrial(highest);
+		}
+		return highest;
+	}
+
+	/**
+	 * Chooses the highest compression quality at which the encoded image
+	 * does not exceed the target file size.
+	 * <p>
+	 * If the image cannot be encoded within the target file size, the lowest
+	 * quality is chosen.
+	 *
+	 * @param highest			The highest quality which can be chosen.
+	 * @param targetFileSize	The largest number of bytes of the encoded
+	 * 							image.
+	 * @throws IOException		When a problem occurs while encoding the
+	 * 							image.
+	 */
+	void searchForFileSize(float highest, long targetFileSize) throws IOException {
+		if (hasBest && bestQuality == highest) {
+			if (best.length() <= targetFileSize) {
+				return;
+			}
+		} else if (encode(highest, targetFileSize)) {
+			keepTrial(highest);
+			return;
+		}
+
+		hasBest = false;
+		float lowest = 0.0f;
+		for (int i = 0; i < SEARCH_STEPS; i++) {
+			float quality = (lowest + highest) / 2;
+			if (encode(quality, targetFileSize)) {
+				keepTrial(quality);
+				lowest = quality;
+			} else {
+				highest = quality;
+			}
+		}
+
+		if (!hasBest) {
+			encode(0.0f, Long.MAX_VALUE);
+			keepTrial(0.0f);
+		}
+	}
+
+	/**
+	 * Writes the chosen encode to the specified stream.
+	 *
+	 * @param ios			The stream to write to.
+	 * @throws IOException	When a problem occurs while writing.
+	 */
+	void writeTo(ImageOutputStream ios) throws IOException {
+		best.writeTo(ios);
+	}
+
+	/**
+	 * Returns the reader used to decode trial encodes to the pool, or
+	 * disposes it if there is no pool.
+	 */
+	void close() {
+		if (reader == null) {
+			return;
+		}
+
+		if (pool != null) {
+			pool.releaseReader(reader);
+		} else {
+			reader.dispose();
+		}
+		reader = null;
+	}
+
+	/**
+	 * Encodes the image into the trial buffer, stopping if the encoded image
+	 * exceeds the limit.
+	 *
+	 * @return				{@code true} if the image was encoded within the
+	 * 						limit, {@code false} otherwise.
+	 */
+	private boolean encode(float quality, long limit) throws IOException {
+		trial.clear();
+		trial.setLimit(limit);
+		writeParam.setCompressionQuality(quality);
+		writer.setOutput(trial);
+
+		try {
+			writer.write(null, image, writeParam);
+			return true;
+
+		} catch (ByteArrayImageOutputStream.LimitExceededException e) {
+			// Discards the state of the stopped encode.
+			writer.reset();
+			return false;
+		}
+	}
+
+	/**
+	 * Keeps the encode in the trial buffer as the chosen encode, and reuses
+	 * the buffer of the previously chosen encode for the next trial.
+	 */
+	private void keepTrial(float quality) {
+		ByteArrayImageOutputStream previous = best;
+		best = trial;
+		trial = previous;
+		hasBest = true;
+		bestQuality = quality;
+	}
+
+	/**
+	 * Decodes the encode in the trial buffer.
+	 *
+	 * @return				The decoded image, or {@code null} if no reader
+	 * 						is available for the format.
+	 */
+	private BufferedImage decodeTrial() throws IOException {
+		trial.rewind();
+		if (reader == null) {
+			reader = pool != null ? pool.acquireReader(trial) : ImageIO.getImageReader(writer);
+			if (reader == null) {
+				return null;
+			}
+		}
+
+		reader.setInput(trial, true, true);
+		ImageReadParam readParam = reader.getDefaultReadParam();
+		readParam.setDestination(decoded);
+		decoded = reader.read(0, readParam);
+		return decoded;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+/**
+ * An {@link ImageSource} which can read the source image at a reduced size,
+ * such as by subsampling it while it is decoded, or by reading an embedded
+ * thumbnail in its place.
+ * <p>
+ * When a thumbnail is made by scaling the source image, the scaling factors
+ * are multiplied by the reductions of the image which was read, so that the
+ * thumbnail has the same size as if it were made from the source image.
+ *
+ * @param <T> 		The source class from which the source image is retrieved
+ * 					or read.
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public interface ReducibleImageSource<T> extends ImageSource<T> {
+	/**
+	 * Returns the ratio of the width of the source image to the width of
+	 * the image which was last returned by {@link #read()}.
+	 *
+	 * @return					The reduction of the width, which is
+	 * 							{@code 1.0} if the image was not reduced,
+	 * 							or has not been read yet.
+	 */
+	public double getWidthReduction();
+
+	/**
+	 * Returns the ratio of the height of the source image to the height of
+	 * the image which was last returned by {@link #read()}.
+	 *
+	 * @return					The reduction of the height, which is
+	 * 							{@code 1.0} if the image was not reduced,
+	 * 							or has not been read yet.
+	 */
+	public double getHeightReduction();
+}
@@ -0,0 +1,997 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.imageio.IIOException;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Decodes a JPEG image at 1/2, 1/4 or 1/8 of its size, by performing a
+ * reduced-size inverse DCT on the low-frequency coefficients of each block.
+ * <p>
+ * Unlike subsampling the pixels of a fully decoded image, the image is never
+ * decoded at full resolution, and each pixel of the reduced image represents
+ * the whole area it covers rather than a single pixel of the source image.
+ * <p>
+ * Only 8-bit baseline, extended sequential and progressive JPEGs with
+ * Huffman coding, and with one (grayscale) or three (YCbCr or RGB)
+ * components, are supported. For other images, including those with an
+ * embedded ICC profile, {@code null} is returned so that the image can be
+ * decoded by an {@link javax.imageio.ImageReader} instead.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+final class ScaledJpegDecoder {
+	/**
+	 * The natural (row-major) order index of each coefficient, in the
+	 * zig-zag order in which coefficients are stored.
+	 */
+	private static final int[] ZIGZAG = {
+			0,  1,  8, 16,  9,  2,  3, 10,
+			17, 24, 32, 25, 18, 11,  4,  5,
+			12, 19, 26, 33, 40, 48, 41, 34,
+			27, 20, 13,  6,  7, 14, 21, 28,
+			35, 42, 49, 56, 57, 50, 43, 36,
+			29, 22, 15, 23, 30, 37, 44, 51,
+			58, 59, 52, 45, 38, 31, 39, 46,
+			53, 60, 61, 54, 47, 55, 62, 63,
+	};
+
+	/**
+	 * The number of bits of a Huffman code which are decoded by table
+	 * lookup. Longer codes are decoded bit by bit.
+	 */
+	private static final int LOOKAHEAD = 9;
+
+	/**
+	 * A component of the frame.
+	 */
+	private static final class Component {
+		int id;
+		int h;
+		int v;
+		int quantTable;
+		HuffmanTable dcTable;
+		HuffmanTable acTable;
+
+		/** Number of blocks per line and column, including MCU padding. */
+		int blocksWide;
+		int blocksHigh;
+
+		/** Number of blocks covering the component, without MCU padding. */
+		int usedBlocksWide;
+		int usedBlocksHigh;
+
+		/** The DC prediction of the current scan. */
+		int pred;
+
+		/** Coefficients of all blocks, if the scans are buffered. */
+		short[] coefficients;
+
+		/** The decoded samples at the reduced size. */
+		byte[] samples;
+		int samplesStride;
+
+		/** Size of the decoded samples which cover the image. */
+		int samplesWidth;
+		int samplesHeight;
+	}
+
+	/**
+	 * A Huffman table.
+	 */
+	private static final class HuffmanTable {
+		/** {@code (length << 8) | value} for codes of up to LOOKAHEAD bits. */
+		final int[] lookup = new int[1 << LOOKAHEAD];
+		final int[] maxCode = new int[18];
+		final int[] valueOffset = new int[17];
+		final int[] values;
+
+		HuffmanTable(int[] counts, int[] values) throws IIOException {
+			this.values = values;
+
+			int code = 0;
+			int k = 0;
+			for (int length = 1; length <= 16; length++) {
+				valueOffset[length] = k - code;
+				for (int i = 0; i < counts[length]; i++) {
+					if (length <= LOOKAHEAD) {
+						int shift = LOOKAHEAD - length;
+						int entry = (length << 8) | values[k];
+						for (int j = 0; j < (1 << shift); j++) {
+							lookup[(code << shift) | j] = entry;
+						}
+					}
+					code++;
+					k++;
+				}
+				maxCode[length] = counts[length] > 0 ? code - 1 : -1;
+				if (code > (1 << length)) {
+					throw new IIOException("Invalid Huffman table.");
+				}
+				code <<= 1;
+			}
+			maxCode[17] = Integer.MAX_VALUE;
+		}
+	}
+
+	private final byte[] data;
+	private final int length;
+	private int pos;
+
+	/** Width and height of each reduced block. */
+	private final int blockSize;
+
+	/** Inverse DCT matrix for the reduced block size. */
+	private final float[] idctMatrix;
+	private final float[] idctTemp = new float[64];
+	private final short[] blockTemp = new short[64];
+
+	private final int[][] quantTables = new int[4][];
+	private final HuffmanTable[] dcTables = new HuffmanTable[4];
+	private final HuffmanTable[] acTables = new HuffmanTable[4];
+
+	private Component[] components;
+	private int width;
+	private int height;
+	private boolean progressive;
+	private int maxH;
+	private int maxV;
+	private int mcusWide;
+	private int mcusHigh;
+	private int restartInterval;
+	private int adobeTransform = -1;
+	private boolean buffered;
+
+	private int eobRun;
+	private int bitBuffer;
+	private int bitCount;
+	private boolean hitMarker;
+
+	/**
+	 * Instantiates a decoder.
+	 *
+	 * @param data		The JPEG data.
+	 * @param length	The number of bytes of JPEG data in the array.
+	 * @param scale		The factor to reduce the image by.
+	 */
+	private ScaledJpegDecoder(byte[] data, int length, int scale) {
+		this.data = data;
+		this.length = length;
+		this.blockSize = 8 / scale;
+		this.idctMatrix = createIdctMatrix(blockSize);
+	}
+
+	/**
+	 * Returns whether the specified factor is supported by this decoder.
+	 *
+	 * @param scale		The factor to reduce the image by.
+	 * @return			{@code true} if the factor is 2, 4 or 8.
+	 */
+	static boolean isSupportedScale(int scale) {
+		return scale == 2 || scale == 4 || scale == 8;
+	}
+
+	/**
+	 * Decodes the JPEG image from the beginning of the specified stream,
+	 * reduced by the specified factor.
+	 * <p>
+	 * The reduced image is {@code ceil(width / scale)} by
+	 * {@code ceil(height / scale)} pixels.
+	 *
+	 * @param iis		The stream to read the JPEG image from. The stream
+	 * 					is read from position {@code 0}.
+	 * @param scale		The factor to reduce the image by, which is 2, 4
+	 * 					or 8.
+	 * @return			The reduced image, or {@code null} if the image is
+	 * 					not supported by this decoder.
+	 * @throws IOException	If the image could not be read, or the image is
+	 * 						malformed.
+	 */
+	static BufferedImage read(ImageInputStream iis, int scale) throws IOException {
+		if (!isSupportedScale(scale)) {
+			throw new IllegalArgumentException("Unsupported scale: " + scale);
+		}
+
+		iis.seek(0);
+
+		long streamLength = iis.length();
+		byte[] data = new byte[streamLength > 0 && streamLength < Integer.MAX_VALUE ? (int)streamLength : 64 * 1024];
+		int length = 0;
+		while (true) {
+			if (length == data.length) {
+				byte[] newData = new byte[data.length * 2];
+				System.arraycopy(data, 0, newData, 0, length);
+				data = newData;
+			}
+			int bytesRead = iis.read(data, length, data.length - length);
+			if (bytesRead == -1) {
+				break;
+			}
+			length += bytesRead;
+		}
+
+		return new ScaledJpegDecoder(data, length, scale).decode();
+	}
+
+	/**
+	 * Returns the matrix which performs the inverse DCT of the first
+	 * {@code n} coefficients of an 8-point DCT, producing {@code n}
+	 * samples.
+	 * <p>
+	 * The matrix is scaled so that each of the {@code n} samples is the
+	 * average of the {@code 8 / n} samples of the full inverse DCT which
+	 * it replaces, in the case of a constant signal.
+	 */
+	private static float[] createIdctMatrix(int n) {
+		float[] matrix = new float[n * n];
+		for (int i = 0; i < n; i++) {
+			for (int u = 0; u < n; u++) {
+				double c = u == 0 ? Math.sqrt(1.0 / n) : Math.sqrt(2.0 / n);
+				matrix[i * n + u] = (float)(Math.sqrt(n / 8.0) * c
+						* Math.cos((2 * i + 1) * u * Math.PI / (2 * n)));
+			}
+		}
+		return matrix;
+	}
+
+	private BufferedImage decode() throws IOException {
+		if (length < 2 || (data[0] & 0xff) != 0xFF || (data[1] & 0xff) != 0xD8) {
+			throw new IIOException("Not a JPEG image.");
+		}
+		pos = 2;
+
+		while (true) {
+			int marker = nextMarker();
+			if (marker == -1 || marker == 0xD9) {
+				// End of data, or EOI.
+				break;
+			}
+
+			if (marker >= 0xD0 && marker <= 0xD7) {
+				// Stray RSTn, which has no payload.
+				continue;
+			}
+
+			int segmentStart = pos + 2;
+			int segmentEnd = pos + readUnsignedShort(pos);
+			if (segmentEnd > length) {
+				throw new IIOException("Truncated JPEG segment.");
+			}
+
+			switch (marker) {
+			case 0xC0:
+			case 0xC1:
+				if (!readFrame(segmentStart, false)) {
+					return null;
+				}
+				break;
+			case 0xC2:
+				if (!readFrame(segmentStart, true)) {
+					return null;
+				}
+				break;
+			case 0xC3:
+			case 0xC5:
+			case 0xC6:
+			case 0xC7:
+			case 0xC9:
+			case 0xCA:
+			case 0xCB:
+			case 0xCD:
+			case 0xCE:
+			case 0xCF:
+			case 0xDC:
+				// Lossless, hierarchical and arithmetic coding, and DNL.
+				return null;
+			case 0xC4:
+				readHuffmanTables(segmentStart, segmentEnd);
+				break;
+			case 0xDB:
+				readQuantizationTables(segmentStart, segmentEnd);
+				break;
+			case 0xDD:
+				restartInterval = readUnsignedShort(segmentStart);
+				break;
+			case 0xE2:
+				if (startsWith(segmentStart, segmentEnd, "ICC_PROFILE")) {
+					return null;
+				}
+				break;
+			case 0xEE:
+				if (startsWith(segmentStart, segmentEnd, "Adobe") && segmentEnd - segmentStart >= 12) {
+					adobeTransform = data[segmentStart + 11] & 0xff;
+				}
+				break;
+			case 0xDA:
+				if (components == null) {
+					throw new IIOException("SOS before SOF.");
+				}
+				pos = segmentEnd;
+				readScan(segmentStart);
+				continue;
+			default:
+				// Other markers do not affect decoding.
+				break;
+			}
+
+			pos = segmentEnd;
+		}
+
+		if (components == null) {
+			throw new IIOException("No frame found.");
+		}
+
+		if (buffered) {
+			for (Component c : components) {
+				for (int by = 0; by < c.blocksHigh; by++) {
+					for (int bx = 0; bx < c.blocksWide; bx++) {
+						inverseDct(c, c.coefficients, (by * c.blocksWide + bx) * 64, bx, by);
+					}
+				}
+			}
+		}
+
+		return createImage();
+	}
+
+	private boolean readFrame(int offset, boolean isProgressive) throws IIOException {
+		if (components != null) {
+			throw new IIOException("Multiple frames.");
+		}
+
+		int precision = data[offset] & 0xff;
+		height = readUnsignedShort(offset + 1);
+		width = readUnsignedShort(offset + 3);
+		int numComponents = data[offset + 5] & 0xff;
+
+		if (precision != 8 || (numComponents != 1 && numComponents != 3)) {
+			return false;
+		}
+		if (width == 0 || height == 0) {
+			// Height defined by a DNL marker.
+			return false;
+		}
+
+		progressive = isProgressive;
+		components = new Component[numComponents];
+		for (int i = 0; i < numComponents; i++) {
+			int p = offset + 6 + i * 3;
+			Component c = new Component();
+			c.id = data[p] & 0xff;
+			c.h = (data[p + 1] & 0xff) >> 4;
+			c.v = data[p + 1] & 0x0f;
+			c.quantTable = data[p + 2] & 0x03;
+			if (c.h < 1 || c.h > 4 || c.v < 1 || c.v > 4) {
+				throw new IIOException("Invalid sampling factor.");
+			}
+			maxH = Math.max(maxH, c.h);
+			maxV = Math.max(maxV, c.v);
+			components[i] = c;
+		}
+
+		mcusWide = (width + 8 * maxH - 1) / (8 * maxH);
+		mcusHigh = (height + 8 * maxV - 1) / (8 * maxV);
+
+		for (Component c : components) {
+			c.blocksWide = mcusWide * c.h;
+			c.blocksHigh = mcusHigh * c.v;
+
+			int componentWidth = (width * c.h + maxH - 1) / maxH;
+			int componentHeight = (height * c.v + maxV - 1) / maxV;
+			c.usedBlocksWide = (componentWidth + 7) / 8;
+			c.usedBlocksHigh = (componentHeight + 7) / 8;
+
+			int scale = 8 / blockSize;
+			c.samplesWidth = (componentWidth + scale - 1) / scale;
+			c.samplesHeight = (componentHeight + scale - 1) / scale;
+			c.samplesStride = c.blocksWide * blockSize;
+			c.samples = new byte[c.samplesStride * c.blocksHigh * blockSize];
+		}
+
+		return true;
+	}
+
+	private void readHuffmanTables(int offset, int end) throws IIOException {
+		while (offset < end) {
+			int tableClass = (data[offset] & 0xff) >> 4;
+			int tableId = data[offset] & 0x03;
+			offset++;
+
+			int[] counts = new int[17];
+			int total = 0;
+			for (int i = 1; i <= 16; i++) {
+				counts[i] = data[offset + i - 1] & 0xff;
+				total += counts[i];
+			}
+			offset += 16;
+
+			if (offset + total > end) {
+				throw new IIOException("Truncated Huffman table.");
+			}
+			int[] values = new int[total];
+			for (int i = 0; i < total; i++) {
+				values[i] = data[offset + i] & 0xff;
+			}
+			offset += total;
+
+			HuffmanTable table = new HuffmanTable(counts, values);
+			if (tableClass == 0) {
+				dcTables[tableId] = table;
+			} else {
+				acTables[tableId] = table;
+			}
+		}
+	}
+
+	private void readQuantizationTables(int offset, int end) throws IIOException {
+		while (offset < end) {
+			int precision = (data[offset] & 0xff) >> 4;
+			int tableId = data[offset] & 0x03;
+			offset++;
+
+			int[] table = new int[64];
+			for (int i = 0; i < 64; i++) {
+				if (precision == 0) {
+					table[ZIGZAG[i]] = data[offset + i] & 0xff;
+				} else {
+					table[ZIGZAG[i]] = readUnsignedShort(offset + i * 2);
+				}
+			}
+			offset += precision == 0 ? 64 : 128;
+
+			if (offset > end) {
+				throw new IIOException("Truncated quantization table.");
+			}
+			quantTables[tableId] = table;
+		}
+	}
+
+	private void readScan(int offset) throws IOException {
+		int numComponents = data[offset] & 0xff;
+		Component[] scanComponents = new Component[numComponents];
+		for (int i = 0; i < numComponents; i++) {
+			int id = data[offset + 1 + i * 2] & 0xff;
+			int tables = data[offset + 2 + i * 2] & 0xff;
+
+			Component c = null;
+			for (Component candidate : components) {
+				if (candidate.id == id) {
+					c = candidate;
+				}
+			}
+			if (c == null) {
+				throw new IIOException("Unknown component in scan.");
+			}
+			c.dcTable = dcTables[tables >> 4];
+			c.acTable = acTables[tables & 0x03];
+			if (quantTables[c.quantTable] == null) {
+				throw new IIOException("Missing quantization table.");
+			}
+			scanComponents[i] = c;
+		}
+
+		int p = offset + 1 + numComponents * 2;
+		int spectralStart = data[p] & 0xff;
+		int spectralEnd = data[p + 1] & 0xff;
+		int successiveHigh = (data[p + 2] & 0xff) >> 4;
+		int successiveLow = data[p + 2] & 0x0f;
+
+		if (!buffered && (progressive || numComponents != components.length)) {
+			// The coefficients of a block arrive over multiple scans.
+			for (Component c : components) {
+				c.coefficients = new short[c.blocksWide * c.blocksHigh * 64];
+			}
+			buffered = true;
+		}
+
+		decodeScan(scanComponents, spectralStart, spectralEnd, successiveHigh, successiveLow);
+	}
+
+	private void decodeScan(Component[] scanComponents, int ss, int se, int ah, int al) throws IOException {
+		resetBits();
+		eobRun = 0;
+		for (Component c : scanComponents) {
+			c.pred = 0;
+			boolean needsDc = !progressive || ss == 0;
+			boolean needsAc = !progressive || ss > 0;
+			if ((needsDc && ah == 0 && c.dcTable == null) || (needsAc && c.acTable == null)) {
+				throw new IIOException("Missing Huffman table.");
+			}
+		}
+
+		boolean single = scanComponents.length == 1;
+		int unitsWide = single ? scanComponents[0].usedBlocksWide : mcusWide;
+		int unitsHigh = single ? scanComponents[0].usedBlocksHigh : mcusHigh;
+		int units = unitsWide * unitsHigh;
+
+		for (int n = 0; n < units; n++) {
+			if (restartInterval > 0 && n > 0 && n % restartInterval == 0) {
+				processRestart();
+				eobRun = 0;
+				for (Component c : scanComponents) {
+					c.pred = 0;
+				}
+			}
+
+			int ux = n % unitsWide;
+			int uy = n / unitsWide;
+			if (single) {
+				decodeBlock(scanComponents[0], ux, uy, ss, se, ah, al);
+			} else {
+				for (Component c : scanComponents) {
+					for (int v = 0; v < c.v; v++) {
+						for (int h = 0; h < c.h; h++) {
+							decodeBlock(c, ux * c.h + h, uy * c.v + v, ss, se, ah, al);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void decodeBlock(Component c, int bx, int by, int ss, int se, int ah, int al) throws IOException {
+		if (!buffered) {
+			short[] block = blockTemp;
+			Arrays.fill(block, (short)0);
+			decodeSequential(c, block, 0);
+			inverseDct(c, block, 0, bx, by);
+			return;
+		}
+
+		int offset = (by * c.blocksWide + bx) * 64;
+		if (!progressive) {
+			decodeSequential(c, c.coefficients, offset);
+		} else if (ss == 0) {
+			decodeDcProgressive(c, c.coefficients, offset, ah, al);
+		} else if (ah == 0) {
+			decodeAcFirst(c, c.coefficients, offset, ss, se, al);
+		} else {
+			decodeAcRefine(c, c.coefficients, offset, ss, se, al);
+		}
+	}
+
+	private void decodeSequential(Component c, short[] block, int offset) throws IOException {
+		int t = decodeHuffman(c.dcTable);
+		int diff = t == 0 ? 0 : extend(readBits(t), t);
+		c.pred += diff;
+		block[offset] = (short)c.pred;
+
+		for (int k = 1; k < 64; k++) {
+			int rs = decodeHuffman(c.acTable);
+			int s = rs & 0x0f;
+			int r = rs >> 4;
+			if (s == 0) {
+				if (r != 15) {
+					break;
+				}
+				k += 15;
+				continue;
+			}
+			k += r;
+			if (k > 63) {
+				throw new IIOException("Invalid AC coefficient index.");
+			}
+			block[offset + ZIGZAG[k]] = (short)extend(readBits(s), s);
+		}
+	}
+
+	private void decodeDcProgressive(Component c, short[] block, int offset, int ah, int al) throws IOException {
+		if (ah == 0) {
+			int t = decodeHuffman(c.dcTable);
+			int diff = t == 0 ? 0 : extend(readBits(t), t);
+			c.pred += diff;
+			block[offset] = (short)(c.pred * (1 << al));
+		} else if (readBits(1) != 0) {
+			block[offset] |= (short)(1 << al);
+		}
+	}
+
+	private void decodeAcFirst(Component c, short[] block, int offset, int ss, int se, int al) throws IOException {
+		if (eobRun > 0) {
+			eobRun--;
+			return;
+		}
+
+		for (int k = ss; k <= se; k++) {
+			int rs = decodeHuffman(c.acTable);
+			int s = rs & 0x0f;
+			int r = rs >> 4;
+			if (s == 0) {
+				if (r != 15) {
+					eobRun = (1 << r) - 1;
+					if (r > 0) {
+						eobRun += readBits(r);
+					}
+					break;
+				}
+				k += 15;
+				continue;
+			}
+			k += r;
+			if (k > 63) {
+				throw new IIOException("Invalid AC coefficient index.");
+			}
+			block[offset + ZIGZAG[k]] = (short)(extend(readBits(s), s) * (1 << al));
+		}
+	}
+
+	private void decodeAcRefine(Component c, short[] block, int offset, int ss, int se, int al) throws IOException {
+		int p1 = 1 << al;
+		int m1 = -1 << al;
+		int k = ss;
+
+		if (eobRun == 0) {
+			for (; k <= se; k++) {
+				int rs = decodeHuffman(c.acTable);
+				int s = rs & 0x0f;
+				int r = rs >> 4;
+				if (s != 0) {
+					s = readBits(1) != 0 ? p1 : m1;
+				} else if (r != 15) {
+					eobRun = 1 << r;
+					if (r > 0) {
+						eobRun += readBits(r);
+					}
+					break;
+				}
+
+				// Skip r zero-history coefficients, refining the nonzero
+				// coefficients which are passed over.
+				while (k <= se) {
+					int z = offset + ZIGZAG[k];
+					if (block[z] != 0) {
+						refine(block, z, p1, m1);
+					} else {
+						if (r == 0) {
+							break;
+						}
+						r--;
+					}
+					k++;
+				}
+
+				if (s != 0 && k <= se) {
+					block[offset + ZIGZAG[k]] = (short)s;
+				}
+			}
+		}
+
+		if (eobRun > 0) {
+			for (; k <= se; k++) {
+				int z = offset + ZIGZAG[k];
+				if (block[z] != 0) {
+					refine(block, z, p1, m1);
+				}
+			}
+			eobRun--;
+		}
+	}
+
+	private void refine(short[] block, int z, int p1, int m1) throws IOException {
+		if (readBits(1) != 0 && (block[z] & p1) == 0) {
+			block[z] += block[z] >= 0 ? p1 : m1;
+		}
+	}
+
+	/**
+	 * Performs the reduced inverse DCT of a block, and stores the samples.
+	 */
+	private void inverseDct(Component c, short[] block, int offset, int bx, int by) {
+		int[] q = quantTables[c.quantTable];
+		int n = blockSize;
+		byte[] samples = c.samples;
+		int stride = c.samplesStride;
+		int out = by * n * stride + bx * n;
+
+		if (n == 1) {
+			samples[out] = clamp(Math.round(block[offset] * q[0] / 8f) + 128);
+			return;
+		}
+
+		float[] m = idctMatrix;
+		float[] temp = idctTemp;
+
+		// Rows: temp[u][j] = sum over v of F(u, v) * m[j][v]
+		for (int u = 0; u < n; u++) {
+			for (int j = 0; j < n; j++) {
+				float sum = 0;
+				for (int v = 0; v < n; v++) {
+					int index = u * 8 + v;
+					sum += block[offset + index] * q[index] * m[j * n + v];
+				}
+				temp[u * n + j] = sum;
+			}
+		}
+
+		// Columns: sample[i][j] = sum over u of m[i][u] * temp[u][j]
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				float sum = 0;
+				for (int u = 0; u < n; u++) {
+					sum += m[i * n + u] * temp[u * n + j];
+				}
+				samples[out + i * stride + j] = clamp(Math.round(sum) + 128);
+			}
+		}
+	}
+
+	private static byte clamp(int value) {
+		return (byte)(value < 0 ? 0 : (value > 255 ? 255 : value));
+	}
+
+	private static int clampToInt(int value) {
+		return value < 0 ? 0 : (value > 255 ? 255 : value);
+	}
+
+	private BufferedImage createImage() {
+		int outWidth = (width + (8 / blockSize) - 1) / (8 / blockSize);
+		int outHeight = (height + (8 / blockSize) - 1) / (8 / blockSize);
+
+		if (components.length == 1) {
+			Component c = components[0];
+			BufferedImage img = new BufferedImage(outWidth, outHeight, BufferedImage.TYPE_BYTE_GRAY);
+			WritableRaster raster = img.getRaster();
+			byte[] row = new byte[outWidth];
+			for (int y = 0; y < outHeight; y++) {
+				System.arraycopy(c.samples, y * c.samplesStride, row, 0, outWidth);
+				raster.setDataElements(0, y, outWidth, 1, row);
+			}
+			return img;
+		}
+
+		boolean isRgb;
+		if (adobeTransform != -1) {
+			isRgb = adobeTransform == 0;
+		} else {
+			isRgb = components[0].id == 'R' && components[1].id == 'G' && components[2].id == 'B';
+		}
+
+		int[][] samples = new int[3][];
+		for (int i = 0; i < 3; i++) {
+			samples[i] = new int[outWidth * outHeight];
+			upsample(components[i], samples[i], outWidth, outHeight);
+		}
+
+		BufferedImage img = new BufferedImage(outWidth, outHeight, BufferedImage.TYPE_INT_RGB);
+		WritableRaster raster = img.getRaster();
+		int[] row = new int[outWidth];
+		for (int y = 0; y < outHeight; y++) {
+			for (int x = 0; x < outWidth; x++) {
+				int i = y * outWidth + x;
+				int a = samples[0][i];
+				int b = samples[1][i];
+				int c = samples[2][i];
+
+				if (isRgb) {
+					row[x] = (a << 16) | (b << 8) | c;
+				} else {
+					int cb = b - 128;
+					int cr = c - 128;
+					int red = clampToInt(a + ((91881 * cr + 32768) >> 16));
+					int green = clampToInt(a - ((22554 * cb + 46802 * cr - 32768) >> 16));
+					int blue = clampToInt(a + ((116130 * cb + 32768) >> 16));
+					row[x] = (red << 16) | (green << 8) | blue;
+				}
+			}
+			raster.setDataElements(0, y, outWidth, 1, row);
+		}
+		return img;
+	}
+
+	/**
+	 * Resamples the samples of a component to the size of the image, by
+	 * linear interpolation between the centers of the samples.
+	 */
+	private void upsample(Component c, int[] out, int outWidth, int outHeight) {
+		int[] columns = new int[outWidth];
+		int[] columnWeights = new int[outWidth];
+		interpolationPoints(c.samplesWidth, c.h, maxH, columns, columnWeights);
+
+		int[] rows = new int[outHeight];
+		int[] rowWeights = new int[outHeight];
+		interpolationPoints(c.samplesHeight, c.v, maxV, rows, rowWeights);
+
+		byte[] samples = c.samples;
+		int stride = c.samplesStride;
+		int lastColumn = c.samplesWidth - 1;
+		int lastRow = c.samplesHeight - 1;
+
+		for (int y = 0; y < outHeight; y++) {
+			int row0 = rows[y] * stride;
+			int row1 = Math.min(rows[y] + 1, lastRow) * stride;
+			int wy = rowWeights[y];
+
+			for (int x = 0; x < outWidth; x++) {
+				int x0 = columns[x];
+				int x1 = Math.min(x0 + 1, lastColumn);
+				int wx = columnWeights[x];
+
+				int top = (samples[row0 + x0] & 0xff) * (256 - wx) + (samples[row0 + x1] & 0xff) * wx;
+				int bottom = (samples[row1 + x0] & 0xff) * (256 - wx) + (samples[row1 + x1] & 0xff) * wx;
+				out[y * outWidth + x] = (top * (256 - wy) + bottom * wy + (1 << 15)) >> 16;
+			}
+		}
+	}
+
+	/**
+	 * Calculates, for each pixel along one axis of the image, the sample
+	 * before it and the weight of the sample after it, out of 256.
+	 */
+	private static void interpolationPoints(int size, int factor, int maxFactor, int[] indices, int[] weights) {
+		for (int i = 0; i < indices.length; i++) {
+			// Centers of pixels and samples are aligned.
+			int position = ((2 * i + 1) * factor * 256) / (2 * maxFactor) - 128;
+			if (position <= 0) {
+				indices[i] = 0;
+				weights[i] = 0;
+			} else if (position >= (size - 1) * 256) {
+				indices[i] = size - 1;
+				weights[i] = 0;
+			} else {
+				indices[i] = position >> 8;
+				weights[i] = position & 0xff;
+			}
+		}
+	}
+
+	private int readUnsignedShort(int offset) throws IIOException {
+		if (offset + 1 >= length) {
+			throw new IIOException("Unexpected end of JPEG data.");
+		}
+		return ((data[offset] & 0xff) << 8) | (data[offset + 1] & 0xff);
+	}
+
+	private boolean startsWith(int offset, int end, String identifier) {
+		if (end - offset < identifier.length()) {
+			return false;
+		}
+		for (int i = 0; i < identifier.length(); i++) {
+			if (data[offset + i] != identifier.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Moves past the next marker, and returns its code.
+	 *
+	 * @return		The marker code, or {@code -1} if the end of the data
+	 * 				has been reached.
+	 */
+	private int nextMarker() {
+		while (pos + 1 < length) {
+			if ((data[pos] & 0xff) == 0xFF) {
+				int code = data[pos + 1] & 0xff;
+				if (code != 0 && code != 0xFF) {
+					pos += 2;
+					return code;
+				}
+			}
+			pos++;
+		}
+		return -1;
+	}
+
+	private void processRestart() {
+		resetBits();
+
+		// Find the RSTn marker, and move past it.
+		int p = pos;
+		while (p + 1 < length) {
+			if ((data[p] & 0xff) == 0xFF) {
+				int code = data[p + 1] & 0xff;
+				if (code >= 0xD0 && code <= 0xD7) {
+					pos = p + 2;
+					return;
+				}
+				if (code != 0 && code != 0xFF) {
+					// Another marker; the data is truncated.
+					pos = p;
+					hitMarker = true;
+					return;
+				}
+			}
+			p++;
+		}
+	}
+
+	private void resetBits() {
+		bitBuffer = 0;
+		bitCount = 0;
+		hitMarker = false;
+	}
+
+	private void fillBits() {
+		while (bitCount <= 24) {
+			int b = 0;
+			if (!hitMarker && pos < length) {
+				b = data[pos] & 0xff;
+				if (b == 0xFF) {
+					int next = pos + 1 < length ? data[pos + 1] & 0xff : -1;
+					if (next == 0) {
+						pos += 2;
+					} else {
+						// A marker ends the entropy-coded data. Zeros are
+						// supplied from here on.
+						hitMarker = true;
+						b = 0;
+					}
+				} else {
+					pos++;
+				}
+			}
+			bitBuffer = (bitBuffer << 8) | b;
+			bitCount += 8;
+		}
+	}
+
+	private int peekBits(int n) {
+		if (bitCount < n) {
+			fillBits();
+		}
+		return (bitBuffer >>> (bitCount - n)) & ((1 << n) - 1);
+	}
+
+	private int readBits(int n) {
+		if (n == 0) {
+			return 0;
+		}
+		int value = peekBits(n);
+		bitCount -= n;
+		return value;
+	}
+
+	private int decodeHuffman(HuffmanTable table) throws IIOException {
+		int entry = table.lookup[peekBits(LOOKAHEAD)];
+		if (entry != 0) {
+			bitCount -= entry >> 8;
+			return entry & 0xff;
+		}
+
+		int code = readBits(LOOKAHEAD);
+		int length = LOOKAHEAD;
+		do {
+			code = (code << 1) | readBits(1);
+			length++;
+		} while (length <= 16 && code > table.maxCode[length]);
+
+		if (length > 16) {
+			throw new IIOException("Invalid Huffman code.");
+		}
+		return table.values[table.valueOffset[length] + code];
+	}
+
+	private static int extend(int value, int bits) {
+		return value < (1 << (bits - 1)) ? value - (1 << bits) + 1 : value;
+	}
+}
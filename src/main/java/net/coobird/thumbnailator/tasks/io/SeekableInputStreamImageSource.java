@@ -0,0 +1,61 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * An {@link InputStreamImageSource} which reads the image through a seekable
+ * {@link ImageInputStream} over the same data as the {@link InputStream}.
+ * <p>
+ * As the image is not read from the {@link InputStream}, the stream is only
+ * read when the Exif data has to be captured from the raw data.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+abstract class SeekableInputStreamImageSource extends InputStreamImageSource {
+	/**
+	 * Instantiates a {@link SeekableInputStreamImageSource}.
+	 *
+	 * @param is		An {@link InputStream} which reads the same data as
+	 * 					the {@link ImageInputStream}, from the beginning.
+	 */
+	SeekableInputStreamImageSource(InputStream is) {
+		super(is);
+	}
+
+	@Override
+	abstract ImageInputStream createImageInputStream() throws IOException;
+
+	@Override
+	byte[] getCapturedExifData() throws IOException {
+		return captureExifData();
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Stores the data of a stream in memory, until it grows larger than a
+ * limit, at which point the data is moved to a temporary file, and all
+ * further data is stored there.
+ * <p>
+ * This allows data of which the size is not known in advance to be cached
+ * in memory when it is small, without holding large data in memory.
+ * <p>
+ * Data which is no longer needed can be discarded with
+ * {@link #discardBefore(long)}. Only the data in memory is released, so
+ * that the limit applies to the data which has not been discarded.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+final class SpillingCache {
+	/**
+	 * The size of data in bytes which is stored in memory.
+	 */
+	private final long memoryLimit;
+
+	/**
+	 * The data stored in memory, starting from {@link #start}, or
+	 * {@code null} once the data has been moved to a file.
+	 */
+	private byte[] buffer = new byte[8192];
+
+	/**
+	 * The file which stores the data, or {@code null} while the data is
+	 * stored in memory.
+	 */
+	private File file;
+	private RandomAccessFile cacheFile;
+
+	/**
+	 * The length of the data which has been stored.
+	 */
+	private long length = 0;
+
+	/**
+	 * The position of the first byte held in memory. Data before this
+	 * position has been discarded.
+	 */
+	private long start = 0;
+
+	/**
+	 * Creates a cache which stores up to the specified size of data in
+	 * memory.
+	 *
+	 * @param memoryLimit	The size of data in bytes stored in memory.
+	 */
+	SpillingCache(long memoryLimit) {
+		this.memoryLimit = memoryLimit;
+	}
+
+	/**
+	 * Returns the length of the data which has been stored.
+	 *
+	 * @return			The length of the data.
+	 */
+	long length() {
+		return length;
+	}
+
+	/**
+	 * Returns whether the data is stored in a file.
+	 *
+	 * @return			{@code true} if the data is stored in a file.
+	 */
+	boolean isInFile() {
+		return cacheFile != null;
+	}
+
+	/**
+	 * Stores the data at the specified position, which may not be beyond
+	 * the end of the stored data, nor before data which has been discarded.
+	 *
+	 * @param pos		The position to store the data at.
+	 * @param b			The data.
+	 * @param off		The offset of the data in the array.
+	 * @param len		The length of the data.
+	 * @throws IOException	If the data could not be written to the file.
+	 */
+	void write(long pos, byte[] b, int off, int len) throws IOException {
+		long end = pos + len;
+		if (cacheFile == null && end - start > memoryLimit) {
+			moveToFile();
+		}
+
+		if (cacheFile != null) {
+			cacheFile.seek(pos);
+			cacheFile.write(b, off, len);
+		} else {
+			if (end - start > buffer.length) {
+				resize((int)Math.min(Math.max(end - start, buffer.length * 2L), memoryLimit));
+			}
+			System.arraycopy(b, off, buffer, (int)(pos - start), len);
+		}
+
+		length = Math.max(length, end);
+	}
+
+	/**
+	 * Reads the stored data at the specified position, which may not be
+	 * before data which has been discarded.
+	 *
+	 * @param pos		The position to read from.
+	 * @param b			The array to read the data into.
+	 * @param off		The offset in the array to read the data into.
+	 * @param len		The largest length of the data to read.
+	 * @return			The length of the data read, or {@code -1} if the
+	 * 					position is at or beyond the end of the data.
+	 * @throws IOException	If the data could not be read from the file.
+	 */
+	int read(long pos, byte[] b, int off, int len) throws IOException {
+		if (pos >= length) {
+			return -1;
+		}
+
+		len = (int)Math.min(len, length - pos);
+		if (cacheFile != null) {
+			cacheFile.seek(pos);
+			cacheFile.readFully(b, off, len);
+		} else {
+			System.arraycopy(buffer, (int)(pos - start), b, off, len);
+		}
+		return len;
+	}
+
+	/**
+	 * Writes the stored data between the specified positions to the
+	 * specified {@link OutputStream}.
+	 *
+	 * @param os		The stream to write to.
+	 * @param from		The position of the first byte to write.
+	 * @param to		The position after the last byte to write.
+	 * @throws IOException	If the data could not be read or written.
+	 */
+	void writeTo(OutputStream os, long from, long to) throws IOException {
+		if (cacheFile == null) {
+			os.write(buffer, (int)(from - start), (int)(to - from));
+			return;
+		}
+
+		byte[] b = new byte[8192];
+		while (from < to) {
+			int len = read(from, b, 0, (int)Math.min(b.length, to - from));
+			os.write(b, 0, len);
+			from += len;
+		}
+	}
+
+	/**
+	 * Discards the data before the specified position, which will not be
+	 * read or written again.
+	 * <p>
+	 * Data which has been moved to a file is kept in the file, as it does
+	 * not take up memory.
+	 *
+	 * @param pos		The position before which data is discarded.
+	 */
+	void discardBefore(long pos) {
+		if (cacheFile != null || pos <= start) {
+			return;
+		}
+
+		int remaining = (int)(length - pos);
+		System.arraycopy(buffer, (int)(pos - start), buffer, 0, remaining);
+		start = pos;
+
+		// Give back memory once most of the buffer is no longer used.
+		if (buffer.length > 8192 && remaining < buffer.length / 4) {
+			resize(Math.max(8192, remaining * 2));
+		}
+	}
+
+	private void resize(int size) {
+		byte[] newBuffer = new byte[size];
+		System.arraycopy(buffer, 0, newBuffer, 0, (int)(length - start));
+		buffer = newBuffer;
+	}
+
+	/**
+	 * Releases the stored data, and deletes the file if one was used.
+	 *
+	 * @throws IOException	If the file could not be closed.
+	 */
+	void dispose() throws IOException {
+		buffer = null;
+		if (cacheFile != null) {
+			try {
+				cacheFile.close();
+			} finally {
+				file.delete();
+				cacheFile = null;
+			}
+		}
+	}
+
+	private void moveToFile() throws IOException {
+		file = File.createTempFile("imageio", ".tmp", ImageIO.getCacheDirectory());
+		try {
+			cacheFile = new RandomAccessFile(file, "rw");
+			cacheFile.seek(start);
+			cacheFile.write(buffer, 0, (int)(length - start));
+		} catch (IOException e) {
+			if (cacheFile != null) {
+				cacheFile.close();
+				cacheFile = null;
+			}
+			file.delete();
+			throw e;
+		}
+		buffer = null;
+	}
+}
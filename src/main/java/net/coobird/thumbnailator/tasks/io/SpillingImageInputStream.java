@@ -0,0 +1,134 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.stream.ImageInputStreamImpl;
+
+/**
+ * An {@link javax.imageio.stream.ImageInputStream} which reads from an
+ * {@link InputStream}, caching the data in memory until it grows larger
+ * than a limit, and in a temporary file beyond that.
+ * <p>
+ * The data is read from the {@link InputStream} only as it is needed, so
+ * the size of the data does not need to be known in advance.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+final class SpillingImageInputStream extends ImageInputStreamImpl {
+	private final InputStream is;
+	private final SpillingCache cache;
+	private final byte[] chunk = new byte[8192];
+	private final byte[] single = new byte[1];
+	private boolean endOfStream = false;
+
+	/**
+	 * Creates an instance which reads from the specified stream.
+	 *
+	 * @param is			The stream to read from.
+	 * @param memoryLimit	The size of data in bytes cached in memory.
+	 */
+	SpillingImageInputStream(InputStream is, long memoryLimit) {
+		this.is = is;
+		this.cache = new SpillingCache(memoryLimit);
+	}
+
+	/**
+	 * Reads from the {@link InputStream} until the data up to the specified
+	 * position has been cached, or the end of the stream has been reached.
+	 */
+	private void readUpTo(long pos) throws IOException {
+		while (cache.length() <= pos && !endOfStream) {
+			int len = is.read(chunk);
+			if (len == -1) {
+				endOfStream = true;
+			} else {
+				cache.write(cache.length(), chunk, 0, len);
+			}
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed();
+		bitOffset = 0;
+
+		if (read(single, 0, 1) == -1) {
+			return -1;
+		}
+		return single[0] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		checkClosed();
+		if (b == null) {
+			throw new NullPointerException("Array is null.");
+		}
+		if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		bitOffset = 0;
+		if (len == 0) {
+			return 0;
+		}
+
+		readUpTo(streamPos + len - 1);
+		int read = cache.read(streamPos, b, off, len);
+		if (read > 0) {
+			streamPos += read;
+		}
+		return read;
+	}
+
+	@Override
+	public boolean isCached() {
+		return true;
+	}
+
+	@Override
+	public boolean isCachedMemory() {
+		return !cache.isInFile();
+	}
+
+	@Override
+	public boolean isCachedFile() {
+		return cache.isInFile();
+	}
+
+	/**
+	 * Closes this stream and releases the cache. The {@link InputStream}
+	 * is not closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		super.close();
+		cache.dispose();
+	}
+}
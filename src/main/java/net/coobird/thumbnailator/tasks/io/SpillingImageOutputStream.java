@@ -0,0 +1,168 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.imageio.stream.ImageOutputStreamImpl;
+
+/**
+ * An {@link javax.imageio.stream.ImageOutputStream} which writes to an
+ * {@link OutputStream}, caching the data in memory until it grows larger
+ * than a limit, and in a temporary file beyond that.
+ * <p>
+ * The data is written to the {@link OutputStream} when it is flushed, or
+ * when this stream is closed. Data which has been written out is
+ * discarded from memory, so the limit applies to the data which has not
+ * been flushed yet.
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+final class SpillingImageOutputStream extends ImageOutputStreamImpl {
+	private final OutputStream os;
+	private final SpillingCache cache;
+	private final byte[] single = new byte[1];
+
+	/**
+	 * Creates an instance which writes to the specified stream.
+	 *
+	 * @param os			The stream to write to.
+	 * @param memoryLimit	The size of data in bytes cached in memory.
+	 */
+	SpillingImageOutputStream(OutputStream os, long memoryLimit) {
+		this.os = os;
+		this.cache = new SpillingCache(memoryLimit);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		single[0] = (byte)b;
+		write(single, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		flushBits();
+		if (b == null) {
+			throw new NullPointerException("Array is null.");
+		}
+		if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return;
+		}
+
+		cache.write(streamPos, b, off, len);
+		streamPos += len;
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed();
+		bitOffset = 0;
+
+		if (cache.read(streamPos, single, 0, 1) == -1) {
+			return -1;
+		}
+		streamPos++;
+		return single[0] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		checkClosed();
+		if (b == null) {
+			throw new NullPointerException("Array is null.");
+		}
+		if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		bitOffset = 0;
+		if (len == 0) {
+			return 0;
+		}
+
+		int read = cache.read(streamPos, b, off, len);
+		if (read > 0) {
+			streamPos += read;
+		}
+		return read;
+	}
+
+	@Override
+	public long length() {
+		return cache.length();
+	}
+
+	@Override
+	public void flushBefore(long pos) throws IOException {
+		long oldFlushedPos = flushedPos;
+		super.flushBefore(pos);
+
+		cache.writeTo(os, oldFlushedPos, flushedPos);
+		os.flush();
+		cache.discardBefore(flushedPos);
+	}
+
+	@Override
+	public boolean isCached() {
+		return true;
+	}
+
+	@Override
+	public boolean isCachedMemory() {
+		return !cache.isInFile();
+	}
+
+	@Override
+	public boolean isCachedFile() {
+		return cache.isInFile();
+	}
+
+	/**
+	 * Writes all the data to the {@link OutputStream}, closes this stream
+	 * and releases the cache. The {@link OutputStream} is not closed.
+	 * <p>
+	 * The cache is released even if the data could not be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			long length = cache.length();
+			seek(length);
+			flushBefore(length);
+		} finally {
+			try {
+				super.close();
+			} finally {
+				cache.dispose();
+			}
+		}
+	}
+}
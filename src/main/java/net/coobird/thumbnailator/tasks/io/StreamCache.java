@@ -0,0 +1,119 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.FileCacheImageInputStream;
+import javax.imageio.stream.FileCacheImageOutputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Specifies where the streams used to read and write images from
+ * {@link InputStream}s and {@link OutputStream}s cache their data.
+ * <p>
+ * Image readers and writers need to move back and forth in the data, so the
+ * data of an {@link InputStream} or {@link OutputStream} is cached while an
+ * image is being read or written. By default, the cache is decided by
+ * {@link ImageIO#getUseCache()}, which is a setting for the whole JVM, and
+ * when enabled, causes a temporary file to be written for each image.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public enum StreamCache {
+	/**
+	 * Caches the data in memory.
+	 */
+	MEMORY,
+
+	/**
+	 * Caches the data in a temporary file in the directory given by
+	 * {@link ImageIO#getCacheDirectory()}.
+	 */
+	DISK,
+
+	/**
+	 * Caches the data in memory, until it grows larger than
+	 * {@link #AUTO_MEMORY_LIMIT}, at which point it is moved to a temporary
+	 * file in the directory given by {@link ImageIO#getCacheDirectory()}.
+	 * <p>
+	 * As the decision is made from the amount of data which is actually
+	 * read or written, it does not depend on the size of the data being
+	 * known in advance, which is often not the case for network streams.
+	 */
+	AUTO;
+
+	/**
+	 * The largest amount of data in bytes which is cached in memory when
+	 * {@link #AUTO} is used.
+	 */
+	public static final long AUTO_MEMORY_LIMIT = 16L * 1024 * 1024;
+
+	/**
+	 * Returns an {@link ImageInputStream} which reads from the specified
+	 * {@link InputStream} using this cache.
+	 *
+	 * @param is				The stream to read from.
+	 * @return					The {@link ImageInputStream}.
+	 * @throws IOException		If the cache file could not be created.
+	 */
+	ImageInputStream createImageInputStream(InputStream is) throws IOException {
+		switch (this) {
+			case MEMORY:
+				return new MemoryCacheImageInputStream(is);
+			case DISK:
+				return new FileCacheImageInputStream(is, ImageIO.getCacheDirectory());
+			default:
+				return new SpillingImageInputStream(is, AUTO_MEMORY_LIMIT);
+		}
+	}
+
+	/**
+	 * Returns an {@link ImageOutputStream} which writes to the specified
+	 * {@link OutputStream} using this cache.
+	 *
+	 * @param os				The stream to write to.
+	 * @return					The {@link ImageOutputStream}.
+	 * @throws IOException		If the cache file could not be created.
+	 */
+	ImageOutputStream createImageOutputStream(OutputStream os) throws IOException {
+		switch (this) {
+			case MEMORY:
+				return new MemoryCacheImageOutputStream(os);
+			case DISK:
+				return new FileCacheImageOutputStream(os, ImageIO.getCacheDirectory());
+			default:
+				return new SpillingImageOutputStream(os, AUTO_MEMORY_LIMIT);
+		}
+	}
+}
@@ -0,0 +1,494 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+
+/**
+ * A cache of encoded thumbnails in a directory, which is used to skip
+ * creating thumbnails which have been created before.
+ * <p>
+ * Thumbnails are looked up by a key which is made from a hash of the bytes
+ * of the source image, the parameters of the thumbnail as described by
+ * {@link ThumbnailParameter#toCanonicalString()}, and the output format.
+ * Each thumbnail is stored as a file in a subdirectory named after the first
+ * two characters of its key, so that no directory holds too many files.
+ * Thumbnails whose parameters cannot be described, such as thumbnails made
+ * with an image filter which does not implement
+ * {@link CanonicallyDescribable}, are not cached.
+ * <p>
+ * The total size of the stored thumbnails is kept within the maximum size of
+ * the cache, by removing the least recently used thumbnails. The last
+ * modified time of a file is updated when its thumbnail is used, so that the
+ * order of use is kept when the cache is used again by another instance.
+ * <p>
+ * A cache can be shared by multiple threads, but a directory should not be
+ * used by more than one cache at a time.
+ * <p>
+ * Usage example:
+ * <pre>
+ThumbnailCache cache = new ThumbnailCache(new File("cache"), 1024L * 1024 * 1024);
+
+Thumbnails.of(inputStream)
+    .size(200, 200)
+    .outputFormat("jpg")
+    .cache(cache)
+    .toOutputStream(outputStream);
+ * </pre>
+ *
+ * @author coobird
+ * @since	0.4.22
+ */
+public final class ThumbnailCache {
+	/**
+	 * The name of the algorithm used to hash the source images and keys.
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	/**
+	 * The age in milliseconds after which a temporary file is considered to
+	 * be left by an interrupted write, rather than being written by another
+	 * thread or process.
+	 */
+	private static final long STALE_TEMPORARY_FILE_AGE = 24L * 60 * 60 * 1000;
+
+	/**
+	 * The directory the thumbnails are stored in.
+	 */
+	private final File directory;
+
+	/**
+	 * The maximum total size of the stored thumbnails, in bytes.
+	 */
+	private final long maxSize;
+
+	/**
+	 * The stored thumbnails keyed by their keys, from the least recently used
+	 * to the most recently used.
+	 */
+	private final LinkedHashMap<String, Entry> entries =
+			new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+	/**
+	 * The total size of the stored thumbnails, in bytes.
+	 */
+	private long size = 0;
+
+	/**
+	 * Whether the thumbnails in the directory have been listed.
+	 */
+	private boolean loaded = false;
+
+	/**
+	 * A thumbnail which is stored in the cache.
+	 */
+	private static final class Entry {
+		final String formatName;
+		final long length;
+
+		Entry(String formatName, long length) {
+			this.formatName = formatName;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * A thumbnail which was found in the cache.
+	 */
+	public static final class CachedThumbnail {
+		private final byte[] data;
+		private final String formatName;
+
+		private CachedThumbnail(byte[] data, String formatName) {
+			this.data = data;
+			this.formatName = formatName;
+		}
+
+		/**
+		 * Returns the encoded thumbnail.
+		 *
+		 * @return		The encoded thumbnail.
+		 */
+		public byte[] getData() {
+			return data;
+		}
+
+		/**
+		 * Returns the name of the format the thumbnail is encoded in.
+		 *
+		 * @return		The name of the format.
+		 */
+		public String getFormatName() {
+			return formatName;
+		}
+	}
+
+	/**
+	 * Creates a cache which stores thumbnails in the specified directory.
+	 * <p>
+	 * Thumbnails which are already in the directory are used, and are
+	 * removed if they exceed the maximum size.
+	 *
+	 * @param directory		The directory to store thumbnails in. It is
+	 * 						created if it does not exist.
+	 * @param maxSize		The maximum total size of the stored thumbnails,
+	 * 						in bytes.
+	 * @throws NullPointerException		If the directory is {@code null}.
+	 * @throws IllegalArgumentException	If the maximum size is less than 1.
+	 */
+	public ThumbnailCache(File directory, long maxSize) {
+		if (directory == null) {
+			throw new NullPointerException("Directory is null.");
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Maximum size must be greater than 0.");
+		}
+
+		this.directory = directory;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the directory the thumbnails are stored in.
+	 *
+	 * @return		The directory of this cache.
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the maximum total size of the stored thumbnails.
+	 *
+	 * @return		The maximum size, in bytes.
+	 */
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Returns the total size of the stored thumbnails.
+	 *
+	 * @return		The size, in bytes.
+	 */
+	public synchronized long getSize() {
+		load();
+		return size;
+	}
+
+	/**
+	 * Returns the key of a thumbnail.
+	 *
+	 * @param sourceDigest	The hash of the bytes of the source image, as
+	 * 						returned by a {@link MessageDigest} obtained from
+	 * 						{@link #createDigest()}.
+	 * @param param			The parameters of the thumbnail.
+	 * @param outputFormat	The output format as specified for the thumbnail,
+	 * 						which can be
+	 * 						{@link ThumbnailParameter#ORIGINAL_FORMAT}.
+	 * @return				The key of the thumbnail, or {@code null} if the
+	 * 						parameters cannot be described by
+	 * 						{@link ThumbnailParameter#toCanonicalString()},
+	 * 						in which case the thumbnail cannot be cached.
+	 */
+	public static String createKey(byte[] sourceDigest, ThumbnailParameter param, String outputFormat) {
+		String canonicalParam = param.toCanonicalString();
+		if (canonicalParam == null) {
+			return null;
+		}
+		
+		MessageDigest digest = createDigest();
+		digest.update(sourceDigest);
+		try {
+			digest.update(canonicalParam.getBytes("UTF-8"));
+			digest.update(String.valueOf(outputFormat).getBytes("UTF-8"));
+		} catch (UnsupportedEncodingException e) {
+			// Every Java platform is required to support UTF-8.
+			throw new IllegalStateException(e.getMessage());
+		}
+
+		byte[] hash = digest.digest();
+		StringBuilder sb = new StringBuilder();
+		for (byte b : hash) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+			sb.append(Character.forDigit(b & 0xf, 16));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns a {@link MessageDigest} to hash the bytes of source images
+	 * with, for {@link #createKey(byte[], ThumbnailParameter, String)}.
+	 *
+	 * @return		A new {@link MessageDigest}.
+	 */
+	public static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256.
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the thumbnail stored with the specified key.
+	 *
+	 * @param key			The key of the thumbnail.
+	 * @return				The thumbnail, or {@code null} if no thumbnail
+	 * 						is stored with the key.
+	 * @throws IOException	If the thumbnail could not be read.
+	 */
+	public CachedThumbnail get(String key) throws IOException {
+		File file;
+		Entry entry;
+		synchronized (this) {
+			load();
+			entry = entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			file = fileOf(key, entry.formatName);
+		}
+
+		InputStream is;
+		try {
+			is = new FileInputStream(file);
+		} catch (FileNotFoundException e) {
+			// The thumbnail has been removed since it was looked up.
+			remove(key, entry);
+			return null;
+		}
+		ByteArrayOutputStream baos = new ByteArrayOutputStream((int)entry.length);
+		try {
+			byte[] buffer = new byte[8192];
+			int bytesRead;
+			while ((bytesRead = is.read(buffer)) != -1) {
+				baos.write(buffer, 0, bytesRead);
+			}
+		} finally {
+			is.close();
+		}
+
+		file.setLastModified(System.currentTimeMillis());
+		return new CachedThumbnail(baos.toByteArray(), entry.formatName);
+	}
+
+	/**
+	 * Stores a thumbnail with the specified key, and removes the least
+	 * recently used thumbnails if the maximum size is exceeded.
+	 * <p>
+	 * Thumbnails larger than the maximum size, and thumbnails whose format
+	 * name contains other characters than letters, digits, {@code -} and
+	 * {@code _}, are not stored.
+	 *
+	 * @param key			The key of the thumbnail.
+	 * @param formatName	The name of the format the thumbnail is encoded in.
+	 * @param data			The encoded thumbnail.
+	 * @throws IOException	If the thumbnail could not be stored.
+	 * @throws IllegalArgumentException	If the key contains other characters
+	 * 									than letters, digits, {@code -} and
+	 * 									{@code _}.
+	 */
+	public void put(String key, String formatName, byte[] data) throws IOException {
+		if (!isValidName(key)) {
+			throw new IllegalArgumentException("Invalid key: " + key);
+		}
+		if (!isValidName(formatName) || data.length > maxSize) {
+			return;
+		}
+
+		File file = fileOf(key, formatName);
+		File shard = file.getParentFile();
+		if (!shard.isDirectory() && !shard.mkdirs() && !shard.isDirectory()) {
+			throw new IOException("Could not create directory: " + shard);
+		}
+
+		File temporaryFile = File.createTempFile("." + key + ".", ".tmp", shard);
+		boolean written = false;
+		try {
+			OutputStream os = new FileOutputStream(temporaryFile);
+			try {
+				os.write(data);
+			} finally {
+				os.close();
+			}
+
+			if (!temporaryFile.renameTo(file)) {
+				// Some platforms can't rename over an existing file.
+				if (!file.delete() || !temporaryFile.renameTo(file)) {
+					throw new IOException("Could not store thumbnail: " + file);
+				}
+			}
+			written = true;
+
+		} finally {
+			if (!written) {
+				temporaryFile.delete();
+			}
+		}
+
+		synchronized (this) {
+			load();
+			Entry previous = entries.put(key, new Entry(formatName, data.length));
+			if (previous != null) {
+				size -= previous.length;
+				if (!previous.formatName.equals(formatName)) {
+					fileOf(key, previous.formatName).delete();
+				}
+			}
+			size += data.length;
+			evict();
+		}
+	}
+
+	/**
+	 * Removes all thumbnails from this cache.
+	 */
+	public synchronized void clear() {
+		load();
+		for (Map.Entry<String, Entry> e : entries.entrySet()) {
+			fileOf(e.getKey(), e.getValue().formatName).delete();
+		}
+		entries.clear();
+		size = 0;
+	}
+
+	private synchronized void remove(String key, Entry entry) {
+		if (entries.get(key) == entry) {
+			entries.remove(key);
+			size -= entry.length;
+		}
+	}
+
+	/**
+	 * Removes the least recently used thumbnails until the total size is
+	 * within the maximum size.
+	 */
+	private void evict() {
+		Iterator<Map.Entry<String, Entry>> iter = entries.entrySet().iterator();
+		while (size > maxSize && iter.hasNext()) {
+			Map.Entry<String, Entry> e = iter.next();
+			fileOf(e.getKey(), e.getValue().formatName).delete();
+			size -= e.getValue().length;
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Lists the thumbnails in the directory, in the order of their last
+	 * modified time, if not already listed.
+	 */
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+
+		File[] shards = directory.listFiles();
+		if (shards == null) {
+			return;
+		}
+
+		long staleBefore = System.currentTimeMillis() - STALE_TEMPORARY_FILE_AGE;
+		List<File> files = new ArrayList<File>();
+		for (File shard : shards) {
+			File[] shardFiles = shard.listFiles();
+			if (shardFiles == null) {
+				continue;
+			}
+			for (File file : shardFiles) {
+				if (file.getName().startsWith(".")) {
+					// Recent temporary files may still be being written.
+					if (file.lastModified() < staleBefore) {
+						file.delete();
+					}
+				} else if (file.getName().indexOf('.') != -1) {
+					files.add(file);
+				}
+			}
+		}
+
+		final Map<File, Long> lastModified = new HashMap<File, Long>();
+		for (File file : files) {
+			lastModified.put(file, file.lastModified());
+		}
+		Collections.sort(files, new Comparator<File>() {
+			public int compare(File f1, File f2) {
+				return lastModified.get(f1).compareTo(lastModified.get(f2));
+			}
+		});
+
+		for (File file : files) {
+			String name = file.getName();
+			int separator = name.indexOf('.');
+			String key = name.substring(0, separator);
+			String formatName = name.substring(separator + 1);
+
+			entries.put(key, new Entry(formatName, file.length()));
+			size += file.length();
+		}
+		evict();
+	}
+
+	private File fileOf(String key, String formatName) {
+		File shard = new File(directory, key.substring(0, Math.min(2, key.length())));
+		return new File(shard, key + "." + formatName);
+	}
+
+	private static boolean isValidName(String name) {
+		if (name == null || name.length() == 0) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -37,7 +37,8 @@ import java.net.URL;
  * @author coobird
  *
  */
-public class URLImageSource extends AbstractImageSource<URL> {
+public class URLImageSource extends AbstractImageSource<URL>
+		implements ProbeableImageSource<URL>, ReducibleImageSource<URL> {
 	/**
 	 * The URL from which to retrieve the source image.
 	 */
@@ -49,6 +50,18 @@ public class URLImageSource extends AbstractImageSource<URL> {
 	 * If a proxy is not required, then this field will be {@code null}.
 	 */
 	private final Proxy proxy;
+	
+	/**
+	 * The ratio of the width of the source image to the width of the image
+	 * which was last read.
+	 */
+	private double widthReduction = 1.0;
+	
+	/**
+	 * The ratio of the height of the source image to the height of the image
+	 * which was last read.
+	 */
+	private double heightReduction = 1.0;
 
 	/**
 	 * Instantiates an {@link URLImageSource} with the URL from which the
@@ -132,18 +145,53 @@ public class URLImageSource extends AbstractImageSource<URL> {
 		this.proxy = proxy;
 	}
 
-	public BufferedImage read() throws IOException {
-		InputStream is;
+	/**
+	 * Opens a connection to the URL.
+	 * 
+	 * @return					The stream to read the image from.
+	 * @throws IOException		If the connection could not be opened.
+	 */
+	private InputStream openStream() throws IOException {
 		try {
 			if (proxy != null) {
-				is = url.openConnection(proxy).getInputStream();
+				return url.openConnection(proxy).getInputStream();
 			} else {
-				is = url.openStream();
+				return url.openStream();
 			}
 
 		} catch (IOException e) {
 			throw new IOException("Could not open connection to URL: " + url);
 		}
+	}
+
+	/**
+	 * Retrieves information about the image from the header of the image
+	 * at the URL, without decoding the image.
+	 * <p>
+	 * The connection is closed once the header has been read.
+	 * 
+	 * @return					Information about the image.
+	 * @throws IOException		When a problem occurs while reading the
+	 * 							image header.
+	 * @since	0.4.22
+	 */
+	public ImageInfo probe() throws IOException {
+		InputStream is = openStream();
+
+		InputStreamImageSource source = new InputStreamImageSource(is);
+		source.setThumbnailParameter(param);
+		
+		try {
+			return source.probe();
+		} catch (Exception e) {
+			throw new IOException("Could not obtain image from URL: " + url);
+		} finally {
+			is.close();
+		}
+	}
+
+	public BufferedImage read() throws IOException {
+		InputStream is = openStream();
 
 		InputStreamImageSource source = new InputStreamImageSource(is);
 		source.setThumbnailParameter(param);
@@ -158,10 +206,20 @@ public class URLImageSource extends AbstractImageSource<URL> {
 		}
 
 		this.inputFormatName = source.getInputFormatName();
+		this.widthReduction = source.getWidthReduction();
+		this.heightReduction = source.getHeightReduction();
 		
 		return finishedReading(img);
 	}
 
+	public double getWidthReduction() {
+		return widthReduction;
+	}
+
+	public double getHeightReduction() {
+		return heightReduction;
+	}
+
 	/**
 	 * Returns the URL from which the source image is retrieved from.
 	 * 
@@ -0,0 +1,56 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.util;
+
+import net.coobird.thumbnailator.ThumbnailParameter;
+
+/**
+ * An object which can describe all of its settings which affect the
+ * resulting thumbnail, such as an image filter, a resizer, or a resizer
+ * factory.
+ * <p>
+ * The description is used by {@link ThumbnailParameter#toCanonicalString()}
+ * to identify thumbnails which have been created before, so it must be the
+ * same for objects which result in the same thumbnail, also across runs of
+ * an application, and must differ for objects which do not.
+ * <p>
+ * A class which is not final should not describe instances of its
+ * subclasses, as they may have settings which its description does not
+ * include.
+ *
+ * @author coobird
+ * @since	0.4.22
+ *
+ */
+public interface CanonicallyDescribable {
+	/**
+	 * Returns a description of all of the settings of this object which
+	 * affect the resulting thumbnail.
+	 *
+	 * @return					The description, or {@code null} if this
+	 * 							object cannot be described.
+	 */
+	public String toCanonicalString();
+}
@@ -84,7 +84,20 @@ public enum Configurations {
      *       than 1/4 of the available JVM free memory</li>
      * </ul>
      */
-    CONSERVE_MEMORY_WORKAROUND("thumbnailator.conserveMemoryWorkaround")
+    CONSERVE_MEMORY_WORKAROUND("thumbnailator.conserveMemoryWorkaround"),
+
+    /**
+     * Makes the {@code DefaultResizerFactory} choose the resizers which
+     * resample images by convolution, rather than by {@code Graphics2D}.
+     * <br>
+     * Property name: {@code thumbnailator.useConvolutionResizers}
+     * <p>
+     * When enabled, images are reduced with the Lanczos3 kernel and
+     * enlarged with the Mitchell-Netravali kernel. The results differ from
+     * those of the default resizers, therefore this is not enabled by
+     * default.
+     */
+    USE_CONVOLUTION_RESIZERS("thumbnailator.useConvolutionResizers")
     ;
 
     private final String key;
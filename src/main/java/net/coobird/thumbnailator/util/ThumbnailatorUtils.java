@@ -24,6 +24,11 @@
 
 package net.coobird.thumbnailator.util;
 
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -33,6 +38,10 @@ import javax.imageio.ImageIO;
 import javax.imageio.ImageWriter;
 
 import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.geometry.AbsoluteSize;
+import net.coobird.thumbnailator.geometry.Coordinate;
+import net.coobird.thumbnailator.geometry.Region;
+import net.coobird.thumbnailator.geometry.RelativeSize;
 
 /**
  * A utility class for Thumbnailator.
@@ -152,4 +161,123 @@ public final class ThumbnailatorUtils {
 		
 		return false;
 	}
+	
+	/**
+	 * Returns whether images written in the specified output format are
+	 * always opaque, as the format cannot store an alpha channel.
+	 * <p>
+	 * Images written in such formats are written without their alpha
+	 * channel, so thumbnails to be written in those formats can be made
+	 * with an image type without an alpha channel from the start.
+	 *
+	 * @param format	The output format.
+	 * @return			{@code true} if the format cannot store an alpha
+	 * 					channel, {@code false} otherwise, or if the format
+	 * 					is {@code null}.
+	 * @since 0.4.22
+	 */
+	public static boolean isOpaqueOutputFormat(String format) {
+		if (format == null) {
+			return false;
+		}
+		
+		return format.equalsIgnoreCase("jpg")
+				|| format.equalsIgnoreCase("jpeg")
+				|| format.equalsIgnoreCase("bmp");
+	}
+	
+	/**
+	 * Returns a description of the specified object which stays the same
+	 * across runs of an application, for objects which result in the same
+	 * image.
+	 * <p>
+	 * Objects which implement {@link CanonicallyDescribable} are described
+	 * by their {@link CanonicallyDescribable#toCanonicalString()} method,
+	 * which the image filters, resizers and resizer factories of
+	 * Thumbnailator implement. Colors, fonts, images, enum constants,
+	 * {@link Region}s, {@link Coordinate}s and sizes are described by their
+	 * contents. Other objects cannot be described.
+	 *
+	 * @param o		The object to describe.
+	 * @return		The description, or {@code null} if the object cannot be
+	 * 				described.
+	 * @since 0.4.22
+	 */
+	public static String describe(Object o) {
+		if (o == null) {
+			return "null";
+			
+		} else if (o instanceof Color) {
+			return "Color [argb=" + Integer.toHexString(((Color)o).getRGB()) + "]";
+			
+		} else if (o instanceof Font) {
+			Font font = (Font)o;
+			return "Font [name=" + font.getName()
+					+ ", style=" + font.getStyle()
+					+ ", size=" + font.getSize2D()
+					+ ", transform=" + font.getTransform() + "]";
+			
+		} else if (o instanceof BufferedImage) {
+			return "BufferedImage [sha1=" + digest((BufferedImage)o) + "]";
+			
+		} else if (o instanceof Region) {
+			String position = describe(((Region)o).getPosition());
+			String size = describe(((Region)o).getSize());
+			if (position == null || size == null) {
+				return null;
+			}
+			return "Region [position=" + position + ", size=" + size + "]";
+			
+		} else if (o.getClass() == Coordinate.class
+				|| o.getClass() == AbsoluteSize.class
+				|| o.getClass() == RelativeSize.class) {
+			// The toString methods of these classes describe all of their fields.
+			return o.toString();
+			
+		} else if (o instanceof Enum) {
+			Enum<?> e = (Enum<?>)o;
+			return e.getDeclaringClass().getName() + "." + e.name();
+			
+		} else if (o instanceof CanonicallyDescribable) {
+			return ((CanonicallyDescribable)o).toCanonicalString();
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Returns the SHA-1 hash of the dimensions and the pixels of an image.
+	 */
+	private static String digest(BufferedImage img) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-1.
+			throw new IllegalStateException(e.getMessage());
+		}
+		
+		int width = img.getWidth();
+		int height = img.getHeight();
+		digest.update((width + "x" + height).getBytes());
+		
+		int[] row = new int[width];
+		byte[] bytes = new byte[width * 4];
+		for (int y = 0; y < height; y++) {
+			img.getRGB(0, y, width, 1, row, 0, width);
+			for (int x = 0; x < width; x++) {
+				bytes[x * 4] = (byte)(row[x] >>> 24);
+				bytes[x * 4 + 1] = (byte)(row[x] >>> 16);
+				bytes[x * 4 + 2] = (byte)(row[x] >>> 8);
+				bytes[x * 4 + 3] = (byte)row[x];
+			}
+			digest.update(bytes);
+		}
+		
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sb.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+		}
+		return sb.toString();
+	}
 }
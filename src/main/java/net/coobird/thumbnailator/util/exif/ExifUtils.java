@@ -67,6 +67,31 @@ public final class ExifUtils {
 	 * 									reader does not have a JPEG open.
 	 */
 	public static Orientation getExifOrientation(ImageReader reader, int imageIndex) throws IOException {
+		byte[] exifData = getExifData(reader, imageIndex);
+		if (exifData == null) {
+			return null;
+		}
+
+		return getOrientationFromExif(exifData);
+	}
+
+	/**
+	 * Returns the Exif data from the APP1 marker of a JPEG image.
+	 * 
+	 * @param reader		An {@link ImageReader} which is reading the
+	 * 						target image.
+	 * @param imageIndex	The index of the image from which the Exif
+	 * 						metadata should be read from.
+	 * @return				The Exif data, starting with the {@code Exif}
+	 * 						identifier. Returns {@code null} if the image
+	 * 						does not have Exif data.
+	 * @throws IOException				When an error occurs during reading.
+	 * @throws IllegalArgumentException	If the {@link ImageReader} does not
+	 * 									have the target image set, or if the
+	 * 									reader does not have a JPEG open.
+	 * @since	0.4.22
+	 */
+	public static byte[] getExifData(ImageReader reader, int imageIndex) throws IOException {
 		IIOMetadata metadata = reader.getImageMetadata(imageIndex);
 		Node rootNode = metadata.getAsTree("javax_imageio_jpeg_image_1.0");
 
@@ -89,7 +114,7 @@ public final class ExifUtils {
 					ByteBuffer.wrap(bytes).get(magicNumber);
 
 					if (EXIF_MAGIC_STRING.equals(new String(magicNumber))) {
-						return getOrientationFromExif(bytes);
+						return bytes;
 					}
 				}
 			}
@@ -98,6 +123,92 @@ public final class ExifUtils {
 		return null;
 	}
 
+	/**
+	 * Returns the JPEG thumbnail embedded in the Exif data.
+	 * <p>
+	 * The thumbnail is specified by the {@code JPEGInterchangeFormat} and
+	 * {@code JPEGInterchangeFormatLength} tags of the IFD which follows
+	 * the 0th IFD.
+	 *
+	 * @param exifData		A byte array containing Exif data.
+	 * @return				The JPEG data of the thumbnail. Returns
+	 * 						{@code null} if no thumbnail is found, or if the
+	 * 						Exif data is malformed.
+	 * @since	0.4.22
+	 */
+	public static byte[] getThumbnailFromExif(byte[] exifData) {
+		if (exifData.length < 14) {
+			return null;
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(exifData);
+
+		byte[] exifId = new byte[4];
+		buffer.get(exifId);
+
+		if (!EXIF_MAGIC_STRING.equals(new String(exifId))) {
+			return null;
+		}
+
+		// The TIFF header follows "Exif", the \0 and the padding byte.
+		// Offsets in the TIFF structure are relative to the TIFF header.
+		int tiffStart = 6;
+		if (exifData[tiffStart] == 'I' && exifData[tiffStart + 1] == 'I') {
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+		} else {
+			buffer.order(ByteOrder.BIG_ENDIAN);
+		}
+
+		try {
+			int ifd0 = tiffStart + buffer.getInt(tiffStart + 4);
+			int ifd0Entries = buffer.getShort(ifd0) & 0xffff;
+			int ifd1Offset = buffer.getInt(ifd0 + 2 + ifd0Entries * 12);
+			if (ifd1Offset <= 0) {
+				return null;
+			}
+
+			int ifd1 = tiffStart + ifd1Offset;
+			int ifd1Entries = buffer.getShort(ifd1) & 0xffff;
+
+			int thumbnailOffset = -1;
+			int thumbnailLength = -1;
+			for (int i = 0; i < ifd1Entries; i++) {
+				int entry = ifd1 + 2 + i * 12;
+				int tag = buffer.getShort(entry) & 0xffff;
+				IfdType type = IfdType.typeOf(buffer.getShort(entry + 2));
+
+				int value;
+				if (type == IfdType.SHORT) {
+					value = buffer.getShort(entry + 8) & 0xffff;
+				} else if (type == IfdType.LONG) {
+					value = buffer.getInt(entry + 8);
+				} else {
+					continue;
+				}
+
+				if (tag == 0x0201) {
+					thumbnailOffset = value;
+				} else if (tag == 0x0202) {
+					thumbnailLength = value;
+				}
+			}
+
+			int start = tiffStart + thumbnailOffset;
+			if (thumbnailOffset < 0 || start < 0 || thumbnailLength <= 0
+					|| thumbnailLength > exifData.length - start) {
+				return null;
+			}
+
+			byte[] thumbnail = new byte[thumbnailLength];
+			System.arraycopy(exifData, start, thumbnail, 0, thumbnailLength);
+			return thumbnail;
+
+		} catch (IndexOutOfBoundsException e) {
+			// An offset pointed outside of the Exif data.
+			return null;
+		}
+	}
+
 	/**
 	 * Returns the orientation obtained from the Exif metadata.
 	 *
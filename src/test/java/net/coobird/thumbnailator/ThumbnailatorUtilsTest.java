@@ -24,9 +24,35 @@
 
 package net.coobird.thumbnailator;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+
+import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+import net.coobird.thumbnailator.filters.Canvas;
+import net.coobird.thumbnailator.filters.Caption;
+import net.coobird.thumbnailator.filters.Colorize;
+import net.coobird.thumbnailator.filters.Flip;
+import net.coobird.thumbnailator.filters.ImageFilter;
+import net.coobird.thumbnailator.filters.Pipeline;
+import net.coobird.thumbnailator.filters.Rotation;
+import net.coobird.thumbnailator.filters.Transparency;
+import net.coobird.thumbnailator.filters.Watermark;
+import net.coobird.thumbnailator.geometry.Coordinate;
+import net.coobird.thumbnailator.geometry.Position;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.resizers.BicubicResizer;
+import net.coobird.thumbnailator.resizers.BilinearResizer;
+import net.coobird.thumbnailator.resizers.DefaultResizerFactory;
+import net.coobird.thumbnailator.resizers.FixedResizerFactory;
+import net.coobird.thumbnailator.resizers.Resizer;
 import net.coobird.thumbnailator.util.ThumbnailatorUtils;
 
 import org.junit.Test;
@@ -172,4 +198,184 @@ public class ThumbnailatorUtilsTest {
 		// then, it is supported.
 		assertTrue(isSupported);
 	}
+	
+	@Test
+	public void isOpaqueOutputFormat_Jpeg() {
+		assertTrue(ThumbnailatorUtils.isOpaqueOutputFormat("jpg"));
+		assertTrue(ThumbnailatorUtils.isOpaqueOutputFormat("JPEG"));
+	}
+	
+	@Test
+	public void isOpaqueOutputFormat_Bmp() {
+		assertTrue(ThumbnailatorUtils.isOpaqueOutputFormat("bmp"));
+	}
+	
+	@Test
+	public void isOpaqueOutputFormat_Png() {
+		assertFalse(ThumbnailatorUtils.isOpaqueOutputFormat("png"));
+	}
+	
+	@Test
+	public void isOpaqueOutputFormat_Null() {
+		assertFalse(ThumbnailatorUtils.isOpaqueOutputFormat(null));
+	}
+	
+	/**
+	 * A {@link Position} which does not describe itself.
+	 */
+	private static final Position UNDESCRIBED_POSITION = new Position() {
+		public Point calculate(int enclosingWidth, int enclosingHeight, int width, int height, int insetLeft, int insetRight, int insetTop, int insetBottom) {
+			return new Point(0, 0);
+		}
+	};
+	
+	private static void assertDescriptionsDiffer(Object o1, Object o2) {
+		String description1 = ThumbnailatorUtils.describe(o1);
+		String description2 = ThumbnailatorUtils.describe(o2);
+		
+		assertNotNull(description1);
+		assertNotNull(description2);
+		assertFalse(description1, description1.equals(description2));
+	}
+	
+	@Test
+	public void describe_ObjectWhichIsNotDescribable() {
+		assertNull(ThumbnailatorUtils.describe(new Object()));
+		assertNull(ThumbnailatorUtils.describe(UNDESCRIBED_POSITION));
+	}
+	
+	@Test
+	public void describe_ToStringIsNotUsed() {
+		ImageFilter filter = new ImageFilter() {
+			public BufferedImage apply(BufferedImage img) {
+				return img;
+			}
+			
+			@Override
+			public String toString() {
+				return "filter";
+			}
+		};
+		
+		assertNull(ThumbnailatorUtils.describe(filter));
+	}
+	
+	@Test
+	public void describe_Positions() {
+		assertDescriptionsDiffer(Positions.CENTER, Positions.TOP_LEFT);
+		assertDescriptionsDiffer(new Coordinate(1, 2), new Coordinate(2, 1));
+	}
+	
+	@Test
+	public void describe_Null() {
+		assertEquals("null", ThumbnailatorUtils.describe(null));
+	}
+	
+	@Test
+	public void describe_SameSettings() {
+		BufferedImage watermark = new BufferedImageBuilder(10, 10).build();
+		
+		assertEquals(
+				ThumbnailatorUtils.describe(new Watermark(Positions.CENTER, watermark, 0.5f)),
+				ThumbnailatorUtils.describe(new Watermark(Positions.CENTER, new BufferedImageBuilder(10, 10).build(), 0.5f))
+		);
+		assertEquals(
+				ThumbnailatorUtils.describe(Rotation.newRotator(90)),
+				ThumbnailatorUtils.describe(Rotation.newRotator(90))
+		);
+		assertEquals(
+				ThumbnailatorUtils.describe(new FixedResizerFactory(new BicubicResizer())),
+				ThumbnailatorUtils.describe(new FixedResizerFactory(new BicubicResizer()))
+		);
+	}
+	
+	@Test
+	public void describe_Colors() {
+		assertDescriptionsDiffer(new Color(10, 20, 30), new Color(10, 20, 31));
+		assertDescriptionsDiffer(new Color(10, 20, 30, 255), new Color(10, 20, 30, 128));
+	}
+	
+	@Test
+	public void describe_Filters() {
+		BufferedImage watermark = new BufferedImageBuilder(10, 10).build();
+		BufferedImage otherWatermark = new BufferedImageBuilder(10, 10).build();
+		otherWatermark.setRGB(5, 5, 0xff00ff00);
+		Font font = new Font("SansSerif", Font.PLAIN, 12);
+		
+		assertDescriptionsDiffer(Rotation.newRotator(90), Rotation.newRotator(180));
+		assertDescriptionsDiffer(Flip.HORIZONTAL, Flip.VERTICAL);
+		assertDescriptionsDiffer(
+				new Watermark(Positions.CENTER, watermark, 0.5f),
+				new Watermark(Positions.CENTER, watermark, 0.6f)
+		);
+		assertDescriptionsDiffer(
+				new Watermark(Positions.CENTER, watermark, 0.5f),
+				new Watermark(Positions.CENTER, otherWatermark, 0.5f)
+		);
+		assertDescriptionsDiffer(
+				new Watermark(Positions.CENTER, watermark, 0.5f),
+				new Watermark(new Coordinate(1, 2), watermark, 0.5f, 3)
+		);
+		assertDescriptionsDiffer(
+				new Caption("a", font, Color.BLACK, Positions.CENTER, 0),
+				new Caption("b", font, Color.BLACK, Positions.CENTER, 0)
+		);
+		assertDescriptionsDiffer(
+				new Caption("a", font, Color.BLACK, Positions.CENTER, 0),
+				new Caption("a", font.deriveFont(14f), Color.BLACK, Positions.CENTER, 0)
+		);
+		assertDescriptionsDiffer(new Colorize(Color.RED, 0.5f), new Colorize(Color.RED, 0.6f));
+		assertDescriptionsDiffer(new Transparency(0.5f), new Transparency(0.6f));
+		assertDescriptionsDiffer(
+				new Canvas(10, 10, Positions.CENTER, true, Color.RED),
+				new Canvas(10, 10, Positions.CENTER, false, Color.RED)
+		);
+		assertDescriptionsDiffer(
+				new Pipeline(Rotation.newRotator(90), Flip.HORIZONTAL),
+				new Pipeline(Flip.HORIZONTAL, Rotation.newRotator(90))
+		);
+	}
+	
+	@Test
+	public void describe_FiltersWithUndescribedParts() {
+		ImageFilter undescribedFilter = new ImageFilter() {
+			public BufferedImage apply(BufferedImage img) {
+				return img;
+			}
+		};
+		
+		assertNull(ThumbnailatorUtils.describe(undescribedFilter));
+		assertNull(ThumbnailatorUtils.describe(new Pipeline(Flip.HORIZONTAL, undescribedFilter)));
+		assertNull(ThumbnailatorUtils.describe(
+				new Watermark(UNDESCRIBED_POSITION, new BufferedImageBuilder(10, 10).build(), 0.5f)
+		));
+		assertNull(ThumbnailatorUtils.describe(new Canvas(10, 10, UNDESCRIBED_POSITION)));
+	}
+	
+	@Test
+	public void describe_SubclassOfFilter() {
+		ImageFilter subclass = new Transparency(0.5f) {
+			@Override
+			public BufferedImage apply(BufferedImage img) {
+				return img;
+			}
+		};
+		
+		assertNull(ThumbnailatorUtils.describe(subclass));
+	}
+	
+	@Test
+	public void describe_Resizers() {
+		Resizer undescribedResizer = new Resizer() {
+			public void resize(BufferedImage srcImage, BufferedImage destImage) {}
+		};
+		
+		assertDescriptionsDiffer(new BilinearResizer(), new BicubicResizer());
+		assertDescriptionsDiffer(
+				new FixedResizerFactory(new BilinearResizer()),
+				new FixedResizerFactory(new BicubicResizer())
+		);
+		assertNotNull(ThumbnailatorUtils.describe(DefaultResizerFactory.getInstance()));
+		assertNull(ThumbnailatorUtils.describe(new FixedResizerFactory(undescribedResizer)));
+	}
 }
@@ -0,0 +1,230 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+import net.coobird.thumbnailator.filters.ImageFilter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the methods of {@link Thumbnails.Builder} which create thumbnails
+ * asynchronously.
+ */
+public class ThumbnailsBuilderAsyncTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void asBufferedImageAsyncWithoutExecutor() {
+		Thumbnails.of(new BufferedImageBuilder(200, 200).build())
+				.size(100, 100)
+				.asBufferedImageAsync();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void asBufferedImageAsyncWithMultipleSources() {
+		Thumbnails.of(
+						new BufferedImageBuilder(200, 200).build(),
+						new BufferedImageBuilder(200, 200).build()
+				)
+				.size(100, 100)
+				.executor(executor)
+				.asBufferedImageAsync();
+	}
+
+	@Test
+	public void asBufferedImageAsyncWithExecutor() throws Exception {
+		// given
+		BufferedImage img = new BufferedImageBuilder(200, 200).build();
+
+		// when
+		Future<BufferedImage> future = Thumbnails.of(img)
+				.size(100, 100)
+				.executor(executor)
+				.asBufferedImageAsync();
+
+		// then
+		BufferedImage thumbnail = future.get();
+		assertEquals(100, thumbnail.getWidth());
+		assertEquals(100, thumbnail.getHeight());
+	}
+
+	@Test
+	public void asBufferedImageAsyncWithParallel() throws Exception {
+		// given
+		BufferedImage img = new BufferedImageBuilder(200, 200).build();
+
+		// when
+		Future<BufferedImage> future = Thumbnails.of(img)
+				.size(100, 100)
+				.parallel(1)
+				.asBufferedImageAsync();
+
+		// then
+		assertEquals(100, future.get().getWidth());
+	}
+
+	@Test
+	public void asyncThumbnailsWithParallelRunOnAtMostThatManyThreads() throws Exception {
+		// given
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		ImageFilter filter = new ImageFilter() {
+			public BufferedImage apply(BufferedImage img) {
+				int count = running.incrementAndGet();
+				synchronized (maxRunning) {
+					maxRunning.set(Math.max(maxRunning.get(), count));
+				}
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				return img;
+			}
+		};
+
+		// when
+		List<Future<BufferedImage>> futures = new ArrayList<Future<BufferedImage>>();
+		for (int i = 0; i < 10; i++) {
+			futures.add(
+					Thumbnails.of(new BufferedImageBuilder(200, 200).build())
+							.size(100, 100)
+							.addFilter(filter)
+							.parallel(2)
+							.asBufferedImageAsync()
+			);
+		}
+
+		// then
+		for (Future<BufferedImage> future : futures) {
+			assertEquals(100, future.get().getWidth());
+		}
+		assertTrue(maxRunning.get() <= 2);
+	}
+
+	@Test
+	public void toFileAsyncReturnsActualDestination() throws Exception {
+		// given
+		File outFile = new File(temporaryFolder.getRoot(), "thumbnail");
+
+		// when
+		Future<File> future = Thumbnails.of(new BufferedImageBuilder(200, 200).build())
+				.size(100, 100)
+				.outputFormat("png")
+				.executor(executor)
+				.toFileAsync(outFile);
+
+		// then
+		File actualFile = future.get();
+		assertEquals(new File(temporaryFolder.getRoot(), "thumbnail.png").getAbsoluteFile(), actualFile);
+		assertEquals(100, ImageIO.read(actualFile).getWidth());
+	}
+
+	@Test
+	public void toFileAsyncReportsFailureThroughFuture() throws Exception {
+		// given
+		File existingFile = temporaryFolder.newFile("existing.png");
+
+		// when
+		Future<File> future = Thumbnails.of(new BufferedImageBuilder(200, 200).build())
+				.size(100, 100)
+				.allowOverwrite(false)
+				.executor(executor)
+				.toFileAsync(existingFile);
+
+		// then
+		try {
+			future.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test
+	public void toOutputStreamAsync() throws Exception {
+		// given
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		// when
+		Future<Void> future = Thumbnails.of(new BufferedImageBuilder(200, 200).build())
+				.size(100, 100)
+				.outputFormat("png")
+				.executor(executor)
+				.toOutputStreamAsync(os);
+		future.get();
+
+		// then
+		BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(os.toByteArray()));
+		assertEquals(100, thumbnail.getWidth());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void toOutputStreamAsyncWithoutOutputFormat() throws IOException {
+		Thumbnails.of(new BufferedImageBuilder(200, 200).build())
+				.size(100, 100)
+				.executor(executor)
+				.toOutputStreamAsync(new ByteArrayOutputStream());
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import static net.coobird.thumbnailator.test.TestImages.encode;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link Thumbnails#of(byte[]...)},
+ * {@link Thumbnails#of(ByteBuffer...)}, {@link Thumbnails.Builder#asByteBuffer()}
+ * and {@link Thumbnails.Builder#asByteArray()} methods.
+ */
+public class ThumbnailsBuilderByteBufferTest {
+
+	@Test
+	public void ofByteArrayAsBufferedImage() throws IOException {
+		// when
+		BufferedImage thumbnail = Thumbnails.of(encode(new BufferedImageBuilder(200, 100).build(), "png"))
+				.size(50, 50)
+				.asBufferedImage();
+
+		// then
+		assertEquals(50, thumbnail.getWidth());
+		assertEquals(25, thumbnail.getHeight());
+	}
+
+	@Test
+	public void ofByteBuffersAsBufferedImages() throws IOException {
+		// given
+		ByteBuffer wide = ByteBuffer.wrap(encode(new BufferedImageBuilder(200, 100).build(), "png"));
+		ByteBuffer tall = ByteBuffer.wrap(encode(new BufferedImageBuilder(100, 200).build(), "png"));
+
+		// when
+		List<BufferedImage> thumbnails = Thumbnails.of(wide, tall)
+				.size(50, 50)
+				.asBufferedImages();
+
+		// then
+		assertEquals(2, thumbnails.size());
+		assertEquals(50, thumbnails.get(0).getWidth());
+		assertEquals(50, thumbnails.get(1).getHeight());
+	}
+
+	@Test
+	public void asByteArrayUsesSourceFormat() throws IOException {
+		// when
+		byte[] thumbnail = Thumbnails.of(encode(new BufferedImageBuilder(200, 100).build(), "png"))
+				.size(50, 50)
+				.asByteArray();
+
+		// then
+		assertEquals("png", TestUtils.getFormatName(new ByteArrayInputStream(thumbnail)));
+		BufferedImage img = ImageIO.read(new ByteArrayInputStream(thumbnail));
+		assertEquals(50, img.getWidth());
+		assertEquals(25, img.getHeight());
+	}
+
+	@Test
+	public void asByteArrayMatchesToOutputStream() throws IOException {
+		// given
+		byte[] source = encode(new BufferedImageBuilder(200, 100).build(), "png");
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Thumbnails.of(new ByteArrayInputStream(source))
+				.size(50, 50)
+				.outputFormat("png")
+				.toOutputStream(baos);
+
+		// when
+		byte[] thumbnail = Thumbnails.of(source)
+				.size(50, 50)
+				.outputFormat("png")
+				.asByteArray();
+
+		// then
+		assertArrayEquals(baos.toByteArray(), thumbnail);
+	}
+
+	@Test
+	public void asByteBufferWithOutputFormat() throws IOException {
+		// when
+		ByteBuffer thumbnail = Thumbnails.of(new BufferedImageBuilder(200, 100).build())
+				.size(50, 50)
+				.outputFormat("jpg")
+				.asByteBuffer();
+
+		// then
+		assertEquals(0, thumbnail.position());
+		byte[] data = new byte[thumbnail.remaining()];
+		thumbnail.get(data);
+		assertEquals("JPEG", TestUtils.getFormatName(new ByteArrayInputStream(data)));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void asByteBufferFromBufferedImageWithoutOutputFormat() throws IOException {
+		Thumbnails.of(new BufferedImageBuilder(200, 100).build())
+				.size(50, 50)
+				.asByteBuffer();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void asByteArrayFromMultipleSources() throws IOException {
+		byte[] source = encode(new BufferedImageBuilder(200, 100).build(), "png");
+		Thumbnails.of(source, source)
+				.size(50, 50)
+				.asByteArray();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void ofNullByteArray() {
+		Thumbnails.of((byte[])null);
+	}
+}
@@ -0,0 +1,319 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import static net.coobird.thumbnailator.test.TestImages.encode;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+import net.coobird.thumbnailator.filters.ImageFilter;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.resizers.configurations.ScalingMode;
+import net.coobird.thumbnailator.tasks.io.ThumbnailCache;
+import net.coobird.thumbnailator.util.CanonicallyDescribable;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for reusing thumbnails which have been created before through the
+ * {@link Thumbnails.Builder#cache(ThumbnailCache)} method.
+ */
+public class ThumbnailsBuilderCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private ThumbnailCache cache;
+
+	private byte[] sourceData;
+
+	/**
+	 * A filter which counts the number of thumbnails which were created.
+	 * <p>
+	 * The filter describes itself, so that thumbnails made with it can be
+	 * cached.
+	 */
+	private static class CountingFilter implements ImageFilter, CanonicallyDescribable {
+		private int count = 0;
+
+		public BufferedImage apply(BufferedImage img) {
+			count++;
+			return img;
+		}
+
+		public String toCanonicalString() {
+			return "CountingFilter";
+		}
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		cache = new ThumbnailCache(temporaryFolder.newFolder("cache"), 1024 * 1024);
+		sourceData = encode(new BufferedImageBuilder(200, 100).build(), "png");
+	}
+
+	private byte[] createFromStream(byte[] source, int width, CountingFilter filter) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		Thumbnails.of(new ByteArrayInputStream(source))
+				.size(width, width)
+				.addFilter(filter)
+				.cache(cache)
+				.toOutputStream(os);
+		return os.toByteArray();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void cacheWithNull() {
+		Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+				.cache(null);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void cacheCalledTwice() {
+		Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+				.cache(cache)
+				.cache(cache);
+	}
+
+	@Test
+	public void inputStreamToOutputStream() throws IOException {
+		// given
+		CountingFilter filter = new CountingFilter();
+		byte[] first = createFromStream(sourceData, 50, filter);
+
+		// when
+		byte[] second = createFromStream(sourceData, 50, filter);
+
+		// then
+		assertEquals(1, filter.count);
+		assertArrayEquals(first, second);
+		assertEquals(first.length, cache.getSize());
+
+		BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(second));
+		assertEquals(50, thumbnail.getWidth());
+		assertEquals(25, thumbnail.getHeight());
+	}
+
+	@Test
+	public void thumbnailIsWrittenWhenCacheCannotBeWritten() throws IOException {
+		// given
+		File cacheFile = temporaryFolder.newFile("cacheFile");
+		cache = new ThumbnailCache(cacheFile, 1024 * 1024);
+		CountingFilter filter = new CountingFilter();
+
+		// when
+		byte[] thumbnailData = createFromStream(sourceData, 50, filter);
+
+		// then
+		assertEquals(1, filter.count);
+		assertEquals(0, cache.getSize());
+
+		BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(thumbnailData));
+		assertEquals(50, thumbnail.getWidth());
+		assertEquals(25, thumbnail.getHeight());
+	}
+
+	@Test
+	public void differentSizeIsNotReused() throws IOException {
+		// given
+		CountingFilter filter = new CountingFilter();
+		createFromStream(sourceData, 50, filter);
+
+		// when
+		byte[] second = createFromStream(sourceData, 80, filter);
+
+		// then
+		assertEquals(2, filter.count);
+		assertEquals(80, ImageIO.read(new ByteArrayInputStream(second)).getWidth());
+	}
+
+	@Test
+	public void differentSourceIsNotReused() throws IOException {
+		// given
+		CountingFilter filter = new CountingFilter();
+		createFromStream(sourceData, 50, filter);
+
+		// when
+		byte[] second = createFromStream(encode(new BufferedImageBuilder(100, 100).build(), "png"), 50, filter);
+
+		// then
+		assertEquals(2, filter.count);
+		assertEquals(50, ImageIO.read(new ByteArrayInputStream(second)).getHeight());
+	}
+
+	@Test
+	public void fileToFile() throws IOException {
+		// given
+		File sourceFile = new File(temporaryFolder.getRoot(), "source.png");
+		ImageIO.write(new BufferedImageBuilder(200, 100).build(), "png", sourceFile);
+		File firstFile = new File(temporaryFolder.getRoot(), "first");
+		File secondFile = new File(temporaryFolder.getRoot(), "second");
+		CountingFilter filter = new CountingFilter();
+
+		// when
+		Thumbnails.of(sourceFile).size(50, 50).addFilter(filter).cache(cache).toFile(firstFile);
+		Thumbnails.of(sourceFile).size(50, 50).addFilter(filter).cache(cache).toFile(secondFile);
+
+		// then
+		assertEquals(1, filter.count);
+		File first = new File(temporaryFolder.getRoot(), "first.png");
+		File second = new File(temporaryFolder.getRoot(), "second.png");
+		assertTrue(second.isFile());
+		assertEquals(first.length(), second.length());
+		assertEquals(50, ImageIO.read(second).getWidth());
+	}
+
+	@Test
+	public void byteBufferToByteBuffer() throws IOException {
+		// given
+		CountingFilter filter = new CountingFilter();
+		ByteBuffer first = Thumbnails.of(ByteBuffer.wrap(sourceData))
+				.size(50, 50).outputFormat("jpg").addFilter(filter).cache(cache).asByteBuffer();
+
+		// when
+		ByteBuffer second = Thumbnails.of(ByteBuffer.wrap(sourceData))
+				.size(50, 50).outputFormat("jpg").addFilter(filter).cache(cache).asByteBuffer();
+
+		// then
+		assertEquals(1, filter.count);
+		assertEquals(first, second);
+		assertEquals(first.remaining(), cache.getSize());
+	}
+
+	@Test
+	public void bufferedImagesAreNotCached() throws IOException {
+		// given
+		BufferedImage img = new BufferedImageBuilder(200, 100).build();
+		CountingFilter filter = new CountingFilter();
+
+		// when
+		Thumbnails.of(img).size(50, 50).addFilter(filter).cache(cache).asBufferedImage();
+		Thumbnails.of(img).size(50, 50).addFilter(filter).cache(cache).asBufferedImage();
+
+		// then
+		assertEquals(2, filter.count);
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void differentRotationIsNotReused() throws IOException {
+		// given
+		File firstFile = new File(temporaryFolder.getRoot(), "first.png");
+		File secondFile = new File(temporaryFolder.getRoot(), "second.png");
+		CountingFilter filter = new CountingFilter();
+
+		// when
+		Thumbnails.of(new ByteArrayInputStream(sourceData))
+				.size(100, 100).rotate(90).addFilter(filter).cache(cache).toFile(firstFile);
+		Thumbnails.of(new ByteArrayInputStream(sourceData))
+				.size(100, 100).rotate(180).addFilter(filter).cache(cache).toFile(secondFile);
+
+		// then
+		assertEquals(2, filter.count);
+		BufferedImage first = ImageIO.read(firstFile);
+		BufferedImage second = ImageIO.read(secondFile);
+		assertEquals(50, first.getWidth());
+		assertEquals(100, first.getHeight());
+		assertEquals(100, second.getWidth());
+		assertEquals(50, second.getHeight());
+	}
+
+	@Test
+	public void differentWatermarkIsNotReused() throws IOException {
+		// given
+		BufferedImage watermark = new BufferedImageBuilder(10, 10).build();
+		BufferedImage otherWatermark = new BufferedImageBuilder(10, 10, BufferedImage.TYPE_INT_RGB).build();
+		CountingFilter filter = new CountingFilter();
+
+		// when
+		for (float opacity : new float[] {0.5f, 0.5f, 0.8f}) {
+			Thumbnails.of(new ByteArrayInputStream(sourceData))
+					.size(50, 50).watermark(Positions.CENTER, watermark, opacity)
+					.addFilter(filter).cache(cache).toOutputStream(new ByteArrayOutputStream());
+		}
+		Thumbnails.of(new ByteArrayInputStream(sourceData))
+				.size(50, 50).watermark(Positions.CENTER, otherWatermark, 0.5f)
+				.addFilter(filter).cache(cache).toOutputStream(new ByteArrayOutputStream());
+		Thumbnails.of(new ByteArrayInputStream(sourceData))
+				.size(50, 50).watermark(Positions.TOP_LEFT, watermark, 0.5f)
+				.addFilter(filter).cache(cache).toOutputStream(new ByteArrayOutputStream());
+
+		// then
+		assertEquals(4, filter.count);
+	}
+
+	@Test
+	public void differentScalingModeIsNotReused() throws IOException {
+		// given
+		CountingFilter filter = new CountingFilter();
+
+		// when
+		for (ScalingMode mode : new ScalingMode[] {ScalingMode.BILINEAR, ScalingMode.BICUBIC, ScalingMode.BICUBIC}) {
+			Thumbnails.of(new ByteArrayInputStream(sourceData))
+					.size(50, 50).scalingMode(mode)
+					.addFilter(filter).cache(cache).toOutputStream(new ByteArrayOutputStream());
+		}
+
+		// then
+		assertEquals(2, filter.count);
+	}
+
+	@Test
+	public void filterWithoutDescriptionIsNotCached() throws IOException {
+		// given
+		final int[] count = new int[1];
+		ImageFilter filter = new ImageFilter() {
+			public BufferedImage apply(BufferedImage img) {
+				count[0]++;
+				return img;
+			}
+		};
+
+		// when
+		for (int i = 0; i < 2; i++) {
+			Thumbnails.of(new ByteArrayInputStream(sourceData))
+					.size(50, 50).addFilter(filter).cache(cache)
+					.toOutputStream(new ByteArrayOutputStream());
+		}
+
+		// then
+		assertEquals(2, count[0]);
+		assertEquals(0, cache.getSize());
+	}
+}
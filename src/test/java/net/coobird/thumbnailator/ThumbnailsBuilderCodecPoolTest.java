@@ -0,0 +1,112 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import static net.coobird.thumbnailator.test.TestImages.encode;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+import net.coobird.thumbnailator.tasks.io.ImageCodecPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link Thumbnails.Builder#codecPool(ImageCodecPool)} method.
+ */
+public class ThumbnailsBuilderCodecPoolTest {
+
+	private ImageCodecPool pool;
+
+	@Before
+	public void setUp() {
+		pool = new ImageCodecPool();
+	}
+
+	@After
+	public void tearDown() {
+		pool.dispose();
+	}
+
+	private static byte[] thumbnail(byte[] source, ImageCodecPool pool) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Thumbnails.Builder<?> builder = Thumbnails.of(new ByteArrayInputStream(source))
+				.size(50, 50)
+				.outputFormat("jpg");
+		if (pool != null) {
+			builder.codecPool(pool);
+		}
+		builder.toOutputStream(baos);
+		return baos.toByteArray();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void codecPoolIsNull() {
+		Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+				.codecPool(null);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void codecPoolCalledTwice() {
+		Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+				.codecPool(pool)
+				.codecPool(pool);
+	}
+
+	@Test
+	public void sameOutputWithAndWithoutPool() throws IOException {
+		byte[] source = encode(new BufferedImageBuilder(200, 100).build(), "png");
+		byte[] expected = thumbnail(source, null);
+
+		// Repeat, so that pooled codecs are reused.
+		for (int i = 0; i < 3; i++) {
+			assertArrayEquals(expected, thumbnail(source, pool));
+		}
+	}
+
+	@Test
+	public void poolSharedAmongSources() throws IOException {
+		BufferedImage first = Thumbnails.of(new ByteArrayInputStream(encode(new BufferedImageBuilder(200, 100).build(), "png")))
+				.size(50, 50)
+				.codecPool(pool)
+				.asBufferedImage();
+		BufferedImage second = Thumbnails.of(new ByteArrayInputStream(encode(new BufferedImageBuilder(100, 200).build(), "png")))
+				.size(50, 50)
+				.codecPool(pool)
+				.asBufferedImage();
+
+		assertEquals(50, first.getWidth());
+		assertEquals(25, first.getHeight());
+		assertEquals(25, second.getWidth());
+		assertEquals(50, second.getHeight());
+	}
+}
@@ -0,0 +1,424 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.filters.ImageFilter;
+import net.coobird.thumbnailator.geometry.Coordinate;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.name.Rename;
+import net.coobird.thumbnailator.tasks.BatchThumbnailException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for skipping thumbnails which are up to date through the
+ * {@link Thumbnails.Builder#incremental()} method.
+ */
+public class ThumbnailsBuilderIncrementalTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File[] createSources(int count) throws IOException {
+		File[] sourceFiles = new File[count];
+		for (int i = 0; i < count; i++) {
+			sourceFiles[i] = temporaryFolder.newFile("source" + i + ".png");
+			ImageIO.write(new BufferedImageBuilder(100 + i * 10, 100).build(), "png", sourceFiles[i]);
+		}
+		return sourceFiles;
+	}
+
+	private File manifest() {
+		return new File(temporaryFolder.getRoot(), ThumbnailManifest.FILE_NAME);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void incrementalCalledTwice() {
+		Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+				.incremental()
+				.incremental();
+	}
+
+	@Test
+	public void upToDateThumbnailsAreSkipped() throws IOException {
+		// given
+		File[] sourceFiles = createSources(3);
+		Thumbnails.of(sourceFiles).size(50, 50).incremental().toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+		assertTrue(manifest().isFile());
+
+		// when
+		List<File> files = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertTrue(files.isEmpty());
+	}
+
+	@Test
+	public void changedSourceIsWrittenAgain() throws IOException {
+		// given
+		File[] sourceFiles = createSources(3);
+		Thumbnails.of(sourceFiles).size(50, 50).incremental().toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		ImageIO.write(new BufferedImageBuilder(200, 50).build(), "png", sourceFiles[1]);
+		sourceFiles[1].setLastModified(sourceFiles[1].lastModified() + 10000);
+
+		// when
+		List<File> files = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(
+				Arrays.asList(new File(temporaryFolder.getRoot(), "thumbnail.source1.png")),
+				files
+		);
+		assertEquals(50, ImageIO.read(files.get(0)).getWidth());
+		assertEquals(13, ImageIO.read(files.get(0)).getHeight());
+	}
+
+	@Test
+	public void changedParametersAreWrittenAgain() throws IOException {
+		// given
+		File[] sourceFiles = createSources(3);
+		Thumbnails.of(sourceFiles).size(50, 50).incremental().toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// when
+		List<File> files = Thumbnails.of(sourceFiles)
+				.size(40, 40)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(3, files.size());
+		assertEquals(40, ImageIO.read(files.get(0)).getWidth());
+	}
+
+	@Test
+	public void deletedThumbnailIsWrittenAgain() throws IOException {
+		// given
+		File[] sourceFiles = createSources(3);
+		List<File> written = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+		assertTrue(written.get(2).delete());
+
+		// when
+		List<File> files = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(Arrays.asList(written.get(2)), files);
+		assertTrue(written.get(2).isFile());
+	}
+
+	@Test
+	public void sameParametersWithNewObjectsAreSkipped() throws IOException {
+		// given
+		File[] sourceFiles = createSources(2);
+		Thumbnails.of(sourceFiles)
+				.sourceRegion(new Coordinate(10, 10), 50, 50)
+				.size(20, 20)
+				.incremental()
+				.toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// when
+		List<File> files = Thumbnails.of(sourceFiles)
+				.sourceRegion(new Coordinate(10, 10), 50, 50)
+				.size(20, 20)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertTrue(files.isEmpty());
+	}
+
+	@Test
+	public void withoutIncrementalThumbnailsAreAlwaysWritten() throws IOException {
+		// given
+		File[] sourceFiles = createSources(3);
+		Thumbnails.of(sourceFiles).size(50, 50).toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// when
+		List<File> files = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(3, files.size());
+		assertFalse(manifest().exists());
+	}
+
+	@Test
+	public void upToDateThumbnailsAreSkippedInParallel() throws IOException {
+		// given
+		File[] sourceFiles = createSources(8);
+		List<File> written = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.parallel(4)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+		assertEquals(8, written.size());
+		assertTrue(written.get(5).delete());
+
+		// when
+		List<File> files = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.parallel(4)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(Arrays.asList(written.get(5)), files);
+	}
+
+	@Test
+	public void destinationWithAppendedExtensionIsSkipped() throws IOException {
+		// given
+		File[] sourceFiles = createSources(2);
+		List<File> destinations = Arrays.asList(
+				new File(temporaryFolder.getRoot(), "first"),
+				new File(temporaryFolder.getRoot(), "second")
+		);
+		List<File> written = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.outputFormat("png")
+				.incremental()
+				.asFiles(destinations);
+		assertEquals(new File(temporaryFolder.getRoot(), "first.png"), written.get(0));
+
+		// when
+		List<File> files = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.outputFormat("png")
+				.incremental()
+				.asFiles(destinations);
+
+		// then
+		assertTrue(files.isEmpty());
+	}
+
+	@Test
+	public void sourcesWhichAreNotFilesAreAlwaysWritten() throws IOException {
+		// given
+		BufferedImage img = new BufferedImageBuilder(100, 100).build();
+		List<File> destinations = Arrays.asList(new File(temporaryFolder.getRoot(), "thumbnail.png"));
+		Thumbnails.of(img).size(50, 50).incremental().toFiles(destinations);
+
+		// when
+		List<File> files = Thumbnails.of(img)
+				.size(50, 50)
+				.incremental()
+				.asFiles(destinations);
+
+		// then
+		assertEquals(destinations, files);
+	}
+
+	@Test
+	public void fingerprintDependsOnSourceAndParameters() throws IOException {
+		File[] sourceFiles = createSources(2);
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.size(50, 50)
+				.build();
+		ThumbnailParameter otherParam = new ThumbnailParameterBuilder()
+				.size(50, 50)
+				.quality(0.5f)
+				.build();
+
+		String fingerprint = ThumbnailManifest.fingerprint(sourceFiles[0], param);
+
+		assertEquals(fingerprint, ThumbnailManifest.fingerprint(sourceFiles[0], param));
+		assertFalse(fingerprint.equals(ThumbnailManifest.fingerprint(sourceFiles[1], param)));
+		assertFalse(fingerprint.equals(ThumbnailManifest.fingerprint(sourceFiles[0], otherParam)));
+	}
+
+	@Test
+	public void changedFilterSettingsAreWrittenAgain() throws IOException {
+		// given
+		File[] sourceFiles = createSources(2);
+		BufferedImage watermark = new BufferedImageBuilder(10, 10).build();
+		Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.rotate(90)
+				.watermark(Positions.CENTER, watermark, 0.5f)
+				.incremental()
+				.toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// when
+		List<File> rotated = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.rotate(180)
+				.watermark(Positions.CENTER, watermark, 0.5f)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+		List<File> watermarked = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.rotate(180)
+				.watermark(Positions.CENTER, watermark, 0.8f)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(2, rotated.size());
+		assertEquals(50, ImageIO.read(rotated.get(0)).getWidth());
+		assertEquals(2, watermarked.size());
+	}
+
+	@Test
+	public void filterWithoutDescriptionIsAlwaysWritten() throws IOException {
+		// given
+		File[] sourceFiles = createSources(2);
+		ImageFilter filter = new ImageFilter() {
+			public BufferedImage apply(BufferedImage img) {
+				return img;
+			}
+		};
+		Thumbnails.of(sourceFiles).size(50, 50).incremental().toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// when
+		List<File> filtered = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.addFilter(filter)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+		List<File> unfiltered = Thumbnails.of(sourceFiles)
+				.size(50, 50)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(2, filtered.size());
+		// The records were removed, as the thumbnails were written again.
+		assertEquals(2, unfiltered.size());
+	}
+
+	@Test
+	public void manifestIsSkippedWhenListingSourceDirectory() throws IOException {
+		// given
+		createSources(2);
+		Thumbnails.of(temporaryFolder.getRoot().listFiles())
+				.size(50, 50)
+				.incremental()
+				.toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+		assertTrue(manifest().isFile());
+
+		// when
+		List<File> files = Thumbnails.of(temporaryFolder.getRoot().listFiles())
+				.size(50, 50)
+				.incremental()
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then, only the thumbnails of the previous thumbnails are written.
+		assertEquals(2, files.size());
+		for (File file : files) {
+			assertTrue(file.getName().startsWith("thumbnail.thumbnail."));
+		}
+	}
+
+	@Test
+	public void manifestIsSkippedWithDestinationIterable() throws IOException {
+		// given
+		File[] sourceFiles = createSources(1);
+		Thumbnails.of(sourceFiles).size(50, 50).incremental().toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+		File destination = new File(temporaryFolder.getRoot(), "destination.png");
+
+		// when
+		List<File> files = Thumbnails.of(manifest(), sourceFiles[0])
+				.size(50, 50)
+				.incremental()
+				.asFiles(Arrays.asList(new File(temporaryFolder.getRoot(), "unused.png"), destination));
+
+		// then
+		assertEquals(Arrays.asList(destination), files);
+		assertFalse(new File(temporaryFolder.getRoot(), "unused.png").exists());
+	}
+
+	@Test
+	public void fileNamedLikeManifestIsNotSkippedWhenNotIncremental() throws IOException {
+		// given
+		File source = manifest();
+		ImageIO.write(new BufferedImageBuilder(100, 100).build(), "png", source);
+		File destination = new File(temporaryFolder.getRoot(), "destination.png");
+
+		// when
+		List<File> files = Thumbnails.of(source)
+				.size(50, 50)
+				.asFiles(Arrays.asList(destination));
+
+		// then
+		assertEquals(Arrays.asList(destination), files);
+	}
+
+	@Test
+	public void failuresInParallelAreKeyedBySourceIndexWhenSkippingUpToDateThumbnails() throws IOException {
+		// given
+		File[] sourceFiles = createSources(2);
+		Thumbnails.of(sourceFiles[0]).size(50, 50).incremental().toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+		File invalidSource = temporaryFolder.newFile("invalid.png");
+
+		try {
+			// when
+			Thumbnails.of(sourceFiles[0], invalidSource, sourceFiles[1])
+					.size(50, 50)
+					.incremental()
+					.parallel(2)
+					.toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+			fail();
+
+		} catch (BatchThumbnailException e) {
+			// then
+			assertEquals(1, e.getFailures().size());
+			assertTrue(e.getFailures().containsKey(1));
+			assertEquals(
+					Arrays.asList(new File(temporaryFolder.getRoot(), "thumbnail.source1.png")),
+					e.getResults()
+			);
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+import net.coobird.thumbnailator.name.Rename;
+import net.coobird.thumbnailator.tasks.BatchThumbnailException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for creating thumbnails in parallel through the
+ * {@link Thumbnails.Builder#parallel(int)} and
+ * {@link Thumbnails.Builder#executor(ExecutorService)} methods.
+ */
+public class ThumbnailsBuilderParallelTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parallelWithZeroThreads() {
+		Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+				.parallel(0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void parallelCalledTwice() {
+		Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+				.parallel(2)
+				.parallel(2);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void parallelAndExecutorCalled() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+					.parallel(2)
+					.executor(executor);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void executorIsNull() {
+		Thumbnails.of(new BufferedImageBuilder(100, 100).build())
+				.executor(null);
+	}
+
+	@Test
+	public void asBufferedImagesKeepsOrderOfSources() throws IOException {
+		// given
+		BufferedImage[] images = new BufferedImage[16];
+		for (int i = 0; i < images.length; i++) {
+			images[i] = new BufferedImageBuilder(100 + i * 10, 100).build();
+		}
+
+		// when
+		List<BufferedImage> thumbnails = Thumbnails.of(images)
+				.scale(0.5)
+				.parallel(4)
+				.asBufferedImages();
+
+		// then
+		assertEquals(images.length, thumbnails.size());
+		for (int i = 0; i < images.length; i++) {
+			assertEquals(50 + i * 5, thumbnails.get(i).getWidth());
+			assertEquals(50, thumbnails.get(i).getHeight());
+		}
+	}
+
+	@Test
+	public void asBufferedImagesKeepsIndexOfFailedSources() throws IOException {
+		// given
+		File validSource1 = temporaryFolder.newFile("valid1.png");
+		File invalidSource = temporaryFolder.newFile("invalid.png");
+		File validSource2 = temporaryFolder.newFile("valid2.png");
+		ImageIO.write(new BufferedImageBuilder(100, 100).build(), "png", validSource1);
+		ImageIO.write(new BufferedImageBuilder(200, 200).build(), "png", validSource2);
+
+		try {
+			// when
+			Thumbnails.of(validSource1, invalidSource, validSource2)
+					.scale(0.5)
+					.parallel(2)
+					.asBufferedImages();
+			fail();
+
+		} catch (BatchThumbnailException e) {
+			// then
+			assertEquals(1, e.getFailures().size());
+			assertTrue(e.getFailures().containsKey(1));
+
+			List<?> results = e.getResults();
+			assertEquals(3, results.size());
+			assertEquals(50, ((BufferedImage)results.get(0)).getWidth());
+			assertNull(results.get(1));
+			assertEquals(100, ((BufferedImage)results.get(2)).getWidth());
+		}
+	}
+
+	@Test
+	public void asFilesWithRenameKeepsOrderOfSources() throws IOException {
+		// given
+		File[] sourceFiles = new File[8];
+		for (int i = 0; i < sourceFiles.length; i++) {
+			sourceFiles[i] = temporaryFolder.newFile("source" + i + ".png");
+			ImageIO.write(new BufferedImageBuilder(100 + i * 10, 100).build(), "png", sourceFiles[i]);
+		}
+
+		// when
+		List<File> thumbnails = Thumbnails.of(sourceFiles)
+				.scale(0.5)
+				.parallel(3)
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(sourceFiles.length, thumbnails.size());
+		for (int i = 0; i < sourceFiles.length; i++) {
+			File thumbnail = thumbnails.get(i);
+			assertEquals("thumbnail.source" + i + ".png", thumbnail.getName());
+			assertEquals(50 + i * 5, ImageIO.read(thumbnail).getWidth());
+		}
+	}
+
+	@Test
+	public void asFilesAggregatesFailures() throws IOException {
+		// given
+		File validSource1 = temporaryFolder.newFile("valid1.png");
+		File invalidSource = temporaryFolder.newFile("invalid.png");
+		File validSource2 = temporaryFolder.newFile("valid2.png");
+		ImageIO.write(new BufferedImageBuilder(100, 100).build(), "png", validSource1);
+		ImageIO.write(new BufferedImageBuilder(100, 100).build(), "png", validSource2);
+
+		try {
+			// when
+			Thumbnails.of(validSource1, invalidSource, validSource2)
+					.size(50, 50)
+					.parallel(2)
+					.toFiles(Rename.PREFIX_DOT_THUMBNAIL);
+			fail();
+
+		} catch (BatchThumbnailException e) {
+			// then
+			assertEquals(1, e.getFailures().size());
+			assertTrue(e.getFailures().containsKey(1));
+			assertTrue(e.getFailures().get(1) instanceof IOException);
+
+			assertEquals(
+					Arrays.asList(
+							new File(temporaryFolder.getRoot(), "thumbnail.valid1.png"),
+							new File(temporaryFolder.getRoot(), "thumbnail.valid2.png")
+					),
+					e.getResults()
+			);
+			assertTrue(new File(temporaryFolder.getRoot(), "thumbnail.valid1.png").exists());
+			assertTrue(new File(temporaryFolder.getRoot(), "thumbnail.valid2.png").exists());
+		}
+	}
+
+	@Test
+	public void asFilesSkipsExistingFilesWhenOverwriteNotAllowed() throws IOException {
+		// given
+		File source1 = temporaryFolder.newFile("source1.png");
+		File source2 = temporaryFolder.newFile("source2.png");
+		ImageIO.write(new BufferedImageBuilder(100, 100).build(), "png", source1);
+		ImageIO.write(new BufferedImageBuilder(100, 100).build(), "png", source2);
+		File existing = temporaryFolder.newFile("thumbnail.source1.png");
+
+		// when
+		List<File> thumbnails = Thumbnails.of(source1, source2)
+				.size(50, 50)
+				.allowOverwrite(false)
+				.parallel(2)
+				.asFiles(Rename.PREFIX_DOT_THUMBNAIL);
+
+		// then
+		assertEquals(
+				Arrays.asList(new File(temporaryFolder.getRoot(), "thumbnail.source2.png")),
+				thumbnails
+		);
+		assertEquals(0, existing.length());
+	}
+
+	@Test
+	public void executorIsNotShutDown() throws IOException {
+		// given
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+			// when
+			List<BufferedImage> thumbnails = Thumbnails.of(
+							new BufferedImageBuilder(100, 100).build(),
+							new BufferedImageBuilder(200, 200).build()
+					)
+					.size(50, 50)
+					.executor(executor)
+					.asBufferedImages();
+
+			// then
+			assertEquals(2, thumbnails.size());
+			assertFalse(executor.isShutdown());
+
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
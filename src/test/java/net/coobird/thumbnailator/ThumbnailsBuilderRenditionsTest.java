@@ -0,0 +1,489 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.filters.Colorize;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.tasks.BatchThumbnailException;
+import net.coobird.thumbnailator.tasks.io.BufferedImageSink;
+import net.coobird.thumbnailator.tasks.io.ImageSink;
+import net.coobird.thumbnailator.tasks.io.ThumbnailCache;
+import net.coobird.thumbnailator.test.TestImages;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link Thumbnails.Builder#toRenditions(Rendition...)}.
+ */
+public class ThumbnailsBuilderRenditionsTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static byte[] sourceByteArray;
+
+	@BeforeClass
+	public static void createSource() throws IOException {
+		BufferedImage img = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = img.createGraphics();
+		g.setColor(Color.white);
+		g.fillRect(0, 0, 1600, 1200);
+		g.setColor(Color.blue);
+		g.fillRect(0, 0, 800, 1200);
+		g.dispose();
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(img, "jpg", baos);
+		sourceByteArray = baos.toByteArray();
+	}
+
+	private static BufferedImage read(File f) throws IOException {
+		return ImageIO.read(f);
+	}
+
+	private static BufferedImage read(ByteArrayOutputStream baos) throws IOException {
+		return ImageIO.read(new ByteArrayInputStream(baos.toByteArray()));
+	}
+
+	@Test
+	public void renditionsAreWrittenToFiles() throws IOException {
+		File large = new File(temporaryFolder.getRoot(), "large.jpg");
+		File medium = new File(temporaryFolder.getRoot(), "medium.jpg");
+		File small = new File(temporaryFolder.getRoot(), "small.png");
+
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.toRenditions(
+						Rendition.size(200, 200).destination(medium),
+						Rendition.size(800, 800).destination(large),
+						Rendition.size(64, 64).destination(small)
+				);
+
+		assertEquals(800, read(large).getWidth());
+		assertEquals(600, read(large).getHeight());
+		assertEquals(200, read(medium).getWidth());
+		assertEquals(150, read(medium).getHeight());
+		assertEquals(64, read(small).getWidth());
+		assertEquals(48, read(small).getHeight());
+	}
+
+	@Test
+	public void renditionsHaveSameSizeAsSeparateThumbnails() throws IOException {
+		int[][] sizes = {{1000, 1000}, {333, 333}, {77, 50}, {10, 300}};
+
+		Rendition[] renditions = new Rendition[sizes.length];
+		BufferedImageSink[] sinks = new BufferedImageSink[sizes.length];
+		for (int i = 0; i < sizes.length; i++) {
+			sinks[i] = new BufferedImageSink();
+			renditions[i] = Rendition.size(sizes[i][0], sizes[i][1]).destination(sinks[i]);
+		}
+
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.toRenditions(renditions);
+
+		for (int i = 0; i < sizes.length; i++) {
+			BufferedImage expected = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+					.size(sizes[i][0], sizes[i][1])
+					.asBufferedImage();
+
+			assertEquals(expected.getWidth(), sinks[i].getSink().getWidth());
+			assertEquals(expected.getHeight(), sinks[i].getSink().getHeight());
+		}
+	}
+
+	@Test
+	public void widthAndHeightRenditions() throws IOException {
+		BufferedImageSink byWidth = new BufferedImageSink();
+		BufferedImageSink byHeight = new BufferedImageSink();
+
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.toRenditions(
+						Rendition.width(400).destination(byWidth),
+						Rendition.height(150).destination(byHeight)
+				);
+
+		assertEquals(400, byWidth.getSink().getWidth());
+		assertEquals(300, byWidth.getSink().getHeight());
+		assertEquals(200, byHeight.getSink().getWidth());
+		assertEquals(150, byHeight.getSink().getHeight());
+	}
+
+	@Test
+	public void renditionsHaveTheirOwnFormatAndQuality() throws IOException {
+		ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ByteArrayOutputStream lowQuality = new ByteArrayOutputStream();
+		ByteArrayOutputStream highQuality = new ByteArrayOutputStream();
+
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.outputFormat("jpg")
+				.toRenditions(
+						Rendition.size(400, 400).outputFormat("png").destination(png),
+						Rendition.size(400, 400).outputQuality(0.1f).destination(lowQuality),
+						Rendition.size(400, 400).outputQuality(1.0).destination(highQuality)
+				);
+
+		assertEquals("png", TestUtils.getFormatName(new ByteArrayInputStream(png.toByteArray())));
+		assertEquals("JPEG", TestUtils.getFormatName(new ByteArrayInputStream(lowQuality.toByteArray())));
+		assertEquals("JPEG", TestUtils.getFormatName(new ByteArrayInputStream(highQuality.toByteArray())));
+		assertTrue(lowQuality.size() < highQuality.size());
+	}
+
+	@Test
+	public void originalFormatIsUsedByDefault() throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.toRenditions(Rendition.size(100, 100).destination(os));
+
+		assertEquals("JPEG", TestUtils.getFormatName(new ByteArrayInputStream(os.toByteArray())));
+		assertEquals(100, read(os).getWidth());
+	}
+
+	@Test
+	public void builderFiltersApplyToAllRenditionsAndRenditionFiltersToOne() throws IOException {
+		BufferedImageSink withFilter = new BufferedImageSink();
+		BufferedImageSink withoutFilter = new BufferedImageSink();
+		BufferedImageSink smallest = new BufferedImageSink();
+
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.rotate(90)
+				.toRenditions(
+						Rendition.size(400, 400)
+								.addFilter(new Colorize(Color.red, 1.0f))
+								.destination(withFilter),
+						Rendition.size(200, 200).destination(withoutFilter),
+						Rendition.size(100, 100).destination(smallest)
+				);
+
+		// Rotated by the filter of the builder.
+		assertEquals(300, withFilter.getSink().getWidth());
+		assertEquals(400, withFilter.getSink().getHeight());
+		assertEquals(150, withoutFilter.getSink().getWidth());
+		assertEquals(200, withoutFilter.getSink().getHeight());
+
+		// Only the first rendition is colorized, even though the others are
+		// resized from it.
+		assertReddish(withFilter.getSink().getRGB(150, 10));
+		assertBlueish(withoutFilter.getSink().getRGB(75, 10));
+		assertBlueish(smallest.getSink().getRGB(37, 5));
+	}
+
+	private static void assertReddish(int rgb) {
+		Color c = new Color(rgb);
+		assertTrue(c.toString(), c.getRed() > 200 && c.getGreen() < 50 && c.getBlue() < 50);
+	}
+
+	private static void assertBlueish(int rgb) {
+		Color c = new Color(rgb);
+		assertTrue(c.toString(), c.getBlue() > 200 && c.getRed() < 50 && c.getGreen() < 50);
+	}
+
+	@Test
+	public void renditionFiltersDoNotAffectOtherRenditionsWhenFused() throws IOException {
+		BufferedImageSink withFilter = new BufferedImageSink();
+		BufferedImageSink withoutFilter = new BufferedImageSink();
+
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.fuseFilters(true)
+				.toRenditions(
+						Rendition.size(400, 400)
+								.addFilter(new Colorize(Color.red, 1.0f))
+								.destination(withFilter),
+						Rendition.size(200, 200).destination(withoutFilter)
+				);
+
+		assertBlueish(withoutFilter.getSink().getRGB(10, 75));
+	}
+
+	@Test
+	public void exifOrientationIsApplied() throws IOException {
+		BufferedImage expected = Thumbnails.of(TestUtils.getResourceStream("Exif/source_6.jpg"))
+				.size(100, 100)
+				.asBufferedImage();
+
+		BufferedImageSink large = new BufferedImageSink();
+		BufferedImageSink small = new BufferedImageSink();
+		Thumbnails.of(TestUtils.getResourceStream("Exif/source_6.jpg"))
+				.toRenditions(
+						Rendition.size(200, 200).destination(large),
+						Rendition.size(100, 100).destination(small)
+				);
+
+		assertEquals(expected.getWidth(), small.getSink().getWidth());
+		assertEquals(expected.getHeight(), small.getSink().getHeight());
+		assertEquals(expected.getWidth() * 2, large.getSink().getWidth(), 1);
+		assertEquals(expected.getHeight() * 2, large.getSink().getHeight(), 1);
+	}
+
+	@Test
+	public void renditionsInParallel() throws IOException {
+		BufferedImageSink[] sinks = new BufferedImageSink[5];
+		Rendition[] renditions = new Rendition[sinks.length];
+		int[] sizes = {1600, 800, 400, 200, 64};
+		for (int i = 0; i < sinks.length; i++) {
+			sinks[i] = new BufferedImageSink();
+			renditions[i] = Rendition.size(sizes[i], sizes[i]).destination(sinks[i]);
+		}
+
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.parallel(3)
+				.toRenditions(renditions);
+
+		for (int i = 0; i < sinks.length; i++) {
+			assertEquals(sizes[i], sinks[i].getSink().getWidth());
+		}
+	}
+
+	@Test
+	public void renditionsWithExecutor() throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			BufferedImageSink large = new BufferedImageSink();
+			BufferedImageSink small = new BufferedImageSink();
+
+			Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+					.executor(executor)
+					.toRenditions(Arrays.asList(
+							Rendition.size(400, 400).destination(large),
+							Rendition.size(100, 100).destination(small)
+					));
+
+			assertEquals(400, large.getSink().getWidth());
+			assertEquals(100, small.getSink().getWidth());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void failedRenditionInParallel() throws IOException {
+		BufferedImageSink large = new BufferedImageSink();
+		BufferedImageSink small = new BufferedImageSink();
+		ImageSink<?> failing = new BufferedImageSink() {
+			@Override
+			public void write(BufferedImage img) throws IOException {
+				throw new IOException("Failed.");
+			}
+		};
+
+		try {
+			Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+					.parallel(2)
+					.toRenditions(
+							Rendition.size(400, 400).destination(large),
+							Rendition.size(200, 200).destination(failing),
+							Rendition.size(100, 100).destination(small)
+					);
+			fail();
+		} catch (BatchThumbnailException e) {
+			assertEquals(1, e.getFailures().size());
+			assertEquals("Failed.", e.getFailures().get(1).getMessage());
+			assertEquals(Arrays.asList(large.getSink(), small.getSink()), e.getResults());
+		}
+	}
+
+	@Test
+	public void existingFileIsNotOverwrittenWhenNotAllowed() throws IOException {
+		File f = new File(temporaryFolder.getRoot(), "existing.png");
+		ImageIO.write(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), "png", f);
+
+		try {
+			Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+					.allowOverwrite(false)
+					.toRenditions(Rendition.size(100, 100).destination(f));
+			fail();
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		assertEquals(10, read(f).getWidth());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void sizeCannotBeSetOnBuilder() throws IOException {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.size(100, 100)
+				.toRenditions(Rendition.size(100, 100).destination(new BufferedImageSink()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void cropCannotBeSetOnBuilder() throws IOException {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.crop(Positions.CENTER)
+				.toRenditions(Rendition.size(100, 100).destination(new BufferedImageSink()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void cacheCannotBeSetOnBuilder() throws IOException {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.cache(new ThumbnailCache(temporaryFolder.newFolder("cache"), 1024 * 1024))
+				.toRenditions(Rendition.size(100, 100).destination(new BufferedImageSink()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void incrementalCannotBeSetOnBuilder() throws IOException {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.incremental()
+				.toRenditions(Rendition.size(100, 100).destination(new BufferedImageSink()));
+	}
+
+	@Test
+	public void opaqueImageTypeForOpaqueFormatsWhenTypeIsNotSpecified() throws IOException {
+		// An image with 16 bits per sample has a custom image type.
+		BufferedImage img = TestImages.filled16Bit(400, 300, Color.red);
+		BufferedImageSink jpeg = new BufferedImageSink();
+		BufferedImageSink png = new BufferedImageSink();
+		BufferedImageSink smallJpeg = new BufferedImageSink();
+
+		Thumbnails.of(img)
+				.outputFormat("png")
+				.toRenditions(
+						Rendition.size(200, 200).outputFormat("jpg").destination(jpeg),
+						Rendition.size(100, 100).destination(png),
+						Rendition.size(50, 50).outputFormat("jpg").destination(smallJpeg)
+				);
+
+		assertEquals(BufferedImage.TYPE_INT_RGB, jpeg.getSink().getType());
+		assertEquals(BufferedImage.TYPE_INT_ARGB, png.getSink().getType());
+		assertEquals(BufferedImage.TYPE_INT_RGB, smallJpeg.getSink().getType());
+	}
+
+	@Test
+	public void translucentImageFlattenedForOpaqueFormats() throws IOException {
+		BufferedImage img = TestImages.filled16Bit(400, 300, new Color(255, 0, 0, 128));
+		BufferedImageSink png = new BufferedImageSink();
+		ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+		ByteArrayOutputStream bmp = new ByteArrayOutputStream();
+
+		Thumbnails.of(img)
+				.outputFormat("png")
+				.toRenditions(
+						Rendition.size(200, 200).destination(png),
+						Rendition.size(100, 100).outputFormat("jpg").destination(jpeg),
+						Rendition.size(50, 50).outputFormat("bmp").destination(bmp)
+				);
+
+		assertEquals(BufferedImage.TYPE_INT_ARGB, png.getSink().getType());
+
+		// Composited over black, as when the image type is specified.
+		for (ByteArrayOutputStream baos : Arrays.asList(jpeg, bmp)) {
+			BufferedImage thumbnail = read(baos);
+			Color color = new Color(thumbnail.getRGB(25, 25));
+			assertEquals(128, color.getRed(), 2);
+			assertEquals(0, color.getGreen(), 2);
+			assertEquals(0, color.getBlue(), 2);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void multipleSources() throws IOException {
+		BufferedImage img = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+		Thumbnails.of(img, img)
+				.toRenditions(Rendition.size(50, 50).destination(new BufferedImageSink()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void renditionWithoutDestination() throws IOException {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.toRenditions(Rendition.size(100, 100));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noRenditions() throws IOException {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.toRenditions();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullRendition() throws IOException {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.toRenditions((Rendition)null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void renditionWithInvalidSize() {
+		Rendition.size(0, 100);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void renditionWithInvalidQuality() {
+		Rendition.size(100, 100).outputQuality(1.5f);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void renditionWithUnsupportedFormat() {
+		Rendition.size(100, 100).outputFormat("foobar");
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void renditionWithTwoDestinations() {
+		Rendition.size(100, 100)
+				.destination(new BufferedImageSink())
+				.destination(new ByteArrayOutputStream());
+	}
+
+	@Test
+	public void sourceStreamIsReadOnce() throws IOException {
+		final int[] reads = {0};
+		InputStream is = new ByteArrayInputStream(sourceByteArray) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				if (pos == 0 && len > 0) {
+					reads[0]++;
+				}
+				return super.read(b, off, len);
+			}
+		};
+
+		Thumbnails.of(is)
+				.toRenditions(
+						Rendition.size(400, 400).destination(new BufferedImageSink()),
+						Rendition.size(200, 200).destination(new BufferedImageSink()),
+						Rendition.size(100, 100).destination(new BufferedImageSink())
+				);
+
+		assertEquals(1, reads[0]);
+	}
+}
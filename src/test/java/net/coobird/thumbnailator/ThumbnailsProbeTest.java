@@ -0,0 +1,153 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
+import net.coobird.thumbnailator.tasks.io.BufferedImageSource;
+import net.coobird.thumbnailator.tasks.io.ImageInfo;
+import net.coobird.thumbnailator.util.exif.Orientation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link Thumbnails#probe(File)} family of methods.
+ */
+public class ThumbnailsProbeTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void probeFile() throws IOException {
+		// given
+		File f = TestUtils.copyResourceToTemporaryFile("Thumbnailator/grid.png", temporaryFolder);
+
+		// when
+		ImageInfo info = Thumbnails.probe(f);
+
+		// then
+		assertEquals(100, info.getWidth());
+		assertEquals(100, info.getHeight());
+		assertEquals("png", info.getFormatName());
+		assertEquals(1, info.getNumberOfImages());
+		assertNull(info.getOrientation());
+	}
+
+	@Test
+	public void probeFileWithExifOrientation() throws IOException {
+		// given
+		File f = TestUtils.copyResourceToTemporaryFile("Exif/source_6.jpg", temporaryFolder);
+		BufferedImage img = TestUtils.getImageFromResource("Exif/source_6.jpg");
+
+		// when
+		ImageInfo info = Thumbnails.probe(f);
+
+		// then
+		assertEquals(img.getWidth(), info.getWidth());
+		assertEquals(img.getHeight(), info.getHeight());
+		assertEquals("JPEG", info.getFormatName());
+		assertEquals(Orientation.RIGHT_TOP, info.getOrientation());
+	}
+
+	@Test
+	public void probeInputStream() throws IOException {
+		// given
+		InputStream is = TestUtils.getResourceStream("Thumbnailator/grid.gif");
+
+		// when
+		ImageInfo info = Thumbnails.probe(is);
+		is.close();
+
+		// then
+		assertEquals(100, info.getWidth());
+		assertEquals(100, info.getHeight());
+		assertEquals("gif", info.getFormatName());
+	}
+
+	@Test
+	public void probeByteBufferDoesNotChangePosition() throws IOException {
+		// given
+		File f = TestUtils.copyResourceToTemporaryFile("Thumbnailator/grid.bmp", temporaryFolder);
+		byte[] data = new byte[(int)f.length()];
+		InputStream is = new FileInputStream(f);
+		assertEquals(data.length, is.read(data));
+		is.close();
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+
+		// when
+		ImageInfo info = Thumbnails.probe(buffer);
+
+		// then
+		assertEquals(100, info.getWidth());
+		assertEquals("bmp", info.getFormatName());
+		assertEquals(0, buffer.position());
+	}
+
+	@Test
+	public void probeFiles() throws IOException {
+		// given
+		File png = TestUtils.copyResourceToTemporaryFile("Thumbnailator/grid.png", temporaryFolder);
+		File jpg = TestUtils.copyResourceToTemporaryFile("Thumbnailator/grid.jpg", temporaryFolder);
+
+		// when
+		List<ImageInfo> infos = Thumbnails.probeFiles(Arrays.asList(png, jpg));
+
+		// then
+		assertEquals(2, infos.size());
+		assertEquals("png", infos.get(0).getFormatName());
+		assertEquals("JPEG", infos.get(1).getFormatName());
+	}
+
+	@Test
+	public void probeBufferedImageSource() {
+		// when
+		ImageInfo info = new BufferedImageSource(new BufferedImage(30, 20, BufferedImage.TYPE_INT_RGB)).probe();
+
+		// then
+		assertEquals(30, info.getWidth());
+		assertEquals(20, info.getHeight());
+		assertNull(info.getFormatName());
+		assertEquals(1, info.getNumberOfImages());
+	}
+
+	@Test(expected = UnsupportedFormatException.class)
+	public void probeUnsupportedFormat() throws IOException {
+		Thumbnails.probe(new byte[] {1, 2, 3, 4});
+	}
+}
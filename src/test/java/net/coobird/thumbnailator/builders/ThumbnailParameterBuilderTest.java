@@ -326,5 +326,28 @@ public class ThumbnailParameterBuilderTest {
 		
 		assertEquals(rf, param.getResizerFactory());
 	}
+	
+	@Test
+	public void canonicalStringDescribesDecodeBandHeightAndFuseFilters() {
+		String canonicalString = new ThumbnailParameterBuilder()
+			.scale(0.5)
+			.build()
+			.toCanonicalString();
+		
+		assertFalse(canonicalString.equals(
+				new ThumbnailParameterBuilder()
+					.scale(0.5)
+					.decodeBandHeight(64)
+					.build()
+					.toCanonicalString()
+		));
+		assertFalse(canonicalString.equals(
+				new ThumbnailParameterBuilder()
+					.scale(0.5)
+					.fuseFilters(true)
+					.build()
+					.toCanonicalString()
+		));
+	}
 
 }
@@ -329,4 +329,33 @@ public class CanvasTest {
 		assertEquals(Color.blue.getRGB(), resultImage.getRGB(1, 50));
 		assertEquals(Color.blue.getRGB(), resultImage.getRGB(99, 50));
 	}
+	
+	@Test
+	public void imageOfCanvasSizeIsCopied() {
+		// given
+		BufferedImage originalImage = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+		originalImage.setRGB(50, 50, Color.red.getRGB());
+		ImageFilter filter = new Canvas(100, 100, Positions.CENTER, true);
+		
+		// when
+		BufferedImage resultImage = filter.apply(originalImage);
+		
+		// then
+		assertNotSame(originalImage, resultImage);
+		assertTrue(BufferedImageComparer.isSame(originalImage, resultImage));
+	}
+	
+	@Test
+	public void alphaImageOfCanvasSizeIsFilledWithSpecifiedFillColor() {
+		// given
+		BufferedImage originalImage = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+		ImageFilter filter = new Canvas(100, 100, Positions.CENTER, Color.blue);
+		
+		// when
+		BufferedImage resultImage = filter.apply(originalImage);
+		
+		// then
+		assertNotSame(originalImage, resultImage);
+		assertEquals(Color.blue.getRGB(), resultImage.getRGB(50, 50));
+	}
 }
@@ -0,0 +1,247 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.filters;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.test.BufferedImageComparer;
+import net.coobird.thumbnailator.util.BufferedImages;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link FusedFilters} class.
+ *
+ * @author coobird
+ *
+ */
+public class FusedFiltersTest {
+
+	private static BufferedImage makeImage(int type) {
+		BufferedImage img = new BufferedImage(100, 80, type);
+		Random random = new Random(0);
+		for (int y = 0; y < img.getHeight(); y++) {
+			for (int x = 0; x < img.getWidth(); x++) {
+				img.setRGB(x, y, random.nextInt() | 0xff000000);
+			}
+		}
+		return img;
+	}
+
+	private static BufferedImage makeWatermark() {
+		BufferedImage watermark = new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < 20; y++) {
+			for (int x = 0; x < 20; x++) {
+				watermark.setRGB(x, y, x < 10 ? 0x80ff0000 : 0xff00ff00);
+			}
+		}
+		return watermark;
+	}
+
+	private static List<ImageFilter> makeFilters() {
+		return Arrays.<ImageFilter>asList(
+				new Watermark(Positions.BOTTOM_RIGHT, makeWatermark(), 0.5f),
+				new Caption("Hello", new Font("Monospaced", Font.PLAIN, 12), Color.WHITE, Positions.TOP_LEFT, 0),
+				new Colorize(Color.BLUE, 0.25f),
+				new Transparency(0.5f)
+		);
+	}
+
+	private static BufferedImage applySequentially(BufferedImage img, List<ImageFilter> filters) {
+		BufferedImage image = img;
+		for (ImageFilter filter : filters) {
+			image = filter.apply(image);
+		}
+		return image;
+	}
+
+	private static void assertSimilar(BufferedImage expected, BufferedImage actual) {
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+		assertEquals(expected.getType(), actual.getType());
+
+		for (int y = 0; y < expected.getHeight(); y++) {
+			for (int x = 0; x < expected.getWidth(); x++) {
+				int e = expected.getRGB(x, y);
+				int a = actual.getRGB(x, y);
+				for (int shift = 0; shift < 32; shift += 8) {
+					int diff = Math.abs(((e >>> shift) & 0xff) - ((a >>> shift) & 0xff));
+					assertTrue("(" + x + ", " + y + ")", diff <= 2);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void inputContentsAreNotAltered() {
+		// given
+		BufferedImage originalImage = makeImage(BufferedImage.TYPE_INT_ARGB);
+		BufferedImage copyImage = BufferedImages.copy(originalImage);
+
+		// when
+		BufferedImage result = FusedFilters.apply(originalImage, makeFilters(), false);
+
+		// then
+		assertNotSame(originalImage, result);
+		assertTrue(BufferedImageComparer.isSame(originalImage, copyImage));
+	}
+
+	@Test
+	public void modifiableImageIsDrawnOn() {
+		// given
+		BufferedImage originalImage = makeImage(BufferedImage.TYPE_INT_ARGB);
+
+		// when
+		BufferedImage result = FusedFilters.apply(originalImage, makeFilters(), true);
+
+		// then
+		assertSame(originalImage, result);
+	}
+
+	@Test
+	public void sameAsSequentialForArgb() {
+		// given
+		BufferedImage originalImage = makeImage(BufferedImage.TYPE_INT_ARGB);
+
+		// when
+		BufferedImage expected = applySequentially(originalImage, makeFilters());
+		BufferedImage actual = FusedFilters.apply(originalImage, makeFilters(), false);
+
+		// then
+		assertSimilar(expected, actual);
+	}
+
+	@Test
+	public void sameAsSequentialForRgb() {
+		// given
+		BufferedImage originalImage = makeImage(BufferedImage.TYPE_INT_RGB);
+
+		// when
+		BufferedImage expected = applySequentially(originalImage, makeFilters());
+		BufferedImage actual = FusedFilters.apply(originalImage, makeFilters(), false);
+
+		// then
+		assertSimilar(expected, actual);
+	}
+
+	@Test
+	public void transparencyIsNotAppliedInPlaceWithoutAlpha() {
+		// given
+		BufferedImage originalImage = makeImage(BufferedImage.TYPE_INT_RGB);
+		List<ImageFilter> filters = Arrays.<ImageFilter>asList(new Transparency(0.5f));
+
+		// when
+		BufferedImage expected = applySequentially(originalImage, filters);
+		BufferedImage actual = FusedFilters.apply(originalImage, filters, true);
+
+		// then
+		assertNotSame(originalImage, actual);
+		assertTrue(BufferedImageComparer.isSame(expected, actual));
+	}
+
+	@Test
+	public void otherFiltersAreAppliedInOrder() {
+		// given
+		BufferedImage originalImage = makeImage(BufferedImage.TYPE_INT_ARGB);
+		List<ImageFilter> filters = Arrays.<ImageFilter>asList(
+				new Watermark(Positions.TOP_LEFT, makeWatermark(), 1.0f),
+				Flip.HORIZONTAL,
+				new Colorize(Color.RED, 0.5f),
+				new Canvas(120, 120, Positions.CENTER),
+				new Transparency(0.5f)
+		);
+
+		// when
+		BufferedImage expected = applySequentially(originalImage, filters);
+		BufferedImage actual = FusedFilters.apply(originalImage, filters, false);
+
+		// then
+		assertSimilar(expected, actual);
+	}
+
+	@Test
+	public void pipelinesAreExpanded() {
+		// given
+		BufferedImage originalImage = makeImage(BufferedImage.TYPE_INT_ARGB);
+		List<ImageFilter> filters = Arrays.<ImageFilter>asList(
+				new Pipeline(makeFilters())
+		);
+
+		// when
+		BufferedImage expected = applySequentially(originalImage, makeFilters());
+		BufferedImage actual = FusedFilters.apply(originalImage, filters, true);
+
+		// then
+		assertSame(originalImage, actual);
+		assertSimilar(expected, actual);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullImage() {
+		FusedFilters.apply(null, makeFilters(), false);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullFilters() {
+		FusedFilters.apply(makeImage(BufferedImage.TYPE_INT_ARGB), null, false);
+	}
+
+	@Test
+	public void thumbnailsBuilderFuseFilters() throws IOException {
+		// given
+		BufferedImage originalImage = makeImage(BufferedImage.TYPE_INT_ARGB);
+
+		// when
+		BufferedImage expected = Thumbnails.of(originalImage)
+				.size(50, 50)
+				.addFilters(makeFilters())
+				.asBufferedImage();
+		BufferedImage actual = Thumbnails.of(originalImage)
+				.size(50, 50)
+				.addFilters(makeFilters())
+				.fuseFilters(true)
+				.asBufferedImage();
+
+		// then
+		assertSimilar(expected, actual);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void thumbnailsBuilderFuseFiltersTwice() {
+		Thumbnails.of(makeImage(BufferedImage.TYPE_INT_ARGB))
+				.fuseFilters(true)
+				.fuseFilters(false);
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.resizers;
+
+import static net.coobird.thumbnailator.test.TestImages.opaqueNoise;
+import static net.coobird.thumbnailator.test.TestImages.pixels;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.resizers.configurations.ScalingMode;
+
+import org.junit.Test;
+
+public class ConvolutionResizerTest {
+
+	private static BufferedImage solid(int width, int height, Color c) {
+		BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics g = img.getGraphics();
+		g.setColor(c);
+		g.fillRect(0, 0, width, height);
+		g.dispose();
+		return img;
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullKernel() {
+		new ConvolutionResizer(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroThreads() {
+		new ConvolutionResizer(ConvolutionKernel.LANCZOS3, 0);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void resizeNullAndNull() {
+		new ConvolutionResizer(ConvolutionKernel.LANCZOS3).resize(null, null);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void resizeSpecifiedAndNull() {
+		BufferedImage srcImage = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+		new ConvolutionResizer(ConvolutionKernel.LANCZOS3).resize(srcImage, null);
+	}
+
+	@Test
+	public void solidColorIsPreserved() {
+		Color c = new Color(12, 150, 240);
+		for (ConvolutionKernel kernel : ConvolutionKernel.values()) {
+			for (int[] size : new int[][] {{37, 23}, {100, 100}, {250, 170}}) {
+				BufferedImage destImage = new BufferedImage(size[0], size[1], BufferedImage.TYPE_INT_ARGB);
+
+				new ConvolutionResizer(kernel).resize(solid(100, 100, c), destImage);
+
+				for (int pixel : pixels(destImage)) {
+					assertEquals(kernel.toString(), c.getRGB(), pixel);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void boxAveragesPixels() {
+		BufferedImage srcImage = opaqueNoise(4, 2, BufferedImage.TYPE_INT_RGB);
+		BufferedImage destImage = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+
+		new ConvolutionResizer(ConvolutionKernel.BOX).resize(srcImage, destImage);
+
+		for (int x = 0; x < 2; x++) {
+			for (int shift = 0; shift < 24; shift += 8) {
+				int sum = 0;
+				for (int i = 0; i < 2; i++) {
+					for (int j = 0; j < 2; j++) {
+						sum += (srcImage.getRGB(x * 2 + i, j) >> shift) & 0xff;
+					}
+				}
+				assertEquals(sum / 4.0, (destImage.getRGB(x, 0) >> shift) & 0xff, 0.5001);
+			}
+		}
+	}
+
+	@Test
+	public void sameResultWithMultipleThreads() {
+		int[] types = new int[] {
+				BufferedImage.TYPE_INT_RGB,
+				BufferedImage.TYPE_3BYTE_BGR,
+				BufferedImage.TYPE_4BYTE_ABGR,
+				BufferedImage.TYPE_INT_BGR,
+		};
+
+		for (int type : types) {
+			BufferedImage srcImage = opaqueNoise(800, 600, type);
+			BufferedImage single = new BufferedImage(123, 97, BufferedImage.TYPE_INT_RGB);
+			BufferedImage multiple = new BufferedImage(123, 97, BufferedImage.TYPE_INT_RGB);
+
+			new ConvolutionResizer(ConvolutionKernel.LANCZOS3, 1).resize(srcImage, single);
+			new ConvolutionResizer(ConvolutionKernel.LANCZOS3, 4).resize(srcImage, multiple);
+
+			assertArrayEquals(pixels(single), pixels(multiple));
+		}
+	}
+
+	@Test
+	public void sameResultForAllImageTypes() {
+		BufferedImage argb = opaqueNoise(64, 48, BufferedImage.TYPE_INT_ARGB);
+		BufferedImage expected = new BufferedImage(20, 15, BufferedImage.TYPE_INT_ARGB);
+		new ConvolutionResizer(ConvolutionKernel.MITCHELL).resize(argb, expected);
+
+		int[] types = new int[] {
+				BufferedImage.TYPE_INT_RGB,
+				BufferedImage.TYPE_3BYTE_BGR,
+				BufferedImage.TYPE_4BYTE_ABGR,
+				BufferedImage.TYPE_INT_BGR,
+		};
+		for (int type : types) {
+			BufferedImage srcImage = new BufferedImage(64, 48, type);
+			srcImage.setRGB(0, 0, 64, 48, pixels(argb), 0, 64);
+			BufferedImage destImage = new BufferedImage(20, 15, type);
+
+			new ConvolutionResizer(ConvolutionKernel.MITCHELL).resize(srcImage, destImage);
+
+			assertArrayEquals("type=" + type, pixels(expected), pixels(destImage));
+		}
+	}
+
+	@Test
+	public void subimageAsSource() {
+		BufferedImage srcImage = opaqueNoise(64, 48, BufferedImage.TYPE_INT_RGB);
+		BufferedImage copy = new BufferedImage(32, 24, BufferedImage.TYPE_INT_RGB);
+		copy.setRGB(0, 0, 32, 24, srcImage.getRGB(16, 8, 32, 24, null, 0, 32), 0, 32);
+
+		BufferedImage expected = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+		BufferedImage actual = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+		new ConvolutionResizer(ConvolutionKernel.LANCZOS3).resize(copy, expected);
+		new ConvolutionResizer(ConvolutionKernel.LANCZOS3).resize(srcImage.getSubimage(16, 8, 32, 24), actual);
+
+		assertArrayEquals(pixels(expected), pixels(actual));
+	}
+
+	@Test
+	public void transparentColorDoesNotBleed() {
+		BufferedImage srcImage = new BufferedImage(4, 1, BufferedImage.TYPE_INT_ARGB);
+		srcImage.setRGB(0, 0, 0x00ff0000);
+		srcImage.setRGB(1, 0, 0x00ff0000);
+		srcImage.setRGB(2, 0, 0xff0000ff);
+		srcImage.setRGB(3, 0, 0xff0000ff);
+		BufferedImage destImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+		new ConvolutionResizer(ConvolutionKernel.BOX).resize(srcImage, destImage);
+
+		int pixel = destImage.getRGB(0, 0);
+		assertEquals(128, pixel >>> 24);
+		assertEquals(0, (pixel >> 16) & 0xff);
+		assertEquals(255, pixel & 0xff);
+	}
+
+	@Test
+	public void scalingMode() throws IOException {
+		for (ScalingMode mode : new ScalingMode[] {ScalingMode.LANCZOS3, ScalingMode.MITCHELL, ScalingMode.BOX}) {
+			BufferedImage thumbnail = Thumbnails.of(solid(200, 100, Color.GREEN))
+					.size(50, 50)
+					.scalingMode(mode)
+					.asBufferedImage();
+
+			assertEquals(50, thumbnail.getWidth());
+			assertEquals(25, thumbnail.getHeight());
+			assertEquals(Color.GREEN.getRGB(), thumbnail.getRGB(25, 12));
+		}
+	}
+}
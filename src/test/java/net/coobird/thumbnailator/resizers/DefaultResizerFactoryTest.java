@@ -188,4 +188,21 @@ public class DefaultResizerFactoryTest {
 		// then
 		assertEquals(resizer, receivedResizer);
 	}
+	
+	@Test
+	public void convolutionResizersWhenConfigured() {
+		System.setProperty("thumbnailator.useConvolutionResizers", "true");
+		try {
+			ResizerFactory factory = DefaultResizerFactory.getInstance();
+			
+			assertEquals(Resizers.LANCZOS3, factory.getResizer());
+			assertEquals(Resizers.LANCZOS3, factory.getResizer(new Dimension(200, 200), new Dimension(150, 150)));
+			assertEquals(Resizers.LANCZOS3, factory.getResizer(new Dimension(400, 400), new Dimension(100, 100)));
+			assertEquals(Resizers.LANCZOS3, factory.getResizer(new Dimension(50, 100), new Dimension(100, 50)));
+			assertEquals(Resizers.MITCHELL, factory.getResizer(new Dimension(100, 100), new Dimension(200, 200)));
+			assertEquals(Resizers.NULL, factory.getResizer(new Dimension(100, 100), new Dimension(100, 100)));
+		} finally {
+			System.clearProperty("thumbnailator.useConvolutionResizers");
+		}
+	}
 }
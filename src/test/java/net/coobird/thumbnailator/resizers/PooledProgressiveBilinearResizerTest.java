@@ -0,0 +1,122 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.resizers;
+
+import static net.coobird.thumbnailator.test.TestImages.noise;
+import static net.coobird.thumbnailator.test.TestImages.pixels;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class PooledProgressiveBilinearResizerTest {
+
+	private static void assertSameResult(Resizer expected, Resizer actual, BufferedImage srcImage, int width, int height, int type) {
+		BufferedImage expectedImage = new BufferedImage(width, height, type);
+		BufferedImage actualImage = new BufferedImage(width, height, type);
+
+		expected.resize(srcImage, expectedImage);
+		actual.resize(srcImage, actualImage);
+
+		assertArrayEquals(
+				srcImage.getWidth() + "x" + srcImage.getHeight() + " -> " + width + "x" + height,
+				pixels(expectedImage),
+				pixels(actualImage)
+		);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void resizeNullAndNull() {
+		new PooledProgressiveBilinearResizer().resize(null, null);
+	}
+
+	@Test
+	public void resizeSpecifiedAndNull() {
+		BufferedImage srcImage = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+
+		try {
+			new PooledProgressiveBilinearResizer().resize(srcImage, null);
+			fail();
+		} catch (NullPointerException e) {
+			// Expected.
+		}
+	}
+
+	@Test
+	public void sameResultAsProgressiveBilinearResizer() {
+		Resizer expected = new ProgressiveBilinearResizer();
+		Resizer actual = new PooledProgressiveBilinearResizer();
+
+		int[][] sizes = new int[][] {{100, 75}, {100, 75}, {37, 50}, {1, 200}, {1, 1}, {200, 1}, {1, 200}};
+		int[] types = new int[] {BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_3BYTE_BGR};
+
+		long seed = 0;
+		for (int type : types) {
+			for (int[] size : sizes) {
+				// Use different content each time, so stale pixels would show up.
+				BufferedImage srcImage = noise(800, 600, type, seed++);
+				assertSameResult(expected, actual, srcImage, size[0], size[1], type);
+			}
+		}
+	}
+
+	@Test
+	public void temporaryImageIsReused() {
+		PooledProgressiveBilinearResizer resizer = new PooledProgressiveBilinearResizer();
+
+		BufferedImage first = resizer.createTemporaryImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+		resizer.releaseTemporaryImage(first);
+		BufferedImage second = resizer.createTemporaryImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+
+		assertSame(first, second);
+	}
+
+	@Test
+	public void temporaryImageIsNotSharedWhileInUse() {
+		PooledProgressiveBilinearResizer resizer = new PooledProgressiveBilinearResizer();
+
+		BufferedImage first = resizer.createTemporaryImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+		resizer.releaseTemporaryImage(first);
+		BufferedImage second = resizer.createTemporaryImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+		BufferedImage third = resizer.createTemporaryImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+
+		assertNotSame(second, third);
+	}
+
+	@Test
+	public void temporaryImageOfDifferentTypeIsNotReused() {
+		PooledProgressiveBilinearResizer resizer = new PooledProgressiveBilinearResizer();
+
+		BufferedImage first = resizer.createTemporaryImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+		resizer.releaseTemporaryImage(first);
+		BufferedImage second = resizer.createTemporaryImage(100, 50, BufferedImage.TYPE_INT_RGB);
+
+		assertNotSame(first, second);
+	}
+}
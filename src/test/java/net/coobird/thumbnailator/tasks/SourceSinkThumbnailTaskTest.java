@@ -24,6 +24,7 @@
 
 package net.coobird.thumbnailator.tasks;
 
+import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -40,11 +41,13 @@ import net.coobird.thumbnailator.Thumbnailator;
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
 import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
 import net.coobird.thumbnailator.tasks.io.BufferedImageSink;
+import net.coobird.thumbnailator.tasks.io.BufferedImageSource;
 import net.coobird.thumbnailator.tasks.io.FileImageSource;
 import net.coobird.thumbnailator.tasks.io.ImageSink;
 import net.coobird.thumbnailator.tasks.io.ImageSource;
 import net.coobird.thumbnailator.tasks.io.InputStreamImageSource;
 import net.coobird.thumbnailator.tasks.io.OutputStreamImageSink;
+import net.coobird.thumbnailator.test.TestImages;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -227,4 +230,212 @@ public class SourceSinkThumbnailTaskTest {
 		String formatName = TestUtils.getFormatName(destIs);
 		assertEquals("JPEG", formatName);
 	}
+	
+	/**
+	 * An {@link OutputStreamImageSink} which records the image type of the
+	 * thumbnail which was written.
+	 */
+	private static class ImageTypeRecordingSink extends OutputStreamImageSink {
+		private int imageType = -1;
+		
+		public ImageTypeRecordingSink(OutputStream os) {
+			super(os);
+		}
+		
+		@Override
+		public void write(BufferedImage img) throws IOException {
+			imageType = img.getType();
+			super.write(img);
+		}
+	}
+	
+	@Test
+	public void task_OpaqueImageTypeUsedForJpegOutput() throws IOException {
+		// given
+		ThumbnailParameter param =
+			new ThumbnailParameterBuilder().size(50, 50).format("jpg").build();
+		
+		// A PNG without an alpha channel.
+		ImageSource<InputStream> source = new InputStreamImageSource(
+				new ByteArrayInputStream(TestImages.encode(
+						TestImages.opaqueNoise(100, 100, BufferedImage.TYPE_INT_RGB), "png"
+				))
+		);
+		ImageTypeRecordingSink destination =
+				new ImageTypeRecordingSink(new ByteArrayOutputStream());
+		SourceSinkThumbnailTask<InputStream, OutputStream> task =
+				new SourceSinkThumbnailTask<InputStream, OutputStream>(param, source, destination);
+		
+		// when
+		Thumbnailator.createThumbnail(task);
+		
+		// then
+		assertEquals("jpg", task.getOutputFormatName());
+		assertEquals(BufferedImage.TYPE_INT_RGB, destination.imageType);
+	}
+	
+	@Test
+	public void task_OpaqueImageTypeUsedForOriginalFormatJpeg() throws IOException {
+		// given
+		ThumbnailParameter param =
+			new ThumbnailParameterBuilder().size(50, 50).build();
+		
+		ImageSource<InputStream> source = new InputStreamImageSource(
+				TestUtils.getResourceStream("Thumbnailator/grid.jpg")
+		);
+		ImageTypeRecordingSink destination =
+				new ImageTypeRecordingSink(new ByteArrayOutputStream());
+		
+		// when
+		Thumbnailator.createThumbnail(
+				new SourceSinkThumbnailTask<InputStream, OutputStream>(param, source, destination)
+		);
+		
+		// then
+		assertEquals(BufferedImage.TYPE_INT_RGB, destination.imageType);
+	}
+	
+	@Test
+	public void task_DefaultImageTypeUsedForPngOutput() throws IOException {
+		// given
+		ThumbnailParameter param =
+			new ThumbnailParameterBuilder().size(50, 50).format("png").build();
+		
+		ImageSource<InputStream> source = new InputStreamImageSource(
+				TestUtils.getResourceStream("Thumbnailator/grid.jpg")
+		);
+		ImageTypeRecordingSink destination =
+				new ImageTypeRecordingSink(new ByteArrayOutputStream());
+		
+		// when
+		Thumbnailator.createThumbnail(
+				new SourceSinkThumbnailTask<InputStream, OutputStream>(param, source, destination)
+		);
+		
+		// then
+		assertEquals(ThumbnailParameter.DEFAULT_IMAGE_TYPE, destination.imageType);
+	}
+	
+	@Test
+	public void task_DefaultImageTypeUsedForBufferedImageSink() throws IOException {
+		// given
+		ThumbnailParameter param =
+			new ThumbnailParameterBuilder().size(50, 50).build();
+		
+		ImageSource<InputStream> source = new InputStreamImageSource(
+				TestUtils.getResourceStream("Thumbnailator/grid.jpg")
+		);
+		BufferedImageSink destination = new BufferedImageSink();
+		SourceSinkThumbnailTask<InputStream, BufferedImage> task =
+				new SourceSinkThumbnailTask<InputStream, BufferedImage>(param, source, destination);
+		
+		// when
+		Thumbnailator.createThumbnail(task);
+		
+		// then
+		assertNull(task.getOutputFormatName());
+		assertEquals(ThumbnailParameter.DEFAULT_IMAGE_TYPE, destination.getSink().getType());
+	}
+	
+	@Test
+	public void task_SpecifiedImageTypeUsedForJpegOutput() throws IOException {
+		// given
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.size(50, 50)
+				.format("jpg")
+				.imageType(BufferedImage.TYPE_3BYTE_BGR)
+				.build();
+		
+		ImageSource<InputStream> source = new InputStreamImageSource(
+				TestUtils.getResourceStream("Thumbnailator/grid.png")
+		);
+		ImageTypeRecordingSink destination =
+				new ImageTypeRecordingSink(new ByteArrayOutputStream());
+		
+		// when
+		Thumbnailator.createThumbnail(
+				new SourceSinkThumbnailTask<InputStream, OutputStream>(param, source, destination)
+		);
+		
+		// then
+		assertEquals(BufferedImage.TYPE_3BYTE_BGR, destination.imageType);
+	}
+	
+	@Test
+	public void task_ExplicitArgbImageTypeUsedForJpegOutput() throws IOException {
+		// given
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.size(50, 50)
+				.format("jpg")
+				.imageType(BufferedImage.TYPE_INT_ARGB)
+				.build();
+		
+		ImageSource<InputStream> source = new InputStreamImageSource(
+				TestUtils.getResourceStream("Thumbnailator/grid.png")
+		);
+		ImageTypeRecordingSink destination =
+				new ImageTypeRecordingSink(new ByteArrayOutputStream());
+		
+		// when
+		Thumbnailator.createThumbnail(
+				new SourceSinkThumbnailTask<InputStream, OutputStream>(param, source, destination)
+		);
+		
+		// then
+		assertEquals(BufferedImage.TYPE_INT_ARGB, destination.imageType);
+	}
+	
+	@Test
+	public void task_OriginalArgbImageTypeUsedForJpegOutput() throws IOException {
+		// given
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.size(50, 50)
+				.format("jpg")
+				.imageType(ThumbnailParameter.ORIGINAL_IMAGE_TYPE)
+				.build();
+		
+		ImageSource<BufferedImage> source = new BufferedImageSource(
+				new BufferedImageBuilder(100, 100, BufferedImage.TYPE_INT_ARGB).build()
+		);
+		ImageTypeRecordingSink destination =
+				new ImageTypeRecordingSink(new ByteArrayOutputStream());
+		
+		// when
+		Thumbnailator.createThumbnail(
+				new SourceSinkThumbnailTask<BufferedImage, OutputStream>(param, source, destination)
+		);
+		
+		// then
+		assertEquals(BufferedImage.TYPE_INT_ARGB, destination.imageType);
+	}
+	
+	@Test
+	public void task_TranslucentCustomImageFlattenedForOpaqueOutput() throws IOException {
+		for (String format : new String[] {"jpg", "bmp"}) {
+			// given
+			ThumbnailParameter param =
+				new ThumbnailParameterBuilder().size(50, 50).format(format).build();
+			
+			ImageSource<BufferedImage> source = new BufferedImageSource(
+					TestImages.filled16Bit(100, 100, new Color(255, 0, 0, 128))
+			);
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			ImageTypeRecordingSink destination = new ImageTypeRecordingSink(baos);
+			
+			// when
+			Thumbnailator.createThumbnail(
+					new SourceSinkThumbnailTask<BufferedImage, OutputStream>(param, source, destination)
+			);
+			
+			// then
+			assertEquals(ThumbnailParameter.DEFAULT_IMAGE_TYPE, destination.imageType);
+			
+			// Composited over black, as when the image type is specified.
+			BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(baos.toByteArray()));
+			Color color = new Color(thumbnail.getRGB(25, 25));
+			assertEquals(128, color.getRed(), 2);
+			assertEquals(0, color.getGreen(), 2);
+			assertEquals(0, color.getBlue(), 2);
+		}
+	}
 }
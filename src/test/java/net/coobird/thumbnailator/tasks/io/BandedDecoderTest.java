@@ -0,0 +1,215 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static net.coobird.thumbnailator.test.TestImages.encode;
+import static net.coobird.thumbnailator.test.TestImages.opaqueNoise;
+import static net.coobird.thumbnailator.test.TestImages.pixels;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import net.coobird.thumbnailator.Thumbnails;
+
+import org.junit.Test;
+
+public class BandedDecoderTest {
+
+	private static BufferedImage read(byte[] data, Rectangle region, int factor, int bandHeight) throws IOException {
+		ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(data));
+		ImageReader reader = ImageIO.getImageReaders(iis).next();
+		try {
+			reader.setInput(iis);
+			return BandedDecoder.read(
+					reader, 0, reader.getDefaultReadParam(), region, factor, bandHeight
+			);
+		} finally {
+			reader.dispose();
+			iis.close();
+		}
+	}
+
+	@Test
+	public void averagesBlocks() throws IOException {
+		BufferedImage source = opaqueNoise(10, 7, BufferedImage.TYPE_INT_RGB);
+
+		BufferedImage result = read(encode(source, "png"), new Rectangle(0, 0, 10, 7), 4, 4);
+
+		assertEquals(3, result.getWidth());
+		assertEquals(2, result.getHeight());
+
+		// Bottom right block is the remaining 2 x 3 pixels.
+		int sum = 0;
+		for (int y = 4; y < 7; y++) {
+			for (int x = 8; x < 10; x++) {
+				sum += source.getRGB(x, y) & 0xff;
+			}
+		}
+		assertEquals((sum + 3) / 6, result.getRGB(2, 1) & 0xff);
+	}
+
+	@Test
+	public void resultIndependentOfBandHeight() throws IOException {
+		byte[] data = encode(opaqueNoise(103, 57, BufferedImage.TYPE_INT_RGB), "png");
+		Rectangle region = new Rectangle(0, 0, 103, 57);
+
+		BufferedImage whole = read(data, region, 3, 1000);
+
+		for (int bandHeight : new int[] {1, 3, 7, 20}) {
+			assertArrayEquals(pixels(whole), pixels(read(data, region, 3, bandHeight)));
+		}
+	}
+
+	@Test
+	public void sourceRegion() throws IOException {
+		BufferedImage source = opaqueNoise(40, 40, BufferedImage.TYPE_INT_RGB);
+
+		BufferedImage result = read(encode(source, "png"), new Rectangle(10, 20, 2, 2), 2, 2);
+
+		assertEquals(1, result.getWidth());
+		assertEquals(1, result.getHeight());
+
+		int sum = 0;
+		for (int y = 20; y < 22; y++) {
+			for (int x = 10; x < 12; x++) {
+				sum += (source.getRGB(x, y) >> 8) & 0xff;
+			}
+		}
+		assertEquals((sum + 2) / 4, (result.getRGB(0, 0) >> 8) & 0xff);
+	}
+
+	private static BufferedImage checkerboard(int width, int height) {
+		BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				img.setRGB(x, y, (x + y) % 2 == 0 ? 0xffffffff : 0x00000000);
+			}
+		}
+		return img;
+	}
+
+	@Test
+	public void colorsWeightedByAlpha() throws IOException {
+		byte[] data = encode(checkerboard(40, 40), "png");
+
+		BufferedImage result = read(data, new Rectangle(0, 0, 40, 40), 4, 8);
+
+		assertEquals(10, result.getWidth());
+		assertEquals(10, result.getHeight());
+		for (int pixel : pixels(result)) {
+			assertEquals(0x80ffffff, pixel);
+		}
+	}
+
+	@Test
+	public void transparentThumbnailSameAsDecodedAtOnce() throws IOException {
+		byte[] data = encode(checkerboard(400, 400), "png");
+
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(data))
+				.size(50, 50)
+				.decodeInBands(64)
+				.asBufferedImage();
+
+		assertEquals(50, thumbnail.getWidth());
+		assertEquals(50, thumbnail.getHeight());
+		for (int pixel : pixels(thumbnail)) {
+			assertEquals(0x80ffffff, pixel);
+		}
+	}
+
+	@Test
+	public void indexedImageIsConverted() throws IOException {
+		BufferedImage source = opaqueNoise(20, 20, BufferedImage.TYPE_BYTE_INDEXED);
+
+		BufferedImage result = read(encode(source, "png"), new Rectangle(0, 0, 20, 20), 2, 4);
+
+		assertEquals(10, result.getWidth());
+		assertEquals(10, result.getHeight());
+		assertFalse(result.getColorModel() instanceof IndexColorModel);
+	}
+
+	@Test
+	public void thumbnailSizeUnchanged() throws IOException {
+		byte[] data = encode(opaqueNoise(400, 300, BufferedImage.TYPE_INT_RGB), "png");
+
+		BufferedImage bySize = Thumbnails.of(new ByteArrayInputStream(data))
+				.size(50, 50)
+				.decodeInBands(16)
+				.asBufferedImage();
+		BufferedImage byScale = Thumbnails.of(new ByteArrayInputStream(data))
+				.scale(0.1)
+				.decodeInBands(16)
+				.asBufferedImage();
+
+		assertEquals(50, bySize.getWidth());
+		assertEquals(38, bySize.getHeight());
+		assertEquals(40, byScale.getWidth());
+		assertEquals(30, byScale.getHeight());
+	}
+
+	@Test
+	public void imageNotReducedIsDecodedAtOnce() throws IOException {
+		byte[] data = encode(opaqueNoise(400, 300, BufferedImage.TYPE_INT_RGB), "png");
+
+		for (DecodeSubsampling subsampling : new DecodeSubsampling[] {DecodeSubsampling.OFF, DecodeSubsampling.AUTO}) {
+			BufferedImage expected = Thumbnails.of(new ByteArrayInputStream(data))
+					.size(300, 300)
+					.decodeSubsampling(subsampling)
+					.asBufferedImage();
+			BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(data))
+					.size(300, 300)
+					.decodeSubsampling(subsampling)
+					.decodeInBands(16)
+					.asBufferedImage();
+
+			assertEquals(300, thumbnail.getWidth());
+			assertEquals(225, thumbnail.getHeight());
+			assertArrayEquals(pixels(expected), pixels(thumbnail));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void decodeInBandsWithZero() {
+		Thumbnails.of(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB))
+				.decodeInBands(0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void decodeInBandsCalledTwice() {
+		Thumbnails.of(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB))
+				.decodeInBands(16)
+				.decodeInBands(16);
+	}
+}
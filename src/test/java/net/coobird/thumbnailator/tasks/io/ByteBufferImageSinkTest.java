@@ -0,0 +1,121 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.TestUtils;
+import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
+
+import org.junit.Test;
+
+public class ByteBufferImageSinkTest {
+
+	private static BufferedImage decode(ByteBuffer buffer) throws IOException {
+		byte[] data = new byte[buffer.remaining()];
+		buffer.get(data);
+		return ImageIO.read(new ByteArrayInputStream(data));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void getSinkBeforeWrite() {
+		new ByteBufferImageSink().getSink();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void writeWithoutOutputFormat() throws IOException {
+		new ByteBufferImageSink().write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB));
+	}
+
+	@Test(expected = UnsupportedFormatException.class)
+	public void writeUnsupportedFormat() throws IOException {
+		ByteBufferImageSink sink = new ByteBufferImageSink();
+		sink.setOutputFormatName("foo");
+		sink.write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB));
+	}
+
+	@Test
+	public void writePng() throws IOException {
+		// given
+		ByteBufferImageSink sink = new ByteBufferImageSink();
+		sink.setOutputFormatName("png");
+
+		// when
+		sink.write(new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB));
+
+		// then
+		ByteBuffer buffer = sink.getSink();
+		assertEquals(0, buffer.position());
+		assertEquals("png", TestUtils.getFormatName(new ByteArrayInputStream(buffer.array(), 0, buffer.limit())));
+
+		BufferedImage img = decode(buffer);
+		assertEquals(100, img.getWidth());
+		assertEquals(50, img.getHeight());
+	}
+
+	@Test
+	public void writeJpegFromImageWithAlpha() throws IOException {
+		// given
+		ByteBufferImageSink sink = new ByteBufferImageSink();
+		sink.setOutputFormatName("jpg");
+
+		// when
+		sink.write(new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB));
+
+		// then
+		BufferedImage img = decode(sink.getSink());
+		assertEquals(100, img.getWidth());
+		assertEquals(50, img.getHeight());
+	}
+
+	@Test
+	public void outputStreamGrowsAndSeeks() throws IOException {
+		// given
+		ByteArrayImageOutputStream ios = new ByteArrayImageOutputStream(1);
+
+		// when
+		for (int i = 0; i < 100; i++) {
+			ios.write(i);
+		}
+		ios.seek(10);
+		ios.write(new byte[] {-1, -1}, 0, 2);
+		ios.close();
+
+		// then
+		ByteBuffer buffer = ios.toByteBuffer();
+		assertEquals(100, buffer.remaining());
+		assertEquals(9, buffer.get(9));
+		assertEquals(-1, buffer.get(10));
+		assertEquals(-1, buffer.get(11));
+		assertEquals(12, buffer.get(12));
+	}
+}
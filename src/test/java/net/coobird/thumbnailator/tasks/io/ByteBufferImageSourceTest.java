@@ -0,0 +1,138 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import javax.imageio.stream.ImageInputStream;
+
+import net.coobird.thumbnailator.TestUtils;
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+
+import org.junit.Test;
+
+public class ByteBufferImageSourceTest {
+
+	private static byte[] readResource(String resourceName) throws IOException {
+		InputStream is = TestUtils.getResourceStream(resourceName);
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		byte[] buf = new byte[8192];
+		int n;
+		while ((n = is.read(buf)) != -1) {
+			baos.write(buf, 0, n);
+		}
+		is.close();
+		return baos.toByteArray();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void givenNullBuffer() {
+		new ByteBufferImageSource((ByteBuffer)null);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void givenNullArray() {
+		new ByteBufferImageSource((byte[])null);
+	}
+
+	@Test
+	public void readsFromArray() throws IOException {
+		// given
+		ByteBufferImageSource source = new ByteBufferImageSource(readResource("Thumbnailator/grid.png"));
+		source.setThumbnailParameter(new ThumbnailParameterBuilder().size(100, 100).build());
+
+		// when
+		BufferedImage img = source.read();
+
+		// then
+		assertEquals(100, img.getWidth());
+		assertEquals(100, img.getHeight());
+		assertEquals("png", source.getInputFormatName());
+	}
+
+	@Test
+	public void readsFromDirectBufferAtPosition() throws IOException {
+		// given
+		byte[] data = readResource("Thumbnailator/grid.jpg");
+		ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 10);
+		buffer.position(10);
+		buffer.put(data);
+		buffer.position(10);
+
+		ByteBufferImageSource source = new ByteBufferImageSource(buffer);
+		source.setThumbnailParameter(new ThumbnailParameterBuilder().size(100, 100).build());
+
+		// when
+		BufferedImage img = source.read();
+
+		// then
+		assertEquals(100, img.getWidth());
+		assertEquals(100, img.getHeight());
+		assertEquals("JPEG", source.getInputFormatName());
+		assertEquals(10, buffer.position());
+		assertEquals(data.length + 10, buffer.limit());
+	}
+
+	@Test
+	public void readsExifOrientation() throws IOException {
+		// given
+		ByteBufferImageSource source = new ByteBufferImageSource(readResource("Exif/source_6.jpg"));
+		ThumbnailParameter param = new ThumbnailParameterBuilder().size(20, 20).build();
+		source.setThumbnailParameter(param);
+
+		// when
+		source.read();
+
+		// then
+		assertEquals(1, param.getImageFilters().size());
+	}
+
+	@Test
+	public void imageInputStreamIsSeekable() throws IOException {
+		// given
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+		buffer.position(2);
+		ImageInputStream iis = new ByteBufferImageInputStream(buffer);
+
+		// when, then
+		assertEquals(6, iis.length());
+		iis.seek(4);
+		assertEquals(6, iis.read());
+		iis.seek(0);
+		byte[] b = new byte[10];
+		assertEquals(6, iis.read(b, 0, b.length));
+		assertEquals(2, b[0]);
+		assertEquals(7, b[5]);
+		assertEquals(-1, iis.read());
+		assertEquals(2, buffer.position());
+	}
+}
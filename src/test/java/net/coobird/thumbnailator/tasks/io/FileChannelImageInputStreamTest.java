@@ -0,0 +1,188 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileChannelImageInputStreamTest {
+
+	private static final int LENGTH = 100000;
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private byte[] data;
+
+	private FileInputStream fis;
+
+	private FileChannelImageInputStream iis;
+
+	@Before
+	public void setup() throws IOException {
+		data = new byte[LENGTH];
+		new Random(0).nextBytes(data);
+
+		File f = tempFolder.newFile("data.bin");
+		FileOutputStream fos = new FileOutputStream(f);
+		fos.write(data);
+		fos.close();
+
+		fis = new FileInputStream(f);
+		iis = new FileChannelImageInputStream(fis.getChannel());
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		fis.close();
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullChannel() {
+		new FileChannelImageInputStream(null);
+	}
+
+	@Test
+	public void length() {
+		assertEquals(LENGTH, iis.length());
+	}
+
+	@Test
+	public void readSequentially() throws IOException {
+		for (int i = 0; i < LENGTH; i++) {
+			assertEquals(data[i] & 0xff, iis.read());
+		}
+		assertEquals(-1, iis.read());
+		assertEquals(LENGTH, iis.getStreamPosition());
+	}
+
+	@Test
+	public void readArrays() throws IOException {
+		byte[] result = new byte[LENGTH];
+		int[] sizes = new int[] {1, 7, 100, 20000, 5, 40000};
+
+		int position = 0;
+		for (int i = 0; position < LENGTH; i++) {
+			int len = Math.min(sizes[i % sizes.length], LENGTH - position);
+			iis.readFully(result, position, len);
+			position += len;
+		}
+
+		assertArrayEquals(data, result);
+		assertEquals(-1, iis.read(new byte[10], 0, 10));
+	}
+
+	@Test
+	public void seekBackwardsAndForwards() throws IOException {
+		long[] positions = new long[] {90000, 10, 50000, 49999, 0, LENGTH - 1};
+
+		for (long position : positions) {
+			iis.seek(position);
+			assertEquals(data[(int)position] & 0xff, iis.read());
+			assertEquals(position + 1, iis.getStreamPosition());
+		}
+	}
+
+	@Test
+	public void largeReadAfterSeek() throws IOException {
+		byte[] result = new byte[30000];
+
+		iis.seek(60000);
+		iis.readFully(result);
+
+		byte[] expected = new byte[30000];
+		System.arraycopy(data, 60000, expected, 0, expected.length);
+		assertArrayEquals(expected, result);
+	}
+
+	@Test
+	public void readAcrossEndOfBuffer() throws IOException {
+		// Fill the buffer from the start, then read from 1024 bytes before
+		// its end.
+		iis.read();
+		iis.seek(15 * 1024);
+
+		byte[] result = new byte[1920];
+		assertEquals(1920, iis.read(result, 0, 1920));
+
+		byte[] expected = new byte[1920];
+		System.arraycopy(data, 15 * 1024, expected, 0, expected.length);
+		assertArrayEquals(expected, result);
+		assertEquals(15 * 1024 + 1920, iis.getStreamPosition());
+	}
+
+	@Test
+	public void readAcrossEndOfFile() throws IOException {
+		iis.seek(LENGTH - 100);
+
+		byte[] result = new byte[1000];
+		assertEquals(100, iis.read(result, 0, 1000));
+		assertEquals(-1, iis.read(result, 0, 1000));
+	}
+
+	@Test
+	public void readMultiByteValues() throws IOException {
+		iis.seek(1234);
+		int expected = ((data[1234] & 0xff) << 24)
+				| ((data[1235] & 0xff) << 16)
+				| ((data[1236] & 0xff) << 8)
+				| (data[1237] & 0xff);
+
+		assertEquals(expected, iis.readInt());
+	}
+
+	@Test
+	public void channelPositionIsUnchanged() throws IOException {
+		iis.seek(5000);
+		iis.readFully(new byte[20000]);
+
+		assertEquals(0, fis.getChannel().position());
+		assertEquals(data[0] & 0xff, fis.read());
+	}
+
+	@Test
+	public void closeDoesNotCloseChannel() throws IOException {
+		iis.close();
+
+		assertTrue(fis.getChannel().isOpen());
+	}
+
+	@Test(expected = IOException.class)
+	public void readAfterClose() throws IOException {
+		iis.close();
+		iis.read();
+	}
+}
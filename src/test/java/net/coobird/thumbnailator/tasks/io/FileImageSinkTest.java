@@ -46,6 +46,7 @@ import javax.imageio.spi.ImageWriterSpi;
 import net.coobird.thumbnailator.TestUtils;
 import net.coobird.thumbnailator.ThumbnailParameter;
 import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
 import net.coobird.thumbnailator.tasks.UnsupportedFormatException;
 import net.coobird.thumbnailator.test.BufferedImageComparer;
 
@@ -668,6 +669,129 @@ public class FileImageSinkTest {
 		}
 	}
 
+	public static class AtomicWriteTests {
+
+		@Rule
+		public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+		private static ThumbnailParameter param(FileWritePolicy policy) {
+			ThumbnailParameter param = new ThumbnailParameterBuilder()
+					.scale(1.0)
+					.fileWritePolicy(policy)
+					.build();
+			return param;
+		}
+
+		private static BufferedImage image(int width, int height) {
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+
+		@Test
+		public void write_Atomic() throws IOException {
+			// given
+			File outputFile = new File(temporaryFolder.getRoot(), "test.png");
+			FileImageSink sink = new FileImageSink(outputFile);
+			sink.setThumbnailParameter(param(FileWritePolicy.ATOMIC));
+
+			// when
+			sink.write(image(100, 100));
+
+			// then
+			assertEquals(outputFile, sink.getSink());
+			BufferedImage writtenImg = ImageIO.read(outputFile);
+			assertEquals(100, writtenImg.getWidth());
+			assertEquals(100, writtenImg.getHeight());
+			assertArrayEquals(new String[] {"test.png"}, temporaryFolder.getRoot().list());
+		}
+
+		@Test
+		public void write_AtomicSync() throws IOException {
+			// given
+			File outputFile = new File(temporaryFolder.getRoot(), "test.jpg");
+			FileImageSink sink = new FileImageSink(outputFile);
+			sink.setThumbnailParameter(param(FileWritePolicy.ATOMIC_SYNC));
+
+			// when
+			sink.write(image(100, 100));
+
+			// then
+			BufferedImage writtenImg = ImageIO.read(outputFile);
+			assertEquals(100, writtenImg.getWidth());
+			assertEquals(100, writtenImg.getHeight());
+			assertArrayEquals(new String[] {"test.jpg"}, temporaryFolder.getRoot().list());
+		}
+
+		@Test
+		public void write_AtomicReplacesExistingFile() throws IOException {
+			// given
+			File outputFile = new File(temporaryFolder.getRoot(), "test.png");
+			ImageIO.write(image(50, 50), "png", outputFile);
+
+			FileImageSink sink = new FileImageSink(outputFile);
+			sink.setThumbnailParameter(param(FileWritePolicy.ATOMIC));
+
+			// when
+			sink.write(image(100, 100));
+
+			// then
+			BufferedImage writtenImg = ImageIO.read(outputFile);
+			assertEquals(100, writtenImg.getWidth());
+			assertEquals(100, writtenImg.getHeight());
+			assertArrayEquals(new String[] {"test.png"}, temporaryFolder.getRoot().list());
+		}
+
+		@Test
+		public void write_AtomicDoesNotOverwriteWhenNotAllowed() throws IOException {
+			// given
+			File outputFile = new File(temporaryFolder.getRoot(), "test.png");
+			ImageIO.write(image(50, 50), "png", outputFile);
+
+			FileImageSink sink = new FileImageSink(outputFile, false);
+			sink.setThumbnailParameter(param(FileWritePolicy.ATOMIC));
+
+			// when
+			try {
+				sink.write(image(100, 100));
+				fail();
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+
+			// then
+			assertEquals(50, ImageIO.read(outputFile).getWidth());
+			assertArrayEquals(new String[] {"test.png"}, temporaryFolder.getRoot().list());
+		}
+
+		@Test
+		public void write_ErrorOnAtomicWriteKeepsExistingFile() throws IOException {
+			// given
+			File outputFile = new File(temporaryFolder.getRoot(), "test.png");
+			ImageIO.write(image(50, 50), "png", outputFile);
+
+			OutputStream mockOs = mock(OutputStream.class);
+			doThrow(new IOException("Write error")).when(mockOs).write(anyInt());
+			doThrow(new IOException("Write error")).when(mockOs).write(any(byte[].class));
+			doThrow(new IOException("Write error")).when(mockOs).write(any(byte[].class), anyInt(), anyInt());
+
+			FileImageSink sink = spy(new FileImageSink(outputFile));
+			sink.setThumbnailParameter(param(FileWritePolicy.ATOMIC));
+			doReturn(mockOs).when(sink).createOutputStream(any(File.class));
+
+			// when
+			try {
+				sink.write(image(100, 100));
+				fail();
+			} catch (IOException e) {
+				// expected
+			}
+
+			// then
+			verify(mockOs).close();
+			assertEquals(50, ImageIO.read(outputFile).getWidth());
+			assertArrayEquals(new String[] {"test.png"}, temporaryFolder.getRoot().list());
+		}
+	}
+
 	private static final List<String> FORMAT_NAMES = Arrays.asList(
 			"jpg",
 			"jpeg",
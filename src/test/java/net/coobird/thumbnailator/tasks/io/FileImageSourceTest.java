@@ -40,6 +40,7 @@ import net.coobird.thumbnailator.geometry.Positions;
 import net.coobird.thumbnailator.geometry.Region;
 import net.coobird.thumbnailator.test.BufferedImageAssert;
 import net.coobird.thumbnailator.test.BufferedImageComparer;
+import net.coobird.thumbnailator.test.TestImages;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -52,6 +53,7 @@ import org.junit.runners.Parameterized;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
@@ -154,6 +156,30 @@ public class FileImageSourceTest {
 			assertTrue(BufferedImageComparer.isRGBSimilar(expectedImg, img));
 		}
 
+		@Test
+		public void appliesSourceRegionToBmp() throws IOException {
+			// given
+			// Rows of this BMP cross the boundaries of the buffer of the stream.
+			BufferedImage sourceImage = TestImages.opaqueNoise(640, 480, BufferedImage.TYPE_3BYTE_BGR);
+			File sourceFile = temporaryFolder.newFile("noise.bmp");
+			ImageIO.write(sourceImage, "bmp", sourceFile);
+
+			FileImageSource source = new FileImageSource(sourceFile);
+			source.setThumbnailParameter(
+					new ThumbnailParameterBuilder()
+						.region(new Region(Positions.CENTER, new AbsoluteSize(100, 60)))
+						.scale(1.0)
+						.build()
+			);
+
+			// when
+			BufferedImage img = source.read();
+
+			// then
+			BufferedImage expectedImg = sourceImage.getSubimage(270, 210, 100, 60);
+			assertArrayEquals(TestImages.pixels(expectedImg), TestImages.pixels(img));
+		}
+
 		/*
 		 *
 		 *     +------------------+ source
@@ -0,0 +1,157 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+
+import net.coobird.thumbnailator.builders.BufferedImageBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ImageCodecPoolTest {
+
+	private ImageCodecPool pool;
+
+	@Before
+	public void setUp() {
+		pool = new ImageCodecPool();
+	}
+
+	@After
+	public void tearDown() {
+		pool.dispose();
+	}
+
+	private static ImageInputStream streamOf(String format) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImageBuilder(10, 10, BufferedImage.TYPE_INT_RGB).build(), format, baos);
+		return ImageIO.createImageInputStream(new ByteArrayInputStream(baos.toByteArray()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeMaxIdle() {
+		new ImageCodecPool(-1);
+	}
+
+	@Test
+	public void acquireReaderMatchesImageIO() throws IOException {
+		ImageInputStream iis = streamOf("png");
+		ImageReader expected = ImageIO.getImageReaders(iis).next();
+
+		ImageReader reader = pool.acquireReader(iis);
+
+		assertSame(expected.getOriginatingProvider(), reader.getOriginatingProvider());
+		assertEquals(0, iis.getStreamPosition());
+	}
+
+	@Test
+	public void acquireReaderForUnknownData() throws IOException {
+		ImageInputStream iis = ImageIO.createImageInputStream(
+				new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})
+		);
+
+		assertNull(pool.acquireReader(iis));
+	}
+
+	@Test
+	public void releasedReaderIsReusedAndReset() throws IOException {
+		ImageReader reader = pool.acquireReader(streamOf("png"));
+		reader.setInput(streamOf("png"));
+		reader.read(0);
+		pool.releaseReader(reader);
+
+		ImageReader reused = pool.acquireReader(streamOf("png"));
+
+		assertSame(reader, reused);
+		assertNull(reused.getInput());
+	}
+
+	@Test
+	public void readersAreKeptPerProvider() throws IOException {
+		ImageReader pngReader = pool.acquireReader(streamOf("png"));
+		pool.releaseReader(pngReader);
+
+		ImageReader jpegReader = pool.acquireReader(streamOf("jpg"));
+
+		assertNotNull(pngReader);
+		assertNotNull(jpegReader);
+		assertNotSame(pngReader, jpegReader);
+	}
+
+	@Test
+	public void readerNotKeptWhenMaxIdleIsZero() throws IOException {
+		pool = new ImageCodecPool(0);
+		ImageReader reader = pool.acquireReader(streamOf("png"));
+		pool.releaseReader(reader);
+
+		assertNotSame(reader, pool.acquireReader(streamOf("png")));
+	}
+
+	@Test
+	public void releasedWriterIsReused() throws IOException {
+		ImageWriter writer = pool.acquireWriter("png");
+		pool.releaseWriter(writer);
+
+		assertSame(writer, pool.acquireWriter("png"));
+	}
+
+	@Test
+	public void writerNotReusedUntilReleased() throws IOException {
+		ImageWriter writer = pool.acquireWriter("png");
+
+		assertNotSame(writer, pool.acquireWriter("png"));
+	}
+
+	@Test
+	public void acquireWriterForUnknownFormat() throws IOException {
+		assertNull(pool.acquireWriter("foo"));
+	}
+
+	@Test
+	public void disposeDropsIdleCodecs() throws IOException {
+		ImageWriter writer = pool.acquireWriter("png");
+		pool.releaseWriter(writer);
+
+		pool.dispose();
+
+		assertNotSame(writer, pool.acquireWriter("png"));
+	}
+}
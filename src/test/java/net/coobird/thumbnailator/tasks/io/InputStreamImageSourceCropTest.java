@@ -0,0 +1,223 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.TestUtils;
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.Thumbnailator;
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.filters.Canvas;
+import net.coobird.thumbnailator.filters.ImageFilter;
+import net.coobird.thumbnailator.geometry.Coordinate;
+import net.coobird.thumbnailator.geometry.Position;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.tasks.StreamThumbnailTask;
+import net.coobird.thumbnailator.test.TestImages;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for reading only the region of the source image which remains after
+ * the thumbnail is cropped, as specified by
+ * {@link ThumbnailParameter#getCropPosition()}.
+ */
+public class InputStreamImageSourceCropTest {
+
+	private static byte[] sourceByteArray;
+
+	@BeforeClass
+	public static void createSource() throws IOException {
+		sourceByteArray = TestImages.encode(TestImages.gradient(2000, 1500), "jpg");
+	}
+
+	private static BufferedImage read(int width, int height, Position position) throws IOException {
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.size(width, height)
+				.fitWithinDimensions(false)
+				.build();
+		param.setCropPosition(position);
+
+		InputStreamImageSource source = new InputStreamImageSource(new ByteArrayInputStream(sourceByteArray));
+		source.setThumbnailParameter(param);
+		return source.read();
+	}
+
+	@Test
+	public void onlyCroppedRegionIsRead() throws IOException {
+		BufferedImage img = read(100, 100, Positions.CENTER);
+
+		assertEquals(1500, img.getWidth());
+		assertEquals(1500, img.getHeight());
+	}
+
+	@Test
+	public void croppedRegionForWideThumbnail() throws IOException {
+		BufferedImage img = read(200, 50, Positions.TOP_LEFT);
+
+		assertEquals(2000, img.getWidth());
+		assertEquals(500, img.getHeight());
+	}
+
+	/**
+	 * Returns the number of times the crop was applied to the thumbnail
+	 * after resizing.
+	 */
+	private static int cropsAfterResizing(final Position position) throws IOException {
+		final int width = 100;
+		final int height = 100;
+		final int[] count = new int[1];
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.size(width, height)
+				.fitWithinDimensions(false)
+				.filters(Collections.<ImageFilter>singletonList(
+						new Canvas(width, height, position, true) {
+							@Override
+							public BufferedImage apply(BufferedImage img) {
+								count[0]++;
+								return super.apply(img);
+							}
+						}
+				))
+				.build();
+		param.setCropPosition(position);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		Thumbnailator.createThumbnail(
+				new StreamThumbnailTask(param, new ByteArrayInputStream(sourceByteArray), os)
+		);
+
+		BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(os.toByteArray()));
+		assertEquals(width, thumbnail.getWidth());
+		assertEquals(height, thumbnail.getHeight());
+		return count[0];
+	}
+
+	@Test
+	public void cropIsNotAppliedAgainWhenCroppedRegionWasRead() throws IOException {
+		assertEquals(0, cropsAfterResizing(Positions.CENTER));
+	}
+
+	@Test
+	public void cropIsAppliedWhenThumbnailDoesNotHaveCroppedSize() throws IOException {
+		// The whole image is read for other positions, so it is resized to
+		// 133 x 100 and then cropped.
+		assertEquals(1, cropsAfterResizing(new Coordinate(10, 0)));
+	}
+
+	@Test
+	public void otherPositionsReadWholeImage() throws IOException {
+		BufferedImage img = read(100, 100, new Coordinate(10, 10));
+
+		assertEquals(2000, img.getWidth());
+		assertEquals(1500, img.getHeight());
+	}
+
+	/**
+	 * Checks that the thumbnails cropped while reading match the thumbnails
+	 * cropped after resizing, for each Exif orientation.
+	 * <p>
+	 * A {@link Position} which is not one of the {@link Positions} is used to
+	 * obtain the thumbnail which is cropped after resizing.
+	 */
+	@Test
+	public void thumbnailMatchesCropAfterResizing() throws IOException {
+		Positions[] positions = {Positions.TOP_LEFT, Positions.CENTER, Positions.BOTTOM_RIGHT};
+		for (final Positions position : positions) {
+			Position croppedAfterResizing = new Position() {
+				public Point calculate(int enclosingWidth, int enclosingHeight, int width, int height, int insetLeft, int insetRight, int insetTop, int insetBottom) {
+					return position.calculate(enclosingWidth, enclosingHeight, width, height, insetLeft, insetRight, insetTop, insetBottom);
+				}
+			};
+
+			for (int orientation = 1; orientation <= 8; orientation++) {
+				String resource = "Exif/sourceWide_" + orientation + ".jpg";
+				BufferedImage expected = Thumbnails.of(TestUtils.getResourceStream(resource))
+						.size(40, 40)
+						.crop(croppedAfterResizing)
+						.imageType(BufferedImage.TYPE_INT_RGB)
+						.asBufferedImage();
+				BufferedImage thumbnail = Thumbnails.of(TestUtils.getResourceStream(resource))
+						.size(40, 40)
+						.crop(position)
+						.imageType(BufferedImage.TYPE_INT_RGB)
+						.asBufferedImage();
+
+				assertEquals(40, thumbnail.getWidth());
+				assertEquals(40, thumbnail.getHeight());
+
+				int mismatches = 0;
+				for (int y = 0; y < 40; y++) {
+					for (int x = 0; x < 40; x++) {
+						int e = expected.getRGB(x, y) & 0xff;
+						int a = thumbnail.getRGB(x, y) & 0xff;
+						if (Math.abs(e - a) > 64) {
+							mismatches++;
+						}
+					}
+				}
+				assertTrue(
+						position + ", orientation " + orientation + ": " + mismatches,
+						mismatches < 40
+				);
+			}
+		}
+	}
+
+	@Test
+	public void thumbnailSizeWithSubsampling() throws IOException {
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.size(123, 77)
+				.crop(Positions.CENTER)
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.asBufferedImage();
+
+		assertEquals(123, thumbnail.getWidth());
+		assertEquals(77, thumbnail.getHeight());
+	}
+
+	@Test
+	public void thumbnailSizeForEachSourceInBatch() throws IOException {
+		BufferedImage img = ImageIO.read(new ByteArrayInputStream(sourceByteArray));
+
+		for (BufferedImage thumbnail : Thumbnails.of(img, img, img).size(90, 60).crop(Positions.CENTER).asBufferedImages()) {
+			assertEquals(90, thumbnail.getWidth());
+			assertEquals(60, thumbnail.getHeight());
+		}
+	}
+}
@@ -0,0 +1,277 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.color.ColorSpace;
+import java.awt.color.ICC_Profile;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import net.coobird.thumbnailator.TestUtils;
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.test.TestImages;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for decoding JPEG images at a reduced size in the DCT domain, as
+ * enabled by {@link ThumbnailParameter#useDctScaling()}.
+ */
+public class InputStreamImageSourceDctScalingTest {
+
+	private static final int WIDTH = 2000;
+	private static final int HEIGHT = 1500;
+
+	private static BufferedImage sourceImage;
+	private static byte[] sourceByteArray;
+
+	@BeforeClass
+	public static void createSource() throws IOException {
+		sourceImage = TestImages.gradient(WIDTH, HEIGHT);
+		sourceByteArray = TestImages.encode(sourceImage, "jpg");
+	}
+
+	private static BufferedImage read(byte[] data, ThumbnailParameter param) throws IOException {
+		InputStreamImageSource source = new InputStreamImageSource(new ByteArrayInputStream(data));
+		source.setThumbnailParameter(param);
+		return source.read();
+	}
+
+	private static ThumbnailParameter param(DecodeSubsampling subsampling, boolean useDctScaling) {
+		return new ThumbnailParameterBuilder()
+				.size(200, 200)
+				.decodeSubsampling(subsampling)
+				.useDctScaling(useDctScaling)
+				.build();
+	}
+
+	@Test
+	public void disabledByDefault() throws IOException {
+		BufferedImage img = read(
+				sourceByteArray,
+				new ThumbnailParameterBuilder()
+						.size(200, 200)
+						.decodeSubsampling(DecodeSubsampling.AUTO)
+						.build()
+		);
+
+		assertEquals(400, img.getWidth());
+		assertEquals(300, img.getHeight());
+	}
+
+	@Test
+	public void autoUsesLargestReductionWithinSubsampling() throws IOException {
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.scale(0.1)
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.useDctScaling(true)
+				.build();
+		InputStreamImageSource source = new InputStreamImageSource(new ByteArrayInputStream(sourceByteArray));
+		source.setThumbnailParameter(param);
+		BufferedImage img = source.read();
+
+		// Subsampling by 5 is performed as a reduction to 1/4.
+		assertEquals(500, img.getWidth());
+		assertEquals(375, img.getHeight());
+		assertEquals(4.0, source.getWidthReduction(), 1e-9);
+		assertEquals(4.0, source.getHeightReduction(), 1e-9);
+		assertEquals(0.1, param.getWidthScalingFactor(), 1e-9);
+		assertEquals(0.1, param.getHeightScalingFactor(), 1e-9);
+	}
+
+	@Test
+	public void factorOfTwo() throws IOException {
+		BufferedImage img = read(sourceByteArray, param(DecodeSubsampling.factor(3), true));
+
+		assertEquals(1000, img.getWidth());
+		assertEquals(750, img.getHeight());
+	}
+
+	@Test
+	public void factorOfEight() throws IOException {
+		BufferedImage img = read(sourceByteArray, param(DecodeSubsampling.factor(8), true));
+
+		assertEquals(250, img.getWidth());
+		assertEquals(188, img.getHeight());
+	}
+
+	@Test
+	public void factorAboveEightIsReducedToEighth() throws IOException {
+		BufferedImage img = read(sourceByteArray, param(DecodeSubsampling.factor(16), true));
+
+		assertEquals(250, img.getWidth());
+		assertEquals(188, img.getHeight());
+	}
+
+	@Test
+	public void progressiveJpeg() throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+		ImageWriteParam writeParam = writer.getDefaultWriteParam();
+		writeParam.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+		ImageOutputStream ios = ImageIO.createImageOutputStream(baos);
+		writer.setOutput(ios);
+		writer.write(null, new IIOImage(sourceImage, null, null), writeParam);
+		ios.close();
+		writer.dispose();
+
+		BufferedImage img = read(baos.toByteArray(), param(DecodeSubsampling.factor(4), true));
+
+		assertEquals(500, img.getWidth());
+		assertEquals(375, img.getHeight());
+	}
+
+	@Test
+	public void nonJpegIsSubsampledByReader() throws IOException {
+		BufferedImage img = read(TestImages.encode(sourceImage, "png"), param(DecodeSubsampling.AUTO, true));
+
+		assertEquals(400, img.getWidth());
+		assertEquals(300, img.getHeight());
+	}
+
+	@Test
+	public void jpegWithIccProfileIsSubsampledByReader() throws IOException {
+		byte[] profile = ICC_Profile.getInstance(ColorSpace.CS_sRGB).getData();
+		int segmentLength = 2 + 12 + 2 + profile.length;
+
+		// Insert an APP2 ICC_PROFILE segment after SOI.
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		baos.write(sourceByteArray, 0, 2);
+		baos.write(0xFF);
+		baos.write(0xE2);
+		baos.write(segmentLength >> 8);
+		baos.write(segmentLength & 0xff);
+		baos.write("ICC_PROFILE\0".getBytes("US-ASCII"));
+		baos.write(1);
+		baos.write(1);
+		baos.write(profile);
+		baos.write(sourceByteArray, 2, sourceByteArray.length - 2);
+
+		BufferedImage img = read(baos.toByteArray(), param(DecodeSubsampling.AUTO, true));
+
+		assertEquals(400, img.getWidth());
+		assertEquals(300, img.getHeight());
+	}
+
+	@Test
+	public void truncatedJpeg() throws IOException {
+		// As with the reader, the missing part of the image is filled in.
+		byte[] data = new byte[sourceByteArray.length / 2];
+		System.arraycopy(sourceByteArray, 0, data, 0, data.length);
+
+		BufferedImage img = read(data, param(DecodeSubsampling.AUTO, true));
+
+		assertEquals(500, img.getWidth());
+		assertEquals(375, img.getHeight());
+	}
+
+	@Test
+	public void thumbnailSizeUnchanged() throws IOException {
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.size(200, 200)
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.useDctScaling(true)
+				.asBufferedImage();
+
+		assertEquals(200, thumbnail.getWidth());
+		assertEquals(150, thumbnail.getHeight());
+	}
+
+	@Test
+	public void thumbnailSizeUnchangedWithSourceRegion() throws IOException {
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.sourceRegion(Positions.CENTER, 1001, 1001)
+				.scale(0.1)
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.useDctScaling(true)
+				.asBufferedImage();
+
+		assertEquals(100, thumbnail.getWidth());
+		assertEquals(100, thumbnail.getHeight());
+	}
+
+	@Test
+	public void thumbnailSizeUnchangedWithExifOrientation() throws IOException {
+		// Orientation 6 swaps the width and height of the source image.
+		BufferedImage expected = Thumbnails.of(TestUtils.getResourceStream("Exif/source_6.jpg"))
+				.scale(0.3, 0.6)
+				.asBufferedImage();
+
+		BufferedImage thumbnail = Thumbnails.of(TestUtils.getResourceStream("Exif/source_6.jpg"))
+				.scale(0.3, 0.6)
+				.decodeSubsampling(DecodeSubsampling.factor(3))
+				.useDctScaling(true)
+				.asBufferedImage();
+
+		assertEquals(expected.getWidth(), thumbnail.getWidth());
+		assertEquals(expected.getHeight(), thumbnail.getHeight());
+	}
+
+	@Test
+	public void thumbnailColorUnchanged() throws IOException {
+		BufferedImage expected = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.size(200, 200)
+				.asBufferedImage();
+
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.size(200, 200)
+				.decodeSubsampling(DecodeSubsampling.factor(8))
+				.useDctScaling(true)
+				.asBufferedImage();
+
+		for (int y = 0; y < 150; y += 10) {
+			for (int x = 0; x < 200; x += 10) {
+				int e = expected.getRGB(x, y);
+				int a = thumbnail.getRGB(x, y);
+				for (int shift = 0; shift < 24; shift += 8) {
+					assertEquals(
+							(e >> shift) & 0xff, (a >> shift) & 0xff, 8
+					);
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void builderCalledTwice() {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.useDctScaling(true)
+				.useDctScaling(false);
+	}
+}
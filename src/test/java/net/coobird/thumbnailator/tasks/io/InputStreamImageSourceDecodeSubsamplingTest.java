@@ -0,0 +1,263 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.TestUtils;
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.Thumbnailator;
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.tasks.StreamThumbnailTask;
+import net.coobird.thumbnailator.test.TestImages;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for subsampling the source image while it is decoded, as specified
+ * by {@link DecodeSubsampling}.
+ */
+public class InputStreamImageSourceDecodeSubsamplingTest {
+
+	private static final int WIDTH = 2000;
+	private static final int HEIGHT = 1500;
+
+	private static byte[] sourceByteArray;
+
+	@BeforeClass
+	public static void createSource() throws IOException {
+		sourceByteArray = TestImages.encode(TestImages.gradient(WIDTH, HEIGHT), "jpg");
+	}
+
+	@Before @After
+	public void clearSystemProperty() {
+		System.clearProperty("thumbnailator.conserveMemoryWorkaround");
+	}
+
+	private static BufferedImage read(ThumbnailParameter param) throws IOException {
+		InputStreamImageSource source = new InputStreamImageSource(new ByteArrayInputStream(sourceByteArray));
+		source.setThumbnailParameter(param);
+		return source.read();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void factorLessThanOne() {
+		DecodeSubsampling.factor(0);
+	}
+
+	@Test
+	public void factorOfOneIsOff() {
+		assertEquals(DecodeSubsampling.OFF, DecodeSubsampling.factor(1));
+	}
+
+	@Test
+	public void unspecifiedDoesNotSubsample() throws IOException {
+		BufferedImage img = read(new ThumbnailParameterBuilder().size(200, 200).build());
+
+		assertEquals(WIDTH, img.getWidth());
+		assertEquals(HEIGHT, img.getHeight());
+	}
+
+	@Test
+	public void offDoesNotSubsample() throws IOException {
+		BufferedImage img = read(
+				new ThumbnailParameterBuilder()
+						.size(200, 200)
+						.decodeSubsampling(DecodeSubsampling.OFF)
+						.build()
+		);
+
+		assertEquals(WIDTH, img.getWidth());
+		assertEquals(HEIGHT, img.getHeight());
+	}
+
+	@Test
+	public void autoBySize() throws IOException {
+		BufferedImage img = read(
+				new ThumbnailParameterBuilder()
+						.size(200, 200)
+						.decodeSubsampling(DecodeSubsampling.AUTO)
+						.build()
+		);
+
+		// Thumbnail is 200 x 150, so 1/5 keeps the image twice as large.
+		assertEquals(400, img.getWidth());
+		assertEquals(300, img.getHeight());
+	}
+
+	@Test
+	public void autoByScale() throws IOException {
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.scale(0.1)
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.build();
+
+		InputStreamImageSource source = new InputStreamImageSource(new ByteArrayInputStream(sourceByteArray));
+		source.setThumbnailParameter(param);
+		BufferedImage img = source.read();
+
+		assertEquals(400, img.getWidth());
+		assertEquals(300, img.getHeight());
+		assertEquals(5.0, source.getWidthReduction(), 1e-9);
+		assertEquals(5.0, source.getHeightReduction(), 1e-9);
+		assertEquals(0.1, param.getWidthScalingFactor(), 1e-9);
+		assertEquals(0.1, param.getHeightScalingFactor(), 1e-9);
+	}
+
+	@Test
+	public void autoByScaleDoesNotChangeParameter() throws IOException {
+		ThumbnailParameter param = new ThumbnailParameterBuilder()
+				.scale(0.1)
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.build();
+
+		for (int i = 0; i < 2; i++) {
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			Thumbnailator.createThumbnail(
+					new StreamThumbnailTask(param, new ByteArrayInputStream(sourceByteArray), os)
+			);
+			BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(os.toByteArray()));
+
+			assertEquals(WIDTH / 10, thumbnail.getWidth());
+			assertEquals(HEIGHT / 10, thumbnail.getHeight());
+		}
+	}
+
+	@Test
+	public void autoWhenEnlarging() throws IOException {
+		BufferedImage img = read(
+				new ThumbnailParameterBuilder()
+						.scale(1.5)
+						.decodeSubsampling(DecodeSubsampling.AUTO)
+						.build()
+		);
+
+		assertEquals(WIDTH, img.getWidth());
+		assertEquals(HEIGHT, img.getHeight());
+	}
+
+	@Test
+	public void fixedFactor() throws IOException {
+		BufferedImage img = read(
+				new ThumbnailParameterBuilder()
+						.size(200, 200)
+						.decodeSubsampling(DecodeSubsampling.factor(3))
+						.build()
+		);
+
+		assertEquals(667, img.getWidth());
+		assertEquals(500, img.getHeight());
+	}
+
+	@Test
+	public void offOverridesConserveMemoryWorkaround() throws IOException {
+		System.setProperty("thumbnailator.conserveMemoryWorkaround", "true");
+
+		BufferedImage img = read(
+				new ThumbnailParameterBuilder()
+						.size(200, 200)
+						.decodeSubsampling(DecodeSubsampling.OFF)
+						.build()
+		);
+
+		assertEquals(WIDTH, img.getWidth());
+		assertEquals(HEIGHT, img.getHeight());
+	}
+
+	@Test
+	public void thumbnailSizeUnchangedByScale() throws IOException {
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.scale(0.1)
+				.decodeSubsampling(DecodeSubsampling.factor(3))
+				.asBufferedImage();
+
+		assertEquals(200, thumbnail.getWidth());
+		assertEquals(150, thumbnail.getHeight());
+	}
+
+	@Test
+	public void thumbnailSizeUnchangedByWidth() throws IOException {
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.width(200)
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.asBufferedImage();
+
+		assertEquals(200, thumbnail.getWidth());
+		assertEquals(150, thumbnail.getHeight());
+	}
+
+	@Test
+	public void thumbnailSizeUnchangedWithSourceRegion() throws IOException {
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.sourceRegion(Positions.CENTER, 1001, 1001)
+				.scale(0.1)
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.asBufferedImage();
+
+		assertEquals(100, thumbnail.getWidth());
+		assertEquals(100, thumbnail.getHeight());
+	}
+
+	@Test
+	public void thumbnailSizeUnchangedWithExifOrientation() throws IOException {
+		// Orientation 6 swaps the width and height of the source image.
+		BufferedImage expected = Thumbnails.of(TestUtils.getResourceStream("Exif/source_6.jpg"))
+				.scale(0.3, 0.6)
+				.asBufferedImage();
+
+		BufferedImage thumbnail = Thumbnails.of(TestUtils.getResourceStream("Exif/source_6.jpg"))
+				.scale(0.3, 0.6)
+				.decodeSubsampling(DecodeSubsampling.factor(3))
+				.asBufferedImage();
+
+		assertEquals(expected.getWidth(), thumbnail.getWidth());
+		assertEquals(expected.getHeight(), thumbnail.getHeight());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void builderWithNull() {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.decodeSubsampling(null);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void builderCalledTwice() {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.decodeSubsampling(DecodeSubsampling.AUTO)
+				.decodeSubsampling(DecodeSubsampling.OFF);
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.test.TestImages;
+
+import org.junit.Test;
+
+public class InputStreamImageSourceEmbeddedThumbnailTest {
+
+	/**
+	 * Returns a JPEG of the main image, with an Exif APP1 marker holding
+	 * the embedded thumbnail and, if not {@code 0}, the orientation.
+	 */
+	private static byte[] jpegWithExifThumbnail(BufferedImage main, BufferedImage thumbnail, int orientation) throws IOException {
+		byte[] mainData = TestImages.encode(main, "jpg");
+		byte[] thumbnailData = TestImages.encode(thumbnail, "jpg");
+
+		int ifd0Entries = orientation != 0 ? 1 : 0;
+		int ifd1Offset = 8 + 2 + ifd0Entries * 12 + 4;
+		int thumbnailOffset = ifd1Offset + 2 + 2 * 12 + 4;
+
+		ByteBuffer tiff = ByteBuffer.allocate(thumbnailOffset + thumbnailData.length);
+		tiff.put(new byte[] {'M', 'M', 0, 42}).putInt(8);
+		tiff.putShort((short)ifd0Entries);
+		if (orientation != 0) {
+			tiff.putShort((short)0x0112).putShort((short)3).putInt(1)
+					.putShort((short)orientation).putShort((short)0);
+		}
+		tiff.putInt(ifd1Offset);
+		tiff.putShort((short)2);
+		tiff.putShort((short)0x0201).putShort((short)4).putInt(1).putInt(thumbnailOffset);
+		tiff.putShort((short)0x0202).putShort((short)4).putInt(1).putInt(thumbnailData.length);
+		tiff.putInt(0);
+		tiff.put(thumbnailData);
+
+		byte[] exifHeader = new byte[] {'E', 'x', 'i', 'f', 0, 0};
+		int app1Length = 2 + exifHeader.length + tiff.capacity();
+
+		// Insert the APP1 marker after the JFIF APP0 marker.
+		int app0End = 4 + (((mainData[4] & 0xff) << 8) | (mainData[5] & 0xff));
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		baos.write(mainData, 0, app0End);
+		baos.write(0xFF);
+		baos.write(0xE1);
+		baos.write(app1Length >> 8);
+		baos.write(app1Length & 0xff);
+		baos.write(exifHeader);
+		baos.write(tiff.array());
+		baos.write(mainData, app0End, mainData.length - app0End);
+		return baos.toByteArray();
+	}
+
+	private static void assertColor(Color expected, BufferedImage img) {
+		Color actual = new Color(img.getRGB(img.getWidth() / 2, img.getHeight() / 2));
+		assertTrue("Expected " + expected + " but was " + actual,
+				Math.abs(expected.getRed() - actual.getRed()) < 32
+				&& Math.abs(expected.getGreen() - actual.getGreen()) < 32
+				&& Math.abs(expected.getBlue() - actual.getBlue()) < 32
+		);
+	}
+
+	@Test
+	public void embeddedThumbnailUsedWhenLargeEnough() throws IOException {
+		// given
+		byte[] data = jpegWithExifThumbnail(TestImages.filled(400, 300, Color.RED), TestImages.filled(160, 120, Color.GREEN), 0);
+
+		// when
+		BufferedImage result = Thumbnails.of(data)
+				.size(80, 60)
+				.useEmbeddedThumbnail(true)
+				.asBufferedImage();
+
+		// then
+		assertEquals(80, result.getWidth());
+		assertEquals(60, result.getHeight());
+		assertColor(Color.GREEN, result);
+	}
+
+	@Test
+	public void embeddedThumbnailUsedWithScale() throws IOException {
+		// given
+		byte[] data = jpegWithExifThumbnail(TestImages.filled(400, 300, Color.RED), TestImages.filled(160, 120, Color.GREEN), 0);
+
+		// when
+		BufferedImage result = Thumbnails.of(data)
+				.scale(0.25)
+				.useEmbeddedThumbnail(true)
+				.asBufferedImage();
+
+		// then
+		assertEquals(100, result.getWidth());
+		assertEquals(75, result.getHeight());
+		assertColor(Color.GREEN, result);
+	}
+
+	@Test
+	public void embeddedThumbnailNotUsedWhenTooSmall() throws IOException {
+		// given
+		byte[] data = jpegWithExifThumbnail(TestImages.filled(400, 300, Color.RED), TestImages.filled(160, 120, Color.GREEN), 0);
+
+		// when
+		BufferedImage result = Thumbnails.of(data)
+				.size(200, 150)
+				.useEmbeddedThumbnail(true)
+				.asBufferedImage();
+
+		// then
+		assertEquals(200, result.getWidth());
+		assertEquals(150, result.getHeight());
+		assertColor(Color.RED, result);
+	}
+
+	@Test
+	public void embeddedThumbnailNotUsedByDefault() throws IOException {
+		// given
+		byte[] data = jpegWithExifThumbnail(TestImages.filled(400, 300, Color.RED), TestImages.filled(160, 120, Color.GREEN), 0);
+
+		// when
+		BufferedImage result = Thumbnails.of(data)
+				.size(80, 60)
+				.asBufferedImage();
+
+		// then
+		assertColor(Color.RED, result);
+	}
+
+	@Test
+	public void embeddedThumbnailNotUsedWithDifferentAspectRatio() throws IOException {
+		// given
+		byte[] data = jpegWithExifThumbnail(TestImages.filled(400, 300, Color.RED), TestImages.filled(160, 160, Color.GREEN), 0);
+
+		// when
+		BufferedImage result = Thumbnails.of(data)
+				.size(80, 60)
+				.useEmbeddedThumbnail(true)
+				.asBufferedImage();
+
+		// then
+		assertColor(Color.RED, result);
+	}
+
+	@Test
+	public void embeddedThumbnailUsedWithOrientation() throws IOException {
+		// given
+		byte[] data = jpegWithExifThumbnail(TestImages.filled(400, 300, Color.RED), TestImages.filled(160, 120, Color.GREEN), 6);
+
+		// when
+		BufferedImage result = Thumbnails.of(data)
+				.size(60, 80)
+				.useEmbeddedThumbnail(true)
+				.asBufferedImage();
+
+		// then
+		assertEquals(60, result.getWidth());
+		assertEquals(80, result.getHeight());
+		assertColor(Color.GREEN, result);
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.geometry.AbsoluteSize;
+import net.coobird.thumbnailator.geometry.Positions;
+import net.coobird.thumbnailator.geometry.Region;
+import net.coobird.thumbnailator.test.TestImages;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for selecting the image to read from a source image which contains
+ * more than one image, as specified by {@link ImageSelection}.
+ */
+public class InputStreamImageSourceImageSelectionTest {
+
+	private static byte[] sourceByteArray;
+
+	/**
+	 * Creates a GIF with images of 400 x 300, 200 x 150 and 100 x 75, each
+	 * filled with a different color, and an unrelated 50 x 50 image.
+	 */
+	@BeforeClass
+	public static void createSource() throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageOutputStream ios = ImageIO.createImageOutputStream(baos);
+		writer.setOutput(ios);
+		writer.prepareWriteSequence(null);
+		writer.writeToSequence(new IIOImage(TestImages.filled(400, 300, Color.red), null, null), null);
+		writer.writeToSequence(new IIOImage(TestImages.filled(200, 150, Color.green), null, null), null);
+		writer.writeToSequence(new IIOImage(TestImages.filled(100, 75, Color.blue), null, null), null);
+		writer.writeToSequence(new IIOImage(TestImages.filled(50, 50, Color.yellow), null, null), null);
+		writer.endWriteSequence();
+		ios.close();
+		writer.dispose();
+		sourceByteArray = baos.toByteArray();
+	}
+
+	private static BufferedImage read(ThumbnailParameter param) throws IOException {
+		InputStreamImageSource source = new InputStreamImageSource(new ByteArrayInputStream(sourceByteArray));
+		source.setThumbnailParameter(param);
+		return source.read();
+	}
+
+	private static ThumbnailParameterBuilder builder() {
+		return new ThumbnailParameterBuilder().imageSelection(ImageSelection.SMALLEST_SUFFICIENT);
+	}
+
+	@Test
+	public void firstByDefault() throws IOException {
+		BufferedImage img = read(new ThumbnailParameterBuilder().size(50, 50).build());
+
+		assertEquals(400, img.getWidth());
+		assertEquals(300, img.getHeight());
+	}
+
+	@Test
+	public void smallestSufficientBySize() throws IOException {
+		BufferedImage img = read(builder().size(150, 150).build());
+
+		assertEquals(200, img.getWidth());
+		assertEquals(150, img.getHeight());
+		assertEquals(Color.green.getRGB(), img.getRGB(0, 0));
+	}
+
+	@Test
+	public void smallestSufficientForExactSize() throws IOException {
+		BufferedImage img = read(builder().size(100, 75).build());
+
+		assertEquals(100, img.getWidth());
+		assertEquals(75, img.getHeight());
+	}
+
+	@Test
+	public void imageWithDifferentAspectRatioIsNotSelected() throws IOException {
+		BufferedImage img = read(builder().size(40, 40).build());
+
+		assertEquals(100, img.getWidth());
+		assertEquals(75, img.getHeight());
+	}
+
+	@Test
+	public void firstWhenNoSmallerImageIsSufficient() throws IOException {
+		BufferedImage img = read(builder().size(300, 300).build());
+
+		assertEquals(400, img.getWidth());
+		assertEquals(300, img.getHeight());
+	}
+
+	@Test
+	public void firstWhenEnlarging() throws IOException {
+		BufferedImage img = read(builder().scale(2.0).build());
+
+		assertEquals(400, img.getWidth());
+		assertEquals(300, img.getHeight());
+	}
+
+	@Test
+	public void scalingFactorsAdjusted() throws IOException {
+		ThumbnailParameter param = builder().scale(0.25).build();
+		InputStreamImageSource source = new InputStreamImageSource(new ByteArrayInputStream(sourceByteArray));
+		source.setThumbnailParameter(param);
+		BufferedImage img = source.read();
+
+		assertEquals(100, img.getWidth());
+		assertEquals(75, img.getHeight());
+		assertEquals(4.0, source.getWidthReduction(), 1e-9);
+		assertEquals(4.0, source.getHeightReduction(), 1e-9);
+		assertEquals(0.25, param.getWidthScalingFactor(), 1e-9);
+		assertEquals(0.25, param.getHeightScalingFactor(), 1e-9);
+	}
+
+	@Test
+	public void sourceRegionScaledToSelectedImage() throws IOException {
+		BufferedImage img = read(
+				builder()
+						.region(new Region(Positions.TOP_LEFT, new AbsoluteSize(200, 150)))
+						.size(50, 50)
+						.build()
+		);
+
+		// The 200 x 150 region of the first image is 50 x 38 of the third.
+		assertEquals(50, img.getWidth());
+		assertEquals(38, img.getHeight());
+		assertEquals(Color.blue.getRGB(), img.getRGB(0, 0));
+	}
+
+	@Test
+	public void thumbnailSizeUnchangedByScale() throws IOException {
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.scale(0.3)
+				.imageType(BufferedImage.TYPE_INT_RGB)
+				.imageSelection(ImageSelection.SMALLEST_SUFFICIENT)
+				.asBufferedImage();
+
+		assertEquals(120, thumbnail.getWidth());
+		assertEquals(90, thumbnail.getHeight());
+		assertEquals(Color.green.getRGB(), thumbnail.getRGB(60, 45));
+	}
+
+	@Test
+	public void thumbnailSizeUnchangedWithSourceRegion() throws IOException {
+		BufferedImage thumbnail = Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.sourceRegion(100, 100, 200, 100)
+				.scale(0.4)
+				.imageType(BufferedImage.TYPE_INT_RGB)
+				.imageSelection(ImageSelection.SMALLEST_SUFFICIENT)
+				.asBufferedImage();
+
+		assertEquals(80, thumbnail.getWidth());
+		assertEquals(40, thumbnail.getHeight());
+		assertEquals(Color.green.getRGB(), thumbnail.getRGB(40, 20));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void builderWithNull() {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.imageSelection(null);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void builderCalledTwice() {
+		Thumbnails.of(new ByteArrayInputStream(sourceByteArray))
+				.imageSelection(ImageSelection.FIRST)
+				.imageSelection(ImageSelection.SMALLEST_SUFFICIENT);
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.spi.IIORegistry;
+import javax.imageio.spi.ImageWriterSpi;
+
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that thumbnails are only copied to an opaque image before being
+ * written in a format without alpha when they are not opaque already.
+ */
+public class OutputStreamImageSinkOpaqueTypeTest {
+
+	/**
+	 * Records the images given to the JPEG writer, which it delegates to.
+	 */
+	private static final class RecordingWriterSpi extends ImageWriterSpi {
+		private final ImageWriterSpi delegate;
+		private final List<RenderedImage> images = new ArrayList<RenderedImage>();
+
+		RecordingWriterSpi(ImageWriterSpi delegate) {
+			this.delegate = delegate;
+			this.names = delegate.getFormatNames();
+			this.suffixes = delegate.getFileSuffixes();
+			this.MIMETypes = delegate.getMIMETypes();
+			this.vendorName = "test";
+			this.version = "1.0";
+			this.outputTypes = delegate.getOutputTypes();
+		}
+
+		@Override
+		public boolean canEncodeImage(ImageTypeSpecifier type) {
+			return delegate.canEncodeImage(type);
+		}
+
+		@Override
+		public String getDescription(Locale locale) {
+			return "Recording " + delegate.getDescription(locale);
+		}
+
+		@Override
+		public ImageWriter createWriterInstance(Object extension) throws IOException {
+			final ImageWriter writer = delegate.createWriterInstance(extension);
+			return new ImageWriter(this) {
+				@Override
+				public void setOutput(Object output) {
+					writer.setOutput(output);
+				}
+
+				@Override
+				public ImageWriteParam getDefaultWriteParam() {
+					return writer.getDefaultWriteParam();
+				}
+
+				@Override
+				public IIOMetadata getDefaultStreamMetadata(ImageWriteParam param) {
+					return writer.getDefaultStreamMetadata(param);
+				}
+
+				@Override
+				public IIOMetadata getDefaultImageMetadata(ImageTypeSpecifier imageType, ImageWriteParam param) {
+					return writer.getDefaultImageMetadata(imageType, param);
+				}
+
+				@Override
+				public IIOMetadata convertStreamMetadata(IIOMetadata inData, ImageWriteParam param) {
+					return writer.convertStreamMetadata(inData, param);
+				}
+
+				@Override
+				public IIOMetadata convertImageMetadata(IIOMetadata inData, ImageTypeSpecifier imageType, ImageWriteParam param) {
+					return writer.convertImageMetadata(inData, imageType, param);
+				}
+
+				@Override
+				public void write(IIOMetadata streamMetadata, IIOImage image, ImageWriteParam param) throws IOException {
+					images.add(image.getRenderedImage());
+					writer.write(streamMetadata, image, param);
+				}
+
+				@Override
+				public void dispose() {
+					writer.dispose();
+				}
+			};
+		}
+	}
+
+	private RecordingWriterSpi spi;
+
+	@Before
+	public void registerWriter() {
+		ImageWriterSpi jpegSpi = ImageIO.getImageWritersByFormatName("jpg").next().getOriginatingProvider();
+		spi = new RecordingWriterSpi(jpegSpi);
+
+		IIORegistry registry = IIORegistry.getDefaultInstance();
+		registry.registerServiceProvider(spi, ImageWriterSpi.class);
+		registry.setOrdering(ImageWriterSpi.class, spi, jpegSpi);
+	}
+
+	@After
+	public void deregisterWriter() {
+		IIORegistry.getDefaultInstance().deregisterServiceProvider(spi, ImageWriterSpi.class);
+	}
+
+	private RenderedImage write(BufferedImage img) throws IOException {
+		OutputStreamImageSink sink = new OutputStreamImageSink(new ByteArrayOutputStream());
+		sink.setThumbnailParameter(new ThumbnailParameterBuilder().size(100, 100).build());
+		sink.setOutputFormatName("jpg");
+		sink.write(img);
+
+		assertEquals(1, spi.images.size());
+		return spi.images.get(0);
+	}
+
+	@Test
+	public void threeByteBgrIsNotCopied() throws IOException {
+		BufferedImage img = new BufferedImage(100, 100, BufferedImage.TYPE_3BYTE_BGR);
+
+		assertSame(img, write(img));
+	}
+
+	@Test
+	public void intRgbIsNotCopied() throws IOException {
+		BufferedImage img = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+
+		assertSame(img, write(img));
+	}
+
+	@Test
+	public void intArgbIsCopiedToOpaqueImage() throws IOException {
+		BufferedImage img = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+
+		RenderedImage written = write(img);
+
+		assertNotSame(img, written);
+		assertEquals(BufferedImage.TYPE_INT_RGB, ((BufferedImage)written).getType());
+	}
+}
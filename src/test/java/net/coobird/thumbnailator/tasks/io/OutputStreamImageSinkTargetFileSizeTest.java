@@ -0,0 +1,202 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for writing thumbnails within the file size specified by
+ * {@link ThumbnailParameter#getTargetFileSize()}.
+ */
+public class OutputStreamImageSinkTargetFileSizeTest {
+
+	private static BufferedImage image;
+
+	@BeforeClass
+	public static void createImage() {
+		image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+		Random random = new Random(42);
+		for (int y = 0; y < image.getHeight(); y++) {
+			for (int x = 0; x < image.getWidth(); x++) {
+				int noise = random.nextInt(64);
+				int r = (x * 255 / image.getWidth() + noise) & 0xff;
+				int g = (y * 255 / image.getHeight() + noise) & 0xff;
+				image.setRGB(x, y, (r << 16) | (g << 8) | 0x80);
+			}
+		}
+	}
+
+	private static byte[] write(String format, ThumbnailParameterBuilder builder) throws IOException {
+		ThumbnailParameter param = builder.size(1, 1).build();
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		OutputStreamImageSink sink = new OutputStreamImageSink(baos);
+		sink.setThumbnailParameter(param);
+		sink.setOutputFormatName(format);
+		sink.write(image);
+
+		return baos.toByteArray();
+	}
+
+	@Test
+	public void jpegIsWrittenWithinTargetFileSize() throws IOException {
+		int unconstrained = write("jpg", new ThumbnailParameterBuilder()).length;
+		long target = unconstrained / 2;
+
+		byte[] data = write("jpg", new ThumbnailParameterBuilder().targetFileSize(target));
+
+		assertTrue(data.length + " > " + target, data.length <= target);
+		BufferedImage img = ImageIO.read(new ByteArrayInputStream(data));
+		assertEquals(320, img.getWidth());
+		assertEquals(240, img.getHeight());
+	}
+
+	@Test
+	public void jpegWhichFitsIsWrittenAtRequestedQuality() throws IOException {
+		byte[] expected = write("jpg", new ThumbnailParameterBuilder().quality(0.6f));
+
+		byte[] data = write("jpg", new ThumbnailParameterBuilder().quality(0.6f).targetFileSize(expected.length));
+
+		assertArrayEquals(expected, data);
+	}
+
+	@Test
+	public void largerTargetFileSizeGivesLargerImage() throws IOException {
+		int unconstrained = write("jpg", new ThumbnailParameterBuilder().quality(1.0f)).length;
+
+		byte[] small = write("jpg", new ThumbnailParameterBuilder().quality(1.0f).targetFileSize(unconstrained / 4));
+		byte[] large = write("jpg", new ThumbnailParameterBuilder().quality(1.0f).targetFileSize(unconstrained / 2));
+
+		assertTrue(small.length < large.length);
+		assertTrue(large.length <= unconstrained / 2);
+	}
+
+	@Test
+	public void unreachableTargetFileSizeWritesLowestQuality() throws IOException {
+		byte[] expected = write("jpg", new ThumbnailParameterBuilder().quality(0.0f));
+
+		byte[] data = write("jpg", new ThumbnailParameterBuilder().targetFileSize(100));
+
+		assertArrayEquals(expected, data);
+	}
+
+	@Test
+	public void pngIgnoresTargetFileSize() throws IOException {
+		byte[] expected = write("png", new ThumbnailParameterBuilder());
+
+		byte[] data = write("png", new ThumbnailParameterBuilder().targetFileSize(100));
+
+		assertArrayEquals(expected, data);
+	}
+
+	@Test
+	public void writerFromPoolIsReusableAfterSearch() throws IOException {
+		ImageCodecPool pool = new ImageCodecPool();
+		int unconstrained = write("jpg", new ThumbnailParameterBuilder()).length;
+
+		for (int i = 0; i < 3; i++) {
+			byte[] data = write("jpg", new ThumbnailParameterBuilder()
+					.codecPool(pool)
+					.targetFileSize(unconstrained / 2)
+			);
+			assertTrue(data.length <= unconstrained / 2);
+			assertEquals(320, ImageIO.read(new ByteArrayInputStream(data)).getWidth());
+		}
+	}
+
+	@Test
+	public void thumbnailsBuilderWritesWithinTargetFileSize() throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Thumbnails.of(image)
+				.size(200, 200)
+				.outputFormat("jpg")
+				.targetFileSize(4000)
+				.toOutputStream(baos);
+
+		assertTrue(baos.size() <= 4000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void thumbnailsBuilderRejectsZero() {
+		Thumbnails.of(image).targetFileSize(0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void thumbnailsBuilderRejectsSecondCall() {
+		Thumbnails.of(image).targetFileSize(1000).targetFileSize(1000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parameterBuilderRejectsNegative() {
+		new ThumbnailParameterBuilder().targetFileSize(-1);
+	}
+
+	@Test
+	public void byteArrayImageOutputStreamStopsAtLimit() throws IOException {
+		ByteArrayImageOutputStream ios = new ByteArrayImageOutputStream();
+		ios.setLimit(4);
+		ios.write(new byte[] {1, 2, 3, 4});
+
+		try {
+			ios.write(5);
+			fail();
+		} catch (ByteArrayImageOutputStream.LimitExceededException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void byteArrayImageOutputStreamIsReusableAfterClear() throws IOException {
+		ByteArrayImageOutputStream ios = new ByteArrayImageOutputStream();
+		ios.write(new byte[] {1, 2, 3, 4});
+		ios.flush();
+		ios.clear();
+		ios.write(new byte[] {5, 6});
+
+		ByteBuffer buffer = ios.toByteBuffer();
+		byte[] data = new byte[buffer.remaining()];
+		buffer.get(data);
+		assertArrayEquals(new byte[] {5, 6}, data);
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for choosing the compression quality of thumbnails by the SSIM index
+ * specified by {@link ThumbnailParameter#getTargetSsim()}.
+ */
+public class OutputStreamImageSinkTargetSsimTest {
+
+	private static BufferedImage photo;
+	private static BufferedImage graphic;
+
+	@BeforeClass
+	public static void createImages() {
+		photo = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+		Random random = new Random(42);
+		for (int y = 0; y < photo.getHeight(); y++) {
+			for (int x = 0; x < photo.getWidth(); x++) {
+				int noise = random.nextInt(64);
+				int r = (x * 191 / photo.getWidth() + noise) & 0xff;
+				int g = (y * 191 / photo.getHeight() + noise) & 0xff;
+				photo.setRGB(x, y, (r << 16) | (g << 8) | 0x80);
+			}
+		}
+
+		graphic = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = graphic.createGraphics();
+		g.setColor(Color.white);
+		g.fillRect(0, 0, 320, 240);
+		g.setColor(Color.black);
+		g.setStroke(new BasicStroke(2));
+		for (int i = 0; i < 320; i += 16) {
+			g.drawLine(i, 0, i, 240);
+			g.drawLine(0, i, 320, i);
+		}
+		g.dispose();
+	}
+
+	private static byte[] write(BufferedImage img, String format, ThumbnailParameterBuilder builder) throws IOException {
+		ThumbnailParameter param = builder.size(1, 1).build();
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		OutputStreamImageSink sink = new OutputStreamImageSink(baos);
+		sink.setThumbnailParameter(param);
+		sink.setOutputFormatName(format);
+		sink.write(img);
+
+		return baos.toByteArray();
+	}
+
+	private static double ssim(BufferedImage img, byte[] data) throws IOException {
+		BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(data));
+
+		LumaPlane expected = new LumaPlane(img.getWidth(), img.getHeight());
+		expected.set(img);
+		LumaPlane actual = new LumaPlane(img.getWidth(), img.getHeight());
+		actual.set(decoded);
+
+		return expected.ssim(actual);
+	}
+
+	@Test
+	public void photoMeetsTargetSsim() throws IOException {
+		byte[] data = write(photo, "jpg", new ThumbnailParameterBuilder().targetSsim(0.95));
+		byte[] highest = write(photo, "jpg", new ThumbnailParameterBuilder().quality(1.0f));
+
+		assertTrue(ssim(photo, data) >= 0.95);
+		assertTrue(data.length < highest.length);
+	}
+
+	@Test
+	public void graphicMeetsTargetSsim() throws IOException {
+		byte[] data = write(graphic, "jpg", new ThumbnailParameterBuilder().targetSsim(0.95));
+
+		assertTrue(ssim(graphic, data) >= 0.95);
+	}
+
+	@Test
+	public void lowerTargetSsimGivesSmallerImage() throws IOException {
+		byte[] low = write(photo, "jpg", new ThumbnailParameterBuilder().targetSsim(0.8));
+		byte[] high = write(photo, "jpg", new ThumbnailParameterBuilder().targetSsim(0.98));
+
+		assertTrue(low.length < high.length);
+	}
+
+	@Test
+	public void unreachableTargetSsimWritesOutputQuality() throws IOException {
+		byte[] expected = write(photo, "jpg", new ThumbnailParameterBuilder().quality(0.5f));
+
+		byte[] data = write(photo, "jpg", new ThumbnailParameterBuilder().quality(0.5f).targetSsim(1.0));
+
+		assertArrayEquals(expected, data);
+	}
+
+	@Test
+	public void targetFileSizeLowersQualityFurther() throws IOException {
+		int withoutTarget = write(photo, "jpg", new ThumbnailParameterBuilder().targetSsim(0.98)).length;
+
+		byte[] data = write(photo, "jpg", new ThumbnailParameterBuilder()
+				.targetSsim(0.98)
+				.targetFileSize(withoutTarget / 2)
+		);
+
+		assertTrue(data.length <= withoutTarget / 2);
+	}
+
+	@Test
+	public void pngIgnoresTargetSsim() throws IOException {
+		byte[] expected = write(graphic, "png", new ThumbnailParameterBuilder());
+
+		byte[] data = write(graphic, "png", new ThumbnailParameterBuilder().targetSsim(0.9));
+
+		assertArrayEquals(expected, data);
+	}
+
+	@Test
+	public void codecsFromPoolAreReusable() throws IOException {
+		ImageCodecPool pool = new ImageCodecPool();
+		byte[] expected = write(photo, "jpg", new ThumbnailParameterBuilder().targetSsim(0.95));
+
+		for (int i = 0; i < 3; i++) {
+			byte[] data = write(photo, "jpg", new ThumbnailParameterBuilder()
+					.codecPool(pool)
+					.targetSsim(0.95)
+			);
+			assertArrayEquals(expected, data);
+		}
+	}
+
+	@Test
+	public void thumbnailsBuilderMeetsTargetSsim() throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Thumbnails.of(photo)
+				.size(160, 120)
+				.outputFormat("jpg")
+				.targetSsim(0.9)
+				.toOutputStream(baos);
+
+		BufferedImage thumbnail = Thumbnails.of(photo).size(160, 120).asBufferedImage();
+		assertTrue(ssim(thumbnail, baos.toByteArray()) >= 0.9);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void thumbnailsBuilderRejectsZero() {
+		Thumbnails.of(photo).targetSsim(0.0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void thumbnailsBuilderRejectsGreaterThanOne() {
+		Thumbnails.of(photo).targetSsim(1.01);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void thumbnailsBuilderRejectsSecondCall() {
+		Thumbnails.of(photo).targetSsim(0.9).targetSsim(0.9);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parameterBuilderRejectsNaN() {
+		new ThumbnailParameterBuilder().targetSsim(Double.NaN);
+	}
+
+	@Test
+	public void ssimOfIdenticalImagesIsOne() {
+		LumaPlane a = new LumaPlane(320, 240);
+		a.set(photo);
+		LumaPlane b = new LumaPlane(320, 240);
+		b.set(photo);
+
+		assertEquals(1.0, a.ssim(b), 1e-9);
+	}
+
+	@Test
+	public void ssimOfDifferentImagesIsLessThanOne() {
+		LumaPlane a = new LumaPlane(320, 240);
+		a.set(photo);
+		LumaPlane b = new LumaPlane(320, 240);
+		b.set(graphic);
+
+		assertTrue(a.ssim(b) < 0.5);
+	}
+
+	@Test
+	public void ssimOfImagesSmallerThanWindow() {
+		BufferedImage img = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+		LumaPlane a = new LumaPlane(3, 2);
+		a.set(img);
+		LumaPlane b = new LumaPlane(3, 2);
+		b.set(img);
+
+		assertEquals(1.0, a.ssim(b), 1e-9);
+	}
+}
@@ -0,0 +1,269 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import net.coobird.thumbnailator.TestUtils;
+
+import org.junit.Test;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+public class ScaledJpegDecoderTest {
+
+	private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+
+	private static BufferedImage testImage(int width, int height, int type) {
+		BufferedImage img = new BufferedImage(width, height, type);
+		Graphics2D g = img.createGraphics();
+		g.setPaint(new GradientPaint(0, 0, Color.red, width, height, Color.blue));
+		g.fillRect(0, 0, width, height);
+		g.setPaint(new GradientPaint(0, height, new Color(0, 255, 0, 192), width, 0, new Color(255, 255, 0, 0)));
+		g.fillRect(0, 0, width, height);
+		g.dispose();
+		return img;
+	}
+
+	/**
+	 * Encodes an image as a JPEG.
+	 *
+	 * @param restartInterval	The restart interval in MCUs, or {@code 0}
+	 * 							for no restart markers.
+	 * @param fullChroma		Whether to use 4:4:4 sampling rather than the
+	 * 							default 4:2:0 sampling.
+	 */
+	private static byte[] jpeg(BufferedImage img, boolean progressive, int restartInterval, boolean fullChroma) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		param.setCompressionQuality(0.9f);
+		if (progressive) {
+			param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+		}
+
+		IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(img), param);
+		Node root = metadata.getAsTree(JPEG_METADATA_FORMAT);
+		Node markerSequence = root.getLastChild();
+
+		if (restartInterval > 0) {
+			IIOMetadataNode dri = new IIOMetadataNode("dri");
+			dri.setAttribute("interval", Integer.toString(restartInterval));
+			markerSequence.insertBefore(dri, markerSequence.getFirstChild());
+		}
+		if (fullChroma) {
+			NodeList specs = ((IIOMetadataNode)markerSequence).getElementsByTagName("componentSpec");
+			for (int i = 0; i < specs.getLength(); i++) {
+				IIOMetadataNode spec = (IIOMetadataNode)specs.item(i);
+				spec.setAttribute("HsamplingFactor", "1");
+				spec.setAttribute("VsamplingFactor", "1");
+			}
+		}
+		metadata.setFromTree(JPEG_METADATA_FORMAT, root);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageOutputStream ios = ImageIO.createImageOutputStream(baos);
+		writer.setOutput(ios);
+		writer.write(null, new IIOImage(img, null, metadata), param);
+		ios.close();
+		writer.dispose();
+		return baos.toByteArray();
+	}
+
+	private static BufferedImage decode(byte[] data, int scale) throws IOException {
+		ImageInputStream iis = new MemoryCacheImageInputStream(new ByteArrayInputStream(data));
+		try {
+			return ScaledJpegDecoder.read(iis, scale);
+		} finally {
+			iis.close();
+		}
+	}
+
+	/**
+	 * Asserts that the reduced image is close to the full size image decoded
+	 * by Image I/O, averaged over each {@code scale} by {@code scale} area.
+	 */
+	private static void assertCloseToAverage(byte[] data, int scale) throws IOException {
+		BufferedImage full = ImageIO.read(new ByteArrayInputStream(data));
+		BufferedImage reduced = decode(data, scale);
+
+		int width = (full.getWidth() + scale - 1) / scale;
+		int height = (full.getHeight() + scale - 1) / scale;
+		assertEquals(width, reduced.getWidth());
+		assertEquals(height, reduced.getHeight());
+
+		long totalDifference = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int[] sum = new int[3];
+				int count = 0;
+				for (int dy = 0; dy < scale && y * scale + dy < full.getHeight(); dy++) {
+					for (int dx = 0; dx < scale && x * scale + dx < full.getWidth(); dx++) {
+						int rgb = full.getRGB(x * scale + dx, y * scale + dy);
+						sum[0] += (rgb >> 16) & 0xff;
+						sum[1] += (rgb >> 8) & 0xff;
+						sum[2] += rgb & 0xff;
+						count++;
+					}
+				}
+				int rgb = reduced.getRGB(x, y);
+				totalDifference += Math.abs(sum[0] / count - ((rgb >> 16) & 0xff));
+				totalDifference += Math.abs(sum[1] / count - ((rgb >> 8) & 0xff));
+				totalDifference += Math.abs(sum[2] / count - (rgb & 0xff));
+			}
+		}
+
+		double meanDifference = (double)totalDifference / (width * height * 3);
+		assertTrue("Mean difference: " + meanDifference, meanDifference < 4.0);
+	}
+
+	private static double meanBrightness(BufferedImage img) {
+		long sum = 0;
+		for (int y = 0; y < img.getHeight(); y++) {
+			for (int x = 0; x < img.getWidth(); x++) {
+				sum += img.getRGB(x, y) & 0xff;
+			}
+		}
+		return (double)sum / (img.getWidth() * img.getHeight());
+	}
+
+	@Test
+	public void baselineScaledByTwo() throws IOException {
+		assertCloseToAverage(jpeg(testImage(200, 150, BufferedImage.TYPE_INT_RGB), false, 0, false), 2);
+	}
+
+	@Test
+	public void baselineScaledByFour() throws IOException {
+		assertCloseToAverage(jpeg(testImage(200, 150, BufferedImage.TYPE_INT_RGB), false, 0, false), 4);
+	}
+
+	@Test
+	public void baselineScaledByEight() throws IOException {
+		assertCloseToAverage(jpeg(testImage(200, 150, BufferedImage.TYPE_INT_RGB), false, 0, false), 8);
+	}
+
+	@Test
+	public void baselineFullChroma() throws IOException {
+		assertCloseToAverage(jpeg(testImage(200, 150, BufferedImage.TYPE_INT_RGB), false, 0, true), 4);
+	}
+
+	@Test
+	public void baselineWithRestartMarkers() throws IOException {
+		assertCloseToAverage(jpeg(testImage(200, 150, BufferedImage.TYPE_INT_RGB), false, 3, false), 4);
+	}
+
+	@Test
+	public void baselineOddDimensions() throws IOException {
+		assertCloseToAverage(jpeg(testImage(101, 37, BufferedImage.TYPE_INT_RGB), false, 0, false), 8);
+	}
+
+	@Test
+	public void baselineGrayscale() throws IOException {
+		byte[] data = jpeg(testImage(200, 150, BufferedImage.TYPE_BYTE_GRAY), false, 0, false);
+		assertEquals(BufferedImage.TYPE_BYTE_GRAY, decode(data, 2).getType());
+		assertCloseToAverage(data, 2);
+	}
+
+	@Test
+	public void progressiveScaledByTwo() throws IOException {
+		assertCloseToAverage(jpeg(testImage(200, 150, BufferedImage.TYPE_INT_RGB), true, 0, false), 2);
+	}
+
+	@Test
+	public void progressiveScaledByEight() throws IOException {
+		assertCloseToAverage(jpeg(testImage(200, 150, BufferedImage.TYPE_INT_RGB), true, 0, false), 8);
+	}
+
+	@Test
+	public void progressiveWithRestartMarkers() throws IOException {
+		assertCloseToAverage(jpeg(testImage(200, 150, BufferedImage.TYPE_INT_RGB), true, 2, false), 4);
+	}
+
+	@Test
+	public void progressiveGrayscale() throws IOException {
+		assertCloseToAverage(jpeg(testImage(101, 37, BufferedImage.TYPE_BYTE_GRAY), true, 0, false), 4);
+	}
+
+	@Test
+	public void existingJpegFile() throws IOException {
+		InputStream is = TestUtils.getResourceStream("Thumbnailator/grid.jpg");
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		byte[] buf = new byte[8192];
+		int n;
+		while ((n = is.read(buf)) != -1) {
+			baos.write(buf, 0, n);
+		}
+		is.close();
+		byte[] data = baos.toByteArray();
+
+		// The grid lines are thinner than the reduction, so only the overall
+		// brightness is expected to be preserved.
+		BufferedImage full = ImageIO.read(new ByteArrayInputStream(data));
+		BufferedImage reduced = decode(data, 8);
+		assertEquals(13, reduced.getWidth());
+		assertEquals(13, reduced.getHeight());
+		assertEquals(meanBrightness(full), meanBrightness(reduced), 5.0);
+	}
+
+	@Test
+	public void unsupportedImageReturnsNull() throws IOException {
+		// A JPEG with an arithmetic coded (SOF9) frame header.
+		byte[] data = jpeg(testImage(16, 16, BufferedImage.TYPE_INT_RGB), false, 0, false);
+		for (int i = 2; i < data.length - 1; i++) {
+			if ((data[i] & 0xff) == 0xFF && (data[i + 1] & 0xff) == 0xC0) {
+				data[i + 1] = (byte)0xC9;
+				break;
+			}
+		}
+		assertNull(decode(data, 2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unsupportedScale() throws IOException {
+		decode(jpeg(testImage(16, 16, BufferedImage.TYPE_INT_RGB), false, 0, false), 3);
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.FileCacheImageInputStream;
+import javax.imageio.stream.FileCacheImageOutputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+import net.coobird.thumbnailator.test.TestImages;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StreamCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static ImageInputStream input(StreamCache cache) throws IOException {
+		return cache.createImageInputStream(new ByteArrayInputStream(new byte[0]));
+	}
+
+	private static ImageOutputStream output(StreamCache cache) throws IOException {
+		return cache.createImageOutputStream(new ByteArrayOutputStream());
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] data = new byte[length];
+		new Random(0).nextBytes(data);
+		return data;
+	}
+
+	@Test
+	public void memory() throws IOException {
+		assertTrue(input(StreamCache.MEMORY) instanceof MemoryCacheImageInputStream);
+		assertTrue(output(StreamCache.MEMORY) instanceof MemoryCacheImageOutputStream);
+	}
+
+	@Test
+	public void disk() throws IOException {
+		ImageInputStream iis = input(StreamCache.DISK);
+		ImageOutputStream ios = output(StreamCache.DISK);
+
+		assertTrue(iis instanceof FileCacheImageInputStream);
+		assertTrue(ios instanceof FileCacheImageOutputStream);
+
+		iis.close();
+		ios.close();
+	}
+
+	@Test
+	public void autoStartsInMemory() throws IOException {
+		ImageInputStream iis = input(StreamCache.AUTO);
+		ImageOutputStream ios = output(StreamCache.AUTO);
+
+		assertTrue(iis.isCachedMemory());
+		assertTrue(ios.isCachedMemory());
+
+		iis.close();
+		ios.close();
+	}
+
+	@Test
+	public void autoInputWithinLimitStaysInMemory() throws IOException {
+		byte[] data = randomBytes(1000);
+		ImageInputStream iis = new SpillingImageInputStream(new ByteArrayInputStream(data), 1024);
+
+		byte[] read = new byte[1000];
+		iis.readFully(read);
+
+		assertArrayEquals(data, read);
+		assertTrue(iis.isCachedMemory());
+		assertFalse(iis.isCachedFile());
+		assertEquals(-1, iis.read());
+		iis.close();
+	}
+
+	@Test
+	public void autoInputBeyondLimitMovesToFile() throws IOException {
+		byte[] data = randomBytes(10000);
+		ImageInputStream iis = new SpillingImageInputStream(new ByteArrayInputStream(data), 1024);
+
+		byte[] read = new byte[10000];
+		iis.readFully(read);
+
+		assertArrayEquals(data, read);
+		assertTrue(iis.isCachedFile());
+		assertFalse(iis.isCachedMemory());
+
+		// Data which has been read can be read again.
+		iis.seek(10);
+		assertEquals(data[10] & 0xff, iis.read());
+		iis.close();
+	}
+
+	@Test
+	public void autoInputDoesNotDependOnAvailableBytes() throws IOException {
+		for (boolean useExifOrientation : new boolean[] {true, false}) {
+			InputStream is = new ByteArrayInputStream(randomBytes(10000)) {
+				@Override
+				public synchronized int available() {
+					return 0;
+				}
+			};
+			InputStreamImageSource source = new InputStreamImageSource(is);
+			source.setThumbnailParameter(
+					new ThumbnailParameterBuilder()
+							.scale(1.0)
+							.useExifOrientation(useExifOrientation)
+							.streamCache(StreamCache.AUTO)
+							.build()
+			);
+
+			ImageInputStream iis = source.createImageInputStream();
+
+			assertTrue(iis instanceof SpillingImageInputStream);
+			iis.close();
+		}
+	}
+
+	@Test
+	public void autoOutputBeyondLimitMovesToFile() throws IOException {
+		byte[] data = randomBytes(10000);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		ImageOutputStream ios = new SpillingImageOutputStream(os, 1024);
+
+		ios.write(data, 0, 500);
+		assertTrue(ios.isCachedMemory());
+		ios.write(data, 500, 9500);
+		assertTrue(ios.isCachedFile());
+
+		// Writers go back to fill in lengths of what they have written.
+		ios.seek(5000);
+		ios.write(0x42);
+		data[5000] = 0x42;
+
+		ios.close();
+
+		assertArrayEquals(data, os.toByteArray());
+	}
+
+	@Test
+	public void autoOutputWithinLimitStaysInMemory() throws IOException {
+		byte[] data = randomBytes(1000);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		ImageOutputStream ios = new SpillingImageOutputStream(os, 1024);
+
+		ios.write(data);
+		assertTrue(ios.isCachedMemory());
+		ios.close();
+
+		assertArrayEquals(data, os.toByteArray());
+	}
+
+	@Test
+	public void autoOutputDiscardsFlushedData() throws IOException {
+		byte[] data = randomBytes(10000);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		ImageOutputStream ios = new SpillingImageOutputStream(os, 1024);
+
+		for (int i = 0; i < 10; i++) {
+			ios.write(data, i * 1000, 1000);
+			ios.flushBefore(ios.getStreamPosition());
+		}
+		assertTrue(ios.isCachedMemory());
+
+		// Data which has not been flushed can still be written over.
+		ios.write(data, 0, 500);
+		ios.seek(10100);
+		ios.write(0x42);
+		ios.close();
+
+		byte[] expected = new byte[10500];
+		System.arraycopy(data, 0, expected, 0, 10000);
+		System.arraycopy(data, 0, expected, 10000, 500);
+		expected[10100] = 0x42;
+		assertArrayEquals(expected, os.toByteArray());
+	}
+
+	@Test
+	public void autoOutputReleasesFileWhenWriteFails() throws IOException {
+		File cacheDirectory = temporaryFolder.newFolder();
+		File originalCacheDirectory = ImageIO.getCacheDirectory();
+		ImageIO.setCacheDirectory(cacheDirectory);
+		try {
+			OutputStream os = new OutputStream() {
+				@Override
+				public void write(int b) throws IOException {
+					throw new IOException("Client disconnected.");
+				}
+			};
+			ImageOutputStream ios = new SpillingImageOutputStream(os, 1024);
+			ios.write(randomBytes(10000));
+			assertTrue(ios.isCachedFile());
+			assertEquals(1, cacheDirectory.list().length);
+
+			try {
+				ios.close();
+				fail();
+			} catch (IOException e) {
+				assertEquals("Client disconnected.", e.getMessage());
+			}
+
+			assertEquals(0, cacheDirectory.list().length);
+			assertFalse(ios.isCachedFile());
+		} finally {
+			ImageIO.setCacheDirectory(originalCacheDirectory);
+		}
+	}
+
+	@Test
+	public void imageThroughAutoStreamsBeyondLimit() throws IOException {
+		BufferedImage img = TestImages.noise(200, 100, BufferedImage.TYPE_INT_RGB, 0);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		ImageOutputStream ios = new SpillingImageOutputStream(os, 1024);
+		assertTrue(ImageIO.write(img, "png", ios));
+		ios.close();
+
+		ImageInputStream iis = new SpillingImageInputStream(new ByteArrayInputStream(os.toByteArray()), 1024);
+		BufferedImage result = ImageIO.read(iis);
+
+		assertArrayEquals(TestImages.pixels(img), TestImages.pixels(result));
+	}
+
+	@Test
+	public void thumbnailsWithEachCache() throws IOException {
+		ByteArrayOutputStream source = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", source);
+
+		for (StreamCache cache : StreamCache.values()) {
+			ByteArrayOutputStream destination = new ByteArrayOutputStream();
+
+			Thumbnails.of(new ByteArrayInputStream(source.toByteArray()))
+					.size(50, 50)
+					.streamCache(cache)
+					.toOutputStream(destination);
+
+			BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(destination.toByteArray()));
+			assertEquals(50, thumbnail.getWidth());
+			assertEquals(25, thumbnail.getHeight());
+		}
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void thumbnailsWithNull() {
+		Thumbnails.of(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB)).streamCache(null);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void thumbnailsSetTwice() {
+		Thumbnails.of(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB))
+				.streamCache(StreamCache.MEMORY)
+				.streamCache(StreamCache.DISK);
+	}
+}
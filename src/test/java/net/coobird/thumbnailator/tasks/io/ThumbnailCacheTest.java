@@ -0,0 +1,237 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.tasks.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import net.coobird.thumbnailator.ThumbnailParameter;
+import net.coobird.thumbnailator.builders.ThumbnailParameterBuilder;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ThumbnailCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static final byte[] SOURCE_DIGEST = new byte[] {1, 2, 3};
+
+	private static String key(String name) {
+		return ThumbnailCache.createKey(
+				name.getBytes(),
+				new ThumbnailParameterBuilder().size(100, 100).build(),
+				"png"
+		);
+	}
+
+	private static byte[] data(int length) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = (byte)i;
+		}
+		return data;
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void constructorWithNullDirectory() {
+		new ThumbnailCache(null, 100);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructorWithZeroMaxSize() throws IOException {
+		new ThumbnailCache(temporaryFolder.getRoot(), 0);
+	}
+
+	@Test
+	public void putAndGet() throws IOException {
+		// given
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+		String key = key("a");
+
+		// when
+		cache.put(key, "png", data(100));
+		ThumbnailCache.CachedThumbnail thumbnail = cache.get(key);
+
+		// then
+		assertArrayEquals(data(100), thumbnail.getData());
+		assertEquals("png", thumbnail.getFormatName());
+		assertEquals(100, cache.getSize());
+		assertTrue(new File(new File(temporaryFolder.getRoot(), key.substring(0, 2)), key + ".png").isFile());
+	}
+
+	@Test
+	public void getMissing() throws IOException {
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+
+		assertNull(cache.get(key("a")));
+	}
+
+	@Test
+	public void leastRecentlyUsedIsEvicted() throws IOException {
+		// given
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 250);
+		cache.put(key("a"), "png", data(100));
+		cache.put(key("b"), "png", data(100));
+		cache.get(key("a"));
+
+		// when
+		cache.put(key("c"), "png", data(100));
+
+		// then
+		assertNotNull(cache.get(key("a")));
+		assertNull(cache.get(key("b")));
+		assertNotNull(cache.get(key("c")));
+		assertEquals(200, cache.getSize());
+	}
+
+	@Test
+	public void thumbnailLargerThanMaxSizeIsNotStored() throws IOException {
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 50);
+
+		cache.put(key("a"), "png", data(100));
+
+		assertNull(cache.get(key("a")));
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void thumbnailWithInvalidFormatNameIsNotStored() throws IOException {
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+
+		cache.put(key("a"), "../png", data(100));
+
+		assertNull(cache.get(key("a")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidKey() throws IOException {
+		new ThumbnailCache(temporaryFolder.getRoot(), 1000).put("../a", "png", data(100));
+	}
+
+	@Test
+	public void thumbnailsAreUsedByNewCache() throws IOException {
+		// given
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+		cache.put(key("a"), "png", data(100));
+		cache.put(key("b"), "jpeg", data(50));
+
+		// when
+		ThumbnailCache newCache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+
+		// then
+		assertEquals(150, newCache.getSize());
+		assertEquals("jpeg", newCache.get(key("b")).getFormatName());
+		assertArrayEquals(data(100), newCache.get(key("a")).getData());
+	}
+
+	@Test
+	public void newCacheEvictsByLastModifiedTime() throws IOException {
+		// given
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+		cache.put(key("a"), "png", data(100));
+		cache.put(key("b"), "png", data(100));
+		File fileA = new File(new File(temporaryFolder.getRoot(), key("a").substring(0, 2)), key("a") + ".png");
+		File fileB = new File(new File(temporaryFolder.getRoot(), key("b").substring(0, 2)), key("b") + ".png");
+		fileA.setLastModified(System.currentTimeMillis() - 10000);
+		fileB.setLastModified(System.currentTimeMillis() - 20000);
+
+		// when
+		ThumbnailCache newCache = new ThumbnailCache(temporaryFolder.getRoot(), 150);
+
+		// then
+		assertNotNull(newCache.get(key("a")));
+		assertNull(newCache.get(key("b")));
+		assertFalse(fileB.exists());
+	}
+
+	@Test
+	public void newCacheDeletesOnlyStaleTemporaryFiles() throws IOException {
+		// given
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+		cache.put(key("a"), "png", data(100));
+		File shard = new File(temporaryFolder.getRoot(), key("a").substring(0, 2));
+		File recentFile = new File(shard, "." + key("b") + ".1.tmp");
+		File staleFile = new File(shard, "." + key("c") + ".2.tmp");
+		recentFile.createNewFile();
+		staleFile.createNewFile();
+		staleFile.setLastModified(System.currentTimeMillis() - 2L * 24 * 60 * 60 * 1000);
+
+		// when
+		ThumbnailCache newCache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+
+		// then
+		assertEquals(100, newCache.getSize());
+		assertTrue(recentFile.exists());
+		assertFalse(staleFile.exists());
+	}
+
+	@Test
+	public void replacingThumbnailUpdatesSize() throws IOException {
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+
+		cache.put(key("a"), "png", data(100));
+		cache.put(key("a"), "png", data(30));
+
+		assertEquals(30, cache.getSize());
+		assertArrayEquals(data(30), cache.get(key("a")).getData());
+	}
+
+	@Test
+	public void clear() throws IOException {
+		ThumbnailCache cache = new ThumbnailCache(temporaryFolder.getRoot(), 1000);
+		cache.put(key("a"), "png", data(100));
+
+		cache.clear();
+
+		assertEquals(0, cache.getSize());
+		assertNull(cache.get(key("a")));
+		assertNull(new ThumbnailCache(temporaryFolder.getRoot(), 1000).get(key("a")));
+	}
+
+	@Test
+	public void keyDependsOnSourceParametersAndFormat() {
+		ThumbnailParameter param = new ThumbnailParameterBuilder().size(100, 100).build();
+		ThumbnailParameter sameParam = new ThumbnailParameterBuilder().size(100, 100).build();
+		ThumbnailParameter otherParam = new ThumbnailParameterBuilder().size(100, 101).build();
+
+		String key = ThumbnailCache.createKey(SOURCE_DIGEST, param, "png");
+
+		assertEquals(key, ThumbnailCache.createKey(SOURCE_DIGEST, sameParam, "png"));
+		assertFalse(key.equals(ThumbnailCache.createKey(new byte[] {1, 2, 4}, param, "png")));
+		assertFalse(key.equals(ThumbnailCache.createKey(SOURCE_DIGEST, otherParam, "png")));
+		assertFalse(key.equals(ThumbnailCache.createKey(SOURCE_DIGEST, param, "jpg")));
+		assertFalse(key.equals(ThumbnailCache.createKey(SOURCE_DIGEST, param, ThumbnailParameter.ORIGINAL_FORMAT)));
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Thumbnailator - a thumbnail generation library
+ *
+ * Copyright (c) 2008-2025 Chris Kroells
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package net.coobird.thumbnailator.test;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Creates and inspects images used in tests.
+ */
+public final class TestImages {
+
+	private TestImages() {}
+
+	/**
+	 * Returns an image of opaque random pixels, which are the same each time
+	 * an image of the same size and type is requested.
+	 *
+	 * @param width		The width of the image.
+	 * @param height	The height of the image.
+	 * @param type		The type of the image.
+	 * @return			The image.
+	 */
+	public static BufferedImage opaqueNoise(int width, int height, int type) {
+		return fill(new BufferedImage(width, height, type), new Random(0), 0xff000000);
+	}
+
+	/**
+	 * Returns an image of random pixels, including their alpha, generated
+	 * from the specified seed.
+	 *
+	 * @param width		The width of the image.
+	 * @param height	The height of the image.
+	 * @param type		The type of the image.
+	 * @param seed		The seed of the random pixels.
+	 * @return			The image.
+	 */
+	public static BufferedImage noise(int width, int height, int type, long seed) {
+		return fill(new BufferedImage(width, height, type), new Random(seed), 0);
+	}
+
+	private static BufferedImage fill(BufferedImage img, Random random, int mask) {
+		for (int y = 0; y < img.getHeight(); y++) {
+			for (int x = 0; x < img.getWidth(); x++) {
+				img.setRGB(x, y, random.nextInt() | mask);
+			}
+		}
+		return img;
+	}
+
+	/**
+	 * Returns an opaque image filled with the specified color.
+	 *
+	 * @param width		The width of the image.
+	 * @param height	The height of the image.
+	 * @param color		The color to fill the image with.
+	 * @return			The image.
+	 */
+	public static BufferedImage filled(int width, int height, Color color) {
+		BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics g = img.getGraphics();
+		g.setColor(color);
+		g.fillRect(0, 0, width, height);
+		g.dispose();
+		return img;
+	}
+
+	/**
+	 * Returns an image with 16 bits per sample filled with the specified
+	 * color, which has a custom image type. The image has an alpha channel
+	 * if the color is not opaque.
+	 *
+	 * @param width		The width of the image.
+	 * @param height	The height of the image.
+	 * @param color		The color to fill the image with.
+	 * @return			The image.
+	 */
+	public static BufferedImage filled16Bit(int width, int height, Color color) {
+		boolean hasAlpha = color.getAlpha() != 0xff;
+		ComponentColorModel colorModel = new ComponentColorModel(
+				ColorSpace.getInstance(ColorSpace.CS_sRGB), hasAlpha, false,
+				hasAlpha ? Transparency.TRANSLUCENT : Transparency.OPAQUE,
+				DataBuffer.TYPE_USHORT
+		);
+		BufferedImage img = new BufferedImage(
+				colorModel, colorModel.createCompatibleWritableRaster(width, height), false, null
+		);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				img.setRGB(x, y, color.getRGB());
+			}
+		}
+		return img;
+	}
+
+	/**
+	 * Returns an opaque image of a gradient from blue at the top left corner
+	 * to red at the bottom right corner.
+	 *
+	 * @param width		The width of the image.
+	 * @param height	The height of the image.
+	 * @return			The image.
+	 */
+	public static BufferedImage gradient(int width, int height) {
+		BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = img.createGraphics();
+		g.setPaint(new GradientPaint(0, 0, Color.blue, width, height, Color.red));
+		g.fillRect(0, 0, width, height);
+		g.dispose();
+		return img;
+	}
+
+	/**
+	 * Returns the ARGB values of all the pixels of the image, row by row.
+	 *
+	 * @param img		The image.
+	 * @return			The ARGB values of the pixels.
+	 */
+	public static int[] pixels(BufferedImage img) {
+		return img.getRGB(0, 0, img.getWidth(), img.getHeight(), null, 0, img.getWidth());
+	}
+
+	/**
+	 * Encodes the image in the specified format.
+	 *
+	 * @param img		The image.
+	 * @param format	The name of the format.
+	 * @return			The encoded image.
+	 * @throws IOException	If the image could not be encoded.
+	 */
+	public static byte[] encode(BufferedImage img, String format) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(img, format, baos);
+		return baos.toByteArray();
+	}
+}
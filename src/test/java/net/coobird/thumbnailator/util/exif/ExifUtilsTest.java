@@ -26,6 +26,7 @@ package net.coobird.thumbnailator.util.exif;
 
 import static net.coobird.thumbnailator.TestUtils.getResourceStream;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.InputStream;
 
@@ -166,4 +167,58 @@ public class ExifUtilsTest {
 		// then
 		assertEquals(Orientation.typeOf(8), orientation);
 	}
+	
+	@Test
+	public void thumbnailFromExifWithoutThumbnail() throws Exception {
+		// given
+		ImageReader reader = ImageIO.getImageReadersByFormatName("jpg").next();
+		InputStream is = getResourceStream("Exif/orientation_1.jpg");
+		reader.setInput(ImageIO.createImageInputStream(is));
+		byte[] exifData = ExifUtils.getExifData(reader, 0);
+		is.close();
+		
+		// when
+		byte[] thumbnail = ExifUtils.getThumbnailFromExif(exifData);
+		
+		// then
+		assertNull(thumbnail);
+	}
+	
+	@Test
+	public void thumbnailFromMalformedExif() {
+		// given
+		byte[] exifData = new byte[] {
+				'E', 'x', 'i', 'f', 0, 0,
+				'M', 'M', 0, 42, 0x7f, 0, 0, 0
+		};
+		
+		// when
+		byte[] thumbnail = ExifUtils.getThumbnailFromExif(exifData);
+		
+		// then
+		assertNull(thumbnail);
+	}
+	
+	@Test
+	public void thumbnailWithLengthBeyondExif() {
+		// given
+		byte[] exifData = new byte[] {
+				'E', 'x', 'i', 'f', 0, 0,
+				// TIFF header, with IFD0 at 8.
+				'M', 'M', 0, 42, 0, 0, 0, 8,
+				// IFD0 with no entries, followed by IFD1 at 14.
+				0, 0, 0, 0, 0, 14,
+				// IFD1 with the offset and length of the thumbnail.
+				0, 2,
+				0x02, 0x01, 0, 4, 0, 0, 0, 1, 0, 0, 0, 0,
+				0x02, 0x02, 0, 4, 0, 0, 0, 1, 0x7f, (byte)0xff, (byte)0xff, (byte)0xff,
+				0, 0, 0, 0
+		};
+		
+		// when
+		byte[] thumbnail = ExifUtils.getThumbnailFromExif(exifData);
+		
+		// then
+		assertNull(thumbnail);
+	}
 }
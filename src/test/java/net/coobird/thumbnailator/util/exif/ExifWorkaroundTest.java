@@ -29,13 +29,18 @@ import net.coobird.thumbnailator.Thumbnails;
 import net.coobird.thumbnailator.test.BufferedImageAssert;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -63,6 +68,9 @@ public class ExifWorkaroundTest {
     @Parameterized.Parameter
     public List<String> tags;
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     private InputStream getFromResource(String name) throws IOException {
         return TestUtils.getResourceStream("Exif/fragments/" + name);
     }
@@ -95,6 +103,45 @@ public class ExifWorkaroundTest {
         assertPasses(result);
     }
 
+    @Test
+    public void withWorkaroundAndShortReads() throws IOException {
+        // Each read returns a few bytes, so the capture buffer has to grow
+        // many times before the Exif segment is found.
+        InputStream is = new FilterInputStream(buildJpeg()) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+
+        BufferedImage result = Thumbnails.of(is)
+                .scale(1.0f)
+                .asBufferedImage();
+
+        assertPasses(result);
+    }
+
+    @Test
+    public void withWorkaroundFromFile() throws IOException {
+        // Files are read through a seekable stream, so the Exif data is
+        // captured separately from reading the image.
+        File sourceFile = tempFolder.newFile("source.jpg");
+        InputStream is = buildJpeg();
+        FileOutputStream fos = new FileOutputStream(sourceFile);
+        byte[] b = new byte[4096];
+        int bytesRead;
+        while ((bytesRead = is.read(b)) != -1) {
+            fos.write(b, 0, bytesRead);
+        }
+        fos.close();
+
+        BufferedImage result = Thumbnails.of(sourceFile)
+                .scale(1.0f)
+                .asBufferedImage();
+
+        assertPasses(result);
+    }
+
     @Test
     public void withoutWorkaround() throws IOException {
         System.setProperty("thumbnailator.disableExifWorkaround", "true");